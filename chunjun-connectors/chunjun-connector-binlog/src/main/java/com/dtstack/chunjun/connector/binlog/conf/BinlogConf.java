@@ -52,6 +52,12 @@ public class BinlogConf extends ChunJunCommonConf {
 
     public int transactionSize = 1024;
 
+    /** 解析后的数据缓冲区容量，缓冲区满时阻塞binlog解析 */
+    public int queueCapacity = 8192;
+
+    /** 读取数据时每次从缓冲区中批量取出的最大条数 */
+    public int drainBatchSize = 256;
+
     public boolean pavingData = true;
 
     public List<String> table;
@@ -200,6 +206,22 @@ public class BinlogConf extends ChunJunCommonConf {
         this.bufferSize = bufferSize;
     }
 
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getDrainBatchSize() {
+        return drainBatchSize;
+    }
+
+    public void setDrainBatchSize(int drainBatchSize) {
+        this.drainBatchSize = drainBatchSize;
+    }
+
     public boolean isPavingData() {
         return pavingData;
     }
@@ -347,6 +369,10 @@ public class BinlogConf extends ChunJunCommonConf {
                 + bufferSize
                 + ", transactionSize="
                 + transactionSize
+                + ", queueCapacity="
+                + queueCapacity
+                + ", drainBatchSize="
+                + drainBatchSize
                 + ", pavingData="
                 + pavingData
                 + ", table="
@@ -33,6 +33,8 @@ import com.dtstack.chunjun.util.JsonUtil;
 
 import org.apache.flink.core.io.GenericInputSplit;
 import org.apache.flink.core.io.InputSplit;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.data.RowData;
 
 import com.alibaba.otter.canal.filter.aviater.AviaterRegexFilter;
@@ -48,6 +50,7 @@ import java.net.InetSocketAddress;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Collectors;
@@ -55,6 +58,10 @@ import java.util.stream.Collectors;
 /** @author toutian */
 public class BinlogInputFormat extends BaseRichInputFormat {
 
+    private static final String METRIC_QUEUE_DEPTH = "binlogQueueDepth";
+    private static final String METRIC_PUT_BLOCKED_MILLIS = "binlogPutBlockedMillis";
+    private static final String METRIC_DRAIN_BATCH_SIZE = "binlogDrainBatchSize";
+
     protected BinlogConf binlogConf;
     protected volatile EntryPosition entryPosition;
     protected List<String> categories = new ArrayList<>();
@@ -136,10 +143,41 @@ public class BinlogInputFormat extends BaseRichInputFormat {
         LOG.info("binlog config:{}", JsonUtil.toPrintJson(binlogConf));
 
         binlogEventSink = new BinlogEventSink(this);
+        registerQueueMetrics(Collections.singletonList(binlogEventSink));
         controller = getController(binlogConf.username, binlogConf.getFilter(), binlogEventSink);
         controller.start();
     }
 
+    /**
+     * 注册binlog数据缓冲区的指标：缓冲区中的数据量、解析线程被阻塞的总时长以及最近一次批量取出的条数
+     *
+     * @param sinks 当前subtask中所有的BinlogEventSink
+     */
+    protected void registerQueueMetrics(List<BinlogEventSink> sinks) {
+        if (inputMetric == null) {
+            return;
+        }
+        MetricGroup group = inputMetric.getChunjunMetricGroup();
+        group.gauge(
+                METRIC_QUEUE_DEPTH,
+                (Gauge<Integer>) () -> sinks.stream().mapToInt(s -> s.getQueue().size()).sum());
+        group.gauge(
+                METRIC_PUT_BLOCKED_MILLIS,
+                (Gauge<Long>)
+                        () ->
+                                sinks.stream()
+                                        .mapToLong(s -> s.getQueue().getPutBlockedMillis())
+                                        .sum());
+        group.gauge(
+                METRIC_DRAIN_BATCH_SIZE,
+                (Gauge<Integer>)
+                        () ->
+                                sinks.stream()
+                                        .mapToInt(s -> s.getQueue().getLastDrainSize())
+                                        .max()
+                                        .orElse(0));
+    }
+
     protected MysqlEventParser getController(
             String username, String filter, BinlogEventSink binlogEventSink) {
         MysqlEventParser controller = new MysqlEventParser();
@@ -33,6 +33,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.locks.LockSupport;
@@ -147,9 +148,11 @@ public class UpdrdbBinlogInputFormat extends BinlogInputFormat {
                                 new UpdrdbController(controller, usernameAndGroup));
                         updrdbBinlogEventSinkList.add(binlogEventSink);
                     });
+            registerQueueMetrics(updrdbBinlogEventSinkList);
             updrdbControllerList.forEach(Thread::start);
         } else {
             binlogEventSink = new BinlogEventSink(this);
+            registerQueueMetrics(Collections.singletonList(binlogEventSink));
             String filter = String.join(ConstantValue.COMMA_SYMBOL, binlogConf.getTable());
             LOG.info(
                     "binlog FilterAfter:{},username: {},subtaskIndex: {}",
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.chunjun.connector.binlog.listener;
+
+import org.apache.flink.table.data.RowData;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 有界的binlog数据缓冲区，基于数组实现。
+ *
+ * <p>缓冲区满时阻塞canal解析线程，从而对MySQL binlog的拉取形成反压；消费方按批次取出数据，减少每条数据的唤醒和加锁次数。
+ */
+public class BinlogEventRing {
+
+    private final ArrayBlockingQueue<RowData> queue;
+
+    /** 解析线程因缓冲区已满而阻塞的总时长，单位纳秒 */
+    private final AtomicLong putBlockedNanos = new AtomicLong();
+
+    /** 最近一次批量取出的数据条数 */
+    private volatile int lastDrainSize;
+
+    public BinlogEventRing(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * 放入一条数据，缓冲区已满时阻塞直到有空间
+     *
+     * @param rowData row data
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void put(RowData rowData) throws InterruptedException {
+        if (queue.offer(rowData)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            queue.put(rowData);
+        } finally {
+            putBlockedNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 批量取出数据，缓冲区为空时最多等待timeout，取到第一条数据后不再等待
+     *
+     * @param sink 存放取出数据的集合
+     * @param maxElements 最多取出的条数
+     * @param timeout 缓冲区为空时的最长等待时间
+     * @param unit timeout的时间单位
+     * @return 取出的数据条数
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public int drain(Collection<? super RowData> sink, int maxElements, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        int drained = queue.drainTo(sink, maxElements);
+        if (drained == 0) {
+            RowData first = queue.poll(timeout, unit);
+            if (first != null) {
+                sink.add(first);
+                drained = 1 + queue.drainTo(sink, maxElements - 1);
+            }
+        }
+        lastDrainSize = drained;
+        return drained;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public long getPutBlockedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(putBlockedNanos.get());
+    }
+
+    public int getLastDrainSize() {
+        return lastDrainSize;
+    }
+}
@@ -34,9 +34,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 
 /** @author toutian */
@@ -46,13 +47,19 @@ public class BinlogEventSink extends AbstractCanalLifeCycle
     private static final Logger LOG = LoggerFactory.getLogger(BinlogEventSink.class);
 
     private final BinlogInputFormat format;
-    private final LinkedBlockingDeque<RowData> queue;
+    private final BinlogEventRing queue;
     private final AbstractCDCRowConverter rowConverter;
+    /** 消费线程从缓冲区中批量取出、尚未返回的数据，只被消费线程访问 */
+    private final ArrayDeque<RowData> drainedRows;
+
+    private final int drainBatchSize;
 
     public BinlogEventSink(BinlogInputFormat format) {
         this.format = format;
-        this.queue = new LinkedBlockingDeque<>();
+        this.queue = new BinlogEventRing(format.getBinlogConf().getQueueCapacity());
         this.rowConverter = format.getRowConverter();
+        this.drainBatchSize = format.getBinlogConf().getDrainBatchSize();
+        this.drainedRows = new ArrayDeque<>(drainBatchSize);
     }
 
     @Override
@@ -134,21 +141,40 @@ public class BinlogEventSink extends AbstractCanalLifeCycle
     /**
      * 从队列中获取RowData数据，对于异常情况需要把异常抛出并停止任务
      *
+     * <p>本地取出的数据消费完后，一次从缓冲区中批量取出最多drainBatchSize条数据
+     *
      * @return
      */
     public RowData takeRowDataFromQueue() {
-        RowData rowData = null;
+        if (drainedRows.isEmpty()) {
+            drainRowDataFromQueue(drainedRows, drainBatchSize);
+        }
+        RowData rowData = drainedRows.poll();
+        if (rowData instanceof ErrorMsgRowData) {
+            throw new RuntimeException(rowData.toString());
+        }
+        return rowData;
+    }
+
+    /**
+     * 从队列中批量取出RowData数据，队列为空时最多阻塞100ms
+     *
+     * @param sink 存放取出数据的集合
+     * @param maxElements 最多取出的条数
+     * @return 取出的数据条数
+     */
+    public int drainRowDataFromQueue(Collection<? super RowData> sink, int maxElements) {
         try {
-            // 最多阻塞100ms
-            rowData = queue.poll(100, TimeUnit.MILLISECONDS);
-            if (rowData instanceof ErrorMsgRowData) {
-                throw new RuntimeException(rowData.toString());
-            }
+            return queue.drain(sink, maxElements, 100, TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
             LOG.error(
-                    "takeRowDataFromQueue interrupted error:{}", ExceptionUtil.getErrorMessage(e));
+                    "drainRowDataFromQueue interrupted error:{}", ExceptionUtil.getErrorMessage(e));
+            return 0;
         }
-        return rowData;
+    }
+
+    public BinlogEventRing getQueue() {
+        return queue;
     }
 
     /**
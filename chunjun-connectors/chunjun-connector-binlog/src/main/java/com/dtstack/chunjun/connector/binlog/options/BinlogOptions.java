@@ -93,6 +93,20 @@ public class BinlogOptions {
                     .defaultValue(256)
                     .withDescription("MySQL Binlog bufferSize.");
 
+    public static final ConfigOption<Integer> QUEUE_CAPACITY =
+            ConfigOptions.key("queue-capacity")
+                    .intType()
+                    .defaultValue(8192)
+                    .withDescription(
+                            "Capacity of the buffer between the binlog parser and the reader, the parser blocks when it is full.");
+
+    public static final ConfigOption<Integer> DRAIN_BATCH_SIZE =
+            ConfigOptions.key("drain-batch-size")
+                    .intType()
+                    .defaultValue(256)
+                    .withDescription(
+                            "Max number of rows the reader takes from the buffer at a time.");
+
     public static final ConfigOption<String> TABLE =
             ConfigOptions.key("table")
                     .stringType()
@@ -75,6 +75,8 @@ public class BinlogDynamicTableFactory implements DynamicTableSourceFactory {
         options.add(BinlogOptions.ENABLE_TSDB);
         options.add(BinlogOptions.PERIOD);
         options.add(BinlogOptions.BUFFER_SIZE);
+        options.add(BinlogOptions.QUEUE_CAPACITY);
+        options.add(BinlogOptions.DRAIN_BATCH_SIZE);
         options.add(BinlogOptions.PARALLEL);
         options.add(BinlogOptions.PARALLEL_THREAD_SIZE);
         options.add(BinlogOptions.IS_GTID_MODE);
@@ -130,6 +132,8 @@ public class BinlogDynamicTableFactory implements DynamicTableSourceFactory {
         binlogConf.setFilter(config.get(BinlogOptions.FILTER));
         binlogConf.setPeriod(config.get(BinlogOptions.PERIOD));
         binlogConf.setBufferSize(config.get(BinlogOptions.BUFFER_SIZE));
+        binlogConf.setQueueCapacity(config.get(BinlogOptions.QUEUE_CAPACITY));
+        binlogConf.setDrainBatchSize(config.get(BinlogOptions.DRAIN_BATCH_SIZE));
         binlogConf.setPavingData(true);
         binlogConf.setTable(
                 Arrays.asList(config.get(BinlogOptions.TABLE).split(ConstantValue.COMMA_SYMBOL)));
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.chunjun.connector.binlog.listener;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class BinlogEventRingTest {
+
+    @Test
+    public void drainInBatchesTest() throws InterruptedException {
+        BinlogEventRing ring = new BinlogEventRing(16);
+        for (int i = 0; i < 10; i++) {
+            ring.put(GenericRowData.of(i));
+        }
+
+        List<RowData> rows = new ArrayList<>();
+        Assert.assertEquals(4, ring.drain(rows, 4, 10, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(4, ring.getLastDrainSize());
+        Assert.assertEquals(6, ring.size());
+        Assert.assertEquals(0, rows.get(0).getInt(0));
+
+        Assert.assertEquals(6, ring.drain(rows, 100, 10, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(9, rows.get(9).getInt(0));
+        Assert.assertEquals(0, ring.drain(rows, 100, 10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void putBlocksWhenFullTest() throws InterruptedException {
+        BinlogEventRing ring = new BinlogEventRing(1);
+        ring.put(GenericRowData.of(1));
+
+        CountDownLatch put = new CountDownLatch(1);
+        Thread parser =
+                new Thread(
+                        () -> {
+                            try {
+                                ring.put(GenericRowData.of(2));
+                                put.countDown();
+                            } catch (InterruptedException ignored) {
+                            }
+                        });
+        parser.start();
+        Assert.assertFalse(put.await(100, TimeUnit.MILLISECONDS));
+
+        List<RowData> rows = new ArrayList<>();
+        ring.drain(rows, 10, 10, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(put.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(ring.getPutBlockedMillis() > 0);
+        Assert.assertEquals(1, ring.size());
+    }
+}
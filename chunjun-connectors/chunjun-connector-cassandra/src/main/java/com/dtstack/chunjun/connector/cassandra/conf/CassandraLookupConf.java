@@ -24,8 +24,11 @@ import org.apache.flink.configuration.ReadableConfig;
 
 import static com.dtstack.chunjun.connector.cassandra.optinos.CassandraCommonOptions.TABLE_NAME;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_ASYNC_TIMEOUT;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_ALL_STORAGE;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_ROWS;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_WEIGHT;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_PERIOD;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_REFRESH_INTERVAL;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_TTL;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_TYPE;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_ERROR_LIMIT;
@@ -61,6 +64,9 @@ public class CassandraLookupConf extends LookupConf {
         conf.setPeriod(readableConfig.get(LOOKUP_CACHE_PERIOD));
         conf.setCacheSize(readableConfig.get(LOOKUP_CACHE_MAX_ROWS));
         conf.setCacheTtl(readableConfig.get(LOOKUP_CACHE_TTL));
+        conf.setCacheAllStorage(readableConfig.get(LOOKUP_CACHE_ALL_STORAGE));
+        conf.setCacheMaxWeight(readableConfig.get(LOOKUP_CACHE_MAX_WEIGHT));
+        conf.setCacheRefreshInterval(readableConfig.get(LOOKUP_CACHE_REFRESH_INTERVAL));
         conf.setCache(readableConfig.get(LOOKUP_CACHE_TYPE));
         conf.setMaxRetryTimes(readableConfig.get(LOOKUP_MAX_RETRIES));
         conf.setErrorLimit(readableConfig.get(LOOKUP_ERROR_LIMIT));
@@ -37,9 +37,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import static com.dtstack.chunjun.connector.cassandra.util.CassandraService.quoteColumn;
 
@@ -73,8 +71,6 @@ public class CassandraAllTableFunction extends AbstractAllTableFunction {
 
     @Override
     protected void loadData(Object cacheRef) {
-        Map<String, List<Map<String, Object>>> tmpCache =
-                (Map<String, List<Map<String, Object>>>) cacheRef;
         CassandraCommonConf commonConf = cassandraLookupConf.getCommonConf();
 
         session = CassandraService.session(commonConf);
@@ -92,15 +88,10 @@ public class CassandraAllTableFunction extends AbstractAllTableFunction {
         ResultSet resultSet = session.execute(select);
 
         for (Row row : resultSet) {
-            Map<String, Object> oneRow = new HashMap<>();
             // 防止一条数据有问题，后面数据无法加载
             try {
                 GenericRowData rowData = (GenericRowData) rowConverter.toInternalLookup(row);
-                for (int i = 0; i < fieldsName.length; i++) {
-                    Object object = rowData.getField(i);
-                    oneRow.put(fieldsName[i].trim(), object);
-                }
-                buildCache(oneRow, tmpCache);
+                buildCache(rowData, cacheRef);
             } catch (Exception e) {
                 LOG.error("", e);
             }
@@ -56,8 +56,11 @@ import static com.dtstack.chunjun.connector.cassandra.optinos.CassandraCommonOpt
 import static com.dtstack.chunjun.connector.cassandra.optinos.CassandraCommonOptions.USER_NAME;
 import static com.dtstack.chunjun.connector.cassandra.optinos.CassandraCommonOptions.USE_SSL;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_ASYNC_TIMEOUT;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_ALL_STORAGE;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_ROWS;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_WEIGHT;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_PERIOD;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_REFRESH_INTERVAL;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_TTL;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_TYPE;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_ERROR_LIMIT;
@@ -177,6 +180,9 @@ public class CassandraDynamicTableFactory
         optionalOptions.add(LOOKUP_CACHE_PERIOD);
         optionalOptions.add(LOOKUP_CACHE_MAX_ROWS);
         optionalOptions.add(LOOKUP_CACHE_TTL);
+        optionalOptions.add(LOOKUP_CACHE_ALL_STORAGE);
+        optionalOptions.add(LOOKUP_CACHE_MAX_WEIGHT);
+        optionalOptions.add(LOOKUP_CACHE_REFRESH_INTERVAL);
         optionalOptions.add(LOOKUP_CACHE_TYPE);
         optionalOptions.add(LOOKUP_MAX_RETRIES);
         optionalOptions.add(LOOKUP_ERROR_LIMIT);
@@ -32,7 +32,10 @@ import org.apache.flink.table.types.logical.RowType;
 import io.vertx.core.json.JsonArray;
 import org.apache.commons.lang3.StringUtils;
 
+import java.sql.Date;
 import java.sql.ResultSet;
+import java.sql.Time;
+import java.sql.Timestamp;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -176,4 +179,17 @@ public class Db2Dialect implements JdbcDialect {
                 .map(col -> "T1." + quoteIdentifier(col) + " = T2." + quoteIdentifier(col))
                 .collect(Collectors.joining(" and "));
     }
+
+    /** Render temporal split keys with the TIMESTAMP, DATE and TIME functions. */
+    @Override
+    public String getSplitKeyLiteral(Object value) {
+        if (value instanceof Timestamp) {
+            return "TIMESTAMP('" + value + "')";
+        } else if (value instanceof Date) {
+            return "DATE('" + value + "')";
+        } else if (value instanceof Time) {
+            return "TIME('" + value + "')";
+        }
+        return JdbcDialect.super.getSplitKeyLiteral(value);
+    }
 }
@@ -62,6 +62,25 @@ public class DorisConf extends JdbcConf {
 
     private Properties loadProperties;
 
+    /** batch: 每批数据发送一次Stream Load; stream: 数据按行写入chunked请求体，按大小和时间切分Stream Load */
+    private String loadMode = DorisKeys.LOAD_MODE_BATCH;
+
+    /** stream模式下请求体的格式，json(每行一个json)或者csv */
+    private String loadFormat = DorisKeys.LOAD_FORMAT_JSON;
+
+    /** stream模式下单次Stream Load的最大字节数 */
+    private long loadMaxBytes = DorisKeys.DORIS_LOAD_MAX_BYTES_DEFAULT;
+
+    /** stream模式下单次Stream Load的最长写入时间 */
+    private long loadIntervalMills = DorisKeys.DORIS_LOAD_INTERVAL_MS_DEFAULT;
+
+    /** stream模式下同时进行的Stream Load数量，包括正在写入数据的Stream Load */
+    private int maxInFlightLoads = DorisKeys.DORIS_MAX_IN_FLIGHT_LOADS_DEFAULT;
+
+    private String fieldDelimiter = DorisKeys.FIELD_DELIMITER;
+
+    private String lineDelimiter = DorisKeys.LINE_DELIMITER;
+
     public long getWaitRetryMills() {
         return waitRetryMills;
     }
@@ -142,6 +161,66 @@ public class DorisConf extends JdbcConf {
         this.loadProperties = loadProperties;
     }
 
+    public String getLoadMode() {
+        return loadMode;
+    }
+
+    public void setLoadMode(String loadMode) {
+        this.loadMode = loadMode;
+    }
+
+    public boolean isStreamLoad() {
+        return DorisKeys.LOAD_MODE_STREAM.equalsIgnoreCase(loadMode);
+    }
+
+    public String getLoadFormat() {
+        return loadFormat;
+    }
+
+    public void setLoadFormat(String loadFormat) {
+        this.loadFormat = loadFormat;
+    }
+
+    public long getLoadMaxBytes() {
+        return loadMaxBytes;
+    }
+
+    public void setLoadMaxBytes(long loadMaxBytes) {
+        this.loadMaxBytes = loadMaxBytes;
+    }
+
+    public long getLoadIntervalMills() {
+        return loadIntervalMills;
+    }
+
+    public void setLoadIntervalMills(long loadIntervalMills) {
+        this.loadIntervalMills = loadIntervalMills;
+    }
+
+    public int getMaxInFlightLoads() {
+        return maxInFlightLoads;
+    }
+
+    public void setMaxInFlightLoads(int maxInFlightLoads) {
+        this.maxInFlightLoads = maxInFlightLoads;
+    }
+
+    public String getFieldDelimiter() {
+        return fieldDelimiter;
+    }
+
+    public void setFieldDelimiter(String fieldDelimiter) {
+        this.fieldDelimiter = fieldDelimiter;
+    }
+
+    public String getLineDelimiter() {
+        return lineDelimiter;
+    }
+
+    public void setLineDelimiter(String lineDelimiter) {
+        this.lineDelimiter = lineDelimiter;
+    }
+
     public boolean isNameMapped() {
         return nameMapped;
     }
@@ -98,6 +98,41 @@ public class DorisConfBuilder {
         return this;
     }
 
+    public DorisConfBuilder setLoadMode(String loadMode) {
+        this.dorisConf.setLoadMode(loadMode);
+        return this;
+    }
+
+    public DorisConfBuilder setLoadFormat(String loadFormat) {
+        this.dorisConf.setLoadFormat(loadFormat);
+        return this;
+    }
+
+    public DorisConfBuilder setLoadMaxBytes(long loadMaxBytes) {
+        this.dorisConf.setLoadMaxBytes(loadMaxBytes);
+        return this;
+    }
+
+    public DorisConfBuilder setLoadIntervalMills(long loadIntervalMills) {
+        this.dorisConf.setLoadIntervalMills(loadIntervalMills);
+        return this;
+    }
+
+    public DorisConfBuilder setMaxInFlightLoads(int maxInFlightLoads) {
+        this.dorisConf.setMaxInFlightLoads(maxInFlightLoads);
+        return this;
+    }
+
+    public DorisConfBuilder setFieldDelimiter(String fieldDelimiter) {
+        this.dorisConf.setFieldDelimiter(fieldDelimiter);
+        return this;
+    }
+
+    public DorisConfBuilder setLineDelimiter(String lineDelimiter) {
+        this.dorisConf.setLineDelimiter(lineDelimiter);
+        return this;
+    }
+
     public DorisConf build() {
         StringJoiner errorMessage = new StringJoiner("\n");
 
@@ -109,6 +144,17 @@ public class DorisConfBuilder {
             errorMessage.add("Doris Username can not be empty!");
         }
 
+        if (!DorisKeys.LOAD_MODE_BATCH.equalsIgnoreCase(dorisConf.getLoadMode())
+                && !dorisConf.isStreamLoad()) {
+            errorMessage.add("Doris loadMode must be batch or stream!");
+        }
+
+        if (dorisConf.isStreamLoad()
+                && !DorisKeys.LOAD_FORMAT_JSON.equalsIgnoreCase(dorisConf.getLoadFormat())
+                && !DorisKeys.LOAD_FORMAT_CSV.equalsIgnoreCase(dorisConf.getLoadFormat())) {
+            errorMessage.add("Doris loadFormat must be json or csv!");
+        }
+
         if (errorMessage.length() > 0) {
             throw new IllegalArgumentException("Doris Options error:\n" + errorMessage);
         }
@@ -74,6 +74,24 @@ public final class DorisKeys {
 
     public static final String WRITE_MODE_KEY = "writeMode";
 
+    public static final String LOAD_MODE_KEY = "loadMode";
+
+    public static final String LOAD_FORMAT_KEY = "loadFormat";
+
+    public static final String LOAD_MAX_BYTES_KEY = "loadMaxBytes";
+
+    public static final String LOAD_INTERVAL_MS_KEY = "loadIntervalMills";
+
+    public static final String MAX_IN_FLIGHT_LOADS_KEY = "maxInFlightLoads";
+
+    public static final String LOAD_MODE_BATCH = "batch";
+
+    public static final String LOAD_MODE_STREAM = "stream";
+
+    public static final String LOAD_FORMAT_JSON = "json";
+
+    public static final String LOAD_FORMAT_CSV = "csv";
+
     public static final String FIELD_DELIMITER = "\t";
 
     public static final String LINE_DELIMITER = "\n";
@@ -102,6 +120,21 @@ public final class DorisKeys {
 
     public static final Long DORIS_EXEC_MEM_LIMIT_DEFAULT = 2147483648L;
 
+    public static final Long DORIS_LOAD_MAX_BYTES_DEFAULT = 64 * 1024 * 1024L;
+
+    public static final Long DORIS_LOAD_INTERVAL_MS_DEFAULT = 10000L;
+
+    public static final Integer DORIS_MAX_IN_FLIGHT_LOADS_DEFAULT = 2;
+
+    /** the stream load property of the load timeout in seconds */
+    public static final String LOAD_TIMEOUT_PROPERTY = "timeout";
+
+    /** the default stream_load_default_timeout_second of doris */
+    public static final Integer DORIS_LOAD_TIMEOUT_S_DEFAULT = 600;
+
+    /** the extra seconds to wait for the response after the load timeout */
+    public static final Integer DORIS_LOAD_SOCKET_TIMEOUT_MARGIN_S = 60;
+
     public static final Boolean DORIS_DESERIALIZE_ARROW_ASYNC_DEFAULT = false;
 
     public static final Integer DORIS_DESERIALIZE_QUEUE_SIZE_DEFAULT = 64;
@@ -156,4 +156,37 @@ public class DorisOptions {
                     .intType()
                     .defaultValue(DorisKeys.DORIS_BATCH_SIZE_DEFAULT)
                     .withDescription("");
+
+    public static final ConfigOption<String> LOAD_MODE =
+            ConfigOptions.key("loadMode")
+                    .stringType()
+                    .defaultValue(DorisKeys.LOAD_MODE_BATCH)
+                    .withDescription(
+                            "batch: send a stream load for each batch; stream: write the rows into chunked stream loads, which are rotated by size and interval.");
+
+    public static final ConfigOption<String> LOAD_FORMAT =
+            ConfigOptions.key("loadFormat")
+                    .stringType()
+                    .defaultValue(DorisKeys.LOAD_FORMAT_JSON)
+                    .withDescription("the body format of the stream mode, json or csv.");
+
+    public static final ConfigOption<Long> LOAD_MAX_BYTES =
+            ConfigOptions.key("loadMaxBytes")
+                    .longType()
+                    .defaultValue(DorisKeys.DORIS_LOAD_MAX_BYTES_DEFAULT)
+                    .withDescription("the max bytes of a stream load in the stream mode.");
+
+    public static final ConfigOption<Long> LOAD_INTERVAL_MS =
+            ConfigOptions.key("loadIntervalMills")
+                    .longType()
+                    .defaultValue(DorisKeys.DORIS_LOAD_INTERVAL_MS_DEFAULT)
+                    .withDescription(
+                            "the max milliseconds to write a stream load in the stream mode.");
+
+    public static final ConfigOption<Integer> MAX_IN_FLIGHT_LOADS =
+            ConfigOptions.key("maxInFlightLoads")
+                    .intType()
+                    .defaultValue(DorisKeys.DORIS_MAX_IN_FLIGHT_LOADS_DEFAULT)
+                    .withDescription(
+                            "the max number of stream loads in flight in the stream mode, including the one being written.");
 }
@@ -57,6 +57,10 @@ public class Carrier implements Serializable {
         return deleteContent.toString();
     }
 
+    public boolean hasDeleteContent() {
+        return deleteContent.length() > 0;
+    }
+
     public List<String> getColumns() {
         return columns;
     }
@@ -79,13 +79,26 @@ public class DorisLoadClient implements Serializable {
         this.nameMapped = conf.isNameMapped();
     }
     /**
-     * Each time a RowData is processed, a Carrier is obtained and then returned.
+     * Each time a RowData is processed, a Carrier is obtained and then flushed.
      *
      * @param value RowData
-     * @return Carrier
      */
     public void process(RowData value, List<String> columns, AbstractRowConverter converter)
             throws Exception {
+        Carrier carrier = toCarrier(value, columns, converter);
+        if (carrier != null) {
+            flush(carrier);
+        }
+    }
+
+    /**
+     * Obtain a Carrier from a RowData.
+     *
+     * @param value RowData
+     * @return Carrier, null if the type of RowData is not supported
+     */
+    public Carrier toCarrier(RowData value, List<String> columns, AbstractRowConverter converter)
+            throws Exception {
         String schema;
         String table;
         List<String> insertV = new LinkedList<>();
@@ -97,8 +110,7 @@ public class DorisLoadClient implements Serializable {
             wrap((ColumnRowData) value, columnsFromValue, insertV, deleteV, identityMap);
             schema = MapUtils.getString(identityMap, KEY_SCHEMA, conf.getDatabase());
             table = MapUtils.getString(identityMap, KEY_TABLE, conf.getTable());
-            Carrier carrier = initCarrier(columnsFromValue, insertV, deleteV, schema, table);
-            flush(carrier);
+            return initCarrier(columnsFromValue, insertV, deleteV, schema, table);
         }
 
         if (value instanceof GenericRowData) {
@@ -110,9 +122,9 @@ public class DorisLoadClient implements Serializable {
                 String[] split = String.valueOf(toExternal).split(",");
                 insertV.addAll(Arrays.asList(split));
             }
-            Carrier carrier = initCarrier(columns, insertV, deleteV, schema, table);
-            flush(carrier);
+            return initCarrier(columns, insertV, deleteV, schema, table);
         }
+        return null;
     }
 
     /**
@@ -19,23 +19,27 @@
 package com.dtstack.chunjun.connector.doris.rest;
 
 import com.dtstack.chunjun.connector.doris.options.DorisConf;
+import com.dtstack.chunjun.connector.doris.options.LoadConf;
 import com.dtstack.chunjun.connector.doris.rest.module.RespContent;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.http.HttpEntity;
-import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.config.ConnectionConfig;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.Serializable;
 import java.net.ConnectException;
@@ -46,28 +50,42 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import static com.dtstack.chunjun.connector.doris.options.DorisKeys.DORIS_LOAD_SOCKET_TIMEOUT_MARGIN_S;
+import static com.dtstack.chunjun.connector.doris.options.DorisKeys.DORIS_LOAD_TIMEOUT_S_DEFAULT;
+import static com.dtstack.chunjun.connector.doris.options.DorisKeys.DORIS_REQUEST_CONNECT_TIMEOUT_MS_DEFAULT;
+import static com.dtstack.chunjun.connector.doris.options.DorisKeys.LOAD_TIMEOUT_PROPERTY;
+
 /**
+ * Requests of the stream load are sent by one pooled http client, so that the connections to the
+ * backends are kept alive and reused between batches.
+ *
  * @author tiezhu@dtstack.com
  * @since 08/10/2021 Friday
  */
-public class DorisStreamLoad implements Serializable {
+public class DorisStreamLoad implements Serializable, Closeable {
 
     private static final Logger LOG = LoggerFactory.getLogger(DorisStreamLoad.class);
     private static final ObjectMapper OM = new ObjectMapper();
     private static final List<String> DORIS_SUCCESS_STATUS =
             new ArrayList<>(Arrays.asList("Success", "Publish Timeout"));
     private static final String LOAD_URL_PATTERN = "http://%s/api/%s/%s/_stream_load?";
+    private static final String LABEL_ALREADY_EXISTS = "Label Already Exists";
+    private static final String JOB_FINISHED = "FINISHED";
+    private static final String LABEL_KEY = "label";
     private String authEncoding;
     private Properties streamLoadProp;
     private String hostPort;
     private DorisConf options;
+    private transient CloseableHttpClient httpClient;
 
     public DorisStreamLoad(DorisConf options) {
         this.options = options;
@@ -94,19 +112,24 @@ public class DorisStreamLoad implements Serializable {
      * @param urlStr doris put url.
      * @param label the label of doris stream load.
      * @param mergeConditions the merge conditions of doris stream load.
+     * @param formatHeaders the headers of the body format.
      * @return http put request of doris stream load.
      */
     private HttpPut generatePut(
-            List<String> columnNames, String urlStr, String label, String mergeConditions) {
+            List<String> columnNames,
+            String urlStr,
+            String label,
+            String mergeConditions,
+            Map<String, String> formatHeaders) {
 
         HttpPut httpPut = new HttpPut(urlStr);
         httpPut.setHeader("Authorization", "Basic " + authEncoding);
         httpPut.setHeader("Expect", "100-continue");
         httpPut.setHeader("Content-Type", "text/plain; charset=UTF-8");
-        httpPut.setHeader("label", label);
-        httpPut.setHeader("format", "json");
-        // if body is list type ,strip_outer_array should be true
-        httpPut.setHeader("strip_outer_array", "true");
+        httpPut.setHeader(LABEL_KEY, label);
+        for (Map.Entry<String, String> entry : formatHeaders.entrySet()) {
+            httpPut.setHeader(entry.getKey(), entry.getValue());
+        }
         List<String> columns =
                 columnNames.stream()
                         .map(this::quoteColumn)
@@ -123,11 +146,22 @@ public class DorisStreamLoad implements Serializable {
         //    httpPut.setHeader("line_delimiter", lineDelimiter);
         // }
         for (Map.Entry<Object, Object> entry : streamLoadProp.entrySet()) {
-            httpPut.setHeader(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+            // the label is generated from the label property
+            if (!LABEL_KEY.equals(entry.getKey())) {
+                httpPut.setHeader(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+            }
         }
         return httpPut;
     }
 
+    private static Map<String, String> jsonArrayHeaders() {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("format", "json");
+        // if body is list type ,strip_outer_array should be true
+        headers.put("strip_outer_array", "true");
+        return headers;
+    }
+
     private String quoteColumn(String column) {
         return "`" + column + "`";
     }
@@ -177,50 +211,146 @@ public class DorisStreamLoad implements Serializable {
         String loadUrlStr =
                 String.format(
                         LOAD_URL_PATTERN, hostPort, carrier.getDatabase(), carrier.getTable());
-        String json = OM.writeValueAsString(carrier.getInsertContent());
+        byte[] json = OM.writeValueAsBytes(carrier.getInsertContent());
         String mergeConditions = carrier.getDeleteContent();
-        LoadResponse loadResponse = loadBatch(columnNames, json, mergeConditions, loadUrlStr);
+        String label = generateLabel();
+        // build request and send to new be location
+        HttpPut httpPut =
+                generatePut(columnNames, loadUrlStr, label, mergeConditions, jsonArrayHeaders());
+        httpPut.setEntity(new ByteArrayEntity(json));
+        checkResponse(execute(httpPut, label), false);
+    }
+
+    /**
+     * Doris load the rows written into the body. The body is sent while it is being written, and
+     * can be sent again with the same label, a retried body which has been loaded is not loaded
+     * twice.
+     *
+     * @param backend the host and http port of the doris BE.
+     * @param body rows of the load.
+     * @param formatHeaders the headers of the body format.
+     * @throws IOException io exception.
+     */
+    public void load(String backend, StreamLoadBody body, Map<String, String> formatHeaders)
+            throws IOException {
+        String loadUrlStr =
+                String.format(LOAD_URL_PATTERN, backend, body.getDatabase(), body.getTable());
+        HttpPut httpPut =
+                generatePut(body.getColumns(), loadUrlStr, body.getLabel(), null, formatHeaders);
+        httpPut.setEntity(body);
+        checkResponse(execute(httpPut, body.getLabel()), true);
+    }
+
+    private void checkResponse(LoadResponse loadResponse, boolean labelReused) throws IOException {
         LOG.debug("StreamLoad Response:{}", loadResponse);
         if (loadResponse.status != 200) {
             throw new ConnectException("stream load error, detail : " + loadResponse);
-        } else {
-            RespContent respContent = OM.readValue(loadResponse.respContent, RespContent.class);
-            if (!DORIS_SUCCESS_STATUS.contains(respContent.getStatus())) {
-                throw new IOException("stream load error: " + getDetailErrorLog(respContent));
-            }
         }
+        RespContent respContent = OM.readValue(loadResponse.respContent, RespContent.class);
+        if (DORIS_SUCCESS_STATUS.contains(respContent.getStatus())) {
+            return;
+        }
+        // the last attempt of the label was loaded, but the response was lost
+        if (labelReused
+                && LABEL_ALREADY_EXISTS.equals(respContent.getStatus())
+                && JOB_FINISHED.equals(respContent.getExistingJobStatus())) {
+            LOG.info("stream load label has been loaded, response: {}", loadResponse);
+            return;
+        }
+        throw new IOException("stream load error: " + getDetailErrorLog(respContent));
     }
 
-    private LoadResponse loadBatch(
-            List<String> columnNames, String value, String mergeConditions, String loadUrlStr) {
-        String label = generateLabel();
-
-        final ConnectionConfig connectionConfig =
-                ConnectionConfig.custom().setCharset(Charset.defaultCharset()).build();
-        try (CloseableHttpClient httpclient =
-                HttpClientBuilder.create().setDefaultConnectionConfig(connectionConfig).build()) {
-            // build request and send to new be location
-            HttpPut httpPut = generatePut(columnNames, loadUrlStr, label, mergeConditions);
-            httpPut.setEntity(new ByteArrayEntity(value.getBytes()));
-
-            HttpResponse response = httpclient.execute(httpPut);
+    private LoadResponse execute(HttpPut httpPut, String label) {
+        try (CloseableHttpResponse response = getHttpClient().execute(httpPut)) {
             int status = response.getStatusLine().getStatusCode();
             HttpEntity entity = response.getEntity();
             return new LoadResponse(status, entity != null ? EntityUtils.toString(entity) : "");
         } catch (Exception e) {
-            String err = "failed to load audit via AuditLoader plugin with label: " + label;
+            String err = "failed to stream load with label: " + label + ", " + e.getMessage();
             LOG.warn(err, e);
             return new LoadResponse(-1, err);
         }
     }
 
+    /**
+     * The socket timeout of the stream load requests, derived from the timeout property of the
+     * load.
+     *
+     * @return the load timeout plus a margin in milliseconds.
+     */
+    private int getSocketTimeoutMs() {
+        long loadTimeoutSeconds = DORIS_LOAD_TIMEOUT_S_DEFAULT;
+        // the properties of json configurations may be numbers
+        Object timeout = streamLoadProp == null ? null : streamLoadProp.get(LOAD_TIMEOUT_PROPERTY);
+        if (timeout != null && StringUtils.isNotBlank(timeout.toString())) {
+            try {
+                loadTimeoutSeconds = Long.parseLong(timeout.toString().trim());
+            } catch (NumberFormatException e) {
+                LOG.warn("invalid stream load timeout [{}], use the default", timeout);
+            }
+        }
+        long socketTimeoutMs =
+                TimeUnit.SECONDS.toMillis(loadTimeoutSeconds + DORIS_LOAD_SOCKET_TIMEOUT_MARGIN_S);
+        return (int) Math.min(socketTimeoutMs, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The connections are kept alive in the pool, one for each load in flight.
+     *
+     * @return the http client of the stream load.
+     */
+    private synchronized CloseableHttpClient getHttpClient() {
+        if (httpClient == null) {
+            LoadConf loadConf = options.getLoadConf();
+            int connectTimeout =
+                    loadConf == null || loadConf.getRequestConnectTimeoutMs() == null
+                            ? DORIS_REQUEST_CONNECT_TIMEOUT_MS_DEFAULT
+                            : loadConf.getRequestConnectTimeoutMs();
+            int maxConnections = Math.max(options.getMaxInFlightLoads(), 1) + 1;
+            PoolingHttpClientConnectionManager connectionManager =
+                    new PoolingHttpClientConnectionManager();
+            connectionManager.setMaxTotal(maxConnections);
+            connectionManager.setDefaultMaxPerRoute(maxConnections);
+            connectionManager.setDefaultConnectionConfig(
+                    ConnectionConfig.custom().setCharset(Charset.defaultCharset()).build());
+            // the response is returned after the load is committed, which is at most the load
+            // timeout, a backend that stops responding fails the load instead of blocking it
+            RequestConfig requestConfig =
+                    RequestConfig.custom()
+                            .setConnectTimeout(connectTimeout)
+                            .setSocketTimeout(getSocketTimeoutMs())
+                            .setExpectContinueEnabled(true)
+                            .build();
+            httpClient =
+                    HttpClientBuilder.create()
+                            .setConnectionManager(connectionManager)
+                            .setDefaultRequestConfig(requestConfig)
+                            .build();
+        }
+        return httpClient;
+    }
+
+    /**
+     * Generate the label of a streaming load, the label property is used as the prefix of the
+     * labels.
+     *
+     * @return doris label
+     */
+    public String generateStreamLabel() {
+        String label = streamLoadProp.getProperty(LABEL_KEY);
+        if (StringUtils.isBlank(label)) {
+            return generateLabel();
+        }
+        return String.format("%s_%s", label, UUID.randomUUID().toString().replaceAll("-", ""));
+    }
+
     /**
      * Generate the label of Doris Stream Load
      *
      * @return doris label
      */
     private String generateLabel() {
-        String label = streamLoadProp.getProperty("label");
+        String label = streamLoadProp.getProperty(LABEL_KEY);
         if (StringUtils.isBlank(label)) {
             SimpleDateFormat sdf = new SimpleDateFormat("yyyyMMdd_HHmmss");
             String formatDate = sdf.format(new Date());
@@ -239,18 +369,24 @@ public class DorisStreamLoad implements Serializable {
      * @return the detailed error log
      */
     public String getDetailErrorLog(RespContent respContent) {
-        try (CloseableHttpClient httpclient = HttpClientBuilder.create().build()) {
-            if (StringUtils.isNotBlank(respContent.getErrorURL())) {
-                HttpGet httpget = new HttpGet(respContent.getErrorURL());
-                HttpResponse response = httpclient.execute(httpget);
-                HttpEntity entity = response.getEntity();
-                return EntityUtils.toString(entity);
-            } else {
-                return respContent.toString();
-            }
+        if (StringUtils.isBlank(respContent.getErrorURL())) {
+            return respContent.toString();
+        }
+        HttpGet httpget = new HttpGet(respContent.getErrorURL());
+        try (CloseableHttpResponse response = getHttpClient().execute(httpget)) {
+            HttpEntity entity = response.getEntity();
+            return EntityUtils.toString(entity);
         } catch (IOException e) {
             LOG.warn("Get detail error message failed. Error Url: " + respContent.getErrorURL());
             return respContent.getMessage();
         }
     }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+            httpClient = null;
+        }
+    }
 }
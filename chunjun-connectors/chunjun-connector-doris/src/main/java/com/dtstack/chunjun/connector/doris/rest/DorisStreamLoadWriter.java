@@ -0,0 +1,420 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.doris.rest;
+
+import com.dtstack.chunjun.connector.doris.options.DorisConf;
+import com.dtstack.chunjun.connector.doris.options.DorisKeys;
+import com.dtstack.chunjun.connector.doris.rest.module.BackendRow;
+import com.dtstack.chunjun.factory.ChunJunThreadFactory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Write rows into stream loads in the stream mode.
+ *
+ * <p>The rows of a table are written as json lines or csv into the chunked body of a stream load,
+ * which is sent to a BE while the rows are being written. A load is finished when its body reaches
+ * loadMaxBytes or has been written for loadIntervalMills, and the next load of the table is sent to
+ * the next BE, so that the loads being committed and the load being written are pipelined. At most
+ * maxInFlightLoads loads are in flight, the writer is blocked until one of them is committed.
+ *
+ * <p>A failed load is retried on another BE with the same label. Failures which can not be retried
+ * are thrown by the next write or flush.
+ */
+public class DorisStreamLoadWriter implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DorisStreamLoadWriter.class);
+
+    private static final ObjectMapper OM =
+            new ObjectMapper(new JsonFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+
+    private static final byte[] CSV_NULL = "\\N".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] JSON_LINE_DELIMITER = {'\n'};
+
+    private static final String HEX_PREFIX = "\\x";
+
+    private final DorisStreamLoad dorisStreamLoad;
+    private final DorisConf conf;
+    private final boolean csv;
+    private final String fieldDelimiter;
+    private final String lineDelimiter;
+    private final byte[] fieldDelimiterBytes;
+    private final byte[] lineDelimiterBytes;
+    private final Map<String, String> formatHeaders = new LinkedHashMap<>();
+    private final int maxInFlightLoads;
+
+    /** the permits are held by the loads in flight, including the loads being written */
+    private final Semaphore inFlight;
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+
+    /** the loads being written, by database and table */
+    private final Map<String, StreamLoadBody> openLoads = new HashMap<>();
+
+    /** the row being serialized, appended to the body when it is complete */
+    private final RowBuffer rowBuffer = new RowBuffer();
+
+    private final Object backendLock = new Object();
+    private List<String> backends = new ArrayList<>();
+    private int nextBackend;
+
+    private volatile Throwable failure;
+    private volatile boolean closed;
+
+    public DorisStreamLoadWriter(DorisStreamLoad dorisStreamLoad, DorisConf conf)
+            throws IOException {
+        this.dorisStreamLoad = dorisStreamLoad;
+        this.conf = conf;
+        if (DorisKeys.LOAD_FORMAT_CSV.equalsIgnoreCase(conf.getLoadFormat())) {
+            this.csv = true;
+            this.fieldDelimiterBytes = parseDelimiter(conf.getFieldDelimiter());
+            this.lineDelimiterBytes = parseDelimiter(conf.getLineDelimiter());
+            this.fieldDelimiter = new String(fieldDelimiterBytes, StandardCharsets.UTF_8);
+            this.lineDelimiter = new String(lineDelimiterBytes, StandardCharsets.UTF_8);
+            formatHeaders.put("format", "csv");
+            formatHeaders.put("column_separator", conf.getFieldDelimiter());
+            if (!DorisKeys.LINE_DELIMITER.equals(lineDelimiter)) {
+                formatHeaders.put("line_delimiter", conf.getLineDelimiter());
+            }
+        } else if (DorisKeys.LOAD_FORMAT_JSON.equalsIgnoreCase(conf.getLoadFormat())) {
+            this.csv = false;
+            this.fieldDelimiter = null;
+            this.lineDelimiter = null;
+            this.fieldDelimiterBytes = null;
+            this.lineDelimiterBytes = JSON_LINE_DELIMITER;
+            formatHeaders.put("format", "json");
+            formatHeaders.put("read_json_by_line", "true");
+        } else {
+            throw new IllegalArgumentException(
+                    "unsupported doris load format: " + conf.getLoadFormat());
+        }
+        this.maxInFlightLoads = Math.max(conf.getMaxInFlightLoads(), 1);
+        this.inFlight = new Semaphore(maxInFlightLoads);
+        refreshBackends();
+
+        this.executor =
+                new ThreadPoolExecutor(
+                        maxInFlightLoads,
+                        maxInFlightLoads,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(),
+                        new ChunJunThreadFactory("doris-stream-load", true));
+        if (conf.getLoadIntervalMills() > 0) {
+            long period = Math.min(conf.getLoadIntervalMills(), 1000L);
+            this.scheduler =
+                    new ScheduledThreadPoolExecutor(
+                            1, new ChunJunThreadFactory("doris-stream-load-rotate", true));
+            scheduler.scheduleWithFixedDelay(
+                    this::finishExpired, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+        LOG.info(
+                "stream load writer opened, format = {}, loadMaxBytes = {}, loadIntervalMills = {}, maxInFlightLoads = {}, backends = {}",
+                conf.getLoadFormat(),
+                conf.getLoadMaxBytes(),
+                conf.getLoadIntervalMills(),
+                maxInFlightLoads,
+                backends);
+    }
+
+    /**
+     * Write the insert content of the carrier into the load of its table.
+     *
+     * @param carrier rows without delete conditions.
+     * @throws IOException a load failed or the writer is interrupted.
+     * @throws IllegalArgumentException a csv value contains the delimiters.
+     */
+    public synchronized void write(Carrier carrier) throws IOException {
+        checkFailure();
+        List<String> columns = carrier.getColumns();
+        String key = carrier.getDatabase() + "." + carrier.getTable();
+        for (Map<String, Object> row : carrier.getInsertContent()) {
+            serialize(columns, row);
+            StreamLoadBody body = openLoads.get(key);
+            // the columns header is shared by all rows of a load
+            if (body != null
+                    && (body.getSize() + rowBuffer.size() > conf.getLoadMaxBytes()
+                            || !body.getColumns().equals(columns))) {
+                finish(key);
+                body = null;
+            }
+            if (body == null) {
+                body = open(carrier.getDatabase(), carrier.getTable(), columns);
+                openLoads.put(key, body);
+            }
+            body.append(rowBuffer.getBuffer(), rowBuffer.size());
+        }
+    }
+
+    /**
+     * Finish the loads being written and wait until all loads are committed.
+     *
+     * @throws IOException a load failed or the writer is interrupted.
+     */
+    public synchronized void flush() throws IOException {
+        finishAll();
+        try {
+            inFlight.acquire(maxInFlightLoads);
+            inFlight.release(maxInFlightLoads);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for stream loads");
+        }
+        checkFailure();
+    }
+
+    private void serialize(List<String> columns, Map<String, Object> row) throws IOException {
+        rowBuffer.reset();
+        if (!csv) {
+            OM.writeValue(rowBuffer, row);
+            rowBuffer.write(lineDelimiterBytes);
+            return;
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                rowBuffer.write(fieldDelimiterBytes);
+            }
+            Object value = row.get(columns.get(i));
+            if (value == null) {
+                rowBuffer.write(CSV_NULL);
+                continue;
+            }
+            String text = String.valueOf(value);
+            if (text.contains(fieldDelimiter) || text.contains(lineDelimiter)) {
+                throw new IllegalArgumentException(
+                        "value of column ["
+                                + columns.get(i)
+                                + "] contains the delimiter of csv, use json load format instead");
+            }
+            rowBuffer.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        rowBuffer.write(lineDelimiterBytes);
+    }
+
+    private StreamLoadBody open(String database, String table, List<String> columns)
+            throws IOException {
+        if (!inFlight.tryAcquire()) {
+            // the loads being written hold permits too, finish them so that they can be committed
+            finishAll();
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for stream loads");
+            }
+            checkFailure();
+        }
+        StreamLoadBody body =
+                new StreamLoadBody(
+                        database,
+                        table,
+                        new ArrayList<>(columns),
+                        dorisStreamLoad.generateStreamLabel());
+        try {
+            executor.execute(() -> load(body));
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+        return body;
+    }
+
+    /** send the body and retry it on other BEs, called in the load threads */
+    private void load(StreamLoadBody body) {
+        long startTime = System.currentTimeMillis();
+        try {
+            String backend = nextBackend();
+            int maxRetries = Math.max(conf.getMaxRetries(), 1);
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    dorisStreamLoad.load(backend, body, formatHeaders);
+                    break;
+                } catch (IOException e) {
+                    if (attempt >= maxRetries || closed) {
+                        throw e;
+                    }
+                    LOG.warn(
+                            "stream load [{}] to {} failed, retry {}/{} on another backend",
+                            body.getLabel(),
+                            backend,
+                            attempt,
+                            maxRetries - 1,
+                            e);
+                    TimeUnit.MILLISECONDS.sleep(conf.getWaitRetryMills());
+                    refreshBackends();
+                    backend = nextBackend();
+                }
+            }
+            LOG.info(
+                    "stream load [{}] to {}.{} finished, rows = {}, bytes = {}, takes {} ms",
+                    body.getLabel(),
+                    body.getDatabase(),
+                    body.getTable(),
+                    body.getRows(),
+                    body.getSize(),
+                    System.currentTimeMillis() - startTime);
+        } catch (Throwable e) {
+            if (!closed) {
+                LOG.error("stream load [{}] failed, body = {}", body.getLabel(), body, e);
+            }
+            if (failure == null) {
+                failure = e;
+            }
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private void finish(String key) {
+        StreamLoadBody body = openLoads.remove(key);
+        if (body != null) {
+            body.finish();
+        }
+    }
+
+    private void finishAll() {
+        for (StreamLoadBody body : openLoads.values()) {
+            body.finish();
+        }
+        openLoads.clear();
+    }
+
+    /** finish the loads written for loadIntervalMills, called in the scheduler */
+    private synchronized void finishExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<StreamLoadBody> iterator = openLoads.values().iterator();
+        while (iterator.hasNext()) {
+            StreamLoadBody body = iterator.next();
+            if (now - body.getCreateTime() >= conf.getLoadIntervalMills()) {
+                body.finish();
+                iterator.remove();
+            }
+        }
+    }
+
+    private String nextBackend() {
+        synchronized (backendLock) {
+            String backend = backends.get(nextBackend % backends.size());
+            nextBackend = (nextBackend + 1) % backends.size();
+            return backend;
+        }
+    }
+
+    /** keep the backends of the last request if the FE is not available */
+    private void refreshBackends() throws IOException {
+        List<String> alive;
+        try {
+            alive =
+                    FeRestService.getBackends(conf).stream()
+                            .map(this::toHostPort)
+                            .collect(Collectors.toList());
+        } catch (IOException | RuntimeException e) {
+            synchronized (backendLock) {
+                if (backends.isEmpty()) {
+                    throw e;
+                }
+            }
+            LOG.warn("failed to refresh doris backends, keep {}", backends, e);
+            return;
+        }
+        if (alive.isEmpty()) {
+            throw new IllegalArgumentException("no alive doris backend");
+        }
+        synchronized (backendLock) {
+            backends = alive;
+            nextBackend = ThreadLocalRandom.current().nextInt(alive.size());
+        }
+    }
+
+    private String toHostPort(BackendRow backend) {
+        return backend.getIP() + ":" + backend.getHttpPort();
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            throw new IOException("stream load failed", failure);
+        }
+    }
+
+    /** doris accepts delimiters in hex like \x01 */
+    private static byte[] parseDelimiter(String delimiter) {
+        if (!delimiter.startsWith(HEX_PREFIX)) {
+            return delimiter.getBytes(StandardCharsets.UTF_8);
+        }
+        String hex = delimiter.substring(HEX_PREFIX.length());
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return bytes;
+    }
+
+    private static class RowBuffer extends ByteArrayOutputStream {
+
+        /** the bytes are appended to the body without copying the row */
+        byte[] getBuffer() {
+            return buf;
+        }
+    }
+
+    /** Loads not finished are aborted, call {@link #flush()} before closing to commit them. */
+    @Override
+    public void close() {
+        closed = true;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        synchronized (this) {
+            for (StreamLoadBody body : openLoads.values()) {
+                body.abort();
+            }
+            openLoads.clear();
+        }
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.doris.rest;
+
+import org.apache.http.entity.AbstractHttpEntity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The chunked body of a stream load in the stream mode. Rows are appended by the writer while the
+ * request is being sent, the appended blocks are kept until the load is acknowledged, so that the
+ * body can be sent again when the load is retried.
+ */
+public class StreamLoadBody extends AbstractHttpEntity {
+
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private final String database;
+    private final String table;
+    private final List<String> columns;
+    private final String label;
+    private final long createTime = System.currentTimeMillis();
+
+    /** blocks which can be sent */
+    private final List<byte[]> blocks = new ArrayList<>();
+
+    /** the block being written, only used by the writer */
+    private byte[] block = new byte[BLOCK_SIZE];
+
+    private int position;
+    private long size;
+    private int rows;
+    private boolean finished;
+    private boolean aborted;
+
+    public StreamLoadBody(String database, String table, List<String> columns, String label) {
+        this.database = database;
+        this.table = table;
+        this.columns = columns;
+        this.label = label;
+        setChunked(true);
+    }
+
+    /**
+     * Append a row to the body.
+     *
+     * @param row the bytes of the row, including the line delimiter.
+     * @param length the length of the row.
+     */
+    public void append(byte[] row, int length) {
+        int offset = 0;
+        while (offset < length) {
+            int count = Math.min(length - offset, block.length - position);
+            System.arraycopy(row, offset, block, position, count);
+            position += count;
+            offset += count;
+            if (position == block.length) {
+                publish(block);
+                block = new byte[BLOCK_SIZE];
+                position = 0;
+            }
+        }
+        size += length;
+        rows++;
+    }
+
+    /** No more rows are appended, the request is completed after the last block is sent. */
+    public void finish() {
+        synchronized (this) {
+            if (position > 0) {
+                blocks.add(Arrays.copyOf(block, position));
+            }
+            finished = true;
+            notifyAll();
+        }
+        block = null;
+    }
+
+    /** The request is broken, so that the rows are not loaded. */
+    public synchronized void abort() {
+        aborted = true;
+        notifyAll();
+    }
+
+    private synchronized void publish(byte[] full) {
+        blocks.add(full);
+        notifyAll();
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        int index = 0;
+        while (true) {
+            byte[] next;
+            synchronized (this) {
+                if (aborted) {
+                    throw new IOException("stream load [" + label + "] is aborted");
+                }
+                if (index < blocks.size()) {
+                    next = blocks.get(index);
+                } else if (finished) {
+                    break;
+                } else {
+                    next = null;
+                }
+            }
+            if (next != null) {
+                outputStream.write(next);
+                index++;
+                continue;
+            }
+            // send the written blocks to the BE before waiting for more rows
+            outputStream.flush();
+            synchronized (this) {
+                try {
+                    while (index == blocks.size() && !finished && !aborted) {
+                        wait();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException(
+                            "interrupted while writing stream load [" + label + "]");
+                }
+            }
+        }
+        outputStream.flush();
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public InputStream getContent() {
+        throw new UnsupportedOperationException("stream load body can only be written");
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    public String getDatabase() {
+        return database;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getCreateTime() {
+        return createTime;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public String toString() {
+        return "StreamLoadBody{"
+                + "database="
+                + database
+                + ", table="
+                + table
+                + ", label="
+                + label
+                + ", rows="
+                + rows
+                + ", size="
+                + size
+                + '}';
+    }
+}
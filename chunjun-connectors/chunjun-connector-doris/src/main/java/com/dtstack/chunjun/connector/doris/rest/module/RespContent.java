@@ -85,6 +85,10 @@ public class RespContent {
         return Status;
     }
 
+    public String getExistingJobStatus() {
+        return ExistingJobStatus;
+    }
+
     public String getMessage() {
         return Message;
     }
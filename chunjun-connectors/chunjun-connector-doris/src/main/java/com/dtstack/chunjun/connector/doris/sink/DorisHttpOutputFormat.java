@@ -22,8 +22,11 @@ import com.dtstack.chunjun.connector.doris.options.DorisConf;
 import com.dtstack.chunjun.connector.doris.rest.Carrier;
 import com.dtstack.chunjun.connector.doris.rest.DorisLoadClient;
 import com.dtstack.chunjun.connector.doris.rest.DorisStreamLoad;
+import com.dtstack.chunjun.connector.doris.rest.DorisStreamLoadWriter;
 import com.dtstack.chunjun.connector.doris.rest.FeRestService;
+import com.dtstack.chunjun.restore.FormatState;
 import com.dtstack.chunjun.sink.format.BaseRichOutputFormat;
+import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 import com.dtstack.chunjun.throwable.WriteRecordException;
 
 import org.apache.flink.table.data.RowData;
@@ -38,12 +41,19 @@ import java.util.Set;
 /**
  * use DorisStreamLoad to write data into doris
  *
+ * <p>In the stream mode, rows are written into the chunked stream loads of {@link
+ * DorisStreamLoadWriter}, and checkpoints wait until the loads in flight are committed. Rows with
+ * delete conditions are loaded alone by the merge requests of the batch mode, after the rows before
+ * them are committed.
+ *
  * @author tiezhu@dtstack
  * @date 2021/9/16 星期四
  */
 public class DorisHttpOutputFormat extends BaseRichOutputFormat {
     private DorisConf options;
     private DorisLoadClient client;
+    private DorisStreamLoad dorisStreamLoad;
+    private DorisStreamLoadWriter streamLoadWriter;
     /** cache carriers * */
     private final Map<String, Carrier> carrierMap = new HashMap<>();
 
@@ -69,9 +79,12 @@ public class DorisHttpOutputFormat extends BaseRichOutputFormat {
 
     @Override
     public void open(int taskNumber, int numTasks) throws IOException {
-        DorisStreamLoad dorisStreamLoad = new DorisStreamLoad(options);
+        dorisStreamLoad = new DorisStreamLoad(options);
         dorisStreamLoad.replaceBackend();
         client = new DorisLoadClient(dorisStreamLoad, options);
+        if (options.isStreamLoad()) {
+            streamLoadWriter = new DorisStreamLoadWriter(dorisStreamLoad, options);
+        }
         super.open(taskNumber, numTasks);
     }
 
@@ -81,10 +94,57 @@ public class DorisHttpOutputFormat extends BaseRichOutputFormat {
     }
 
     @Override
-    protected void closeInternal() throws IOException {}
+    public synchronized void close() throws IOException {
+        Exception flushException = null;
+        if (streamLoadWriter != null && rows != null && !closed) {
+            // failures of closeInternal() are only logged, commit the loads before closing
+            try {
+                writeRecordInternal();
+                streamLoadWriter.flush();
+            } catch (Exception e) {
+                LOG.error("failed to flush stream loads when closing", e);
+                flushException = e;
+            }
+        }
+        super.close();
+        if (flushException != null) {
+            throw new IOException("failed to flush stream loads", flushException);
+        }
+    }
+
+    @Override
+    protected void closeInternal() throws IOException {
+        if (streamLoadWriter != null) {
+            streamLoadWriter.close();
+        }
+        if (dorisStreamLoad != null) {
+            dorisStreamLoad.close();
+        }
+    }
+
+    @Override
+    protected void preCommit() throws Exception {
+        if (streamLoadWriter != null) {
+            writeStreamRecords();
+        }
+    }
+
+    @Override
+    public synchronized FormatState getFormatState() throws Exception {
+        FormatState formatState = super.getFormatState();
+        if (streamLoadWriter != null) {
+            // the records before the checkpoint must be committed by doris
+            streamLoadWriter.flush();
+        }
+        return formatState;
+    }
 
     @Override
     protected void writeSingleRecordInternal(RowData rowData) throws WriteRecordException {
+        if (streamLoadWriter != null) {
+            writeStreamRecord(rowData);
+            return;
+        }
         try {
             client.process(rowData, columns, rowConverter);
         } catch (Exception e) {
@@ -121,18 +181,65 @@ public class DorisHttpOutputFormat extends BaseRichOutputFormat {
         }
     }
 
-    @Override
-    protected synchronized void writeRecordInternal() {
-        if (flushEnable.get()) {
-            try {
-                writeMultipleRecordsInternal();
-            } catch (Exception e) {
-                // 批量写异常转为单条写
-                rows.forEach(item -> writeSingleRecord(item, numWriteCounter));
-            } finally {
-                // Data is either recorded dirty data or written normally
-                rows.clear();
+    /**
+     * Write a record into the stream loads, the failures of the loads are not dirty data, the
+     * records of the loads can only be written again after the task restarts.
+     */
+    private void writeStreamRecord(RowData rowData) throws WriteRecordException {
+        Carrier carrier;
+        try {
+            carrier = client.toCarrier(rowData, columns, rowConverter);
+        } catch (Exception e) {
+            throw new WriteRecordException("", e, 0, rowData);
+        }
+        if (carrier == null) {
+            return;
+        }
+        try {
+            if (!carrier.hasDeleteContent()) {
+                streamLoadWriter.write(carrier);
+                return;
             }
+            streamLoadWriter.flush();
+        } catch (IllegalArgumentException e) {
+            throw new WriteRecordException(e.getMessage(), e, 0, rowData);
+        } catch (IOException e) {
+            throw new ChunJunRuntimeException("doris stream load failed", e);
+        }
+        try {
+            client.flush(carrier);
+        } catch (Exception e) {
+            throw new WriteRecordException("", e, 0, rowData);
+        }
+    }
+
+    private void writeStreamRecords() {
+        try {
+            rows.forEach(item -> writeSingleRecord(item, numWriteCounter));
+        } finally {
+            rows.clear();
+        }
+    }
+
+    /**
+     * Both the flushes of {@link #writeRecordInternal} and the asynchronous flushes write the rows
+     * here, so that the stream mode is never bypassed.
+     */
+    @Override
+    protected void writeRows() {
+        if (streamLoadWriter != null) {
+            writeStreamRecords();
+            return;
+        }
+        try {
+            // the written rows are counted and removed in writeMultipleRecordsInternal
+            writeMultipleRecordsInternal();
+        } catch (Exception e) {
+            // 批量写异常转为单条写
+            rows.forEach(item -> writeSingleRecord(item, numWriteCounter));
+        } finally {
+            // Data is either recorded dirty data or written normally
+            rows.clear();
         }
     }
 }
@@ -43,6 +43,9 @@ import static com.dtstack.chunjun.connector.doris.options.DorisKeys.DORIS_BATCH_
 import static com.dtstack.chunjun.connector.doris.options.DorisKeys.DORIS_DESERIALIZE_ARROW_ASYNC_DEFAULT;
 import static com.dtstack.chunjun.connector.doris.options.DorisKeys.DORIS_DESERIALIZE_QUEUE_SIZE_DEFAULT;
 import static com.dtstack.chunjun.connector.doris.options.DorisKeys.DORIS_EXEC_MEM_LIMIT_DEFAULT;
+import static com.dtstack.chunjun.connector.doris.options.DorisKeys.DORIS_LOAD_INTERVAL_MS_DEFAULT;
+import static com.dtstack.chunjun.connector.doris.options.DorisKeys.DORIS_LOAD_MAX_BYTES_DEFAULT;
+import static com.dtstack.chunjun.connector.doris.options.DorisKeys.DORIS_MAX_IN_FLIGHT_LOADS_DEFAULT;
 import static com.dtstack.chunjun.connector.doris.options.DorisKeys.DORIS_REQUEST_CONNECT_TIMEOUT_MS_DEFAULT;
 import static com.dtstack.chunjun.connector.doris.options.DorisKeys.DORIS_REQUEST_QUERY_TIMEOUT_S_DEFAULT;
 import static com.dtstack.chunjun.connector.doris.options.DorisKeys.DORIS_REQUEST_READ_TIMEOUT_MS_DEFAULT;
@@ -50,9 +53,20 @@ import static com.dtstack.chunjun.connector.doris.options.DorisKeys.DORIS_REQUES
 import static com.dtstack.chunjun.connector.doris.options.DorisKeys.DORIS_WRITE_MODE_DEFAULT;
 import static com.dtstack.chunjun.connector.doris.options.DorisKeys.EXEC_MEM_LIMIT_KEY;
 import static com.dtstack.chunjun.connector.doris.options.DorisKeys.FE_NODES_KEY;
+import static com.dtstack.chunjun.connector.doris.options.DorisKeys.FIELD_DELIMITER;
+import static com.dtstack.chunjun.connector.doris.options.DorisKeys.FIELD_DELIMITER_KEY;
 import static com.dtstack.chunjun.connector.doris.options.DorisKeys.FLUSH_INTERNAL_MS_KEY;
+import static com.dtstack.chunjun.connector.doris.options.DorisKeys.LINE_DELIMITER;
+import static com.dtstack.chunjun.connector.doris.options.DorisKeys.LINE_DELIMITER_KEY;
+import static com.dtstack.chunjun.connector.doris.options.DorisKeys.LOAD_FORMAT_JSON;
+import static com.dtstack.chunjun.connector.doris.options.DorisKeys.LOAD_FORMAT_KEY;
+import static com.dtstack.chunjun.connector.doris.options.DorisKeys.LOAD_INTERVAL_MS_KEY;
+import static com.dtstack.chunjun.connector.doris.options.DorisKeys.LOAD_MAX_BYTES_KEY;
+import static com.dtstack.chunjun.connector.doris.options.DorisKeys.LOAD_MODE_BATCH;
+import static com.dtstack.chunjun.connector.doris.options.DorisKeys.LOAD_MODE_KEY;
 import static com.dtstack.chunjun.connector.doris.options.DorisKeys.LOAD_OPTIONS_KEY;
 import static com.dtstack.chunjun.connector.doris.options.DorisKeys.LOAD_PROPERTIES_KEY;
+import static com.dtstack.chunjun.connector.doris.options.DorisKeys.MAX_IN_FLIGHT_LOADS_KEY;
 import static com.dtstack.chunjun.connector.doris.options.DorisKeys.MAX_RETRIES_KEY;
 import static com.dtstack.chunjun.connector.doris.options.DorisKeys.PASSWORD_KEY;
 import static com.dtstack.chunjun.connector.doris.options.DorisKeys.REQUEST_BATCH_SIZE_KEY;
@@ -149,6 +163,21 @@ public class DorisSinkFactory extends SinkFactory {
                         .setFlushIntervalMills(parameter.getLongVal(FLUSH_INTERNAL_MS_KEY, 10000L))
                         .setMaxRetries(parameter.getIntVal(MAX_RETRIES_KEY, 1))
                         .setWaitRetryMills(parameter.getLongVal(WAITRETRIES_MS_KEY, 18000L))
+                        .setLoadMode(parameter.getStringVal(LOAD_MODE_KEY, LOAD_MODE_BATCH))
+                        .setLoadFormat(parameter.getStringVal(LOAD_FORMAT_KEY, LOAD_FORMAT_JSON))
+                        .setLoadMaxBytes(
+                                parameter.getLongVal(
+                                        LOAD_MAX_BYTES_KEY, DORIS_LOAD_MAX_BYTES_DEFAULT))
+                        .setLoadIntervalMills(
+                                parameter.getLongVal(
+                                        LOAD_INTERVAL_MS_KEY, DORIS_LOAD_INTERVAL_MS_DEFAULT))
+                        .setMaxInFlightLoads(
+                                parameter.getIntVal(
+                                        MAX_IN_FLIGHT_LOADS_KEY, DORIS_MAX_IN_FLIGHT_LOADS_DEFAULT))
+                        .setFieldDelimiter(
+                                parameter.getStringVal(FIELD_DELIMITER_KEY, FIELD_DELIMITER))
+                        .setLineDelimiter(
+                                parameter.getStringVal(LINE_DELIMITER_KEY, LINE_DELIMITER))
                         .build();
         options.setColumn(syncConf.getWriter().getFieldList());
         super.initCommonConf(options);
@@ -187,6 +187,13 @@ public class DorisDynamicTableFactory extends JdbcDynamicTableFactory
         dorisConf.setMaxRetries(config.get(DorisOptions.MAX_RETRIES));
         dorisConf.setWriteMode(config.get(DorisOptions.WRITE_MODE));
         dorisConf.setBatchSize(config.get(DorisOptions.BATCH_SIZE));
+        dorisConf.setLoadMode(config.get(DorisOptions.LOAD_MODE));
+        dorisConf.setLoadFormat(config.get(DorisOptions.LOAD_FORMAT));
+        dorisConf.setLoadMaxBytes(config.get(DorisOptions.LOAD_MAX_BYTES));
+        dorisConf.setLoadIntervalMills(config.get(DorisOptions.LOAD_INTERVAL_MS));
+        dorisConf.setMaxInFlightLoads(config.get(DorisOptions.MAX_IN_FLIGHT_LOADS));
+        dorisConf.setFieldDelimiter(config.get(DorisOptions.FIELD_DELIMITER));
+        dorisConf.setLineDelimiter(config.get(DorisOptions.LINE_DELIMITER));
 
         return dorisConf;
     }
@@ -245,7 +252,12 @@ public class DorisDynamicTableFactory extends JdbcDynamicTableFactory
                                 DorisOptions.LINE_DELIMITER,
                                 DorisOptions.MAX_RETRIES,
                                 DorisOptions.WRITE_MODE,
-                                DorisOptions.BATCH_SIZE)
+                                DorisOptions.BATCH_SIZE,
+                                DorisOptions.LOAD_MODE,
+                                DorisOptions.LOAD_FORMAT,
+                                DorisOptions.LOAD_MAX_BYTES,
+                                DorisOptions.LOAD_INTERVAL_MS,
+                                DorisOptions.MAX_IN_FLIGHT_LOADS)
                         .collect(Collectors.toSet());
 
         options.addAll(optionalOptions);
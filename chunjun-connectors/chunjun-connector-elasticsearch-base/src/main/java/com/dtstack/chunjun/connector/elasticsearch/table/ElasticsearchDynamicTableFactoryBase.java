@@ -12,8 +12,11 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_ASYNC_TIMEOUT;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_ALL_STORAGE;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_ROWS;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_WEIGHT;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_PERIOD;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_REFRESH_INTERVAL;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_TTL;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_TYPE;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_ERROR_LIMIT;
@@ -75,6 +78,9 @@ public abstract class ElasticsearchDynamicTableFactoryBase
                         LOOKUP_CACHE_PERIOD,
                         LOOKUP_CACHE_MAX_ROWS,
                         LOOKUP_CACHE_TTL,
+                        LOOKUP_CACHE_ALL_STORAGE,
+                        LOOKUP_CACHE_MAX_WEIGHT,
+                        LOOKUP_CACHE_REFRESH_INTERVAL,
                         LOOKUP_CACHE_TYPE,
                         LOOKUP_MAX_RETRIES,
                         LOOKUP_ERROR_LIMIT,
@@ -96,6 +102,9 @@ public abstract class ElasticsearchDynamicTableFactoryBase
                 .setPeriod(readableConfig.get(LOOKUP_CACHE_PERIOD))
                 .setCacheSize(readableConfig.get(LOOKUP_CACHE_MAX_ROWS))
                 .setCacheTtl(readableConfig.get(LOOKUP_CACHE_TTL))
+                .setCacheAllStorage(readableConfig.get(LOOKUP_CACHE_ALL_STORAGE))
+                .setCacheMaxWeight(readableConfig.get(LOOKUP_CACHE_MAX_WEIGHT))
+                .setCacheRefreshInterval(readableConfig.get(LOOKUP_CACHE_REFRESH_INTERVAL))
                 .setCache(readableConfig.get(LOOKUP_CACHE_TYPE))
                 .setMaxRetryTimes(readableConfig.get(LOOKUP_MAX_RETRIES))
                 .setErrorLimit(readableConfig.get(LOOKUP_ERROR_LIMIT))
@@ -35,8 +35,6 @@ import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -65,8 +63,6 @@ public class Elasticsearch6AllTableFunction extends AbstractAllTableFunction {
 
     @Override
     protected void loadData(Object cacheRef) {
-        Map<String, List<Map<String, Object>>> tmpCache =
-                (Map<String, List<Map<String, Object>>>) cacheRef;
 
         rhlClient = Elasticsearch6ClientFactory.createClient(elasticsearchConf);
         SearchRequest requestBuilder = buildSearchRequest();
@@ -77,15 +73,10 @@ public class Elasticsearch6AllTableFunction extends AbstractAllTableFunction {
             searchResponse = rhlClient.search(requestBuilder);
             searchHits = searchResponse.getHits().getHits();
             for (SearchHit searchHit : searchHits) {
-                Map<String, Object> oneRow = new HashMap<>();
                 Map<String, Object> source = searchHit.getSourceAsMap();
                 try {
                     GenericRowData rowData = (GenericRowData) rowConverter.toInternal(source);
-                    for (int i = 0; i < fieldsName.length; i++) {
-                        Object object = rowData.getField(i);
-                        oneRow.put(fieldsName[i].trim(), object);
-                    }
-                    buildCache(oneRow, tmpCache);
+                    buildCache(rowData, cacheRef);
                 } catch (Exception e) {
                     LOG.error("error:{} \n  data:{}", e.getMessage(), source);
                 }
@@ -78,6 +78,24 @@ public class ElasticsearchConf extends ChunJunCommonConf implements Serializable
     /** Filter condition expression */
     protected Map query;
 
+    /**
+     * Number of bulk requests in flight at the same time. 0 means each batch is sent by a
+     * synchronous bulk request from the writer thread.
+     */
+    private int concurrentRequests = 0;
+
+    /** Flush the bulk request when its size reaches this value, -1 to disable */
+    private long bulkFlushMaxBytes = 2 * 1024 * 1024L;
+
+    /** Backoff of retrying items rejected by 429, DISABLED, CONSTANT or EXPONENTIAL */
+    private String bulkFlushBackoffType = "EXPONENTIAL";
+
+    /** Max times to retry the rejected items of a bulk request */
+    private int bulkFlushBackoffMaxRetries = 8;
+
+    /** Delay in milliseconds between retries, the initial delay for EXPONENTIAL */
+    private long bulkFlushBackoffDelay = 50L;
+
     public String[] getFieldNames() {
         return fieldNames;
     }
@@ -197,4 +215,44 @@ public class ElasticsearchConf extends ChunJunCommonConf implements Serializable
     public void setQuery(Map query) {
         this.query = query;
     }
+
+    public int getConcurrentRequests() {
+        return concurrentRequests;
+    }
+
+    public void setConcurrentRequests(int concurrentRequests) {
+        this.concurrentRequests = concurrentRequests;
+    }
+
+    public long getBulkFlushMaxBytes() {
+        return bulkFlushMaxBytes;
+    }
+
+    public void setBulkFlushMaxBytes(long bulkFlushMaxBytes) {
+        this.bulkFlushMaxBytes = bulkFlushMaxBytes;
+    }
+
+    public String getBulkFlushBackoffType() {
+        return bulkFlushBackoffType;
+    }
+
+    public void setBulkFlushBackoffType(String bulkFlushBackoffType) {
+        this.bulkFlushBackoffType = bulkFlushBackoffType;
+    }
+
+    public int getBulkFlushBackoffMaxRetries() {
+        return bulkFlushBackoffMaxRetries;
+    }
+
+    public void setBulkFlushBackoffMaxRetries(int bulkFlushBackoffMaxRetries) {
+        this.bulkFlushBackoffMaxRetries = bulkFlushBackoffMaxRetries;
+    }
+
+    public long getBulkFlushBackoffDelay() {
+        return bulkFlushBackoffDelay;
+    }
+
+    public void setBulkFlushBackoffDelay(long bulkFlushBackoffDelay) {
+        this.bulkFlushBackoffDelay = bulkFlushBackoffDelay;
+    }
 }
@@ -5,13 +5,17 @@ import com.dtstack.chunjun.connector.elasticsearch.table.IndexGenerator;
 import com.dtstack.chunjun.connector.elasticsearch7.Elasticsearch7ClientFactory;
 import com.dtstack.chunjun.connector.elasticsearch7.Elasticsearch7RequestFactory;
 import com.dtstack.chunjun.connector.elasticsearch7.ElasticsearchConf;
+import com.dtstack.chunjun.restore.FormatState;
 import com.dtstack.chunjun.sink.format.BaseRichOutputFormat;
 import com.dtstack.chunjun.throwable.WriteRecordException;
 
 import org.apache.flink.table.data.RowData;
 
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BackoffPolicy;
 import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
@@ -19,12 +23,26 @@ import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * When concurrentRequests is greater than 0, the requests are handed to a {@link BulkProcessor}
+ * which sends up to concurrentRequests bulk requests asynchronously, so that converting and
+ * indexing overlap. Items rejected by 429 are retried with backoff by the processor, and
+ * checkpoints wait until all bulk requests in flight are acknowledged.
+ *
  * @description:
  * @program: ChunJun
  * @author: lany
@@ -40,6 +58,24 @@ public class ElasticsearchOutputFormat extends BaseRichOutputFormat {
 
     private transient BulkRequest bulkRequest;
 
+    private transient BulkProcessor bulkProcessor;
+
+    /** actions added to the bulk processor and not acknowledged yet */
+    private transient AtomicLong pendingActions;
+
+    /** rows of the actions in flight, to report failed items as dirty data */
+    private transient Map<DocWriteRequest<?>, RowData> pendingRows;
+
+    /**
+     * the last failure of each request in flight. A retry sends only the rejected items, so the
+     * item positions of the final response do not match the original request, and the failures are
+     * tracked by request in every attempt instead.
+     */
+    private transient Map<DocWriteRequest<?>, BulkItemResponse> itemFailures;
+
+    /** failed items reported by the bulk processor, handled in the task thread */
+    private transient Queue<BulkFailure> failures;
+
     private final IndexGenerator indexGenerator;
 
     public ElasticsearchOutputFormat(
@@ -78,23 +114,21 @@ public class ElasticsearchOutputFormat extends BaseRichOutputFormat {
 
     @Override
     protected void writeMultipleRecordsInternal() throws Exception {
+        if (bulkProcessor != null) {
+            handleFailures();
+            for (RowData rowData : rows) {
+                DocWriteRequest<?> docWriteRequest = createRequest(rowData);
+                pendingRows.put(docWriteRequest, rowData);
+                pendingActions.incrementAndGet();
+                // blocks while concurrentRequests bulk requests are in flight
+                bulkProcessor.add(docWriteRequest);
+            }
+            return;
+        }
+
         bulkRequest = new BulkRequest();
         for (RowData rowData : rows) {
-            DocWriteRequest docWriteRequest;
-            switch (rowData.getRowKind()) {
-                case INSERT:
-                case UPDATE_AFTER:
-                    docWriteRequest = processUpsert(rowData);
-                    bulkRequest.add(docWriteRequest);
-                    break;
-                case DELETE:
-                case UPDATE_BEFORE:
-                    docWriteRequest = processDelete(rowData);
-                    bulkRequest.add(docWriteRequest);
-                    break;
-                default:
-                    throw new RuntimeException("Unsupported row kind.");
-            }
+            bulkRequest.add(createRequest(rowData));
         }
         BulkResponse response = rhlClient.bulk(bulkRequest, RequestOptions.DEFAULT);
         if (response.hasFailures()) {
@@ -102,23 +136,197 @@ public class ElasticsearchOutputFormat extends BaseRichOutputFormat {
         }
     }
 
+    private DocWriteRequest<?> createRequest(RowData rowData) throws Exception {
+        switch (rowData.getRowKind()) {
+            case INSERT:
+            case UPDATE_AFTER:
+                return processUpsert(rowData);
+            case DELETE:
+            case UPDATE_BEFORE:
+                return processDelete(rowData);
+            default:
+                throw new RuntimeException("Unsupported row kind.");
+        }
+    }
+
     private void processFailResponse(BulkResponse response) {
         BulkItemResponse[] itemResponses = response.getItems();
-        WriteRecordException exception;
         for (int i = 0; i < itemResponses.length; i++) {
             if (itemResponses[i].isFailed()) {
-                if (dirtyDataManager != null) {
-                    exception =
-                            new WriteRecordException(
-                                    itemResponses[i].getFailureMessage(),
-                                    itemResponses[i].getFailure().getCause());
-                    dirtyDataManager.writeData(rows.get(i), exception);
-                }
+                writeDirtyData(
+                        rows.get(i),
+                        itemResponses[i].getFailureMessage(),
+                        itemResponses[i].getFailure().getCause());
+            }
+        }
+    }
 
-                if (errCounter != null) {
-                    errCounter.add(1);
+    private void writeDirtyData(RowData rowData, String message, Throwable cause) {
+        if (dirtyDataManager != null && rowData != null) {
+            dirtyDataManager.writeData(rowData, new WriteRecordException(message, cause));
+        }
+
+        if (errCounter != null) {
+            errCounter.add(1);
+        }
+    }
+
+    /** report the items failed in the bulk processor, called in the task thread */
+    private void handleFailures() {
+        BulkFailure failure;
+        while ((failure = failures.poll()) != null) {
+            LOG.warn("bulk item failed, message = {}", failure.message);
+            writeDirtyData(failure.rowData, failure.message, failure.cause);
+        }
+    }
+
+    /** send the buffered actions and wait until all bulk requests in flight are acknowledged */
+    private void flushAndWait() throws InterruptedException {
+        bulkProcessor.flush();
+        synchronized (pendingActions) {
+            while (pendingActions.get() > 0) {
+                pendingActions.wait();
+            }
+        }
+        handleFailures();
+    }
+
+    @Override
+    protected void preCommit() throws Exception {
+        if (bulkProcessor != null) {
+            if (!rows.isEmpty()) {
+                writeRows();
+            }
+            flushAndWait();
+        }
+    }
+
+    @Override
+    public synchronized FormatState getFormatState() throws Exception {
+        FormatState formatState = super.getFormatState();
+        if (bulkProcessor != null) {
+            // the records before the checkpoint must be acknowledged by elasticsearch
+            flushAndWait();
+        }
+        return formatState;
+    }
+
+    private BulkProcessor createBulkProcessor() {
+        BulkProcessor.Listener listener =
+                new BulkProcessor.Listener() {
+                    @Override
+                    public void beforeBulk(long executionId, BulkRequest request) {}
+
+                    @Override
+                    public void afterBulk(
+                            long executionId, BulkRequest request, BulkResponse response) {
+                        List<DocWriteRequest<?>> requests = request.requests();
+                        for (DocWriteRequest<?> docWriteRequest : requests) {
+                            RowData rowData = pendingRows.remove(docWriteRequest);
+                            BulkItemResponse item = itemFailures.remove(docWriteRequest);
+                            if (item != null) {
+                                failures.add(
+                                        new BulkFailure(
+                                                rowData,
+                                                item.getFailureMessage(),
+                                                item.getFailure().getCause()));
+                            }
+                        }
+                        complete(requests.size());
+                    }
+
+                    @Override
+                    public void afterBulk(
+                            long executionId, BulkRequest request, Throwable failure) {
+                        LOG.error(
+                                "bulk request [{}] of {} actions failed",
+                                executionId,
+                                request.numberOfActions(),
+                                failure);
+                        for (DocWriteRequest<?> docWriteRequest : request.requests()) {
+                            itemFailures.remove(docWriteRequest);
+                            failures.add(
+                                    new BulkFailure(
+                                            pendingRows.remove(docWriteRequest),
+                                            failure.getMessage(),
+                                            failure));
+                        }
+                        complete(request.numberOfActions());
+                    }
+                };
+
+        BulkProcessor.Builder builder =
+                BulkProcessor.builder(
+                        (request, bulkListener) ->
+                                rhlClient.bulkAsync(
+                                        request,
+                                        RequestOptions.DEFAULT,
+                                        trackItemFailures(request, bulkListener)),
+                        listener);
+        builder.setConcurrentRequests(elasticsearchConf.getConcurrentRequests());
+        builder.setBulkActions(Math.max(batchSize, 1));
+        builder.setBulkSize(
+                elasticsearchConf.getBulkFlushMaxBytes() > 0
+                        ? new ByteSizeValue(
+                                elasticsearchConf.getBulkFlushMaxBytes(), ByteSizeUnit.BYTES)
+                        : new ByteSizeValue(-1));
+        if (flushIntervalMills > 0) {
+            builder.setFlushInterval(TimeValue.timeValueMillis(flushIntervalMills));
+        }
+        // only the items rejected by 429 (es_rejected_execution_exception) are retried
+        builder.setBackoffPolicy(createBackoffPolicy());
+        return builder.build();
+    }
+
+    /**
+     * Record the result of each item of an attempt, the original request and its retries share the
+     * same request objects and the item id is the position in the attempt.
+     */
+    private ActionListener<BulkResponse> trackItemFailures(
+            BulkRequest request, ActionListener<BulkResponse> listener) {
+        return new ActionListener<BulkResponse>() {
+            @Override
+            public void onResponse(BulkResponse response) {
+                List<DocWriteRequest<?>> requests = request.requests();
+                for (BulkItemResponse item : response.getItems()) {
+                    DocWriteRequest<?> docWriteRequest = requests.get(item.getItemId());
+                    if (item.isFailed()) {
+                        itemFailures.put(docWriteRequest, item);
+                    } else {
+                        itemFailures.remove(docWriteRequest);
+                    }
                 }
+                listener.onResponse(response);
             }
+
+            @Override
+            public void onFailure(Exception e) {
+                listener.onFailure(e);
+            }
+        };
+    }
+
+    private BackoffPolicy createBackoffPolicy() {
+        TimeValue delay = TimeValue.timeValueMillis(elasticsearchConf.getBulkFlushBackoffDelay());
+        int maxRetries = elasticsearchConf.getBulkFlushBackoffMaxRetries();
+        switch (elasticsearchConf.getBulkFlushBackoffType().toUpperCase()) {
+            case "CONSTANT":
+                return BackoffPolicy.constantBackoff(delay, maxRetries);
+            case "EXPONENTIAL":
+                return BackoffPolicy.exponentialBackoff(delay, maxRetries);
+            case "DISABLED":
+                return BackoffPolicy.noBackoff();
+            default:
+                throw new IllegalArgumentException(
+                        "unsupported bulk flush backoff type: "
+                                + elasticsearchConf.getBulkFlushBackoffType());
+        }
+    }
+
+    private void complete(int actions) {
+        synchronized (pendingActions) {
+            pendingActions.addAndGet(-actions);
+            pendingActions.notifyAll();
         }
     }
 
@@ -128,10 +336,27 @@ public class ElasticsearchOutputFormat extends BaseRichOutputFormat {
                 Elasticsearch7ClientFactory.createClient(
                         elasticsearchConf, getRuntimeContext().getDistributedCache());
         indexGenerator.open();
+        if (elasticsearchConf.getConcurrentRequests() > 0) {
+            pendingActions = new AtomicLong();
+            pendingRows = Collections.synchronizedMap(new IdentityHashMap<>());
+            itemFailures = Collections.synchronizedMap(new IdentityHashMap<>());
+            failures = new ConcurrentLinkedQueue<>();
+            bulkProcessor = createBulkProcessor();
+        }
     }
 
     @Override
     protected void closeInternal() throws IOException {
+        if (bulkProcessor != null) {
+            try {
+                flushAndWait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } finally {
+                bulkProcessor.close();
+            }
+        }
         if (rhlClient != null) {
             rhlClient.close();
         }
@@ -172,4 +397,16 @@ public class ElasticsearchOutputFormat extends BaseRichOutputFormat {
                 Elasticsearch7RequestFactory.createDeleteRequest(elasticsearchConf.getIndex(), key);
         return deleteRequest;
     }
+
+    private static class BulkFailure {
+        private final RowData rowData;
+        private final String message;
+        private final Throwable cause;
+
+        private BulkFailure(RowData rowData, String message, Throwable cause) {
+            this.rowData = rowData;
+            this.message = message;
+            this.cause = cause;
+        }
+    }
 }
@@ -37,14 +37,18 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static com.dtstack.chunjun.connector.elasticsearch7.table.Elasticsearch7Options.BULK_FLUSH_CONCURRENT_REQUESTS_OPTION;
 import static com.dtstack.chunjun.connector.elasticsearch7.table.Elasticsearch7Options.CLIENT_CONNECT_TIMEOUT_OPTION;
 import static com.dtstack.chunjun.connector.elasticsearch7.table.Elasticsearch7Options.CLIENT_KEEPALIVE_TIME_OPTION;
 import static com.dtstack.chunjun.connector.elasticsearch7.table.Elasticsearch7Options.CLIENT_MAX_CONNECTION_PER_ROUTE_OPTION;
 import static com.dtstack.chunjun.connector.elasticsearch7.table.Elasticsearch7Options.CLIENT_REQUEST_TIMEOUT_OPTION;
 import static com.dtstack.chunjun.connector.elasticsearch7.table.Elasticsearch7Options.CLIENT_SOCKET_TIMEOUT_OPTION;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_ASYNC_TIMEOUT;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_ALL_STORAGE;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_ROWS;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_WEIGHT;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_PERIOD;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_REFRESH_INTERVAL;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_TTL;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_TYPE;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_ERROR_LIMIT;
@@ -136,6 +140,23 @@ public class Elasticsearch7DynamicTableFactory extends ElasticsearchDynamicTable
         elasticsearchConf.setKeyDelimiter(readableConfig.get(KEY_DELIMITER_OPTION));
         elasticsearchConf.setBatchSize(readableConfig.get(BULK_FLUSH_MAX_ACTIONS_OPTION));
         elasticsearchConf.setParallelism(readableConfig.get(SINK_PARALLELISM));
+        elasticsearchConf.setConcurrentRequests(
+                readableConfig.get(BULK_FLUSH_CONCURRENT_REQUESTS_OPTION));
+        elasticsearchConf.setBulkFlushMaxBytes(
+                readableConfig.get(BULK_FLASH_MAX_SIZE_OPTION).getBytes());
+        readableConfig
+                .getOptional(BULK_FLUSH_INTERVAL_OPTION)
+                .ifPresent(
+                        interval -> elasticsearchConf.setFlushIntervalMills(interval.toMillis()));
+        readableConfig
+                .getOptional(BULK_FLUSH_BACKOFF_TYPE_OPTION)
+                .ifPresent(type -> elasticsearchConf.setBulkFlushBackoffType(type.name()));
+        readableConfig
+                .getOptional(BULK_FLUSH_BACKOFF_MAX_RETRIES_OPTION)
+                .ifPresent(elasticsearchConf::setBulkFlushBackoffMaxRetries);
+        readableConfig
+                .getOptional(BULK_FLUSH_BACKOFF_DELAY_OPTION)
+                .ifPresent(delay -> elasticsearchConf.setBulkFlushBackoffDelay(delay.toMillis()));
 
         elasticsearchConf.setUsername(readableConfig.get(USERNAME_OPTION));
         elasticsearchConf.setPassword(readableConfig.get(PASSWORD_OPTION));
@@ -183,6 +204,7 @@ public class Elasticsearch7DynamicTableFactory extends ElasticsearchDynamicTable
                         BULK_FLUSH_BACKOFF_TYPE_OPTION,
                         BULK_FLUSH_BACKOFF_MAX_RETRIES_OPTION,
                         BULK_FLUSH_BACKOFF_DELAY_OPTION,
+                        BULK_FLUSH_CONCURRENT_REQUESTS_OPTION,
                         CONNECTION_MAX_RETRY_TIMEOUT_OPTION,
                         CONNECTION_PATH_PREFIX,
                         FORMAT_OPTION,
@@ -197,6 +219,9 @@ public class Elasticsearch7DynamicTableFactory extends ElasticsearchDynamicTable
                         LOOKUP_CACHE_PERIOD,
                         LOOKUP_CACHE_MAX_ROWS,
                         LOOKUP_CACHE_TTL,
+                        LOOKUP_CACHE_ALL_STORAGE,
+                        LOOKUP_CACHE_MAX_WEIGHT,
+                        LOOKUP_CACHE_REFRESH_INTERVAL,
                         LOOKUP_CACHE_TYPE,
                         LOOKUP_MAX_RETRIES,
                         LOOKUP_ERROR_LIMIT,
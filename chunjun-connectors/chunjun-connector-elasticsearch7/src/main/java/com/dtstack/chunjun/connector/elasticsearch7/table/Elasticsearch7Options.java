@@ -62,4 +62,11 @@ public class Elasticsearch7Options {
                     .defaultValue(10)
                     .withDescription(
                             "Elasticsearch client connection assigns maximum connection per route value. default:10");
+
+    public static final ConfigOption<Integer> BULK_FLUSH_CONCURRENT_REQUESTS_OPTION =
+            ConfigOptions.key("sink.bulk-flush.concurrent-requests")
+                    .intType()
+                    .defaultValue(0)
+                    .withDescription(
+                            "Number of asynchronous bulk requests in flight at the same time. default:0, bulk requests are sent synchronously");
 }
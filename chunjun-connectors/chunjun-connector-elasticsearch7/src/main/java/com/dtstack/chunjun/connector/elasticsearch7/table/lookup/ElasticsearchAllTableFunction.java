@@ -38,8 +38,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -68,8 +66,6 @@ public class ElasticsearchAllTableFunction extends AbstractAllTableFunction {
 
     @Override
     protected void loadData(Object cacheRef) {
-        Map<String, List<Map<String, Object>>> tmpCache =
-                (Map<String, List<Map<String, Object>>>) cacheRef;
 
         rhlClient = Elasticsearch7ClientFactory.createClient(elasticsearchConf, null);
         SearchRequest requestBuilder = buildSearchRequest(null);
@@ -80,15 +76,10 @@ public class ElasticsearchAllTableFunction extends AbstractAllTableFunction {
             searchHits = searchResponse.getHits().getHits();
             while (searchHits != null && searchHits.length > 0) {
                 for (SearchHit searchHit : searchHits) {
-                    Map<String, Object> oneRow = new HashMap<>();
                     Map<String, Object> source = searchHit.getSourceAsMap();
                     try {
                         GenericRowData rowData = (GenericRowData) rowConverter.toInternal(source);
-                        for (int i = 0; i < fieldsName.length; i++) {
-                            Object object = rowData.getField(i);
-                            oneRow.put(fieldsName[i].trim(), object);
-                        }
-                        buildCache(oneRow, tmpCache);
+                        buildCache(rowData, cacheRef);
                     } catch (Exception e) {
                         LOG.error("error:{} \n  data:{}", e.getMessage(), source);
                     }
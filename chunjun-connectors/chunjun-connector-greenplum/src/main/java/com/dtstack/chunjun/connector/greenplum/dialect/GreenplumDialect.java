@@ -70,4 +70,10 @@ public class GreenplumDialect extends PostgresqlDialect {
             String schema, String tableName, String[] fieldNames) {
         throw new RuntimeException("Greenplum does not support replace sql");
     }
+
+    /** Greenplum 6 is based on PostgreSQL 9.4, which doesn't support TABLESAMPLE. */
+    @Override
+    protected String getTableSampleClause(double ratio) {
+        return "";
+    }
 }
@@ -46,8 +46,11 @@ import static com.dtstack.chunjun.connector.hbase.table.HBaseOptions.TABLE_NAME;
 import static com.dtstack.chunjun.connector.hbase.table.HBaseOptions.ZOOKEEPER_QUORUM;
 import static com.dtstack.chunjun.connector.hbase.table.HBaseOptions.ZOOKEEPER_ZNODE_PARENT;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_ASYNC_TIMEOUT;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_ALL_STORAGE;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_ROWS;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_WEIGHT;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_PERIOD;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_REFRESH_INTERVAL;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_TTL;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_TYPE;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_ERROR_LIMIT;
@@ -92,6 +95,9 @@ public class Hbase14DynamicTableFactory
         set.add(LOOKUP_CACHE_PERIOD);
         set.add(LOOKUP_CACHE_MAX_ROWS);
         set.add(LOOKUP_CACHE_TTL);
+        set.add(LOOKUP_CACHE_ALL_STORAGE);
+        set.add(LOOKUP_CACHE_MAX_WEIGHT);
+        set.add(LOOKUP_CACHE_REFRESH_INTERVAL);
         set.add(LOOKUP_CACHE_TYPE);
         set.add(LOOKUP_MAX_RETRIES);
         set.add(LOOKUP_ERROR_LIMIT);
@@ -153,6 +159,9 @@ public class Hbase14DynamicTableFactory
                 .setPeriod(readableConfig.get(LOOKUP_CACHE_PERIOD))
                 .setCacheSize(readableConfig.get(LOOKUP_CACHE_MAX_ROWS))
                 .setCacheTtl(readableConfig.get(LOOKUP_CACHE_TTL))
+                .setCacheAllStorage(readableConfig.get(LOOKUP_CACHE_ALL_STORAGE))
+                .setCacheMaxWeight(readableConfig.get(LOOKUP_CACHE_MAX_WEIGHT))
+                .setCacheRefreshInterval(readableConfig.get(LOOKUP_CACHE_REFRESH_INTERVAL))
                 .setCache(readableConfig.get(LOOKUP_CACHE_TYPE))
                 .setMaxRetryTimes(readableConfig.get(LOOKUP_MAX_RETRIES))
                 .setErrorLimit(readableConfig.get(LOOKUP_ERROR_LIMIT))
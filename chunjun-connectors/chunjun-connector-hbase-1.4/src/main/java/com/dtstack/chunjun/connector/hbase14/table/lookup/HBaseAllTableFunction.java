@@ -24,11 +24,14 @@ import com.dtstack.chunjun.connector.hbase.table.lookup.AbstractHBaseAllTableFun
 import com.dtstack.chunjun.connector.hbase.util.HBaseConfigUtils;
 import com.dtstack.chunjun.connector.hbase.util.HBaseHelper;
 import com.dtstack.chunjun.connector.hbase14.converter.HBaseSerde;
+import com.dtstack.chunjun.lookup.cache.CompactAllCache;
 import com.dtstack.chunjun.lookup.conf.LookupConf;
 import com.dtstack.chunjun.security.KerberosUtil;
 
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.LogicalType;
 
 import com.google.common.collect.Maps;
 import org.apache.hadoop.conf.Configuration;
@@ -46,6 +49,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.security.PrivilegedAction;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Map;
 
 public class HBaseAllTableFunction extends AbstractHBaseAllTableFunction {
@@ -113,9 +117,14 @@ public class HBaseAllTableFunction extends AbstractHBaseAllTableFunction {
             }
             table = conn.getTable(TableName.valueOf(hbaseTableSchema.getTableName()));
             resultScanner = table.getScanner(new Scan());
-            Map<Object, RowData> tmpCache = (Map<Object, RowData>) cacheRef;
             for (Result r : resultScanner) {
-                tmpCache.put(serde.getRowKey(r.getRow()), serde.convertToNewRow(r));
+                Object rowKey = serde.getRowKey(r.getRow());
+                if (cacheRef instanceof CompactAllCache.Builder) {
+                    ((CompactAllCache.Builder) cacheRef)
+                            .add(new Object[] {rowKey}, serde.convertToNewRow(r));
+                } else {
+                    ((Map<Object, RowData>) cacheRef).put(rowKey, serde.convertToNewRow(r));
+                }
                 loadDataCount++;
             }
         } catch (IOException e) {
@@ -140,8 +149,24 @@ public class HBaseAllTableFunction extends AbstractHBaseAllTableFunction {
         }
     }
 
+    @Override
+    protected LogicalType[] getCacheFieldTypes() {
+        return Arrays.stream(hbaseTableSchema.convertsToTableSchema().getFieldDataTypes())
+                .map(DataType::getLogicalType)
+                .toArray(LogicalType[]::new);
+    }
+
+    @Override
+    protected LogicalType[] getCacheKeyTypes() {
+        return new LogicalType[] {getCacheFieldTypes()[hbaseTableSchema.getRowKeyIndex()]};
+    }
+
     @Override
     protected void initCache() {
+        if (isCompactStorage()) {
+            super.initCache();
+            return;
+        }
         Map<Object, RowData> newCache = Maps.newConcurrentMap();
         cacheRef.set(newCache);
         loadData(newCache);
@@ -150,6 +175,10 @@ public class HBaseAllTableFunction extends AbstractHBaseAllTableFunction {
     /** 定时加载数据库中数据 */
     @Override
     protected void reloadCache() {
+        if (isCompactStorage()) {
+            super.reloadCache();
+            return;
+        }
         // reload cacheRef and replace to old cacheRef
         Map<Object, RowData> newCache = Maps.newConcurrentMap();
         loadData(newCache);
@@ -166,6 +195,10 @@ public class HBaseAllTableFunction extends AbstractHBaseAllTableFunction {
      */
     @Override
     public void eval(Object... keys) {
+        if (cacheRef.get() instanceof CompactAllCache) {
+            super.eval(keys);
+            return;
+        }
         Map<Object, RowData> cache = (Map<Object, RowData>) cacheRef.get();
         RowData rowData = cache.get(keys[0]);
         if (rowData == null) {
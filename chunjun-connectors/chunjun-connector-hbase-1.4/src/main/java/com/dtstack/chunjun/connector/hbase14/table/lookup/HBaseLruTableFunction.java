@@ -109,21 +109,19 @@ public class HBaseLruTableFunction extends AbstractHBaseLruTableFunction {
                         try {
                             Get get = new Get(key);
                             Result result = table.get(get);
+                            // 缓存key与eval中查询缓存的key一致，CAFFEINE缓存的数据由future的结果加载，putCache不做任何事
+                            String cacheKey = buildCacheKey(rowKeys);
                             if (!result.isEmpty()) {
                                 RowData data = serde.convertToNewRow(result);
-                                if (openCache()) {
-                                    sideCache.putCache(
-                                            keyStr,
-                                            CacheObj.buildCacheObj(
-                                                    ECacheContentType.MultiLine,
-                                                    Collections.singletonList(data)));
-                                }
+                                dealCacheData(
+                                        cacheKey,
+                                        CacheObj.buildCacheObj(
+                                                ECacheContentType.MultiLine,
+                                                Collections.singletonList(data)));
                                 future.complete(Collections.singletonList(data));
                             } else {
                                 dealMissKey(future);
-                                if (openCache()) {
-                                    sideCache.putCache(keyStr, CacheMissVal.getMissKeyObj());
-                                }
+                                dealCacheData(cacheKey, CacheMissVal.getMissKeyObj());
                             }
                         } catch (IOException e) {
                             LOG.error("record:" + keyStr);
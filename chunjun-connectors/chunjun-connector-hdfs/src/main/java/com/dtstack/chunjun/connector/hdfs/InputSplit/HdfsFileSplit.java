@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.chunjun.connector.hdfs.InputSplit;
+
+import org.apache.flink.core.io.InputSplit;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 按文件中的一段数据切分的分片，一个分片包含大文件中连续的若干个row group/stripe，或者打包在一起的若干个小文件。
+ *
+ * <p>由{@link com.dtstack.chunjun.connector.hdfs.source.HdfsSplitPlanner}生成。
+ */
+public class HdfsFileSplit implements InputSplit {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int splitNumber;
+    private final List<Part> parts;
+
+    public HdfsFileSplit(int splitNumber, List<Part> parts) {
+        this.splitNumber = splitNumber;
+        this.parts = parts;
+    }
+
+    @Override
+    public int getSplitNumber() {
+        return splitNumber;
+    }
+
+    public List<Part> getParts() {
+        return parts;
+    }
+
+    /** 分片中数据的总字节数 */
+    public long getLength() {
+        long length = 0;
+        for (Part part : parts) {
+            length += part.getLength();
+        }
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return "HdfsFileSplit{" + "splitNumber=" + splitNumber + ", parts=" + parts + '}';
+    }
+
+    /** 文件中[start, start + length)范围内的数据，起始位置在这个范围内的row group/stripe属于这一段 */
+    public static class Part implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String path;
+        private final long start;
+        private final long length;
+
+        public Part(String path, long start, long length) {
+            this.path = path;
+            this.start = start;
+            this.length = length;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        @Override
+        public String toString() {
+            return path + "[" + start + ", " + (start + length) + ")";
+        }
+    }
+}
@@ -41,6 +41,15 @@ public class HdfsConf extends BaseFileConf {
     private String fieldDelimiter = "\001";
     private int rowGroupSize = ParquetWriter.DEFAULT_BLOCK_SIZE;
     private boolean enableDictionary = true;
+    /** 按批读取orc、parquet文件，只读取需要的字段 */
+    private boolean enableVectorizedRead = false;
+    /** 按批读取时根据条件跳过orc stripe/row group、parquet row group，并逐行过滤，例如：id >= 100 and name = 'a' */
+    private String filter;
+    /** 读取orc、parquet文件时每个分片的目标字节数，大于0时按stripe/row group的边界切分大文件并把小文件打包在一起，parquet文件只在按批读取时切分文件内部 */
+    private long splitSize = 0;
+    /** 切分时遍历目录和读取文件footer的线程数 */
+    private int splitPlanThreads = 10;
+
     private List<String> fullColumnName;
     private List<String> fullColumnType;
 
@@ -100,6 +109,38 @@ public class HdfsConf extends BaseFileConf {
         this.enableDictionary = enableDictionary;
     }
 
+    public boolean isEnableVectorizedRead() {
+        return enableVectorizedRead;
+    }
+
+    public void setEnableVectorizedRead(boolean enableVectorizedRead) {
+        this.enableVectorizedRead = enableVectorizedRead;
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    public void setFilter(String filter) {
+        this.filter = filter;
+    }
+
+    public long getSplitSize() {
+        return splitSize;
+    }
+
+    public void setSplitSize(long splitSize) {
+        this.splitSize = splitSize;
+    }
+
+    public int getSplitPlanThreads() {
+        return splitPlanThreads;
+    }
+
+    public void setSplitPlanThreads(int splitPlanThreads) {
+        this.splitPlanThreads = splitPlanThreads;
+    }
+
     public List<String> getFullColumnName() {
         return fullColumnName;
     }
@@ -137,6 +178,15 @@ public class HdfsConf extends BaseFileConf {
                 + rowGroupSize
                 + ", enableDictionary="
                 + enableDictionary
+                + ", enableVectorizedRead="
+                + enableVectorizedRead
+                + ", filter='"
+                + filter
+                + '\''
+                + ", splitSize="
+                + splitSize
+                + ", splitPlanThreads="
+                + splitPlanThreads
                 + ", fullColumnName="
                 + fullColumnName
                 + ", fullColumnType="
@@ -24,6 +24,7 @@ import com.dtstack.chunjun.converter.IDeserializationConverter;
 import com.dtstack.chunjun.converter.ISerializationConverter;
 import com.dtstack.chunjun.element.AbstractBaseColumn;
 import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.PrimitiveRowData;
 import com.dtstack.chunjun.element.column.BigDecimalColumn;
 import com.dtstack.chunjun.element.column.BooleanColumn;
 import com.dtstack.chunjun.element.column.ByteColumn;
@@ -202,7 +203,10 @@ public class HdfsTextColumnConverter
                         data[index] = String.valueOf(rowData.getString(index));
             case "TIMESTAMP":
                 return (rowData, index, data) -> {
-                    AbstractBaseColumn field = ((ColumnRowData) rowData).getField(index);
+                    AbstractBaseColumn field =
+                            rowData instanceof PrimitiveRowData
+                                    ? ((PrimitiveRowData) rowData).getField(index)
+                                    : ((ColumnRowData) rowData).getField(index);
                     data[index] = field.asTimestampStr();
                 };
             case "DATE":
@@ -62,6 +62,34 @@ public class HdfsOptions extends BaseFileOptions {
                     .defaultValue(true)
                     .withDescription("enable dictionary");
 
+    public static final ConfigOption<Boolean> ENABLE_VECTORIZED_READ =
+            ConfigOptions.key("enable-vectorized-read")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Read orc and parquet files in batches and decode only the selected columns");
+
+    public static final ConfigOption<String> FILTER =
+            ConfigOptions.key("filter")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "Conditions joined by and, such as id >= 100 and name = 'a', used to skip orc stripes/row groups and parquet row groups by statistics and to filter rows when enable-vectorized-read is true, conditions on columns missing in a file are ignored");
+
+    public static final ConfigOption<Long> SPLIT_SIZE =
+            ConfigOptions.key("split-size")
+                    .longType()
+                    .defaultValue(0L)
+                    .withDescription(
+                            "Target bytes of each split when reading orc and parquet files, large files are split at stripe/row group boundaries and small files are packed together when greater than 0");
+
+    public static final ConfigOption<Integer> SPLIT_PLAN_THREADS =
+            ConfigOptions.key("split-plan-threads")
+                    .intType()
+                    .defaultValue(10)
+                    .withDescription(
+                            "Threads used to list directories and read file footers when split-size is greater than 0");
+
     public static Map<String, Object> getHadoopConfig(Map<String, String> tableOptions) {
         Map<String, Object> hadoopConfig = new HashMap<>();
         if (hasHadoopConfig(tableOptions)) {
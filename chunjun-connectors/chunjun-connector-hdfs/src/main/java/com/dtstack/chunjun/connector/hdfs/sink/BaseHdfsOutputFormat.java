@@ -74,6 +74,11 @@ public abstract class BaseHdfsOutputFormat extends BaseFileOutputFormat {
         super.openInternal(taskNumber, numTasks);
     }
 
+    @Override
+    protected boolean supportsPrimitiveRow() {
+        return true;
+    }
+
     @Override
     protected void initVariableFields() {
         if (CollectionUtils.isNotEmpty(hdfsConf.getFullColumnName())) {
@@ -55,6 +55,7 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -75,6 +76,10 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
     private JobConf jobConf;
 
     protected int[] colIndices;
+    /** OrcSerde只包装数据，writer在写入时就已经取出各字段的值，所以每一行复用同一个数组和list */
+    private transient Object[] data;
+
+    private transient List<Object> recordList;
 
     @Override
     @SuppressWarnings("unchecked")
@@ -146,6 +151,8 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
                 colIndices[i] = -1;
             }
         }
+        data = new Object[hdfsConf.getColumn().size()];
+        recordList = new ArrayList<>(colIndices.length);
     }
 
     @Override
@@ -203,9 +210,9 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
             nextBlock();
         }
 
-        Object[] data = new Object[hdfsConf.getColumn().size()];
+        Arrays.fill(data, null);
         try {
-            data = (Object[]) rowConverter.toExternal(rowData, data);
+            rowConverter.toExternal(rowData, data);
         } catch (Exception e) {
             String errorMessage =
                     HdfsUtil.parseErrorMsg(
@@ -215,7 +222,7 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
         }
 
         try {
-            List<Object> recordList = new ArrayList<>();
+            recordList.clear();
             for (int i = 0; i < hdfsConf.getFullColumnName().size(); ++i) {
                 int colIndex = colIndices[i];
                 if (colIndex == -1) {
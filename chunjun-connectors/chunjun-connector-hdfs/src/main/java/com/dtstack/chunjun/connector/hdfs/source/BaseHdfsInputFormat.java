@@ -18,6 +18,7 @@
 package com.dtstack.chunjun.connector.hdfs.source;
 
 import com.dtstack.chunjun.conf.FieldConf;
+import com.dtstack.chunjun.connector.hdfs.InputSplit.HdfsFileSplit;
 import com.dtstack.chunjun.connector.hdfs.conf.HdfsConf;
 import com.dtstack.chunjun.constants.ConstantValue;
 import com.dtstack.chunjun.source.format.BaseRichInputFormat;
@@ -27,6 +28,7 @@ import com.dtstack.chunjun.util.PluginUtil;
 
 import org.apache.flink.api.common.cache.DistributedCache;
 import org.apache.flink.core.io.InputSplit;
+import org.apache.flink.core.io.InputSplitAssigner;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -87,6 +89,15 @@ public abstract class BaseHdfsInputFormat extends BaseRichInputFormat {
         }
     }
 
+    /** splitSize大于0时分片数可能大于并行度，由{@link HdfsSplitAssigner}按需分配 */
+    @Override
+    public InputSplitAssigner getInputSplitAssigner(InputSplit[] inputSplits) {
+        if (inputSplits.length > 0 && inputSplits[0] instanceof HdfsFileSplit) {
+            return new HdfsSplitAssigner(inputSplits);
+        }
+        return super.getInputSplitAssigner(inputSplits);
+    }
+
     @Override
     public void openInputFormat() throws IOException {
         super.openInputFormat();
@@ -18,17 +18,22 @@
 package com.dtstack.chunjun.connector.hdfs.source;
 
 import com.dtstack.chunjun.conf.FieldConf;
+import com.dtstack.chunjun.connector.hdfs.InputSplit.HdfsFileSplit;
 import com.dtstack.chunjun.connector.hdfs.InputSplit.HdfsOrcInputSplit;
 import com.dtstack.chunjun.connector.hdfs.util.HdfsUtil;
 import com.dtstack.chunjun.constants.ConstantValue;
+import com.dtstack.chunjun.source.HdfsPredicate;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 import com.dtstack.chunjun.throwable.ReadRecordException;
+import com.dtstack.chunjun.util.FileSystemUtil;
+import com.dtstack.chunjun.util.PluginUtil;
 
 import org.apache.flink.core.io.InputSplit;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hive.ql.io.orc.OrcFile;
 import org.apache.hadoop.hive.ql.io.orc.OrcInputFormat;
@@ -36,6 +41,7 @@ import org.apache.hadoop.hive.ql.io.orc.OrcSerde;
 import org.apache.hadoop.hive.ql.io.orc.OrcSplit;
 import org.apache.hadoop.hive.serde2.objectinspector.StructField;
 import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
+import org.apache.hadoop.mapred.FileSplit;
 import org.apache.hadoop.mapred.InputFormat;
 import org.apache.hadoop.mapred.Reporter;
 
@@ -60,9 +66,12 @@ public class HdfsOrcInputFormat extends BaseHdfsInputFormat {
     private transient String[] fullColNames;
     private transient StructObjectInspector inspector;
     private transient List<? extends StructField> fields;
+    private transient OrcBatchReader batchReader;
+    /** 按stripe切分的分片中还未读取的部分 */
+    private transient Iterator<HdfsFileSplit.Part> remainingParts;
 
     @Override
-    public HdfsOrcInputSplit[] createHdfsSplit(int minNumSplits) throws IOException {
+    public InputSplit[] createHdfsSplit(int minNumSplits) throws IOException {
         super.initHadoopJobConf();
         String path;
         if (org.apache.commons.lang3.StringUtils.isNotBlank(hdfsConf.getFileName())) {
@@ -71,6 +80,23 @@ public class HdfsOrcInputFormat extends BaseHdfsInputFormat {
         } else {
             path = hdfsConf.getPath();
         }
+        if (hdfsConf.getSplitSize() > 0) {
+            try (FileSystem fileSystem =
+                    FileSystemUtil.getFileSystem(
+                            hdfsConf.getHadoopConfig(),
+                            hdfsConf.getDefaultFS(),
+                            PluginUtil.createDistributedCacheFromContextClassLoader())) {
+                return new HdfsSplitPlanner(hdfsConf.getSplitSize(), hdfsConf.getSplitPlanThreads())
+                        .plan(
+                                fileSystem,
+                                new Path(path),
+                                new HdfsPathFilter(hdfsConf.getFilterRegex()),
+                                HdfsSplitPlanner.orcStripes(hadoopJobConf, fileSystem),
+                                minNumSplits);
+            } catch (Exception e) {
+                throw new ChunJunRuntimeException(e);
+            }
+        }
         org.apache.hadoop.mapred.FileInputFormat.setInputPaths(hadoopJobConf, path);
         org.apache.hadoop.mapred.FileInputFormat.setInputPathFilter(
                 hadoopJobConf, HdfsPathFilter.class);
@@ -101,8 +127,13 @@ public class HdfsOrcInputFormat extends BaseHdfsInputFormat {
 
     @Override
     public void openInternal(InputSplit inputSplit) throws IOException {
-        HdfsOrcInputSplit hdfsOrcInputSplit = (HdfsOrcInputSplit) inputSplit;
-        OrcSplit orcSplit = hdfsOrcInputSplit.getOrcSplit();
+        FileSplit split;
+        if (inputSplit instanceof HdfsFileSplit) {
+            remainingParts = ((HdfsFileSplit) inputSplit).getParts().iterator();
+            split = nextPartSplit();
+        } else {
+            split = ((HdfsOrcInputSplit) inputSplit).getOrcSplit();
+        }
 
         if (openKerberos) {
             ugi.doAs(
@@ -110,8 +141,8 @@ public class HdfsOrcInputFormat extends BaseHdfsInputFormat {
                         @Override
                         public Object run() {
                             try {
-                                init(orcSplit);
-                                openOrcReader(inputSplit);
+                                init(split);
+                                openOrcReader(split);
                             } catch (Exception e) {
                                 throw new RuntimeException(e);
                             }
@@ -119,15 +150,15 @@ public class HdfsOrcInputFormat extends BaseHdfsInputFormat {
                         }
                     });
         } else {
-            init(orcSplit);
-            openOrcReader(inputSplit);
+            init(split);
+            openOrcReader(split);
         }
     }
 
-    public void init(OrcSplit orcSplit) throws IOException {
+    public void init(FileSplit split) throws IOException {
         try {
             if (!isInit.get()) {
-                init(orcSplit.getPath());
+                init(split.getPath());
                 isInit.set(true);
             }
         } catch (Exception e) {
@@ -135,16 +166,76 @@ public class HdfsOrcInputFormat extends BaseHdfsInputFormat {
         }
     }
 
-    private void openOrcReader(InputSplit inputSplit) throws IOException {
-        HdfsOrcInputSplit hdfsOrcInputSplit = (HdfsOrcInputSplit) inputSplit;
-        OrcSplit orcSplit = hdfsOrcInputSplit.getOrcSplit();
-        findCurrentPartition(orcSplit.getPath());
-        recordReader = inputFormat.getRecordReader(orcSplit, hadoopJobConf, Reporter.NULL);
+    /** 分片中的一段作为FileSplit读取，OrcInputFormat只读取起始位置在这个范围内的stripe */
+    private FileSplit nextPartSplit() {
+        HdfsFileSplit.Part part = remainingParts.next();
+        return new FileSplit(
+                new Path(part.getPath()), part.getStart(), part.getLength(), (String[]) null);
+    }
+
+    private void openOrcReader(FileSplit split) throws IOException {
+        findCurrentPartition(split.getPath());
+        if (hdfsConf.isEnableVectorizedRead()) {
+            OrcFile.ReaderOptions readerOptions = OrcFile.readerOptions(hadoopJobConf);
+            readerOptions.filesystem(fs);
+            batchReader =
+                    new OrcBatchReader(
+                            OrcFile.createReader(split.getPath(), readerOptions),
+                            split.getStart(),
+                            split.getLength(),
+                            getBatchColumns(),
+                            HdfsPredicate.parse(hdfsConf.getFilter()));
+            return;
+        }
+        recordReader = inputFormat.getRecordReader(split, hadoopJobConf, Reporter.NULL);
         key = recordReader.createKey();
         value = recordReader.createValue();
         fields = inspector.getAllStructFieldRefs();
     }
 
+    /** 读完分片中的一段后打开下一段，没有下一段时返回false */
+    private boolean openNextPart() throws IOException {
+        if (remainingParts == null || !remainingParts.hasNext()) {
+            return false;
+        }
+        closeInternal();
+        FileSplit split = nextPartSplit();
+        if (openKerberos) {
+            ugi.doAs(
+                    (PrivilegedAction<Object>)
+                            () -> {
+                                try {
+                                    openOrcReader(split);
+                                } catch (IOException e) {
+                                    throw new ChunJunRuntimeException(e);
+                                }
+                                return null;
+                            });
+        } else {
+            openOrcReader(split);
+        }
+        return true;
+    }
+
+    /** 按批读取时需要读取的字段在文件中的位置 */
+    private int[] getBatchColumns() {
+        List<FieldConf> fieldConfList = hdfsConf.getColumn();
+        if (fieldConfList.size() == 1
+                && ConstantValue.STAR_SYMBOL.equals(fieldConfList.get(0).getName())) {
+            int[] columns = new int[fullColNames.length];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = i;
+            }
+            return columns;
+        }
+        return fieldConfList.stream()
+                .map(FieldConf::getIndex)
+                .filter(index -> index != null && index >= 0 && index < fullColNames.length)
+                .mapToInt(Integer::intValue)
+                .distinct()
+                .toArray();
+    }
+
     /**
      * init hdfs orc inspector
      *
@@ -237,7 +328,9 @@ public class HdfsOrcInputFormat extends BaseHdfsInputFormat {
     public RowData nextRecordInternal(RowData rowData) throws ReadRecordException {
         List<FieldConf> fieldConfList = hdfsConf.getColumn();
         GenericRowData genericRowData;
-        if (fieldConfList.size() == 1
+        if (batchReader != null) {
+            genericRowData = nextBatchRecord(fieldConfList);
+        } else if (fieldConfList.size() == 1
                 && ConstantValue.STAR_SYMBOL.equals(fieldConfList.get(0).getName())) {
             genericRowData = new GenericRowData(fullColNames.length);
             for (int i = 0; i < fullColNames.length; i++) {
@@ -265,4 +358,51 @@ public class HdfsOrcInputFormat extends BaseHdfsInputFormat {
             throw new ReadRecordException("", e, 0, rowData);
         }
     }
+
+    private GenericRowData nextBatchRecord(List<FieldConf> fieldConfList) {
+        GenericRowData genericRowData;
+        if (fieldConfList.size() == 1
+                && ConstantValue.STAR_SYMBOL.equals(fieldConfList.get(0).getName())) {
+            genericRowData = new GenericRowData(fullColNames.length);
+            for (int i = 0; i < fullColNames.length; i++) {
+                genericRowData.setField(i, batchReader.get(i));
+            }
+        } else {
+            genericRowData = new GenericRowData(fieldConfList.size());
+            for (int i = 0; i < fieldConfList.size(); i++) {
+                FieldConf fieldConf = fieldConfList.get(i);
+                Object obj = null;
+                if (fieldConf.getValue() != null) {
+                    obj = fieldConf.getValue();
+                } else if (fieldConf.getIndex() != null
+                        && fieldConf.getIndex() >= 0
+                        && fieldConf.getIndex() < fullColNames.length) {
+                    obj = batchReader.get(fieldConf.getIndex());
+                }
+                genericRowData.setField(i, obj);
+            }
+        }
+        return genericRowData;
+    }
+
+    @Override
+    public boolean reachedEnd() throws IOException {
+        do {
+            boolean hasNext = batchReader != null ? batchReader.next() : !super.reachedEnd();
+            if (hasNext) {
+                return false;
+            }
+        } while (openNextPart());
+        return true;
+    }
+
+    @Override
+    public void closeInternal() throws IOException {
+        if (batchReader != null) {
+            batchReader.close();
+            batchReader = null;
+        }
+        super.closeInternal();
+        recordReader = null;
+    }
 }
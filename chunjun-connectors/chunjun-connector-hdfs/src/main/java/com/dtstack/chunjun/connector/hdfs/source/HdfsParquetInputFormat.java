@@ -18,9 +18,12 @@
 package com.dtstack.chunjun.connector.hdfs.source;
 
 import com.dtstack.chunjun.conf.FieldConf;
+import com.dtstack.chunjun.connector.hdfs.InputSplit.HdfsFileSplit;
 import com.dtstack.chunjun.connector.hdfs.InputSplit.HdfsParquetSplit;
+import com.dtstack.chunjun.connector.parquet.ParquetBatchReader;
 import com.dtstack.chunjun.constants.ConstantValue;
 import com.dtstack.chunjun.enums.ColumnType;
+import com.dtstack.chunjun.source.HdfsPredicate;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 import com.dtstack.chunjun.throwable.ReadRecordException;
 import com.dtstack.chunjun.util.FileSystemUtil;
@@ -75,8 +78,18 @@ public class HdfsParquetInputFormat extends BaseHdfsInputFormat {
     private transient List<String> fullColNames;
     private transient List<String> fullColTypes;
     private transient List<String> currentSplitFilePaths;
+    /** 按row group切分的分片中每个文件的读取范围，与currentSplitFilePaths一一对应 */
+    private transient List<HdfsFileSplit.Part> currentSplitParts;
+
     private transient int currentFileIndex = 0;
 
+    private transient List<HdfsPredicate> predicates;
+    private transient ParquetBatchReader batchReader;
+    /** 按批读取的字段在文件中的位置 */
+    private transient int[] batchColumns;
+    /** 第i个字段在batchColumns中的位置，-1表示不从文件中读取 */
+    private transient int[] batchPositions;
+
     private static List<String> getAllPartitionPath(
             String tableLocation, FileSystem fs, PathFilter pathFilter) throws IOException {
         List<String> pathList = Lists.newArrayList();
@@ -105,6 +118,21 @@ public class HdfsParquetInputFormat extends BaseHdfsInputFormat {
                         hdfsConf.getHadoopConfig(),
                         hdfsConf.getDefaultFS(),
                         PluginUtil.createDistributedCacheFromContextClassLoader())) {
+            if (hdfsConf.getSplitSize() > 0) {
+                // 逐行读取时不能只读取文件中的部分row group，只打包小文件
+                initHadoopJobConf();
+                HdfsSplitPlanner.BlockReader blockReader =
+                        hdfsConf.isEnableVectorizedRead()
+                                ? HdfsSplitPlanner.parquetRowGroups(hadoopJobConf)
+                                : file -> null;
+                return new HdfsSplitPlanner(hdfsConf.getSplitSize(), hdfsConf.getSplitPlanThreads())
+                        .plan(
+                                fs,
+                                new Path(hdfsConf.getPath()),
+                                pathFilter,
+                                blockReader,
+                                minNumSplits);
+            }
             allFilePaths = getAllPartitionPath(hdfsConf.getPath(), fs, pathFilter);
         } catch (Exception e) {
             throw new ChunJunRuntimeException(e);
@@ -138,7 +166,18 @@ public class HdfsParquetInputFormat extends BaseHdfsInputFormat {
 
     @Override
     protected void openInternal(InputSplit inputSplit) {
-        currentSplitFilePaths = ((HdfsParquetSplit) inputSplit).getPaths();
+        if (inputSplit instanceof HdfsFileSplit) {
+            currentSplitParts = ((HdfsFileSplit) inputSplit).getParts();
+            currentSplitFilePaths = new ArrayList<>(currentSplitParts.size());
+            for (HdfsFileSplit.Part part : currentSplitParts) {
+                currentSplitFilePaths.add(part.getPath());
+            }
+        } else {
+            currentSplitFilePaths = ((HdfsParquetSplit) inputSplit).getPaths();
+        }
+        if (hdfsConf.isEnableVectorizedRead()) {
+            predicates = HdfsPredicate.parse(hdfsConf.getFilter());
+        }
     }
 
     private void getNextLine() throws IOException {
@@ -192,18 +231,120 @@ public class HdfsParquetInputFormat extends BaseHdfsInputFormat {
                         getTypeName(type.asPrimitiveType().getPrimitiveTypeName().getMethod));
             }
 
-            for (FieldConf fieldConf : hdfsConf.getColumn()) {
-                String name = fieldConf.getName();
-                if (StringUtils.isNotBlank(name)) {
-                    name = name.toUpperCase();
-                    if (fullColNames.contains(name)) {
-                        fieldConf.setIndex(fullColNames.indexOf(name));
-                    } else {
-                        fieldConf.setIndex(-1);
+            setColumnIndex();
+        }
+    }
+
+    private void setColumnIndex() {
+        for (FieldConf fieldConf : hdfsConf.getColumn()) {
+            String name = fieldConf.getName();
+            if (StringUtils.isNotBlank(name)) {
+                name = name.toUpperCase();
+                if (fullColNames.contains(name)) {
+                    fieldConf.setIndex(fullColNames.indexOf(name));
+                } else {
+                    fieldConf.setIndex(-1);
+                }
+            }
+        }
+    }
+
+    private boolean nextBatchLine() throws IOException {
+        while (true) {
+            if (batchReader != null) {
+                if (openKerberos ? nextBatchLineWithKerberos() : batchReader.next()) {
+                    return true;
+                }
+                batchReader.close();
+                batchReader = null;
+            }
+            if (currentFileIndex >= currentSplitFilePaths.size()) {
+                return false;
+            }
+            if (openKerberos) {
+                ugi.doAs(
+                        (PrivilegedAction<Object>)
+                                () -> {
+                                    try {
+                                        nextBatchFile();
+                                        return null;
+                                    } catch (IOException e) {
+                                        throw new ChunJunRuntimeException(e);
+                                    }
+                                });
+            } else {
+                nextBatchFile();
+            }
+        }
+    }
+
+    private boolean nextBatchLineWithKerberos() {
+        return ugi.doAs(
+                (PrivilegedAction<Boolean>)
+                        () -> {
+                            try {
+                                return batchReader.next();
+                            } catch (IOException e) {
+                                throw new ChunJunRuntimeException(e);
+                            }
+                        });
+    }
+
+    /**
+     * open next hdfs file for reading in batches, only the selected columns are read
+     *
+     * @throws IOException
+     */
+    private void nextBatchFile() throws IOException {
+        Path path = new Path(currentSplitFilePaths.get(currentFileIndex));
+        findCurrentPartition(path);
+        if (currentSplitParts != null) {
+            HdfsFileSplit.Part part = currentSplitParts.get(currentFileIndex);
+            batchReader =
+                    new ParquetBatchReader(
+                            hadoopJobConf, path, part.getStart(), part.getLength(), predicates);
+        } else {
+            batchReader = new ParquetBatchReader(hadoopJobConf, path, predicates);
+        }
+        currentFileIndex++;
+        if (fullColNames == null) {
+            fullColNames = new ArrayList<>();
+            fullColTypes = new ArrayList<>();
+            for (org.apache.parquet.schema.Type type : batchReader.getSchema().getFields()) {
+                fullColNames.add(type.getName().toUpperCase());
+                fullColTypes.add(
+                        getTypeName(type.asPrimitiveType().getPrimitiveTypeName().getMethod));
+            }
+            setColumnIndex();
+        }
+
+        List<FieldConf> fieldConfList = hdfsConf.getColumn();
+        List<Integer> columns = new ArrayList<>();
+        List<String> columnTypes = new ArrayList<>();
+        if (fieldConfList.size() == 1
+                && ConstantValue.STAR_SYMBOL.equals(fieldConfList.get(0).getName())) {
+            for (int i = 0; i < fullColNames.size(); i++) {
+                columns.add(i);
+                columnTypes.add(fullColTypes.get(i));
+            }
+        } else {
+            batchPositions = new int[fieldConfList.size()];
+            for (int i = 0; i < fieldConfList.size(); i++) {
+                FieldConf fieldConf = fieldConfList.get(i);
+                Integer index = fieldConf.getIndex();
+                batchPositions[i] = -1;
+                if (index != null && index >= 0 && index < fullColNames.size()) {
+                    batchPositions[i] = columns.indexOf(index);
+                    if (batchPositions[i] < 0) {
+                        batchPositions[i] = columns.size();
+                        columns.add(index);
+                        columnTypes.add(fieldConf.getType());
                     }
                 }
             }
         }
+        batchColumns = Ints.toArray(columns);
+        batchReader.setColumns(batchColumns, columnTypes.toArray(new String[0]));
     }
 
     private Group nextLineWithKerberos() {
@@ -237,7 +378,9 @@ public class HdfsParquetInputFormat extends BaseHdfsInputFormat {
     public RowData nextRecordInternal(RowData rowData) throws ReadRecordException {
         List<FieldConf> fieldConfList = hdfsConf.getColumn();
         GenericRowData genericRowData;
-        if (fieldConfList.size() == 1
+        if (hdfsConf.isEnableVectorizedRead()) {
+            genericRowData = nextBatchRecord(fieldConfList);
+        } else if (fieldConfList.size() == 1
                 && ConstantValue.STAR_SYMBOL.equals(fieldConfList.get(0).getName())) {
             genericRowData = new GenericRowData(fullColNames.size());
             for (int i = 0; i < fullColNames.size(); i++) {
@@ -269,9 +412,32 @@ public class HdfsParquetInputFormat extends BaseHdfsInputFormat {
         }
     }
 
+    private GenericRowData nextBatchRecord(List<FieldConf> fieldConfList) {
+        GenericRowData genericRowData;
+        if (batchPositions == null) {
+            genericRowData = new GenericRowData(batchColumns.length);
+            for (int i = 0; i < batchColumns.length; i++) {
+                genericRowData.setField(i, batchReader.get(i));
+            }
+        } else {
+            genericRowData = new GenericRowData(fieldConfList.size());
+            for (int i = 0; i < fieldConfList.size(); i++) {
+                FieldConf fieldConf = fieldConfList.get(i);
+                Object obj = null;
+                if (fieldConf.getValue() != null) {
+                    obj = fieldConf.getValue();
+                } else if (batchPositions[i] >= 0) {
+                    obj = batchReader.get(batchPositions[i]);
+                }
+                genericRowData.setField(i, obj);
+            }
+        }
+        return genericRowData;
+    }
+
     @Override
     public boolean reachedEnd() throws IOException {
-        return !nextLine();
+        return hdfsConf.isEnableVectorizedRead() ? !nextBatchLine() : !nextLine();
     }
 
     public Object getData(Group currentLine, String type, int index) {
@@ -365,6 +531,10 @@ public class HdfsParquetInputFormat extends BaseHdfsInputFormat {
             currentFileReader.close();
             currentFileReader = null;
         }
+        if (batchReader != null) {
+            batchReader.close();
+            batchReader = null;
+        }
 
         currentLine = null;
         currentFileIndex = 0;
@@ -0,0 +1,293 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.chunjun.connector.hdfs.source;
+
+import com.dtstack.chunjun.connector.hdfs.InputSplit.HdfsFileSplit;
+import com.dtstack.chunjun.factory.ChunJunThreadFactory;
+import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.PathFilter;
+import org.apache.hadoop.hive.ql.io.orc.OrcFile;
+import org.apache.hadoop.hive.ql.io.orc.StripeInformation;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 按row group/stripe的边界切分文件：读取每个文件的footer，大文件切分为若干段，小文件打包在一起，每个分片的数据量接近splitSize。
+ *
+ * <p>遍历目录和读取footer在线程池中并行执行，分片按数据量从大到小排列，由{@link HdfsSplitAssigner}按顺序分配给读完上一个分片的并行度。
+ */
+public class HdfsSplitPlanner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HdfsSplitPlanner.class);
+
+    private final long splitSize;
+    private final int threads;
+
+    /**
+     * @param splitSize 每个分片的目标字节数
+     * @param threads 遍历目录和读取footer的线程数
+     */
+    public HdfsSplitPlanner(long splitSize, int threads) {
+        this.splitSize = splitSize;
+        this.threads = Math.max(threads, 1);
+    }
+
+    /**
+     * 生成分片
+     *
+     * @param fs 文件系统
+     * @param root 文件或目录
+     * @param pathFilter 目录和文件的过滤器
+     * @param blockReader 读取文件中row group/stripe的位置
+     * @param minNumSplits 并行度，数据量较小时减小分片的大小，保证每个并行度都有分片
+     */
+    public HdfsFileSplit[] plan(
+            FileSystem fs,
+            Path root,
+            PathFilter pathFilter,
+            BlockReader blockReader,
+            int minNumSplits)
+            throws IOException {
+        long startTime = System.currentTimeMillis();
+        // 线程池中的线程不一定继承当前的kerberos用户，每个任务都以当前用户执行
+        UserGroupInformation ugi = UserGroupInformation.getCurrentUser();
+        ExecutorService executor =
+                Executors.newFixedThreadPool(
+                        threads, new ChunJunThreadFactory("hdfsSplitPlanner", true));
+        try {
+            List<FileStatus> files = listFiles(executor, ugi, fs, root, pathFilter);
+            List<Future<List<HdfsFileSplit.Part>>> futures = new ArrayList<>(files.size());
+            for (FileStatus file : files) {
+                futures.add(executor.submit(() -> doAs(ugi, () -> readBlocks(blockReader, file))));
+            }
+            List<List<HdfsFileSplit.Part>> fileBlocks = new ArrayList<>(files.size());
+            long totalSize = 0;
+            for (Future<List<HdfsFileSplit.Part>> future : futures) {
+                List<HdfsFileSplit.Part> blocks = get(future);
+                fileBlocks.add(blocks);
+                for (HdfsFileSplit.Part block : blocks) {
+                    totalSize += block.getLength();
+                }
+            }
+
+            // 数据量较小时按并行度均分，每个并行度都有分片
+            int parallelism = Math.max(minNumSplits, 1);
+            long targetSize =
+                    Math.max(Math.min(splitSize, (totalSize + parallelism - 1) / parallelism), 1);
+            HdfsFileSplit[] splits = pack(fileBlocks, targetSize);
+            LOG.info(
+                    "Takes [{}] milliseconds to plan {} splits of {} files under {}, total size = {}, split size = {}",
+                    System.currentTimeMillis() - startTime,
+                    splits.length,
+                    files.size(),
+                    root,
+                    totalSize,
+                    targetSize);
+            return splits;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** 逐层并行遍历目录，与目录同层的文件和子目录都经过pathFilter过滤 */
+    private static List<FileStatus> listFiles(
+            ExecutorService executor,
+            UserGroupInformation ugi,
+            FileSystem fs,
+            Path root,
+            PathFilter pathFilter)
+            throws IOException {
+        List<FileStatus> files = new ArrayList<>();
+        FileStatus rootStatus = fs.getFileStatus(root);
+        if (rootStatus.isFile()) {
+            files.add(rootStatus);
+            return files;
+        }
+        List<Path> dirs = new ArrayList<>();
+        dirs.add(root);
+        while (!dirs.isEmpty()) {
+            List<Future<FileStatus[]>> futures = new ArrayList<>(dirs.size());
+            for (Path dir : dirs) {
+                futures.add(executor.submit(() -> doAs(ugi, () -> fs.listStatus(dir, pathFilter))));
+            }
+            dirs = new ArrayList<>();
+            for (Future<FileStatus[]> future : futures) {
+                for (FileStatus status : get(future)) {
+                    if (status.isDirectory()) {
+                        dirs.add(status.getPath());
+                    } else {
+                        files.add(status);
+                    }
+                }
+            }
+        }
+        return files;
+    }
+
+    private static List<HdfsFileSplit.Part> readBlocks(BlockReader blockReader, FileStatus file)
+            throws IOException {
+        String path = file.getPath().toString();
+        List<HdfsFileSplit.Part> blocks = blockReader.read(file);
+        if (blocks == null) {
+            // 不能切分的文件作为一段整体读取
+            blocks = new ArrayList<>(1);
+            if (file.getLen() > 0) {
+                blocks.add(new HdfsFileSplit.Part(path, 0, file.getLen()));
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * 同一个文件中连续的block合并为不超过targetSize的段，超过targetSize的block单独作为一段；所有的段按大小降序依次装入分片，分片装满targetSize后开始下一个分片
+     *
+     * @param fileBlocks 每个文件中按位置排列的block
+     * @param targetSize 分片的目标字节数
+     * @return 按数据量降序排列的分片
+     */
+    static HdfsFileSplit[] pack(List<List<HdfsFileSplit.Part>> fileBlocks, long targetSize) {
+        List<HdfsFileSplit.Part> parts = new ArrayList<>();
+        for (List<HdfsFileSplit.Part> blocks : fileBlocks) {
+            HdfsFileSplit.Part current = null;
+            for (HdfsFileSplit.Part block : blocks) {
+                if (current == null) {
+                    current = block;
+                } else if (current.getLength() + block.getLength() <= targetSize) {
+                    current =
+                            new HdfsFileSplit.Part(
+                                    current.getPath(),
+                                    current.getStart(),
+                                    block.getStart() + block.getLength() - current.getStart());
+                } else {
+                    parts.add(current);
+                    current = block;
+                }
+            }
+            if (current != null) {
+                parts.add(current);
+            }
+        }
+        parts.sort(Comparator.comparingLong(HdfsFileSplit.Part::getLength).reversed());
+
+        List<List<HdfsFileSplit.Part>> bins = new ArrayList<>();
+        List<HdfsFileSplit.Part> bin = new ArrayList<>();
+        long binSize = 0;
+        for (HdfsFileSplit.Part part : parts) {
+            if (!bin.isEmpty() && binSize + part.getLength() > targetSize) {
+                bins.add(bin);
+                bin = new ArrayList<>();
+                binSize = 0;
+            }
+            bin.add(part);
+            binSize += part.getLength();
+        }
+        if (!bin.isEmpty()) {
+            bins.add(bin);
+        }
+
+        HdfsFileSplit[] splits = new HdfsFileSplit[bins.size()];
+        for (int i = 0; i < splits.length; i++) {
+            splits[i] = new HdfsFileSplit(i, bins.get(i));
+        }
+        return splits;
+    }
+
+    private static <T> T doAs(UserGroupInformation ugi, PrivilegedExceptionAction<T> action)
+            throws IOException, InterruptedException {
+        return ugi.doAs(action);
+    }
+
+    private static <T> T get(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while planning hdfs splits", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new ChunJunRuntimeException("failed to plan hdfs splits", e.getCause());
+        }
+    }
+
+    /** parquet文件中每个row group的起始位置和压缩后的大小 */
+    public static BlockReader parquetRowGroups(Configuration conf) {
+        return file -> {
+            List<HdfsFileSplit.Part> blocks = new ArrayList<>();
+            for (BlockMetaData rowGroup :
+                    ParquetFileReader.readFooter(conf, file, ParquetMetadataConverter.NO_FILTER)
+                            .getBlocks()) {
+                if (rowGroup.getRowCount() > 0) {
+                    blocks.add(
+                            new HdfsFileSplit.Part(
+                                    file.getPath().toString(),
+                                    rowGroup.getStartingPos(),
+                                    rowGroup.getCompressedSize()));
+                }
+            }
+            return blocks;
+        };
+    }
+
+    /** orc文件中每个stripe的起始位置和大小 */
+    public static BlockReader orcStripes(Configuration conf, FileSystem fs) {
+        return file -> {
+            OrcFile.ReaderOptions readerOptions = OrcFile.readerOptions(conf);
+            readerOptions.filesystem(fs);
+            readerOptions.maxLength(file.getLen());
+            List<HdfsFileSplit.Part> blocks = new ArrayList<>();
+            for (StripeInformation stripe :
+                    OrcFile.createReader(file.getPath(), readerOptions).getStripes()) {
+                if (stripe.getNumberOfRows() > 0) {
+                    blocks.add(
+                            new HdfsFileSplit.Part(
+                                    file.getPath().toString(),
+                                    stripe.getOffset(),
+                                    stripe.getLength()));
+                }
+            }
+            return blocks;
+        };
+    }
+
+    /** 读取文件中按位置排列的row group/stripe，返回null时整个文件作为一个block */
+    @FunctionalInterface
+    public interface BlockReader {
+        List<HdfsFileSplit.Part> read(FileStatus file) throws IOException;
+    }
+}
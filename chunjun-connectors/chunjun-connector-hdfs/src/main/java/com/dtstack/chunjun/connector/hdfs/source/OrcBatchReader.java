@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.hdfs.source;
+
+import com.dtstack.chunjun.source.HdfsPredicate;
+
+import org.apache.hadoop.hive.common.type.HiveChar;
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.TimestampUtils;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.io.orc.OrcProto;
+import org.apache.hadoop.hive.ql.io.orc.Reader;
+import org.apache.hadoop.hive.ql.io.orc.RecordReader;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgument;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgumentFactory;
+import org.apache.hadoop.hive.serde2.io.DateWritable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 通过{@link RecordReader#nextBatch}按批读取orc文件，只解码需要读取的字段，并根据filter跳过不满足条件的row group、过滤不满足条件的行。
+ *
+ * <p>字段的值与逐行读取时{@link com.dtstack.chunjun.connector.hdfs.util.HdfsUtil#getWritableValue}返回的值相同。
+ */
+public class OrcBatchReader implements Closeable {
+
+    private final RecordReader recordReader;
+    private final List<OrcProto.Type> types;
+    /** 文件中第i个字段的类型id */
+    private final int[] columnTypeIds;
+
+    private final List<HdfsPredicate> predicates;
+    /** 第i个条件的字段在文件中的位置，文件中没有该字段或者字段不是基本类型时为-1，不参与逐行过滤 */
+    private final int[] predicateColumns;
+
+    private VectorizedRowBatch batch;
+    private int rowInBatch;
+
+    /**
+     * @param reader orc文件
+     * @param offset 读取范围的起始位置，为split的起始位置
+     * @param length 读取范围的长度
+     * @param columns 需要读取的字段在文件中的位置
+     * @param predicates filter中的条件，文件中没有的字段上的条件被忽略
+     */
+    public OrcBatchReader(
+            Reader reader, long offset, long length, int[] columns, List<HdfsPredicate> predicates)
+            throws IOException {
+        this.types = reader.getTypes();
+        OrcProto.Type root = types.get(0);
+        this.columnTypeIds = new int[root.getSubtypesCount()];
+        String[] columnNames = new String[types.size()];
+        for (int i = 0; i < columnTypeIds.length; i++) {
+            columnTypeIds[i] = root.getSubtypes(i);
+            columnNames[columnTypeIds[i]] = root.getFieldNames(i);
+        }
+
+        boolean[] include = new boolean[types.size()];
+        include[0] = true;
+        for (int column : columns) {
+            include[columnTypeIds[column]] = true;
+        }
+
+        // 条件中的字段需要逐行过滤，同时读取这些字段
+        this.predicates = predicates;
+        this.predicateColumns = new int[predicates.size()];
+        for (int i = 0; i < predicateColumns.length; i++) {
+            predicateColumns[i] = indexOf(root, predicates.get(i).getColumn());
+            if (predicateColumns[i] >= 0) {
+                include[columnTypeIds[predicateColumns[i]]] = true;
+            }
+        }
+
+        SearchArgument searchArgument = createSearchArgument(predicates, root);
+        Reader.Options options = new Reader.Options().include(include).range(offset, length);
+        if (searchArgument != null) {
+            options.searchArgument(searchArgument, columnNames);
+        }
+        this.recordReader = reader.rowsOptions(options);
+    }
+
+    /** 移动到下一个满足条件的行，没有数据时返回false */
+    public boolean next() throws IOException {
+        do {
+            if (!nextRow()) {
+                return false;
+            }
+        } while (!matches());
+        return true;
+    }
+
+    private boolean nextRow() throws IOException {
+        rowInBatch++;
+        while (batch == null || rowInBatch >= batch.size) {
+            if (!recordReader.hasNext()) {
+                return false;
+            }
+            batch = recordReader.nextBatch(batch);
+            rowInBatch = 0;
+        }
+        return true;
+    }
+
+    /**
+     * 当前行中字段的值
+     *
+     * @param column 字段在文件中的位置
+     */
+    public Object get(int column) {
+        ColumnVector vector = batch.cols[column];
+        int row = vector.isRepeating ? 0 : rowInBatch;
+        if (!vector.noNulls && vector.isNull[row]) {
+            return null;
+        }
+        OrcProto.Type type = types.get(columnTypeIds[column]);
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return ((LongColumnVector) vector).vector[row] != 0;
+            case BYTE:
+                return (byte) ((LongColumnVector) vector).vector[row];
+            case SHORT:
+                return (short) ((LongColumnVector) vector).vector[row];
+            case INT:
+                return (int) ((LongColumnVector) vector).vector[row];
+            case LONG:
+                return ((LongColumnVector) vector).vector[row];
+            case FLOAT:
+                return (float) ((DoubleColumnVector) vector).vector[row];
+            case DOUBLE:
+                return ((DoubleColumnVector) vector).vector[row];
+            case STRING:
+            case VARCHAR:
+                return getString((BytesColumnVector) vector, row);
+            case CHAR:
+                return new HiveChar(
+                                getString((BytesColumnVector) vector, row), type.getMaximumLength())
+                        .toString();
+            case BINARY:
+                BytesColumnVector bytesVector = (BytesColumnVector) vector;
+                return Arrays.copyOfRange(
+                        bytesVector.vector[row],
+                        bytesVector.start[row],
+                        bytesVector.start[row] + bytesVector.length[row]);
+            case TIMESTAMP:
+                Timestamp timestamp = new Timestamp(0);
+                TimestampUtils.assignTimeInNanoSec(
+                        ((LongColumnVector) vector).vector[row], timestamp);
+                return timestamp;
+            case DATE:
+                return new Date(
+                        DateWritable.daysToMillis((int) ((LongColumnVector) vector).vector[row]));
+            case DECIMAL:
+                return ((DecimalColumnVector) vector)
+                        .vector[row]
+                        .getHiveDecimal()
+                        .bigDecimalValue();
+            default:
+                throw new UnsupportedOperationException(
+                        "unsupported orc type [" + type.getKind() + "] of column " + column);
+        }
+    }
+
+    private boolean matches() {
+        for (int i = 0; i < predicateColumns.length; i++) {
+            if (predicateColumns[i] >= 0 && !predicates.get(i).test(get(predicateColumns[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 基本类型的字段在文件中的位置，没有时返回-1 */
+    private int indexOf(OrcProto.Type root, String column) {
+        for (int i = 0; i < root.getFieldNamesCount(); i++) {
+            if (root.getFieldNames(i).equalsIgnoreCase(column)) {
+                return types.get(columnTypeIds[i]).getSubtypesCount() == 0 ? i : -1;
+            }
+        }
+        return -1;
+    }
+
+    private static String getString(BytesColumnVector vector, int row) {
+        return new String(
+                vector.vector[row], vector.start[row], vector.length[row], StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        recordReader.close();
+    }
+
+    /** 只下推常量类型与字段类型一致的条件，没有可以下推的条件时返回null */
+    private SearchArgument createSearchArgument(
+            List<HdfsPredicate> predicates, OrcProto.Type root) {
+        SearchArgument.Builder builder = SearchArgumentFactory.newBuilder().startAnd();
+        int pushed = 0;
+        for (HdfsPredicate predicate : predicates) {
+            for (int i = 0; i < root.getFieldNamesCount(); i++) {
+                String name = root.getFieldNames(i);
+                if (!name.equalsIgnoreCase(predicate.getColumn())) {
+                    continue;
+                }
+                Object literal =
+                        toLiteral(types.get(columnTypeIds[i]).getKind(), predicate.getLiteral());
+                if (literal != null) {
+                    addPredicate(builder, name, predicate.getOperator(), literal);
+                    pushed++;
+                }
+                break;
+            }
+        }
+        return pushed == 0 ? null : builder.end().build();
+    }
+
+    private static Object toLiteral(OrcProto.Type.Kind kind, Object literal) {
+        try {
+            switch (kind) {
+                case BYTE:
+                case SHORT:
+                case INT:
+                case LONG:
+                    return literal instanceof Long ? literal : null;
+                case FLOAT:
+                case DOUBLE:
+                    return literal instanceof Number ? ((Number) literal).doubleValue() : null;
+                case DECIMAL:
+                    return literal instanceof Number
+                            ? HiveDecimal.create(literal.toString())
+                            : null;
+                case STRING:
+                case VARCHAR:
+                case CHAR:
+                    return literal instanceof String ? literal : null;
+                case DATE:
+                    return literal instanceof String
+                            ? new DateWritable(Date.valueOf((String) literal))
+                            : null;
+                case TIMESTAMP:
+                    return literal instanceof String ? Timestamp.valueOf((String) literal) : null;
+                default:
+                    return null;
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void addPredicate(
+            SearchArgument.Builder builder,
+            String column,
+            HdfsPredicate.Operator operator,
+            Object literal) {
+        switch (operator) {
+            case EQ:
+                builder.equals(column, literal);
+                break;
+            case NOT_EQ:
+                builder.startNot().equals(column, literal).end();
+                break;
+            case LT:
+                builder.lessThan(column, literal);
+                break;
+            case LT_EQ:
+                builder.lessThanEquals(column, literal);
+                break;
+            case GT:
+                builder.startNot().lessThanEquals(column, literal).end();
+                break;
+            case GT_EQ:
+                builder.startNot().lessThan(column, literal).end();
+                break;
+            default:
+                throw new IllegalArgumentException("unsupported operator: " + operator);
+        }
+    }
+}
@@ -78,6 +78,10 @@ public class HdfsDynamicTableFactory implements DynamicTableSourceFactory, Dynam
         options.add(HdfsOptions.FILTER_REGEX);
         options.add(HdfsOptions.FIELD_DELIMITER);
         options.add(HdfsOptions.ENABLE_DICTIONARY);
+        options.add(HdfsOptions.ENABLE_VECTORIZED_READ);
+        options.add(HdfsOptions.FILTER);
+        options.add(HdfsOptions.SPLIT_SIZE);
+        options.add(HdfsOptions.SPLIT_PLAN_THREADS);
         return options;
     }
 
@@ -146,6 +150,10 @@ public class HdfsDynamicTableFactory implements DynamicTableSourceFactory, Dynam
         hdfsConf.setFilterRegex(config.get(HdfsOptions.FILTER_REGEX));
         hdfsConf.setFieldDelimiter(config.get(HdfsOptions.FIELD_DELIMITER));
         hdfsConf.setEnableDictionary(config.get(HdfsOptions.ENABLE_DICTIONARY));
+        hdfsConf.setEnableVectorizedRead(config.get(HdfsOptions.ENABLE_VECTORIZED_READ));
+        hdfsConf.setFilter(config.get(HdfsOptions.FILTER));
+        hdfsConf.setSplitSize(config.get(HdfsOptions.SPLIT_SIZE));
+        hdfsConf.setSplitPlanThreads(config.get(HdfsOptions.SPLIT_PLAN_THREADS));
 
         return hdfsConf;
     }
@@ -0,0 +1,562 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.parquet;
+
+import com.dtstack.chunjun.source.HdfsPredicate;
+import com.dtstack.chunjun.enums.ColumnType;
+
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.DummyRecordConverter;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.compat.RowGroupFilter;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.DecimalMetadata;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 通过parquet的ColumnReader按列读取parquet文件，每次从每个字段读取一批数据，只读取需要的字段，并根据filter跳过不满足条件的row
+ * group、过滤不满足条件的行。
+ *
+ * <p>字段的值与HdfsParquetInputFormat逐行读取时返回的值相同。
+ *
+ * <p>hdfs和hive3插件依赖的parquet版本不同，两个插件通过build-helper-maven-plugin把src/shared/java加入源码目录，分别编译这个类。
+ */
+public class ParquetBatchReader implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParquetBatchReader.class);
+
+    private static final int BATCH_SIZE = 1024;
+    private static final int JULIAN_EPOCH_OFFSET_DAYS = 2440588;
+    private static final long MILLIS_IN_DAY = TimeUnit.DAYS.toMillis(1);
+    private static final long NANOS_PER_MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int TIMESTAMP_BINARY_LENGTH = 12;
+
+    private final ParquetFileReader fileReader;
+    private final MessageType schema;
+    /** 第i个row group是否需要读取 */
+    private final boolean[] readRowGroups;
+    private final List<HdfsPredicate> predicates;
+    /** 第i个条件的字段在读取的字段中的位置，文件中没有该字段或者字段不是基本类型时为-1，不参与逐行过滤 */
+    private int[] predicatePositions;
+
+    private MessageType requestedSchema;
+    private ColumnDescriptor[] descriptors;
+    private ValueReader[] valueReaders;
+    private ColumnReader[] columnReaders;
+
+    private int rowGroupIndex;
+    private long rowsLeftInRowGroup;
+    private Object[][] values;
+    private int batchSize;
+    private int rowInBatch;
+
+    /**
+     * @param conf hadoop配置
+     * @param path parquet文件
+     * @param predicates filter中的条件，文件中没有的字段上的条件被忽略
+     */
+    public ParquetBatchReader(Configuration conf, Path path, List<HdfsPredicate> predicates)
+            throws IOException {
+        this(conf, path, 0, Long.MAX_VALUE, predicates);
+    }
+
+    /**
+     * @param conf hadoop配置
+     * @param path parquet文件
+     * @param start 读取范围的起始位置，只读取起始位置在[start, start + length)范围内的row group
+     * @param length 读取范围的长度
+     * @param predicates filter中的条件，文件中没有的字段上的条件被忽略
+     */
+    public ParquetBatchReader(
+            Configuration conf, Path path, long start, long length, List<HdfsPredicate> predicates)
+            throws IOException {
+        this.fileReader = ParquetFileReader.open(conf, path);
+        this.schema = fileReader.getFooter().getFileMetaData().getSchema();
+        this.predicates = predicates;
+
+        List<BlockMetaData> rowGroups = fileReader.getRowGroups();
+        List<BlockMetaData> filtered = rowGroups;
+        FilterPredicate filterPredicate = createFilterPredicate(predicates, schema);
+        if (filterPredicate != null) {
+            filtered =
+                    RowGroupFilter.filterRowGroups(
+                            Arrays.asList(
+                                    RowGroupFilter.FilterLevel.STATISTICS,
+                                    RowGroupFilter.FilterLevel.DICTIONARY),
+                            FilterCompat.get(filterPredicate),
+                            rowGroups,
+                            fileReader);
+            LOG.info(
+                    "filter [{}] skips {} of {} row groups in {}",
+                    filterPredicate,
+                    rowGroups.size() - filtered.size(),
+                    rowGroups.size(),
+                    path);
+        }
+        Map<BlockMetaData, Boolean> kept = new IdentityHashMap<>();
+        for (BlockMetaData rowGroup : filtered) {
+            kept.put(rowGroup, Boolean.TRUE);
+        }
+        this.readRowGroups = new boolean[rowGroups.size()];
+        for (int i = 0; i < rowGroups.size(); i++) {
+            BlockMetaData rowGroup = rowGroups.get(i);
+            long offset = rowGroup.getStartingPos() - start;
+            readRowGroups[i] =
+                    rowGroup.getRowCount() > 0
+                            && offset >= 0
+                            && offset < length
+                            && kept.containsKey(rowGroup);
+        }
+    }
+
+    public MessageType getSchema() {
+        return schema;
+    }
+
+    /**
+     * 设置需要读取的字段，读取数据前调用。条件中的字段不在columns中时追加到columns之后读取
+     *
+     * @param columns 字段在文件中的位置，不能重复
+     * @param columnTypes 字段配置的类型，决定读出的值的类型
+     */
+    public void setColumns(int[] columns, String[] columnTypes) {
+        List<Integer> readColumns = new ArrayList<>(columns.length);
+        List<String> readTypes = new ArrayList<>(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            readColumns.add(columns[i]);
+            readTypes.add(columnTypes[i]);
+        }
+        this.predicatePositions = new int[predicates.size()];
+        for (int i = 0; i < predicatePositions.length; i++) {
+            int column = indexOf(predicates.get(i).getColumn());
+            predicatePositions[i] = column < 0 ? -1 : readColumns.indexOf(column);
+            if (column >= 0 && predicatePositions[i] < 0) {
+                predicatePositions[i] = readColumns.size();
+                readColumns.add(column);
+                readTypes.add(getPredicateType(schema.getType(column).asPrimitiveType()));
+            }
+        }
+
+        int size = readColumns.size();
+        List<Type> fields = new ArrayList<>(size);
+        for (int column : readColumns) {
+            fields.add(schema.getType(column));
+        }
+        this.requestedSchema = new MessageType(schema.getName(), fields);
+        this.descriptors = new ColumnDescriptor[size];
+        this.valueReaders = new ValueReader[size];
+        for (int i = 0; i < size; i++) {
+            int column = readColumns.get(i);
+            descriptors[i] = getColumnDescriptor(column);
+            valueReaders[i] =
+                    createValueReader(readTypes.get(i), schema.getType(column).asPrimitiveType());
+        }
+        this.columnReaders = new ColumnReader[size];
+        this.values = new Object[size][BATCH_SIZE];
+        fileReader.setRequestedSchema(requestedSchema);
+    }
+
+    /** 非嵌套的字段在文件中的位置，没有时返回-1 */
+    private int indexOf(String column) {
+        List<Type> fields = schema.getFields();
+        for (int i = 0; i < fields.size(); i++) {
+            Type field = fields.get(i);
+            if (field.getName().equalsIgnoreCase(column)) {
+                return field.isPrimitive() && field.getRepetition() != Type.Repetition.REPEATED
+                        ? i
+                        : -1;
+            }
+        }
+        return -1;
+    }
+
+    /** 只用于逐行过滤的字段按文件中的类型读取 */
+    private static String getPredicateType(PrimitiveType primitiveType) {
+        OriginalType originalType = primitiveType.getOriginalType();
+        if (originalType == OriginalType.DECIMAL) {
+            return "decimal";
+        }
+        switch (primitiveType.getPrimitiveTypeName()) {
+            case BOOLEAN:
+                return "boolean";
+            case INT32:
+                return originalType == OriginalType.DATE ? "date" : "int";
+            case INT64:
+                return "bigint";
+            case INT96:
+                return "timestamp";
+            case FLOAT:
+                return "float";
+            case DOUBLE:
+                return "double";
+            default:
+                return originalType == OriginalType.UTF8
+                                || originalType == OriginalType.ENUM
+                                || originalType == OriginalType.JSON
+                        ? "string"
+                        : "binary";
+        }
+    }
+
+    /** 只支持非嵌套的字段 */
+    private ColumnDescriptor getColumnDescriptor(int field) {
+        Type type = schema.getType(field);
+        if (!type.isPrimitive()) {
+            throw new UnsupportedOperationException(
+                    "unsupported nested field [" + type.getName() + "]");
+        }
+        return schema.getColumnDescription(new String[] {type.getName()});
+    }
+
+    /** 移动到下一个满足条件的行，没有数据时返回false */
+    public boolean next() throws IOException {
+        do {
+            if (!nextRow()) {
+                return false;
+            }
+        } while (!matches());
+        return true;
+    }
+
+    private boolean matches() {
+        for (int i = 0; i < predicatePositions.length; i++) {
+            if (predicatePositions[i] >= 0
+                    && !predicates.get(i).test(values[predicatePositions[i]][rowInBatch])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean nextRow() throws IOException {
+        if (++rowInBatch < batchSize) {
+            return true;
+        }
+        while (rowsLeftInRowGroup == 0) {
+            if (!nextRowGroup()) {
+                return false;
+            }
+        }
+        batchSize = (int) Math.min(BATCH_SIZE, rowsLeftInRowGroup);
+        for (int i = 0; i < columnReaders.length; i++) {
+            readBatch(i);
+        }
+        rowsLeftInRowGroup -= batchSize;
+        rowInBatch = 0;
+        return true;
+    }
+
+    /**
+     * 当前行中字段的值
+     *
+     * @param position 字段在{@link #setColumns}的columns中的位置
+     */
+    public Object get(int position) {
+        return values[position][rowInBatch];
+    }
+
+    private boolean nextRowGroup() throws IOException {
+        while (rowGroupIndex < readRowGroups.length) {
+            if (!readRowGroups[rowGroupIndex++]) {
+                fileReader.skipNextRowGroup();
+                continue;
+            }
+            PageReadStore pages = fileReader.readNextRowGroup();
+            ColumnReadStoreImpl columnReadStore =
+                    new ColumnReadStoreImpl(
+                            pages,
+                            new DummyRecordConverter(requestedSchema).getRootConverter(),
+                            requestedSchema,
+                            fileReader.getFooter().getFileMetaData().getCreatedBy());
+            for (int i = 0; i < descriptors.length; i++) {
+                columnReaders[i] = columnReadStore.getColumnReader(descriptors[i]);
+            }
+            rowsLeftInRowGroup = pages.getRowCount();
+            return true;
+        }
+        return false;
+    }
+
+    private void readBatch(int position) {
+        ColumnReader columnReader = columnReaders[position];
+        ValueReader valueReader = valueReaders[position];
+        Object[] columnValues = values[position];
+        int maxDefinitionLevel = descriptors[position].getMaxDefinitionLevel();
+        for (int row = 0; row < batchSize; row++) {
+            Object value = null;
+            if (columnReader.getCurrentDefinitionLevel() == maxDefinitionLevel) {
+                try {
+                    value = valueReader.read(columnReader);
+                } catch (Exception e) {
+                    LOG.error("error to get data from parquet column reader.", e);
+                }
+            }
+            columnValues[row] = value;
+            columnReader.consume();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileReader.close();
+    }
+
+    private ValueReader createValueReader(String type, PrimitiveType primitiveType) {
+        ColumnType columnType = ColumnType.fromString(type);
+        switch (columnType.name().toLowerCase(Locale.ENGLISH)) {
+            case "tinyint":
+            case "smallint":
+            case "int":
+                return ColumnReader::getInteger;
+            case "bigint":
+                return ColumnReader::getLong;
+            case "float":
+                return ColumnReader::getFloat;
+            case "double":
+                return ColumnReader::getDouble;
+            case "binary":
+                return reader -> reader.getBinary().getBytes();
+            case "char":
+            case "varchar":
+            case "string":
+                return reader -> reader.getBinary().toStringUsingUTF8();
+            case "boolean":
+                return ColumnReader::getBoolean;
+            case "timestamp":
+                return reader -> new Timestamp(getTimestampMillis(reader.getBinary()));
+            case "decimal":
+                return reader -> readDecimal(reader, primitiveType);
+            case "date":
+                return reader ->
+                        new Timestamp(reader.getInteger() * MILLIS_IN_DAY)
+                                .toString()
+                                .substring(0, 10);
+            default:
+                return reader -> readString(reader, primitiveType);
+        }
+    }
+
+    private static BigDecimal readDecimal(ColumnReader reader, PrimitiveType primitiveType) {
+        DecimalMetadata dm = primitiveType.getDecimalMetadata();
+        switch (primitiveType.getPrimitiveTypeName()) {
+            case INT32:
+                return new BigDecimal(BigInteger.valueOf(reader.getInteger()), dm.getScale());
+            case INT64:
+                return new BigDecimal(BigInteger.valueOf(reader.getLong()), dm.getScale());
+            default:
+                return new BigDecimal(new BigInteger(reader.getBinary().getBytes()), dm.getScale());
+        }
+    }
+
+    private static String readString(ColumnReader reader, PrimitiveType primitiveType) {
+        switch (primitiveType.getPrimitiveTypeName()) {
+            case INT32:
+                return String.valueOf(reader.getInteger());
+            case INT64:
+                return String.valueOf(reader.getLong());
+            case FLOAT:
+                return String.valueOf(reader.getFloat());
+            case DOUBLE:
+                return String.valueOf(reader.getDouble());
+            case BOOLEAN:
+                return String.valueOf(reader.getBoolean());
+            case INT96:
+                return String.valueOf(reader.getBinary());
+            default:
+                return reader.getBinary().toStringUsingUTF8();
+        }
+    }
+
+    private static long getTimestampMillis(Binary timestampBinary) {
+        if (timestampBinary.length() != TIMESTAMP_BINARY_LENGTH) {
+            return 0;
+        }
+
+        byte[] bytes = timestampBinary.getBytes();
+
+        long timeOfDayNanos =
+                Longs.fromBytes(
+                        bytes[7], bytes[6], bytes[5], bytes[4], bytes[3], bytes[2], bytes[1],
+                        bytes[0]);
+        int julianDay = Ints.fromBytes(bytes[11], bytes[10], bytes[9], bytes[8]);
+
+        return (julianDay - JULIAN_EPOCH_OFFSET_DAYS) * MILLIS_IN_DAY
+                + (timeOfDayNanos / NANOS_PER_MILLISECOND);
+    }
+
+    /** 只下推常量类型与字段类型一致的条件，没有可以下推的条件时返回null */
+    private static FilterPredicate createFilterPredicate(
+            List<HdfsPredicate> predicates, MessageType schema) {
+        FilterPredicate result = null;
+        for (HdfsPredicate predicate : predicates) {
+            for (Type field : schema.getFields()) {
+                if (!field.getName().equalsIgnoreCase(predicate.getColumn())) {
+                    continue;
+                }
+                if (field.isPrimitive() && field.getRepetition() != Type.Repetition.REPEATED) {
+                    FilterPredicate filterPredicate =
+                            toFilterPredicate(field.asPrimitiveType(), predicate);
+                    if (filterPredicate != null) {
+                        result =
+                                result == null
+                                        ? filterPredicate
+                                        : FilterApi.and(result, filterPredicate);
+                    }
+                }
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static FilterPredicate toFilterPredicate(PrimitiveType field, HdfsPredicate predicate) {
+        String name = field.getName();
+        Object literal = predicate.getLiteral();
+        HdfsPredicate.Operator operator = predicate.getOperator();
+        OriginalType originalType = field.getOriginalType();
+        try {
+            switch (field.getPrimitiveTypeName()) {
+                case INT32:
+                    if (originalType == OriginalType.DATE && literal instanceof String) {
+                        int days = (int) LocalDate.parse((String) literal).toEpochDay();
+                        return compare(FilterApi.intColumn(name), days, operator);
+                    }
+                    if (isPlainInteger(originalType)
+                            && literal instanceof Long
+                            && (Long) literal == ((Long) literal).intValue()) {
+                        return compare(
+                                FilterApi.intColumn(name), ((Long) literal).intValue(), operator);
+                    }
+                    return null;
+                case INT64:
+                    if (isPlainInteger(originalType) && literal instanceof Long) {
+                        return compare(FilterApi.longColumn(name), (Long) literal, operator);
+                    }
+                    return null;
+                case DOUBLE:
+                    if (literal instanceof Number) {
+                        return compare(
+                                FilterApi.doubleColumn(name),
+                                ((Number) literal).doubleValue(),
+                                operator);
+                    }
+                    return null;
+                case BOOLEAN:
+                    if (literal instanceof Boolean) {
+                        return equals(FilterApi.booleanColumn(name), (Boolean) literal, operator);
+                    }
+                    return null;
+                case BINARY:
+                    if ((originalType == OriginalType.UTF8 || originalType == OriginalType.ENUM)
+                            && literal instanceof String) {
+                        return compare(
+                                FilterApi.binaryColumn(name),
+                                Binary.fromString((String) literal),
+                                operator);
+                    }
+                    return null;
+                default:
+                    // float的常量转换为float后比较结果与double不同，不下推
+                    return null;
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("can not push down filter [{}], e = {}", predicate, e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isPlainInteger(OriginalType originalType) {
+        return originalType == null
+                || originalType == OriginalType.INT_8
+                || originalType == OriginalType.INT_16
+                || originalType == OriginalType.INT_32
+                || originalType == OriginalType.INT_64;
+    }
+
+    private static <
+                    T extends Comparable<T>,
+                    C extends
+                            Operators.Column<T> & Operators.SupportsLtGt
+                                    & Operators.SupportsEqNotEq>
+            FilterPredicate compare(C column, T value, HdfsPredicate.Operator operator) {
+        switch (operator) {
+            case LT:
+                return FilterApi.lt(column, value);
+            case LT_EQ:
+                return FilterApi.ltEq(column, value);
+            case GT:
+                return FilterApi.gt(column, value);
+            case GT_EQ:
+                return FilterApi.gtEq(column, value);
+            default:
+                return equals(column, value, operator);
+        }
+    }
+
+    private static <
+                    T extends Comparable<T>,
+                    C extends Operators.Column<T> & Operators.SupportsEqNotEq>
+            FilterPredicate equals(C column, T value, HdfsPredicate.Operator operator) {
+        switch (operator) {
+            case EQ:
+                return FilterApi.eq(column, value);
+            case NOT_EQ:
+                return FilterApi.notEq(column, value);
+            default:
+                return null;
+        }
+    }
+
+    /** 按字段配置的类型从ColumnReader中读取当前值 */
+    @FunctionalInterface
+    private interface ValueReader {
+        Object read(ColumnReader reader);
+    }
+}
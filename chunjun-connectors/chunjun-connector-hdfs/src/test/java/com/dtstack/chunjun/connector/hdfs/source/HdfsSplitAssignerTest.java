@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.hdfs.source;
+
+import com.dtstack.chunjun.connector.hdfs.InputSplit.HdfsFileSplit;
+
+import org.apache.flink.core.io.InputSplit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class HdfsSplitAssignerTest {
+
+    @Test
+    public void testAssignInPlannedOrder() {
+        InputSplit[] splits = splits(3);
+        HdfsSplitAssigner assigner = new HdfsSplitAssigner(splits);
+
+        Assert.assertSame(splits[0], assigner.getNextInputSplit("host", 1));
+        Assert.assertSame(splits[1], assigner.getNextInputSplit("host", 0));
+        Assert.assertSame(splits[2], assigner.getNextInputSplit("host", 1));
+        Assert.assertNull(assigner.getNextInputSplit("host", 0));
+    }
+
+    @Test
+    public void testReturnedSplitsAreAssignedFirstInOrder() {
+        InputSplit[] splits = splits(5);
+        HdfsSplitAssigner assigner = new HdfsSplitAssigner(splits);
+        InputSplit first = assigner.getNextInputSplit("host", 0);
+        InputSplit second = assigner.getNextInputSplit("host", 1);
+        InputSplit third = assigner.getNextInputSplit("host", 0);
+
+        // failover时task 0归还读取中的分片，按归还的顺序放回队首
+        assigner.returnInputSplit(Arrays.asList(first, third), 0);
+
+        Assert.assertSame(first, assigner.getNextInputSplit("host", 0));
+        Assert.assertSame(third, assigner.getNextInputSplit("host", 0));
+        Assert.assertSame(splits[3], assigner.getNextInputSplit("host", 1));
+
+        assigner.returnInputSplit(Collections.singletonList(second), 1);
+        Assert.assertSame(second, assigner.getNextInputSplit("host", 1));
+        Assert.assertSame(splits[4], assigner.getNextInputSplit("host", 1));
+        Assert.assertNull(assigner.getNextInputSplit("host", 1));
+    }
+
+    private static InputSplit[] splits(int size) {
+        InputSplit[] splits = new InputSplit[size];
+        for (int i = 0; i < size; i++) {
+            splits[i] =
+                    new HdfsFileSplit(
+                            i,
+                            Collections.singletonList(
+                                    new HdfsFileSplit.Part("f" + i, 0, size - i)));
+        }
+        return splits;
+    }
+}
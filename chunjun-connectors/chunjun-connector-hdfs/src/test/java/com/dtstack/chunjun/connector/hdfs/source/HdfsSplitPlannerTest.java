@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.hdfs.source;
+
+import com.dtstack.chunjun.connector.hdfs.InputSplit.HdfsFileSplit;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RawLocalFileSystem;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class HdfsSplitPlannerTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testPackSmallFilesIntoOneSplit() {
+        List<List<HdfsFileSplit.Part>> fileBlocks =
+                Arrays.asList(
+                        Collections.singletonList(part("a", 0, 10)),
+                        Collections.singletonList(part("b", 0, 20)),
+                        Collections.singletonList(part("c", 0, 30)));
+
+        HdfsFileSplit[] splits = HdfsSplitPlanner.pack(fileBlocks, 100);
+
+        Assert.assertEquals(1, splits.length);
+        Assert.assertEquals(0, splits[0].getSplitNumber());
+        Assert.assertEquals(60, splits[0].getLength());
+        // 按大小降序装入
+        Assert.assertEquals("[c[0, 30), b[0, 20), a[0, 10)]", splits[0].getParts().toString());
+    }
+
+    @Test
+    public void testSplitLargeFileAtBlockBoundaries() {
+        // 5个40字节的row group，目标100字节时相邻的两个合并为一段
+        List<HdfsFileSplit.Part> blocks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            blocks.add(part("big", 4 + i * 40, 40));
+        }
+
+        HdfsFileSplit[] splits = HdfsSplitPlanner.pack(Collections.singletonList(blocks), 100);
+
+        Assert.assertEquals(3, splits.length);
+        Assert.assertEquals("[big[4, 84)]", splits[0].getParts().toString());
+        Assert.assertEquals("[big[84, 164)]", splits[1].getParts().toString());
+        Assert.assertEquals("[big[164, 204)]", splits[2].getParts().toString());
+        for (int i = 0; i < splits.length; i++) {
+            Assert.assertEquals(i, splits[i].getSplitNumber());
+        }
+    }
+
+    @Test
+    public void testBlockLargerThanTargetIsNotSplit() {
+        List<List<HdfsFileSplit.Part>> fileBlocks =
+                Arrays.asList(
+                        Arrays.asList(part("a", 0, 30), part("a", 30, 150), part("a", 180, 30)),
+                        Collections.singletonList(part("b", 0, 50)));
+
+        HdfsFileSplit[] splits = HdfsSplitPlanner.pack(fileBlocks, 100);
+
+        // 超过目标大小的row group单独作为一个分片，其余的段按大小降序装箱
+        Assert.assertEquals(3, splits.length);
+        Assert.assertEquals("[a[30, 180)]", splits[0].getParts().toString());
+        Assert.assertEquals("[b[0, 50), a[0, 30)]", splits[1].getParts().toString());
+        Assert.assertEquals("[a[180, 210)]", splits[2].getParts().toString());
+        Assert.assertEquals(260, Arrays.stream(splits).mapToLong(HdfsFileSplit::getLength).sum());
+    }
+
+    @Test
+    public void testPackEmptyFiles() {
+        HdfsFileSplit[] splits =
+                HdfsSplitPlanner.pack(
+                        Arrays.asList(Collections.emptyList(), Collections.emptyList()), 100);
+        Assert.assertEquals(0, splits.length);
+    }
+
+    @Test
+    public void testPlanCapsSplitSizeByParallelism() throws Exception {
+        File root = folder.newFolder("table");
+        writeFile(new File(root, "f1"), 100);
+        writeFile(new File(root, "f2"), 100);
+        File partition = new File(root, "pt=1");
+        Assert.assertTrue(partition.mkdir());
+        writeFile(new File(partition, "f3"), 100);
+        writeFile(new File(partition, "f4"), 100);
+        // 空文件不产生分片
+        writeFile(new File(partition, "empty"), 0);
+        FileSystem fs = new RawLocalFileSystem();
+        fs.initialize(URI.create("file:///"), new Configuration());
+        Path path = new Path(root.toURI());
+
+        // 总数据量400字节，分片大小1000字节，并行度为4时每个分片不超过100字节
+        HdfsSplitPlanner planner = new HdfsSplitPlanner(1000, 2);
+        HdfsFileSplit[] splits = planner.plan(fs, path, p -> true, file -> null, 4);
+        Assert.assertEquals(4, splits.length);
+        for (HdfsFileSplit split : splits) {
+            Assert.assertEquals(100, split.getLength());
+            Assert.assertEquals(1, split.getParts().size());
+        }
+
+        // 并行度为1时所有文件打包为一个分片
+        splits = planner.plan(fs, path, p -> true, file -> null, 1);
+        Assert.assertEquals(1, splits.length);
+        Assert.assertEquals(400, splits[0].getLength());
+
+        // 分片大小小于均分的大小时按分片大小切分
+        splits = new HdfsSplitPlanner(200, 1).plan(fs, path, p -> true, file -> null, 1);
+        Assert.assertEquals(2, splits.length);
+        Assert.assertEquals(200, splits[0].getLength());
+        Assert.assertEquals(200, splits[1].getLength());
+    }
+
+    private static HdfsFileSplit.Part part(String path, long start, long length) {
+        return new HdfsFileSplit.Part(path, start, length);
+    }
+
+    private static void writeFile(File file, int size) throws Exception {
+        Files.write(file.toPath(), new byte[size]);
+    }
+}
@@ -44,6 +44,10 @@ public class HiveConf extends HdfsConf {
     private Map<String, TableInfo> tableInfos = new HashMap<>();
     private String tableName;
     private boolean autoCreateTable;
+    /** 同时打开的文件数上限，超过时关闭最久没有写入的表的当前文件 */
+    private int maxOpenWriters = 32;
+    /** 所有打开的orc、parquet文件在内存中缓存的数据量上限，单位字节 */
+    private long writerMemoryBudget = 512 * 1024 * 1024L;
 
     public String getJdbcUrl() {
         return jdbcUrl;
@@ -149,6 +153,22 @@ public class HiveConf extends HdfsConf {
         this.autoCreateTable = autoCreateTable;
     }
 
+    public int getMaxOpenWriters() {
+        return maxOpenWriters;
+    }
+
+    public void setMaxOpenWriters(int maxOpenWriters) {
+        this.maxOpenWriters = maxOpenWriters;
+    }
+
+    public long getWriterMemoryBudget() {
+        return writerMemoryBudget;
+    }
+
+    public void setWriterMemoryBudget(long writerMemoryBudget) {
+        this.writerMemoryBudget = writerMemoryBudget;
+    }
+
     @Override
     public String toString() {
         return "HiveConf{"
@@ -188,6 +208,10 @@ public class HiveConf extends HdfsConf {
                 + '\''
                 + ", autoCreateTable="
                 + autoCreateTable
+                + ", maxOpenWriters="
+                + maxOpenWriters
+                + ", writerMemoryBudget="
+                + writerMemoryBudget
                 + '}';
     }
 }
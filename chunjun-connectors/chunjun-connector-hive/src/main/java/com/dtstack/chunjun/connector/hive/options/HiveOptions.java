@@ -62,4 +62,18 @@ public class HiveOptions extends HdfsOptions {
                     .stringType()
                     .defaultValue("pt")
                     .withDescription("Partition field name");
+
+    public static final ConfigOption<Integer> MAX_OPEN_WRITERS =
+            ConfigOptions.key("max-open-writers")
+                    .intType()
+                    .defaultValue(32)
+                    .withDescription(
+                            "Maximum number of files kept open at the same time, the current file of the least recently written table is closed when exceeded");
+
+    public static final ConfigOption<Long> WRITER_MEMORY_BUDGET =
+            ConfigOptions.key("writer-memory-budget")
+                    .longType()
+                    .defaultValue(512 * 1024 * 1024L)
+                    .withDescription(
+                            "Maximum bytes buffered in memory by all open orc and parquet files, the current file of the least recently written table is closed when exceeded");
 }
@@ -18,8 +18,8 @@
 package com.dtstack.chunjun.connector.hive.sink;
 
 import com.dtstack.chunjun.conf.FieldConf;
-import com.dtstack.chunjun.connector.hdfs.conf.HdfsConf;
 import com.dtstack.chunjun.connector.hdfs.converter.HdfsRawTypeConverter;
+import com.dtstack.chunjun.connector.hdfs.enums.FileType;
 import com.dtstack.chunjun.connector.hdfs.sink.BaseHdfsOutputFormat;
 import com.dtstack.chunjun.connector.hdfs.sink.HdfsOutputFormatBuilder;
 import com.dtstack.chunjun.connector.hdfs.util.HdfsUtil;
@@ -29,10 +29,11 @@ import com.dtstack.chunjun.connector.hive.entity.HiveFormatState;
 import com.dtstack.chunjun.connector.hive.entity.TableInfo;
 import com.dtstack.chunjun.connector.hive.util.HiveUtil;
 import com.dtstack.chunjun.connector.hive.util.PathConverterUtil;
+import com.dtstack.chunjun.connector.hive.util.TablePathRule;
 import com.dtstack.chunjun.element.AbstractBaseColumn;
 import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.PrimitiveRowData;
 import com.dtstack.chunjun.element.column.MapColumn;
-import com.dtstack.chunjun.element.column.NullColumn;
 import com.dtstack.chunjun.enums.Semantic;
 import com.dtstack.chunjun.restore.FormatState;
 import com.dtstack.chunjun.sink.format.BaseRichOutputFormat;
@@ -42,20 +43,17 @@ import com.dtstack.chunjun.util.JsonUtil;
 
 import org.apache.flink.streaming.api.CheckpointingMode;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
 import org.apache.flink.types.RowKind;
 
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.tuple.Pair;
 
 import java.io.File;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.TimeZone;
 
@@ -72,10 +70,15 @@ public class HiveOutputFormat extends BaseRichOutputFormat {
 
     private HiveConf hiveConf;
     private ConnectionInfo connectionInfo;
-    private SimpleDateFormat partitionFormat;
+    private PartitionPathCache partitionPathCache;
+    /** 编译后的analyticalRules，没有配置时为null */
+    private TablePathRule tablePathRule;
 
     private Map<String, TableInfo> tableCacheMap;
-    private Map<String, Pair<String, BaseHdfsOutputFormat>> outputFormatMap;
+    private HiveWriterPool writerPool;
+    /** 当前时间桶的分区，进入下一个时间桶时关闭上一个分区的writer */
+    private String currentPartitionPath;
+
     private Map<String, FormatState> formatStateMap;
 
     @Override
@@ -83,9 +86,22 @@ public class HiveOutputFormat extends BaseRichOutputFormat {
         super.configure(parameters);
         this.parameters = parameters;
 
-        partitionFormat = getPartitionFormat();
+        TimeZone timeZone = TimeZone.getDefault();
+        LOG.info("timeZone = {}", timeZone);
+        partitionPathCache =
+                new PartitionPathCache(
+                        hiveConf.getPartitionType(), hiveConf.getPartition(), timeZone);
+        if (StringUtils.isNotBlank(hiveConf.getAnalyticalRules())) {
+            tablePathRule =
+                    TablePathRule.compile(
+                            hiveConf.getAnalyticalRules(), hiveConf.getDistributeTableMapping());
+        }
         tableCacheMap = new HashMap<>(16);
-        outputFormatMap = new HashMap<>(16);
+        writerPool =
+                new HiveWriterPool(
+                        hiveConf.getMaxOpenWriters(),
+                        hiveConf.getWriterMemoryBudget(),
+                        FileType.getByName(hiveConf.getFileType()) != FileType.TEXT);
         formatStateMap = new HashMap<>(16);
     }
 
@@ -116,80 +132,92 @@ public class HiveOutputFormat extends BaseRichOutputFormat {
 
     @Override
     public synchronized void writeRecord(RowData rowData) {
+        if (rowData instanceof PrimitiveRowData) {
+            rowData = ((PrimitiveRowData) rowData).toColumnRowData();
+        }
         if (RowKind.INSERT != rowData.getRowKind()) {
             throw new ChunJunRuntimeException("Hive connector doesn't support update/delete!");
         }
         String tableName = hiveConf.getTableName();
-        boolean hasAnalyticalRules = StringUtils.isNotBlank(hiveConf.getAnalyticalRules());
         Map<String, Object> dataMap = null;
         if (rowData instanceof ColumnRowData) {
             ColumnRowData columnRowData = (ColumnRowData) rowData;
             AbstractBaseColumn baseColumn = (columnRowData).getField(0);
             if (baseColumn instanceof MapColumn) {
                 // from kafka
-                dataMap = JsonUtil.toObject(baseColumn.asString(), JsonUtil.MAP_TYPE_REFERENCE);
-                if (hasAnalyticalRules) {
-                    tableName =
-                            PathConverterUtil.regexByRules(
-                                    dataMap,
-                                    hiveConf.getAnalyticalRules(),
-                                    hiveConf.getDistributeTableMapping());
+                dataMap = toDataMap((MapColumn) baseColumn);
+                if (tablePathRule != null) {
+                    tableName = tablePathRule.route(dataMap);
                 }
             } else {
-                if (hasAnalyticalRules) {
-                    tableName =
-                            PathConverterUtil.regexByRules(
-                                    columnRowData,
-                                    hiveConf.getAnalyticalRules(),
-                                    hiveConf.getDistributeTableMapping());
+                if (tablePathRule != null) {
+                    tableName = tablePathRule.route(columnRowData);
                 }
             }
         }
 
-        Pair<BaseHdfsOutputFormat, TableInfo> formatPair =
-                getHdfsOutputFormat(tableName, rowData, dataMap);
+        HiveWriterPool.Writer writer = getWriter(tableName, rowData, dataMap);
 
+        RowData forwardRowData = rowData;
         try {
-            BaseHdfsOutputFormat hdfsOutputFormat = formatPair.getLeft();
-            HdfsConf hdfsConf = hdfsOutputFormat.getHdfsConf();
-            List<FieldConf> fieldConfList = hdfsConf.getColumn();
-            RowData forwardRowData = null;
-            if (dataMap != null) {
-                ColumnRowData result = new ColumnRowData(fieldConfList.size());
-                for (FieldConf fieldConf : fieldConfList) {
-                    Object data = dataMap.get(fieldConf.getName());
-                    result.addField(HiveUtil.parseDataFromMap(data));
-                }
-                forwardRowData = result;
-            } else if (rowData instanceof ColumnRowData) {
-                ColumnRowData columnRowData = (ColumnRowData) rowData;
-                if (columnRowData.getHeaders() != null) {
-                    ColumnRowData result = new ColumnRowData(fieldConfList.size());
-                    for (FieldConf fieldConf : fieldConfList) {
-                        AbstractBaseColumn baseColumn = columnRowData.getField(fieldConf.getName());
-                        if (baseColumn != null) {
-                            result.addField(baseColumn);
-                        } else {
-                            result.addField(new NullColumn());
-                        }
-                    }
-                    forwardRowData = result;
-                }
-            }
-            if (forwardRowData == null) {
-                forwardRowData = rowData;
-            }
-
-            hdfsOutputFormat.writeRecord(forwardRowData);
+            forwardRowData = writer.project(rowData, dataMap);
+            writer.getFormat().writeRecord(forwardRowData);
         } catch (Exception e) {
             // 写入产生的脏数据已经由hdfsOutputFormat处理了，这里不用再处理了，只打印日志
             if (numWriteCounter.getLocalValue() % LOG_PRINT_INTERNAL == 0) {
                 LOG.warn("write hdfs exception:", e);
             }
         }
+        writerPool.afterWrite(writer, estimateSize(forwardRowData));
         rowsOfCurrentTransaction++;
     }
 
+    /**
+     * map中只有json的基本类型时直接使用，不再序列化为json后重新解析，其他类型仍然经过json转换，保证写入的值不变
+     *
+     * @param mapColumn 第一个字段
+     * @return 字段名和值
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toDataMap(MapColumn mapColumn) {
+        Object data = mapColumn.getData();
+        if (data instanceof Map && isJsonPrimitiveMap((Map<?, ?>) data)) {
+            return (Map<String, Object>) data;
+        }
+        return JsonUtil.toObject(mapColumn.asString(), JsonUtil.MAP_TYPE_REFERENCE);
+    }
+
+    private static boolean isJsonPrimitiveMap(Map<?, ?> map) {
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            Object value = entry.getValue();
+            if (!(entry.getKey() instanceof String)) {
+                return false;
+            }
+            if (value instanceof Double) {
+                if (!Double.isFinite((Double) value)) {
+                    return false;
+                }
+            } else if (value != null
+                    && !(value instanceof String)
+                    && !(value instanceof Boolean)
+                    && !(value instanceof Integer)
+                    && !(value instanceof Long)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 估算数据在orc、parquet writer中缓存的大小 */
+    private static long estimateSize(RowData rowData) {
+        if (rowData instanceof ColumnRowData) {
+            return ((ColumnRowData) rowData).getByteSize();
+        } else if (rowData instanceof BinaryRowData) {
+            return ((BinaryRowData) rowData).getSizeInBytes();
+        }
+        return rowData.getArity() * 8L;
+    }
+
     @Override
     protected void writeSingleRecordInternal(RowData rowData) {
         throw new ChunJunRuntimeException(
@@ -205,12 +233,13 @@ public class HiveOutputFormat extends BaseRichOutputFormat {
     @Override
     public synchronized FormatState getFormatState() throws Exception {
         formatStateMap.clear();
-        for (Map.Entry<String, Pair<String, BaseHdfsOutputFormat>> next :
-                outputFormatMap.entrySet()) {
-            BaseHdfsOutputFormat format = next.getValue().getRight();
+        for (HiveWriterPool.Writer writer : writerPool.writers()) {
+            BaseHdfsOutputFormat format = writer.getFormat();
             FormatState formatState = format.getFormatState();
             formatStateMap.put(format.getFormatId(), formatState);
         }
+        // preCommit已经关闭了所有writer的当前文件
+        writerPool.afterFlushAll();
 
         // set metric after preCommit
         snapshotWriteCounter.add(rowsOfCurrentTransaction);
@@ -224,50 +253,48 @@ public class HiveOutputFormat extends BaseRichOutputFormat {
 
     @Override
     public void commit(long checkpointId) {
-        for (Map.Entry<String, Pair<String, BaseHdfsOutputFormat>> next :
-                outputFormatMap.entrySet()) {
-            BaseHdfsOutputFormat format = next.getValue().getRight();
-            format.commit(checkpointId);
+        for (HiveWriterPool.Writer writer : writerPool.writers()) {
+            writer.getFormat().commit(checkpointId);
         }
     }
 
     @Override
     public void rollback(long checkpointId) {
-        for (Map.Entry<String, Pair<String, BaseHdfsOutputFormat>> next :
-                outputFormatMap.entrySet()) {
-            BaseHdfsOutputFormat format = next.getValue().getRight();
-            format.rollback(checkpointId);
+        for (HiveWriterPool.Writer writer : writerPool.writers()) {
+            writer.getFormat().rollback(checkpointId);
         }
     }
 
     @Override
     public void closeInternal() {
-        for (Map.Entry<String, Pair<String, BaseHdfsOutputFormat>> entry :
-                outputFormatMap.entrySet()) {
+        closeWriters(writerPool.writers());
+    }
+
+    /** 关闭writer，把临时目录中的文件移动到分区目录 */
+    private void closeWriters(Iterable<HiveWriterPool.Writer> writers) {
+        for (HiveWriterPool.Writer writer : writers) {
             try {
-                BaseHdfsOutputFormat format = entry.getValue().getRight();
+                BaseHdfsOutputFormat format = writer.getFormat();
                 format.close();
                 format.finalizeGlobal(numTasks);
             } catch (IOException e) {
-                LOG.warn("close {} outputFormat error", entry.getKey(), e);
+                LOG.warn("close {} outputFormat error", writer.getFormatId(), e);
             }
         }
     }
 
-    private Pair<BaseHdfsOutputFormat, TableInfo> getHdfsOutputFormat(
+    private HiveWriterPool.Writer getWriter(
             String tableName, RowData rowData, Map<String, Object> event) {
-        String partitionValue = partitionFormat.format(new Date());
-        String partitionPath =
-                String.format(HiveUtil.PARTITION_TEMPLATE, hiveConf.getPartition(), partitionValue);
-        String hiveTablePath = tableName + File.separatorChar + partitionPath;
-
-        Pair<String, BaseHdfsOutputFormat> formatPair = outputFormatMap.get(tableName);
-        BaseHdfsOutputFormat outputFormat = null;
-        if (formatPair != null && StringUtils.equals(formatPair.getLeft(), partitionPath)) {
-            outputFormat = formatPair.getRight();
+        // 同一个时间桶内返回同一个分区路径，不用每条数据都格式化时间
+        String partitionPath = partitionPathCache.get(System.currentTimeMillis());
+        if (!partitionPath.equals(currentPartitionPath)) {
+            closeWriters(writerPool.removeExpired(partitionPath));
+            currentPartitionPath = partitionPath;
         }
-        TableInfo tableInfo = checkCreateTable(tableName, rowData, event);
-        if (outputFormat == null) {
+
+        HiveWriterPool.Writer writer = writerPool.get(tableName);
+        if (writer == null) {
+            TableInfo tableInfo = checkCreateTable(tableName, rowData, event);
             HiveUtil.createPartition(
                     tableInfo,
                     hiveConf.getSchema(),
@@ -275,22 +302,17 @@ public class HiveOutputFormat extends BaseRichOutputFormat {
                     connectionInfo,
                     getRuntimeContext().getDistributedCache());
             String path = tableInfo.getPath() + File.separatorChar + partitionPath;
+            String hiveTablePath = tableName + File.separatorChar + partitionPath;
 
-            outputFormat =
+            BaseHdfsOutputFormat outputFormat =
                     createHdfsOutputFormat(
                             tableInfo, path, hiveTablePath, rowData instanceof ColumnRowData);
-            if (formatPair != null) {
-                try {
-                    BaseHdfsOutputFormat format = formatPair.getRight();
-                    format.finalizeGlobal(numTasks);
-                    format.close();
-                } catch (IOException e) {
-                    LOG.warn("close {} outputFormat error", hiveTablePath, e);
-                }
-            }
-            outputFormatMap.put(tableName, Pair.of(partitionPath, outputFormat));
+            writer =
+                    new HiveWriterPool.Writer(
+                            tableName, partitionPath, hiveTablePath, outputFormat, tableInfo);
+            writerPool.put(writer);
         }
-        return Pair.of(outputFormat, tableInfo);
+        return writer;
     }
 
     private BaseHdfsOutputFormat createHdfsOutputFormat(
@@ -392,31 +414,6 @@ public class HiveOutputFormat extends BaseRichOutputFormat {
         return tableInfo;
     }
 
-    private SimpleDateFormat getPartitionFormat() {
-        if (StringUtils.isBlank(hiveConf.getPartitionType())) {
-            throw new IllegalArgumentException("partitionEnumStr is empty!");
-        }
-        SimpleDateFormat format;
-        switch (hiveConf.getPartitionType().toUpperCase(Locale.ENGLISH)) {
-            case "DAY":
-                format = new SimpleDateFormat("yyyyMMdd");
-                break;
-            case "HOUR":
-                format = new SimpleDateFormat("yyyyMMddHH");
-                break;
-            case "MINUTE":
-                format = new SimpleDateFormat("yyyyMMddHHmm");
-                break;
-            default:
-                throw new UnsupportedOperationException(
-                        "partitionEnum = " + hiveConf.getPartitionType() + " is undefined!");
-        }
-        TimeZone timeZone = TimeZone.getDefault();
-        LOG.info("timeZone = {}", timeZone);
-        format.setTimeZone(timeZone);
-        return format;
-    }
-
     public void setHiveConf(HiveConf hiveConf) {
         this.hiveConf = hiveConf;
     }
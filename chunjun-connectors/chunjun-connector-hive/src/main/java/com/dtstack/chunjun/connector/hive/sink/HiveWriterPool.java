@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.chunjun.connector.hive.sink;
+
+import com.dtstack.chunjun.conf.FieldConf;
+import com.dtstack.chunjun.connector.hdfs.sink.BaseHdfsOutputFormat;
+import com.dtstack.chunjun.connector.hive.entity.TableInfo;
+import com.dtstack.chunjun.connector.hive.util.HiveUtil;
+import com.dtstack.chunjun.element.AbstractBaseColumn;
+import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.column.NullColumn;
+
+import org.apache.flink.table.data.RowData;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 每张表当前分区的writer，按最近写入的顺序排列。
+ *
+ * <p>打开的文件数超过maxOpenWriters，或者orc、parquet文件在内存中缓存的数据量超过memoryBudget时，从最久没有写入的writer开始关闭当前文件。
+ * writer本身仍然保留，已经关闭的文件在下一次checkpoint时提交，再次写入时打开新的文件，不影响exactly-once。
+ *
+ * <p>非线程安全，由{@link HiveOutputFormat}在同步方法内调用。
+ */
+public class HiveWriterPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HiveWriterPool.class);
+
+    private final int maxOpenWriters;
+    private final long memoryBudget;
+    /** orc、parquet在关闭文件前把数据缓存在内存中，text直接写入文件流 */
+    private final boolean bufferInMemory;
+
+    /** 表名 -> writer，按访问顺序排列 */
+    private final LinkedHashMap<String, Writer> writers = new LinkedHashMap<>(16, 0.75f, true);
+
+    private int openWriters;
+    private long bufferedBytes;
+
+    /**
+     * @param maxOpenWriters 同时打开的文件数上限
+     * @param memoryBudget 所有打开的orc、parquet文件缓存的数据量上限，单位字节
+     * @param bufferInMemory 文件格式是否在内存中缓存数据
+     */
+    public HiveWriterPool(int maxOpenWriters, long memoryBudget, boolean bufferInMemory) {
+        this.maxOpenWriters = Math.max(maxOpenWriters, 1);
+        this.memoryBudget = memoryBudget;
+        this.bufferInMemory = bufferInMemory;
+    }
+
+    /** 表的writer，同时把它移到最近访问的位置 */
+    public Writer get(String tableName) {
+        return writers.get(tableName);
+    }
+
+    public void put(Writer writer) {
+        writers.put(writer.getTableName(), writer);
+    }
+
+    public Collection<Writer> writers() {
+        return writers.values();
+    }
+
+    /**
+     * 移除不属于当前分区的writer，进入下一个时间桶后这些writer不会再有数据写入
+     *
+     * @param partitionPath 当前分区
+     * @return 需要关闭的writer
+     */
+    public List<Writer> removeExpired(String partitionPath) {
+        List<Writer> expired = new ArrayList<>();
+        Iterator<Writer> it = writers.values().iterator();
+        while (it.hasNext()) {
+            Writer writer = it.next();
+            if (!partitionPath.equals(writer.getPartitionPath())) {
+                it.remove();
+                release(writer);
+                expired.add(writer);
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * 写入一条数据后调用，超过上限时关闭最久没有写入的文件
+     *
+     * @param writer 当前写入的writer
+     * @param rowBytes 数据的估算大小
+     */
+    public void afterWrite(Writer writer, long rowBytes) {
+        if (!writer.open) {
+            writer.open = true;
+            openWriters++;
+        }
+        if (bufferInMemory) {
+            writer.bufferedBytes += rowBytes;
+            bufferedBytes += rowBytes;
+        }
+        if (openWriters > maxOpenWriters || bufferedBytes > memoryBudget) {
+            flushOldest(writer);
+        }
+    }
+
+    private void flushOldest(Writer current) {
+        for (Writer writer : writers.values()) {
+            if (openWriters <= maxOpenWriters && bufferedBytes <= memoryBudget) {
+                return;
+            }
+            if (writer == current || !writer.open) {
+                continue;
+            }
+            LOG.info(
+                    "close current file of {}, buffered bytes = {}, open writers = {}, total buffered bytes = {}",
+                    writer.getFormatId(),
+                    writer.bufferedBytes,
+                    openWriters,
+                    bufferedBytes);
+            writer.getFormat().flushData();
+            release(writer);
+        }
+    }
+
+    /** checkpoint时所有writer的文件都已经关闭 */
+    public void afterFlushAll() {
+        for (Writer writer : writers.values()) {
+            writer.open = false;
+            writer.bufferedBytes = 0;
+        }
+        openWriters = 0;
+        bufferedBytes = 0;
+    }
+
+    private void release(Writer writer) {
+        if (writer.open) {
+            writer.open = false;
+            openWriters--;
+            bufferedBytes -= writer.bufferedBytes;
+            writer.bufferedBytes = 0;
+        }
+    }
+
+    /** 一张表一个分区的writer，缓存字段在输入数据中的位置 */
+    public static class Writer {
+
+        private final String tableName;
+        private final String partitionPath;
+        private final String formatId;
+        private final BaseHdfsOutputFormat format;
+        private final TableInfo tableInfo;
+        private final String[] fieldNames;
+
+        /** 上一条数据的header，多行共享header时不用每条数据都按字段名查找位置 */
+        private Map<String, Integer> lastHeaders;
+
+        private int[] positions;
+
+        private boolean open;
+        private long bufferedBytes;
+
+        public Writer(
+                String tableName,
+                String partitionPath,
+                String formatId,
+                BaseHdfsOutputFormat format,
+                TableInfo tableInfo) {
+            this.tableName = tableName;
+            this.partitionPath = partitionPath;
+            this.formatId = formatId;
+            this.format = format;
+            this.tableInfo = tableInfo;
+            List<FieldConf> fieldConfList = format.getHdfsConf().getColumn();
+            this.fieldNames = new String[fieldConfList.size()];
+            for (int i = 0; i < fieldNames.length; i++) {
+                fieldNames[i] = fieldConfList.get(i).getName();
+            }
+        }
+
+        /**
+         * 按表的字段转换数据
+         *
+         * @param rowData 输入数据
+         * @param dataMap 从kafka等数据源解析出的map，没有时为null
+         * @return 写入hdfs的数据
+         */
+        public RowData project(RowData rowData, Map<String, Object> dataMap) {
+            if (dataMap != null) {
+                ColumnRowData result = new ColumnRowData(fieldNames.length);
+                for (String fieldName : fieldNames) {
+                    result.addField(HiveUtil.parseDataFromMap(dataMap.get(fieldName)));
+                }
+                return result;
+            }
+            if (rowData instanceof ColumnRowData) {
+                ColumnRowData columnRowData = (ColumnRowData) rowData;
+                Map<String, Integer> headers = columnRowData.getHeaderInfo();
+                if (headers != null) {
+                    if (headers != lastHeaders) {
+                        positions = new int[fieldNames.length];
+                        for (int i = 0; i < fieldNames.length; i++) {
+                            positions[i] = headers.getOrDefault(fieldNames[i], -1);
+                        }
+                        lastHeaders = headers;
+                    }
+                    ColumnRowData result = new ColumnRowData(fieldNames.length);
+                    for (int position : positions) {
+                        AbstractBaseColumn baseColumn =
+                                position < 0 ? null : columnRowData.getField(position);
+                        result.addField(baseColumn != null ? baseColumn : new NullColumn());
+                    }
+                    return result;
+                }
+            }
+            return rowData;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public String getPartitionPath() {
+            return partitionPath;
+        }
+
+        public String getFormatId() {
+            return formatId;
+        }
+
+        public BaseHdfsOutputFormat getFormat() {
+            return format;
+        }
+
+        public TableInfo getTableInfo() {
+            return tableInfo;
+        }
+    }
+}
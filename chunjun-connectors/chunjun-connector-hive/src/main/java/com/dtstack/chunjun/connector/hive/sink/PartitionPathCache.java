@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.chunjun.connector.hive.sink;
+
+import com.dtstack.chunjun.connector.hive.util.HiveUtil;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * 按时间桶缓存当前的分区路径，例如按天分区时一天内的数据都使用同一个分区路径，只在进入下一个时间桶时重新格式化。
+ *
+ * <p>非线程安全，由{@link HiveOutputFormat#writeRecord}在同步块内调用。
+ */
+public class PartitionPathCache {
+
+    private final String partition;
+    private final SimpleDateFormat format;
+    private final int calendarField;
+    private final Calendar calendar;
+
+    /** 当前时间桶的起止时间，[bucketStart, bucketEnd) */
+    private long bucketStart = Long.MAX_VALUE;
+
+    private long bucketEnd = Long.MIN_VALUE;
+    private String partitionPath;
+
+    /**
+     * @param partitionType 分区类型，DAY、HOUR、MINUTE
+     * @param partition 分区字段名
+     * @param timeZone 分区时间的时区
+     */
+    public PartitionPathCache(String partitionType, String partition, TimeZone timeZone) {
+        if (StringUtils.isBlank(partitionType)) {
+            throw new IllegalArgumentException("partitionEnumStr is empty!");
+        }
+        switch (partitionType.toUpperCase(Locale.ENGLISH)) {
+            case "DAY":
+                format = new SimpleDateFormat("yyyyMMdd");
+                calendarField = Calendar.DAY_OF_MONTH;
+                break;
+            case "HOUR":
+                format = new SimpleDateFormat("yyyyMMddHH");
+                calendarField = Calendar.HOUR_OF_DAY;
+                break;
+            case "MINUTE":
+                format = new SimpleDateFormat("yyyyMMddHHmm");
+                calendarField = Calendar.MINUTE;
+                break;
+            default:
+                throw new UnsupportedOperationException(
+                        "partitionEnum = " + partitionType + " is undefined!");
+        }
+        format.setTimeZone(timeZone);
+        this.partition = partition;
+        this.calendar = Calendar.getInstance(timeZone);
+    }
+
+    /**
+     * 时间所在分区的路径
+     *
+     * @param timeMillis 时间戳
+     * @return 分区路径，例如：pt=20220101，同一个时间桶内返回同一个对象
+     */
+    public String get(long timeMillis) {
+        if (timeMillis < bucketStart || timeMillis >= bucketEnd) {
+            calendar.setTimeInMillis(timeMillis);
+            switch (calendarField) {
+                case Calendar.DAY_OF_MONTH:
+                    calendar.set(Calendar.HOUR_OF_DAY, 0);
+                    // fall through
+                case Calendar.HOUR_OF_DAY:
+                    calendar.set(Calendar.MINUTE, 0);
+                    // fall through
+                default:
+                    calendar.set(Calendar.SECOND, 0);
+                    calendar.set(Calendar.MILLISECOND, 0);
+            }
+            bucketStart = calendar.getTimeInMillis();
+            calendar.add(calendarField, 1);
+            bucketEnd = calendar.getTimeInMillis();
+            partitionPath =
+                    String.format(
+                            HiveUtil.PARTITION_TEMPLATE,
+                            partition,
+                            format.format(new Date(timeMillis)));
+        }
+        return partitionPath;
+    }
+}
@@ -90,6 +90,8 @@ public class HiveDynamicTableFactory implements DynamicTableSinkFactory {
         options.add(HiveOptions.PASSWORD);
         options.add(HiveOptions.PARTITION_TYPE);
         options.add(HiveOptions.PARTITION);
+        options.add(HiveOptions.MAX_OPEN_WRITERS);
+        options.add(HiveOptions.WRITER_MEMORY_BUDGET);
 
         return options;
     }
@@ -137,6 +139,8 @@ public class HiveDynamicTableFactory implements DynamicTableSinkFactory {
         hiveConf.setPassword(config.get(HiveOptions.PASSWORD));
         hiveConf.setPartitionType(config.get(HiveOptions.PARTITION_TYPE));
         hiveConf.setPartition(config.get(HiveOptions.PARTITION));
+        hiveConf.setMaxOpenWriters(config.get(HiveOptions.MAX_OPEN_WRITERS));
+        hiveConf.setWriterMemoryBudget(config.get(HiveOptions.WRITER_MEMORY_BUDGET));
 
         return hiveConf;
     }
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.chunjun.connector.hive.util;
+
+import com.dtstack.chunjun.element.AbstractBaseColumn;
+import com.dtstack.chunjun.element.ColumnRowData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 预先编译的analyticalRules，规则只解析一次，每条数据按变量依次取值拼接表名，结果与{@link
+ * PathConverterUtil#regexByRules}相同，值为null的变量替换为空字符串。
+ *
+ * <p>规则被拆分为常量和变量交替的片段，例如{@code ${schema}_${table}}拆分为["", schema, "_", table, ""]。
+ */
+public class TablePathRule {
+
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$\\{.*?\\}");
+    private static final String KEY_TABLE = "table";
+
+    private final String rule;
+    private final Map<String, String> distributeTableMapping;
+    /** 变量之间的常量，比变量多一个 */
+    private final String[] literals;
+    /** 变量名 */
+    private final String[] keys;
+
+    private TablePathRule(
+            String rule, Map<String, String> distributeTableMapping, List<String> segments) {
+        this.rule = rule;
+        this.distributeTableMapping = distributeTableMapping;
+        this.keys = new String[segments.size() / 2];
+        this.literals = new String[keys.length + 1];
+        for (int i = 0; i < segments.size(); i++) {
+            if (i % 2 == 0) {
+                literals[i / 2] = segments.get(i);
+            } else {
+                keys[i / 2] = segments.get(i);
+            }
+        }
+    }
+
+    /**
+     * 编译规则
+     *
+     * @param rule analyticalRules，例如：${schema}_${table}
+     * @param distributeTableMapping 变量table的映射
+     */
+    public static TablePathRule compile(String rule, Map<String, String> distributeTableMapping) {
+        List<String> segments = new ArrayList<>();
+        Matcher matcher = VARIABLE_PATTERN.matcher(rule);
+        int start = 0;
+        while (matcher.find()) {
+            segments.add(rule.substring(start, matcher.start()));
+            segments.add(rule.substring(matcher.start() + 2, matcher.end() - 1));
+            start = matcher.end();
+        }
+        segments.add(rule.substring(start));
+        return new TablePathRule(rule, distributeTableMapping, segments);
+    }
+
+    /** 从kafka等数据源解析出的map中取变量的值 */
+    public String route(Map<String, Object> event) {
+        if (keys.length == 0) {
+            return rule;
+        }
+        StringBuilder builder = new StringBuilder(rule.length() + 16);
+        for (int i = 0; i < keys.length; i++) {
+            builder.append(literals[i]);
+            Object value = event.get(keys[i]);
+            appendValue(builder, keys[i], value == null ? null : value.toString());
+        }
+        builder.append(literals[keys.length]);
+        return normalize(builder);
+    }
+
+    /** 从带header的ColumnRowData中取变量的值，没有header时返回规则本身 */
+    public String route(ColumnRowData columnRowData) {
+        if (keys.length == 0 || columnRowData.getHeaderInfo() == null) {
+            return rule;
+        }
+        StringBuilder builder = new StringBuilder(rule.length() + 16);
+        for (int i = 0; i < keys.length; i++) {
+            builder.append(literals[i]);
+            AbstractBaseColumn baseColumn = columnRowData.getField(keys[i]);
+            appendValue(builder, keys[i], baseColumn == null ? null : baseColumn.asString());
+        }
+        builder.append(literals[keys.length]);
+        return normalize(builder);
+    }
+
+    private void appendValue(StringBuilder builder, String key, String value) {
+        if (value == null) {
+            value = "";
+        }
+        if (KEY_TABLE.equals(key)) {
+            value = distributeTableMapping.getOrDefault(value, value);
+        }
+        builder.append(value);
+    }
+
+    /** .在sql中会视为db.table的分隔符，替换为_ */
+    private static String normalize(StringBuilder builder) {
+        for (int i = 0; i < builder.length(); i++) {
+            if (builder.charAt(i) == '.') {
+                builder.setCharAt(i, '_');
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -41,6 +41,12 @@ public class HdfsConf extends BaseFileConf {
     private List<String> fullColumnName;
     private List<String> fullColumnType;
     private int[] fullColumnIndexes;
+    /** orc文件按列批量写入VectorizedRowBatch，不再逐行经过ObjectInspector */
+    private boolean enableVectorizedWrite = false;
+    /** 按批读取orc、parquet文件，只读取需要的字段，不支持事务表 */
+    private boolean enableVectorizedRead = false;
+    /** 按批读取时根据条件跳过orc stripe/row group、parquet row group，并逐行过滤，例如：id >= 100 and name = 'a' */
+    private String filter;
 
     /** hive3 事务表 */
     private boolean isTransaction = false;
@@ -129,6 +135,30 @@ public class HdfsConf extends BaseFileConf {
         this.fullColumnIndexes = fullColumnIndexes;
     }
 
+    public boolean isEnableVectorizedWrite() {
+        return enableVectorizedWrite;
+    }
+
+    public void setEnableVectorizedWrite(boolean enableVectorizedWrite) {
+        this.enableVectorizedWrite = enableVectorizedWrite;
+    }
+
+    public boolean isEnableVectorizedRead() {
+        return enableVectorizedRead;
+    }
+
+    public void setEnableVectorizedRead(boolean enableVectorizedRead) {
+        this.enableVectorizedRead = enableVectorizedRead;
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    public void setFilter(String filter) {
+        this.filter = filter;
+    }
+
     public String getPartitionName() {
         return partitionName;
     }
@@ -188,6 +218,13 @@ public class HdfsConf extends BaseFileConf {
                 + fullColumnType
                 + ", fullColumnIndexes="
                 + Arrays.toString(fullColumnIndexes)
+                + ", enableVectorizedWrite="
+                + enableVectorizedWrite
+                + ", enableVectorizedRead="
+                + enableVectorizedRead
+                + ", filter='"
+                + filter
+                + '\''
                 + ", isTransaction="
                 + isTransaction
                 + ", partitionName='"
@@ -31,6 +31,7 @@ import com.dtstack.chunjun.util.ReflectionUtils;
 
 import org.apache.flink.table.data.RowData;
 
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hive.common.type.HiveDecimal;
 import org.apache.hadoop.hive.ql.io.orc.OrcFile;
 import org.apache.hadoop.hive.ql.io.orc.OrcSerde;
@@ -48,6 +49,7 @@ import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.RecordWriter;
 import org.apache.hadoop.mapred.Reporter;
 import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.orc.TypeDescription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -65,6 +67,11 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
     private StructObjectInspector inspector;
     private FileOutputFormat outputFormat;
     private JobConf jobConf;
+    /** 按列批量写入时使用，与recordWriter只会有一个不为空 */
+    private transient OrcBatchWriter batchWriter;
+
+    private transient TypeDescription schema;
+    private transient List<Object> recordList;
     private static final ColumnTypeUtil.DecimalInfo ORC_DEFAULT_DECIMAL_INFO =
             new ColumnTypeUtil.DecimalInfo(
                     HiveDecimal.SYSTEM_DEFAULT_PRECISION, HiveDecimal.SYSTEM_DEFAULT_SCALE);
@@ -104,6 +111,15 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
         this.inspector =
                 ObjectInspectorFactory.getStandardStructObjectInspector(
                         fullColumnNameList, fullColTypeList);
+        if (hdfsConf.isEnableVectorizedWrite()) {
+            schema =
+                    OrcBatchWriter.createSchema(
+                            fullColumnNameList,
+                            fullColumnTypeList,
+                            decimalColInfo,
+                            ORC_DEFAULT_DECIMAL_INFO);
+        }
+        recordList = new ArrayList<>(fullColumnNameList.size());
     }
 
     @Override
@@ -128,16 +144,21 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
     @Override
     protected void nextBlock() {
         super.nextBlock();
-        if (recordWriter != null) {
+        if (recordWriter != null || batchWriter != null) {
             return;
         }
         try {
             String currentBlockTmpPath = tmpPath + File.separatorChar + currentFileName;
-            recordWriter =
-                    outputFormat.getRecordWriter(null, jobConf, currentBlockTmpPath, Reporter.NULL);
+            if (hdfsConf.isEnableVectorizedWrite()) {
+                batchWriter = new OrcBatchWriter(createOrcWriter(currentBlockTmpPath));
+            } else {
+                recordWriter =
+                        outputFormat.getRecordWriter(
+                                null, jobConf, currentBlockTmpPath, Reporter.NULL);
+                setFs();
+            }
             currentFileIndex++;
 
-            setFs();
             LOG.info("nextBlock:Current block writer record:" + rowsOfCurrentBlock);
             LOG.info("Current block file name:" + currentBlockTmpPath);
         } catch (Exception e) {
@@ -162,13 +183,23 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
         }
     }
 
+    /** 与OrcOutputFormat#getRecordWriter使用相同的配置，所以压缩方式和时间戳的写入方式与逐行写入时相同 */
+    private org.apache.orc.Writer createOrcWriter(String path) throws IOException {
+        OrcFile.WriterOptions writerOptions = OrcFile.writerOptions(jobConf);
+        writerOptions.setSchema(schema);
+        if (Hive3Util.isOpenKerberos(hdfsConf.getHadoopConfig())) {
+            writerOptions.fileSystem(fs);
+        }
+        return OrcFile.createWriter(new Path(path), writerOptions);
+    }
+
     @Override
     public void writeSingleRecordToFile(RowData row) throws WriteRecordException {
-        if (recordWriter == null) {
+        if (recordWriter == null && batchWriter == null) {
             nextBlock();
         }
 
-        List<Object> recordList = new ArrayList<>();
+        recordList.clear();
         int i = 0;
         try {
             rowConverter.toExternal(row, recordList);
@@ -181,8 +212,12 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
         }
 
         try {
-            this.recordWriter.write(
-                    NullWritable.get(), this.orcSerde.serialize(recordList, this.inspector));
+            if (batchWriter != null) {
+                batchWriter.addRow(recordList);
+            } else {
+                this.recordWriter.write(
+                        NullWritable.get(), this.orcSerde.serialize(recordList, this.inspector));
+            }
             rowsOfCurrentBlock++;
 
             lastRow = row;
@@ -213,6 +248,10 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
                 recordWriter.close(Reporter.NULL);
                 recordWriter = null;
             }
+            if (batchWriter != null) {
+                batchWriter.close();
+                batchWriter = null;
+            }
         } catch (IOException e) {
             throw new ChunJunRuntimeException(
                     Hive3Util.parseErrorMsg(
@@ -230,6 +269,11 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
                 rw.close(Reporter.NULL);
                 this.recordWriter = null;
             }
+            OrcBatchWriter bw = this.batchWriter;
+            if (bw != null) {
+                bw.close();
+                this.batchWriter = null;
+            }
         } catch (IOException e) {
             throw new ChunJunRuntimeException("close stream error.", e);
         } finally {
@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.hive3.sink;
+
+import com.dtstack.chunjun.enums.ColumnType;
+import com.dtstack.chunjun.util.ColumnTypeUtil;
+
+import org.apache.hadoop.hive.common.type.Date;
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.common.type.Timestamp;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.TimestampColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.serde2.io.HiveDecimalWritable;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.orc.TypeDescription;
+import org.apache.orc.Writer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按列把数据填入{@link VectorizedRowBatch}，批次写满后整批交给orc的{@link Writer}，不再逐行经过OrcSerde和ObjectInspector。
+ *
+ * <p>每一行的值是rowConverter转换后的hive对象，与逐行写入时相同，所以两种方式写出的文件内容一致。
+ */
+public class OrcBatchWriter implements Closeable {
+
+    private final Writer writer;
+    private final VectorizedRowBatch batch;
+    private final ColumnSetter[] setters;
+
+    public OrcBatchWriter(Writer writer) {
+        this.writer = writer;
+        TypeDescription schema = writer.getSchema();
+        this.batch = schema.createRowBatch();
+        List<TypeDescription> children = schema.getChildren();
+        this.setters = new ColumnSetter[children.size()];
+        for (int i = 0; i < setters.length; i++) {
+            setters[i] = createSetter(children.get(i));
+        }
+    }
+
+    /**
+     * 根据hive的字段类型创建orc的schema，字段类型与逐行写入时的ObjectInspector一致
+     *
+     * @param columnNames 字段名
+     * @param columnTypes hive字段类型
+     * @param decimalColInfo decimal字段的精度，key为字段名
+     * @param defaultDecimalInfo 未指定精度时decimal字段的精度
+     */
+    public static TypeDescription createSchema(
+            List<String> columnNames,
+            List<String> columnTypes,
+            Map<String, ColumnTypeUtil.DecimalInfo> decimalColInfo,
+            ColumnTypeUtil.DecimalInfo defaultDecimalInfo) {
+        TypeDescription schema = TypeDescription.createStruct();
+        for (int i = 0; i < columnNames.size(); i++) {
+            TypeDescription type;
+            switch (ColumnType.getType(columnTypes.get(i))) {
+                case TINYINT:
+                    type = TypeDescription.createByte();
+                    break;
+                case SMALLINT:
+                    type = TypeDescription.createShort();
+                    break;
+                case INT:
+                    type = TypeDescription.createInt();
+                    break;
+                case BIGINT:
+                    type = TypeDescription.createLong();
+                    break;
+                case FLOAT:
+                    type = TypeDescription.createFloat();
+                    break;
+                case DOUBLE:
+                    type = TypeDescription.createDouble();
+                    break;
+                case DECIMAL:
+                    ColumnTypeUtil.DecimalInfo decimalInfo =
+                            decimalColInfo.getOrDefault(columnNames.get(i), defaultDecimalInfo);
+                    type =
+                            TypeDescription.createDecimal()
+                                    .withPrecision(decimalInfo.getPrecision())
+                                    .withScale(decimalInfo.getScale());
+                    break;
+                case TIMESTAMP:
+                    type = TypeDescription.createTimestamp();
+                    break;
+                case DATE:
+                    type = TypeDescription.createDate();
+                    break;
+                case STRING:
+                case VARCHAR:
+                case CHAR:
+                    type = TypeDescription.createString();
+                    break;
+                case BOOLEAN:
+                    type = TypeDescription.createBoolean();
+                    break;
+                case BINARY:
+                    type = TypeDescription.createBinary();
+                    break;
+                default:
+                    throw new IllegalArgumentException(
+                            "unsupported orc column type: " + columnTypes.get(i));
+            }
+            schema.addField(columnNames.get(i), type);
+        }
+        return schema;
+    }
+
+    /**
+     * 把一行数据填入当前批次，批次写满时写入文件。填值失败时这一行不计入批次，下一行会覆盖已经填入的值。
+     *
+     * @param record 按schema字段顺序排列的hive对象，null表示空值
+     */
+    public void addRow(List<Object> record) throws IOException {
+        int row = batch.size;
+        for (int i = 0; i < setters.length; i++) {
+            ColumnVector vector = batch.cols[i];
+            Object value = record.get(i);
+            if (value == null) {
+                vector.noNulls = false;
+                vector.isNull[row] = true;
+            } else {
+                vector.isNull[row] = false;
+                setters[i].set(vector, row, value);
+            }
+        }
+        batch.size++;
+        if (batch.size == batch.getMaxSize()) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        if (batch.size > 0) {
+            writer.addRowBatch(batch);
+            batch.reset();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static ColumnSetter createSetter(TypeDescription type) {
+        switch (type.getCategory()) {
+            case BOOLEAN:
+                return (vector, row, value) ->
+                        ((LongColumnVector) vector).vector[row] = (Boolean) value ? 1L : 0L;
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+                return (vector, row, value) ->
+                        ((LongColumnVector) vector).vector[row] = ((Number) value).longValue();
+            case DATE:
+                return (vector, row, value) ->
+                        ((LongColumnVector) vector).vector[row] = ((Date) value).toEpochDay();
+            case FLOAT:
+            case DOUBLE:
+                return (vector, row, value) ->
+                        ((DoubleColumnVector) vector).vector[row] = ((Number) value).doubleValue();
+            case DECIMAL:
+                return (vector, row, value) -> {
+                    DecimalColumnVector decimalVector = (DecimalColumnVector) vector;
+                    if (value instanceof HiveDecimal) {
+                        decimalVector.set(row, (HiveDecimal) value);
+                    } else {
+                        decimalVector.set(row, (HiveDecimalWritable) value);
+                    }
+                };
+            case TIMESTAMP:
+                return (vector, row, value) -> {
+                    // 与hive的orc writer相同，按UTC写入时间戳的毫秒数
+                    TimestampColumnVector timestampVector = (TimestampColumnVector) vector;
+                    Timestamp timestamp = (Timestamp) value;
+                    timestampVector.time[row] = timestamp.toEpochMilli();
+                    timestampVector.nanos[row] = timestamp.getNanos();
+                };
+            case STRING:
+                return (vector, row, value) -> {
+                    byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+                    ((BytesColumnVector) vector).setVal(row, bytes, 0, bytes.length);
+                };
+            case BINARY:
+                return (vector, row, value) -> {
+                    BytesColumnVector bytesVector = (BytesColumnVector) vector;
+                    if (value instanceof BytesWritable) {
+                        BytesWritable writable = (BytesWritable) value;
+                        bytesVector.setVal(row, writable.getBytes(), 0, writable.getLength());
+                    } else {
+                        byte[] bytes = (byte[]) value;
+                        bytesVector.setVal(row, bytes, 0, bytes.length);
+                    }
+                };
+            default:
+                throw new IllegalArgumentException("unsupported orc column type: " + type);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ColumnSetter {
+        void set(ColumnVector vector, int row, Object value);
+    }
+}
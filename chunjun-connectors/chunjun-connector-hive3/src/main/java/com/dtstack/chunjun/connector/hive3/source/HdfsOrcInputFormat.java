@@ -22,6 +22,7 @@ import com.dtstack.chunjun.conf.FieldConf;
 import com.dtstack.chunjun.connector.hive3.inputSplit.HdfsOrcInputSplit;
 import com.dtstack.chunjun.connector.hive3.util.Hive3Util;
 import com.dtstack.chunjun.constants.ConstantValue;
+import com.dtstack.chunjun.source.HdfsPredicate;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 import com.dtstack.chunjun.throwable.ReadRecordException;
 
@@ -66,6 +67,8 @@ public class HdfsOrcInputFormat extends BaseHdfsInputFormat {
 
     private final AtomicBoolean isInit = new AtomicBoolean(false);
 
+    private transient OrcBatchReader batchReader;
+
     @Override
     protected InputSplit[] createHdfsSplit(int minNumSplits) throws IOException {
         initHadoopJobConf();
@@ -130,7 +133,9 @@ public class HdfsOrcInputFormat extends BaseHdfsInputFormat {
             List<FieldConf> fieldConfList = hdfsConf.getColumn();
             GenericRowData genericRowData =
                     new GenericRowData(Math.max(fieldConfList.size(), fullColNames.length));
-            if (fieldConfList.size() == 1
+            if (batchReader != null) {
+                nextBatchRecord(fieldConfList, genericRowData);
+            } else if (fieldConfList.size() == 1
                     && ConstantValue.STAR_SYMBOL.equals(fieldConfList.get(0).getName())) {
 
                 for (int i = 0; i < fullColNames.length; i++) {
@@ -163,6 +168,45 @@ public class HdfsOrcInputFormat extends BaseHdfsInputFormat {
         }
     }
 
+    private void nextBatchRecord(List<FieldConf> fieldConfList, GenericRowData genericRowData) {
+        if (fieldConfList.size() == 1
+                && ConstantValue.STAR_SYMBOL.equals(fieldConfList.get(0).getName())) {
+            for (int i = 0; i < fullColNames.length; i++) {
+                genericRowData.setField(i, batchReader.get(i));
+            }
+        } else {
+            for (int i = 0; i < fieldConfList.size(); i++) {
+                FieldConf fieldConf = fieldConfList.get(i);
+                Object val = null;
+                if (fieldConf.getValue() != null) {
+                    val = fieldConf.getValue();
+                } else if (fieldConf.getIndex() != null
+                        && fieldConf.getIndex() >= 0
+                        && fieldConf.getIndex() < fullColNames.length) {
+                    val = batchReader.get(fieldConf.getIndex());
+                }
+                genericRowData.setField(i, val);
+            }
+        }
+    }
+
+    @Override
+    public boolean reachedEnd() throws IOException {
+        if (batchReader != null) {
+            return !batchReader.next();
+        }
+        return super.reachedEnd();
+    }
+
+    @Override
+    public void closeInternal() throws IOException {
+        if (batchReader != null) {
+            batchReader.close();
+            batchReader = null;
+        }
+        super.closeInternal();
+    }
+
     protected List<String> parseColumnAndType(String typeStruct) {
         List<String> cols = new ArrayList<>();
         List<String> splits = Arrays.asList(typeStruct.split(","));
@@ -211,12 +255,43 @@ public class HdfsOrcInputFormat extends BaseHdfsInputFormat {
         HdfsOrcInputSplit hdfsOrcInputSplit = (HdfsOrcInputSplit) inputSplit;
         OrcSplit orcSplit = hdfsOrcInputSplit.getOrcSplit();
         findCurrentPartition(orcSplit.getPath());
+        if (hdfsConf.isEnableVectorizedRead() && !hdfsConf.isTransaction()) {
+            OrcFile.ReaderOptions readerOptions = OrcFile.readerOptions(hadoopJobConf);
+            readerOptions.filesystem(fs);
+            batchReader =
+                    new OrcBatchReader(
+                            OrcFile.createReader(orcSplit.getPath(), readerOptions),
+                            orcSplit.getStart(),
+                            orcSplit.getLength(),
+                            getBatchColumns(),
+                            HdfsPredicate.parse(hdfsConf.getFilter()));
+            return;
+        }
         recordReader = inputFormat.getRecordReader(orcSplit, hadoopJobConf, Reporter.NULL);
         key = recordReader.createKey();
         value = recordReader.createValue();
         fields = inspector.getAllStructFieldRefs();
     }
 
+    /** 按批读取时需要读取的字段在文件中的位置 */
+    private int[] getBatchColumns() {
+        List<FieldConf> fieldConfList = hdfsConf.getColumn();
+        if (fieldConfList.size() == 1
+                && ConstantValue.STAR_SYMBOL.equals(fieldConfList.get(0).getName())) {
+            int[] columns = new int[fullColNames.length];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = i;
+            }
+            return columns;
+        }
+        return fieldConfList.stream()
+                .map(FieldConf::getIndex)
+                .filter(index -> index != null && index >= 0 && index < fullColNames.length)
+                .mapToInt(Integer::intValue)
+                .distinct()
+                .toArray();
+    }
+
     private void init(Path path) throws Exception {
         OrcFile.ReaderOptions readerOptions = OrcFile.readerOptions(hadoopJobConf);
         readerOptions.filesystem(fs);
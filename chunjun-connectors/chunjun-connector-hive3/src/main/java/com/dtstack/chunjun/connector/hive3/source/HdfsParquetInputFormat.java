@@ -21,8 +21,10 @@ package com.dtstack.chunjun.connector.hive3.source;
 import com.dtstack.chunjun.conf.FieldConf;
 import com.dtstack.chunjun.connector.hive3.inputSplit.HdfsParquetInputSplit;
 import com.dtstack.chunjun.connector.hive3.util.Hive3Util;
+import com.dtstack.chunjun.connector.parquet.ParquetBatchReader;
 import com.dtstack.chunjun.constants.ConstantValue;
 import com.dtstack.chunjun.enums.ColumnType;
+import com.dtstack.chunjun.source.HdfsPredicate;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 import com.dtstack.chunjun.throwable.ReadRecordException;
 
@@ -71,6 +73,13 @@ public class HdfsParquetInputFormat extends BaseHdfsInputFormat {
     private transient List<String> fullColTypes;
     private transient int currentFileIndex = 0;
 
+    private transient List<HdfsPredicate> predicates;
+    private transient ParquetBatchReader batchReader;
+    /** 按批读取的字段在文件中的位置 */
+    private transient int[] batchColumns;
+    /** 第i个字段在batchColumns中的位置，-1表示不从文件中读取 */
+    private transient int[] batchPositions;
+
     @Override
     protected InputSplit[] createHdfsSplit(int minNumSplits) {
         initHadoopJobConf();
@@ -111,13 +120,18 @@ public class HdfsParquetInputFormat extends BaseHdfsInputFormat {
     @Override
     protected void openInternal(InputSplit inputSplit) {
         currentSplitFilePaths = ((HdfsParquetInputSplit) inputSplit).getPaths();
+        if (hdfsConf.isEnableVectorizedRead()) {
+            predicates = HdfsPredicate.parse(hdfsConf.getFilter());
+        }
     }
 
     @Override
     protected RowData nextRecordInternal(RowData rowData) throws ReadRecordException {
         List<FieldConf> fieldConfList = hdfsConf.getColumn();
         GenericRowData genericRowData;
-        if (fieldConfList.size() == 1
+        if (hdfsConf.isEnableVectorizedRead()) {
+            genericRowData = nextBatchRecord(fieldConfList);
+        } else if (fieldConfList.size() == 1
                 && ConstantValue.STAR_SYMBOL.equals(fieldConfList.get(0).getName())) {
             genericRowData = new GenericRowData(fullColNames.size());
             for (int i = 0; i < fullColNames.size(); i++) {
@@ -265,9 +279,33 @@ public class HdfsParquetInputFormat extends BaseHdfsInputFormat {
         return data;
     }
 
+    private GenericRowData nextBatchRecord(List<FieldConf> fieldConfList) {
+        GenericRowData genericRowData;
+        if (batchPositions == null) {
+            genericRowData = new GenericRowData(batchColumns.length);
+            for (int i = 0; i < batchColumns.length; i++) {
+                genericRowData.setField(i, batchReader.get(i));
+            }
+        } else {
+            genericRowData =
+                    new GenericRowData(Math.max(fieldConfList.size(), fullColNames.size()));
+            for (int i = 0; i < fieldConfList.size(); i++) {
+                FieldConf fieldConf = fieldConfList.get(i);
+                Object obj = null;
+                if (fieldConf.getValue() != null) {
+                    obj = fieldConf.getValue();
+                } else if (batchPositions[i] >= 0) {
+                    obj = batchReader.get(batchPositions[i]);
+                }
+                genericRowData.setField(i, obj);
+            }
+        }
+        return genericRowData;
+    }
+
     @Override
     public boolean reachedEnd() throws IOException {
-        return !nextLine();
+        return hdfsConf.isEnableVectorizedRead() ? !nextBatchLine() : !nextLine();
     }
 
     private void getNextLine() throws IOException {
@@ -340,18 +378,110 @@ public class HdfsParquetInputFormat extends BaseHdfsInputFormat {
                         getTypeName(type.asPrimitiveType().getPrimitiveTypeName().getMethod));
             }
 
-            for (FieldConf fieldConf : hdfsConf.getColumn()) {
-                String name = fieldConf.getName();
-                if (StringUtils.isNotBlank(name)) {
-                    name = name.toUpperCase();
-                    if (fullColNames.contains(name)) {
-                        fieldConf.setIndex(fullColNames.indexOf(name));
-                    } else {
-                        fieldConf.setIndex(-1);
+            setColumnIndex();
+        }
+    }
+
+    private void setColumnIndex() {
+        for (FieldConf fieldConf : hdfsConf.getColumn()) {
+            String name = fieldConf.getName();
+            if (StringUtils.isNotBlank(name)) {
+                name = name.toUpperCase();
+                if (fullColNames.contains(name)) {
+                    fieldConf.setIndex(fullColNames.indexOf(name));
+                } else {
+                    fieldConf.setIndex(-1);
+                }
+            }
+        }
+    }
+
+    private boolean nextBatchLine() throws IOException {
+        while (true) {
+            if (batchReader != null) {
+                if (openKerberos ? nextBatchLineWithKerberos() : batchReader.next()) {
+                    return true;
+                }
+                batchReader.close();
+                batchReader = null;
+            }
+            if (currentFileIndex >= currentSplitFilePaths.size()) {
+                return false;
+            }
+            if (openKerberos) {
+                ugi.doAs(
+                        (PrivilegedAction<Object>)
+                                () -> {
+                                    try {
+                                        nextBatchFile();
+                                        return null;
+                                    } catch (Exception e) {
+                                        throw new RuntimeException(e);
+                                    }
+                                });
+            } else {
+                nextBatchFile();
+            }
+        }
+    }
+
+    private boolean nextBatchLineWithKerberos() {
+        return ugi.doAs(
+                (PrivilegedAction<Boolean>)
+                        () -> {
+                            try {
+                                return batchReader.next();
+                            } catch (IOException e) {
+                                throw new ChunJunRuntimeException(
+                                        "failed to read parquet data with kerberos", e);
+                            }
+                        });
+    }
+
+    /** 打开下一个文件按批读取，只读取需要的字段 */
+    private void nextBatchFile() throws IOException {
+        Path path = new Path(currentSplitFilePaths.get(currentFileIndex));
+        findCurrentPartition(path);
+        batchReader = new ParquetBatchReader(hadoopJobConf, path, predicates);
+        currentFileIndex++;
+        if (fullColNames == null) {
+            fullColNames = new ArrayList<>();
+            fullColTypes = new ArrayList<>();
+            for (Type type : batchReader.getSchema().getFields()) {
+                fullColNames.add(type.getName().toUpperCase());
+                fullColTypes.add(
+                        getTypeName(type.asPrimitiveType().getPrimitiveTypeName().getMethod));
+            }
+            setColumnIndex();
+        }
+
+        List<FieldConf> fieldConfList = hdfsConf.getColumn();
+        List<Integer> columns = new ArrayList<>();
+        List<String> columnTypes = new ArrayList<>();
+        if (fieldConfList.size() == 1
+                && ConstantValue.STAR_SYMBOL.equals(fieldConfList.get(0).getName())) {
+            for (int i = 0; i < fullColNames.size(); i++) {
+                columns.add(i);
+                columnTypes.add(fullColTypes.get(i));
+            }
+        } else {
+            batchPositions = new int[fieldConfList.size()];
+            for (int i = 0; i < fieldConfList.size(); i++) {
+                FieldConf fieldConf = fieldConfList.get(i);
+                Integer index = fieldConf.getIndex();
+                batchPositions[i] = -1;
+                if (index != null && index >= 0 && index < fullColNames.size()) {
+                    batchPositions[i] = columns.indexOf(index);
+                    if (batchPositions[i] < 0) {
+                        batchPositions[i] = columns.size();
+                        columns.add(index);
+                        columnTypes.add(fieldConf.getType());
                     }
                 }
             }
         }
+        batchColumns = Ints.toArray(columns);
+        batchReader.setColumns(batchColumns, columnTypes.toArray(new String[0]));
     }
 
     private String getTypeName(String method) {
@@ -386,6 +516,10 @@ public class HdfsParquetInputFormat extends BaseHdfsInputFormat {
             currentFileReader.close();
             currentFileReader = null;
         }
+        if (batchReader != null) {
+            batchReader.close();
+            batchReader = null;
+        }
 
         currentLine = null;
         currentFileIndex = 0;
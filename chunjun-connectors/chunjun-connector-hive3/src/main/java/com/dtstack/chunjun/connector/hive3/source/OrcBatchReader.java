@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.hive3.source;
+
+import com.dtstack.chunjun.source.HdfsPredicate;
+
+import org.apache.hadoop.hive.common.type.Date;
+import org.apache.hadoop.hive.common.type.HiveChar;
+import org.apache.hadoop.hive.common.type.Timestamp;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.TimestampColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.io.sarg.PredicateLeaf;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgument;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgumentFactory;
+import org.apache.hadoop.hive.serde2.io.HiveDecimalWritable;
+import org.apache.orc.Reader;
+import org.apache.orc.RecordReader;
+import org.apache.orc.TypeDescription;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 通过{@link RecordReader#nextBatch}按批读取orc文件，只解码需要读取的字段，并根据filter跳过不满足条件的row group、过滤不满足条件的行。
+ *
+ * <p>字段的值与逐行读取时{@link com.dtstack.chunjun.connector.hive3.util.Hive3Util#getWritableValue}返回的值相同。
+ */
+public class OrcBatchReader implements Closeable {
+
+    private final RecordReader recordReader;
+    private final List<TypeDescription> columnTypes;
+    private final VectorizedRowBatch batch;
+    private final List<HdfsPredicate> predicates;
+    /** 第i个条件的字段在文件中的位置，文件中没有该字段或者字段不是基本类型时为-1，不参与逐行过滤 */
+    private final int[] predicateColumns;
+
+    private int rowInBatch;
+
+    /**
+     * @param reader orc文件，通过hive的OrcFile创建，按UTC读取timestamp
+     * @param offset 读取范围的起始位置，为split的起始位置
+     * @param length 读取范围的长度
+     * @param columns 需要读取的字段在文件中的位置
+     * @param predicates filter中的条件，文件中没有的字段上的条件被忽略
+     */
+    public OrcBatchReader(
+            Reader reader, long offset, long length, int[] columns, List<HdfsPredicate> predicates)
+            throws IOException {
+        TypeDescription schema = reader.getSchema();
+        this.columnTypes = schema.getChildren();
+        List<String> columnNames = schema.getFieldNames();
+
+        boolean[] include = new boolean[schema.getMaximumId() + 1];
+        include[0] = true;
+        for (int column : columns) {
+            includeColumn(include, columnTypes.get(column));
+        }
+
+        // 条件中的字段需要逐行过滤，同时读取这些字段
+        this.predicates = predicates;
+        this.predicateColumns = new int[predicates.size()];
+        for (int i = 0; i < predicateColumns.length; i++) {
+            predicateColumns[i] = indexOf(columnNames, predicates.get(i).getColumn());
+            if (predicateColumns[i] >= 0) {
+                includeColumn(include, columnTypes.get(predicateColumns[i]));
+            }
+        }
+
+        SearchArgument searchArgument = createSearchArgument(predicates, columnNames);
+        Reader.Options options = reader.options().include(include).range(offset, length);
+        if (searchArgument != null) {
+            options.searchArgument(searchArgument, columnNames.toArray(new String[0]));
+        }
+        this.recordReader = reader.rows(options);
+        this.batch = schema.createRowBatch();
+    }
+
+    private static void includeColumn(boolean[] include, TypeDescription type) {
+        for (int id = type.getId(); id <= type.getMaximumId(); id++) {
+            include[id] = true;
+        }
+    }
+
+    /** 移动到下一个满足条件的行，没有数据时返回false */
+    public boolean next() throws IOException {
+        do {
+            if (!nextRow()) {
+                return false;
+            }
+        } while (!matches());
+        return true;
+    }
+
+    private boolean nextRow() throws IOException {
+        rowInBatch++;
+        while (rowInBatch >= batch.size) {
+            if (!recordReader.nextBatch(batch)) {
+                return false;
+            }
+            rowInBatch = 0;
+        }
+        return true;
+    }
+
+    /**
+     * 当前行中字段的值
+     *
+     * @param column 字段在文件中的位置
+     */
+    public Object get(int column) {
+        ColumnVector vector = batch.cols[column];
+        int row = vector.isRepeating ? 0 : rowInBatch;
+        if (!vector.noNulls && vector.isNull[row]) {
+            return null;
+        }
+        TypeDescription type = columnTypes.get(column);
+        switch (type.getCategory()) {
+            case BOOLEAN:
+                return ((LongColumnVector) vector).vector[row] != 0;
+            case BYTE:
+                return (byte) ((LongColumnVector) vector).vector[row];
+            case SHORT:
+                return (short) ((LongColumnVector) vector).vector[row];
+            case INT:
+                return (int) ((LongColumnVector) vector).vector[row];
+            case LONG:
+                return ((LongColumnVector) vector).vector[row];
+            case FLOAT:
+                return (float) ((DoubleColumnVector) vector).vector[row];
+            case DOUBLE:
+                return ((DoubleColumnVector) vector).vector[row];
+            case STRING:
+            case VARCHAR:
+                return getString((BytesColumnVector) vector, row);
+            case CHAR:
+                return new HiveChar(getString((BytesColumnVector) vector, row), type.getMaxLength())
+                        .toString();
+            case BINARY:
+                BytesColumnVector bytesVector = (BytesColumnVector) vector;
+                return Arrays.copyOfRange(
+                        bytesVector.vector[row],
+                        bytesVector.start[row],
+                        bytesVector.start[row] + bytesVector.length[row]);
+            case TIMESTAMP:
+                TimestampColumnVector timestampVector = (TimestampColumnVector) vector;
+                return Timestamp.ofEpochMilli(
+                        timestampVector.time[row], timestampVector.nanos[row]);
+            case DATE:
+                return Date.ofEpochDay((int) ((LongColumnVector) vector).vector[row]);
+            case DECIMAL:
+                return ((DecimalColumnVector) vector)
+                        .vector[row]
+                        .getHiveDecimal()
+                        .bigDecimalValue();
+            default:
+                throw new UnsupportedOperationException(
+                        "unsupported orc type [" + type + "] of column " + column);
+        }
+    }
+
+    private boolean matches() {
+        for (int i = 0; i < predicateColumns.length; i++) {
+            if (predicateColumns[i] >= 0
+                    && !predicates.get(i).test(toPredicateValue(get(predicateColumns[i])))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** hive的timestamp、date按字面值转换为java.sql的类型，与条件中的常量按字面值比较 */
+    private static Object toPredicateValue(Object value) {
+        if (value instanceof Timestamp) {
+            return java.sql.Timestamp.valueOf(value.toString());
+        }
+        if (value instanceof Date) {
+            return java.sql.Date.valueOf(value.toString());
+        }
+        return value;
+    }
+
+    /** 基本类型的字段在文件中的位置，没有时返回-1 */
+    private int indexOf(List<String> columnNames, String column) {
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (columnNames.get(i).equalsIgnoreCase(column)) {
+                return columnTypes.get(i).getChildren() == null ? i : -1;
+            }
+        }
+        return -1;
+    }
+
+    private static String getString(BytesColumnVector vector, int row) {
+        return new String(
+                vector.vector[row], vector.start[row], vector.length[row], StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        recordReader.close();
+    }
+
+    /** 只下推常量类型与字段类型一致的条件，没有可以下推的条件时返回null */
+    private SearchArgument createSearchArgument(
+            List<HdfsPredicate> predicates, List<String> columnNames) {
+        SearchArgument.Builder builder = SearchArgumentFactory.newBuilder().startAnd();
+        int pushed = 0;
+        for (HdfsPredicate predicate : predicates) {
+            for (int i = 0; i < columnNames.size(); i++) {
+                String name = columnNames.get(i);
+                if (!name.equalsIgnoreCase(predicate.getColumn())) {
+                    continue;
+                }
+                TypeDescription type = columnTypes.get(i);
+                PredicateLeaf.Type leafType = toLeafType(type.getCategory());
+                Object literal = toLiteral(leafType, predicate.getLiteral());
+                if (literal != null) {
+                    addPredicate(builder, name, leafType, predicate.getOperator(), literal);
+                    pushed++;
+                }
+                break;
+            }
+        }
+        return pushed == 0 ? null : builder.end().build();
+    }
+
+    /** timestamp按UTC读取，与统计信息的时区不一致，不下推 */
+    private static PredicateLeaf.Type toLeafType(TypeDescription.Category category) {
+        switch (category) {
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+                return PredicateLeaf.Type.LONG;
+            case FLOAT:
+            case DOUBLE:
+                return PredicateLeaf.Type.FLOAT;
+            case DECIMAL:
+                return PredicateLeaf.Type.DECIMAL;
+            case STRING:
+            case VARCHAR:
+            case CHAR:
+                return PredicateLeaf.Type.STRING;
+            case DATE:
+                return PredicateLeaf.Type.DATE;
+            default:
+                return null;
+        }
+    }
+
+    private static Object toLiteral(PredicateLeaf.Type leafType, Object literal) {
+        if (leafType == null) {
+            return null;
+        }
+        try {
+            switch (leafType) {
+                case LONG:
+                    return literal instanceof Long ? literal : null;
+                case FLOAT:
+                    return literal instanceof Number ? ((Number) literal).doubleValue() : null;
+                case DECIMAL:
+                    return literal instanceof Number
+                            ? new HiveDecimalWritable(literal.toString())
+                            : null;
+                case STRING:
+                    return literal instanceof String ? literal : null;
+                case DATE:
+                    return literal instanceof String
+                            ? java.sql.Date.valueOf((String) literal)
+                            : null;
+                default:
+                    return null;
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void addPredicate(
+            SearchArgument.Builder builder,
+            String column,
+            PredicateLeaf.Type leafType,
+            HdfsPredicate.Operator operator,
+            Object literal) {
+        switch (operator) {
+            case EQ:
+                builder.equals(column, leafType, literal);
+                break;
+            case NOT_EQ:
+                builder.startNot().equals(column, leafType, literal).end();
+                break;
+            case LT:
+                builder.lessThan(column, leafType, literal);
+                break;
+            case LT_EQ:
+                builder.lessThanEquals(column, leafType, literal);
+                break;
+            case GT:
+                builder.startNot().lessThanEquals(column, leafType, literal).end();
+                break;
+            case GT_EQ:
+                builder.startNot().lessThan(column, leafType, literal).end();
+                break;
+            default:
+                throw new IllegalArgumentException("unsupported operator: " + operator);
+        }
+    }
+}
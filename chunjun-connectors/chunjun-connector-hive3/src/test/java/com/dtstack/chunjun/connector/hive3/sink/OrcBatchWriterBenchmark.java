@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.hive3.sink;
+
+import com.dtstack.chunjun.connector.hive3.util.Hive3Util;
+import com.dtstack.chunjun.enums.ColumnType;
+import com.dtstack.chunjun.util.ColumnTypeUtil;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.FileUtil;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.common.type.Date;
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.common.type.Timestamp;
+import org.apache.hadoop.hive.ql.io.orc.OrcFile;
+import org.apache.hadoop.hive.ql.io.orc.OrcOutputFormat;
+import org.apache.hadoop.hive.ql.io.orc.OrcSerde;
+import org.apache.hadoop.hive.serde2.io.HiveDecimalWritable;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordWriter;
+import org.apache.hadoop.mapred.Reporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 向本地文件系统写入1000万行orc数据的耗时，对比逐行经过OrcSerde写入和{@link OrcBatchWriter}按列批量写入。
+ *
+ * <p>每一行的值与rowConverter的输出相同，不包含rowConverter本身的开销。通过{@link #main}运行，surefire不会执行。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(
+        value = 1,
+        jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class OrcBatchWriterBenchmark {
+
+    private static final int ROWS = 10_000_000;
+
+    private static final List<String> COLUMN_NAMES =
+            Arrays.asList("id", "age", "score", "name", "amount", "create_time", "birthday", "vip");
+    private static final List<String> COLUMN_TYPES =
+            Arrays.asList(
+                    "bigint",
+                    "int",
+                    "double",
+                    "string",
+                    "decimal(10,2)",
+                    "timestamp",
+                    "date",
+                    "boolean");
+    private static final ColumnTypeUtil.DecimalInfo DECIMAL_INFO =
+            new ColumnTypeUtil.DecimalInfo(10, 2);
+
+    @Param({"row", "vectorized"})
+    public String mode;
+
+    private File dir;
+    private JobConf jobConf;
+    private StructObjectInspector inspector;
+    private int file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("orc-benchmark").toFile();
+        jobConf = new JobConf();
+        List<ObjectInspector> inspectors = new ArrayList<>();
+        for (String type : COLUMN_TYPES) {
+            inspectors.add(
+                    Hive3Util.columnTypeToObjectInspector(ColumnType.getType(type), DECIMAL_INFO));
+        }
+        inspector =
+                ObjectInspectorFactory.getStandardStructObjectInspector(COLUMN_NAMES, inspectors);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        FileUtil.fullyDelete(dir);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public long write() throws IOException {
+        String path = new File(dir, "data_" + file++ + ".orc").getAbsolutePath();
+        List<Object> record = new ArrayList<>(COLUMN_NAMES.size());
+        if ("row".equals(mode)) {
+            OrcSerde orcSerde = new OrcSerde();
+            RecordWriter recordWriter =
+                    new OrcOutputFormat().getRecordWriter(null, jobConf, path, Reporter.NULL);
+            for (int i = 0; i < ROWS; i++) {
+                fill(record, i);
+                recordWriter.write(NullWritable.get(), orcSerde.serialize(record, inspector));
+            }
+            recordWriter.close(Reporter.NULL);
+        } else {
+            OrcFile.WriterOptions writerOptions = OrcFile.writerOptions(jobConf);
+            writerOptions.setSchema(
+                    OrcBatchWriter.createSchema(
+                            COLUMN_NAMES, COLUMN_TYPES, Collections.emptyMap(), DECIMAL_INFO));
+            try (OrcBatchWriter batchWriter =
+                    new OrcBatchWriter(OrcFile.createWriter(new Path(path), writerOptions))) {
+                for (int i = 0; i < ROWS; i++) {
+                    fill(record, i);
+                    batchWriter.addRow(record);
+                }
+            }
+        }
+        return FileSystem.getLocal(jobConf).getFileStatus(new Path(path)).getLen();
+    }
+
+    private static void fill(List<Object> record, int i) {
+        record.clear();
+        record.add((long) i);
+        record.add(i % 100);
+        record.add(i * 0.5D);
+        record.add("name_" + (i % 10000));
+        record.add(new HiveDecimalWritable(HiveDecimal.create(i % 100000, 2)));
+        record.add(Timestamp.ofEpochMilli(1_600_000_000_000L + i));
+        record.add(Date.ofEpochDay(18000 + i % 1000));
+        record.add(i % 3 == 0 ? null : i % 2 == 0);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                        new OptionsBuilder()
+                                .include(OrcBatchWriterBenchmark.class.getSimpleName())
+                                .build())
+                .run();
+    }
+}
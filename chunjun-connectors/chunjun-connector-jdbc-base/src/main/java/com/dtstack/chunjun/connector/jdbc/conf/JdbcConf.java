@@ -56,6 +56,11 @@ public class JdbcConf extends ChunJunCommonConf implements Serializable {
     private String querySql;
     private String splitPk;
     private String splitStrategy;
+    /** splitStrategy为chunk时每个分片的预估行数 */
+    private long chunkSize = 100000;
+    /** splitStrategy为sample时采样的切分键个数 */
+    private int splitSampleSize = 10000;
+
     private int fetchSize = 0;
     private int queryTimeOut = 0;
     // 连接超时时间
@@ -98,6 +103,28 @@ public class JdbcConf extends ChunJunCommonConf implements Serializable {
     /** upsert 写数据库时，是否null覆盖原来的值 */
     private boolean allReplace = false;
 
+    /** 写数据时检查连接有效性的方式：record、idle、batch、failure */
+    private String connectionCheckMode = "idle";
+
+    /** idle模式下，连接空闲超过该时间才检查连接有效性，单位毫秒 */
+    private long connectionCheckIdleMillis = 60000L;
+
+    public String getConnectionCheckMode() {
+        return connectionCheckMode;
+    }
+
+    public void setConnectionCheckMode(String connectionCheckMode) {
+        this.connectionCheckMode = connectionCheckMode;
+    }
+
+    public long getConnectionCheckIdleMillis() {
+        return connectionCheckIdleMillis;
+    }
+
+    public void setConnectionCheckIdleMillis(long connectionCheckIdleMillis) {
+        this.connectionCheckIdleMillis = connectionCheckIdleMillis;
+    }
+
     public Boolean getInitReporter() {
         return initReporter;
     }
@@ -407,6 +434,22 @@ public class JdbcConf extends ChunJunCommonConf implements Serializable {
         this.splitStrategy = splitStrategy;
     }
 
+    public long getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(long chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getSplitSampleSize() {
+        return splitSampleSize;
+    }
+
+    public void setSplitSampleSize(int splitSampleSize) {
+        this.splitSampleSize = splitSampleSize;
+    }
+
     public Map<String, List<String>> getUpdateKey() {
         return updateKey;
     }
@@ -455,6 +498,10 @@ public class JdbcConf extends ChunJunCommonConf implements Serializable {
                 + ", splitStrategy='"
                 + splitStrategy
                 + '\''
+                + ", chunkSize="
+                + chunkSize
+                + ", splitSampleSize="
+                + splitSampleSize
                 + ", fetchSize="
                 + fetchSize
                 + ", queryTimeOut="
@@ -501,6 +548,11 @@ public class JdbcConf extends ChunJunCommonConf implements Serializable {
                 + updateKey
                 + ", allReplace="
                 + allReplace
+                + ", connectionCheckMode='"
+                + connectionCheckMode
+                + '\''
+                + ", connectionCheckIdleMillis="
+                + connectionCheckIdleMillis
                 + '}';
     }
 }
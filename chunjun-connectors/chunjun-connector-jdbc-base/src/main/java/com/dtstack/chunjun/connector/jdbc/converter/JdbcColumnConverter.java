@@ -27,6 +27,7 @@ import com.dtstack.chunjun.converter.IDeserializationConverter;
 import com.dtstack.chunjun.converter.ISerializationConverter;
 import com.dtstack.chunjun.element.AbstractBaseColumn;
 import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.PrimitiveRowData;
 import com.dtstack.chunjun.element.column.BigDecimalColumn;
 import com.dtstack.chunjun.element.column.BooleanColumn;
 import com.dtstack.chunjun.element.column.BytesColumn;
@@ -56,6 +57,9 @@ public class JdbcColumnConverter
         extends AbstractRowConverter<
                 ResultSet, JsonArray, FieldNamedPreparedStatement, LogicalType> {
 
+    /** 是否把数据填充到复用的{@link PrimitiveRowData}中，第一次读取时确定 */
+    private Boolean reusePrimitiveRow;
+
     public JdbcColumnConverter(RowType rowType) {
         this(rowType, null);
     }
@@ -118,15 +122,190 @@ public class JdbcColumnConverter
         return result;
     }
 
+    @Override
+    public RowData toInternal(ResultSet resultSet, RowData reuse) throws Exception {
+        if (reusePrimitiveRow == null) {
+            reusePrimitiveRow = canReusePrimitiveRow();
+        }
+        if (!reusePrimitiveRow) {
+            return toInternal(resultSet);
+        }
+        PrimitiveRowData result =
+                reuse instanceof PrimitiveRowData
+                        ? (PrimitiveRowData) reuse
+                        : new PrimitiveRowData(fieldTypes);
+        result.reset();
+        for (int index = 0; index < fieldTypes.length; index++) {
+            fillPrimitiveField(resultSet, index, result);
+        }
+        return result;
+    }
+
+    /** 子类重写了类型转换，常量字段和格式化需要{@link #assembleFieldProps}，这些情况仍然每条数据创建{@link ColumnRowData} */
+    private boolean canReusePrimitiveRow() {
+        if (commonConf == null
+                || !commonConf.isReuseRow()
+                || !supportsPrimitiveRow()
+                || !PrimitiveRowData.supports(fieldTypes)) {
+            return false;
+        }
+        List<FieldConf> fieldConfList = commonConf.getColumn();
+        if (fieldConfList.size() == 1
+                && ConstantValue.STAR_SYMBOL.equals(fieldConfList.get(0).getName())) {
+            return true;
+        }
+        if (fieldConfList.size() != fieldTypes.length) {
+            return false;
+        }
+        for (FieldConf fieldConf : fieldConfList) {
+            if (StringUtils.isNotBlank(fieldConf.getValue())
+                    || StringUtils.isNotBlank(fieldConf.getFormat())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 只有本类的类型转换和{@link PrimitiveRowData}的读写一致 */
+    public boolean supportsPrimitiveRow() {
+        return getClass() == JdbcColumnConverter.class;
+    }
+
+    /** 和{@link #createInternalConverter}的转换结果一致，整数和浮点数不装箱 */
+    private void fillPrimitiveField(ResultSet resultSet, int index, PrimitiveRowData row)
+            throws Exception {
+        int column = index + 1;
+        switch (fieldTypes[index].getTypeRoot()) {
+            case BOOLEAN:
+                Object val = resultSet.getObject(column);
+                if (val != null) {
+                    row.setBoolean(index, Boolean.parseBoolean(val.toString()));
+                }
+                break;
+            case TINYINT:
+                byte byteValue = (byte) resultSet.getInt(column);
+                if (!resultSet.wasNull()) {
+                    row.setInt(index, byteValue);
+                }
+                break;
+            case SMALLINT:
+            case INTEGER:
+                int intValue = resultSet.getInt(column);
+                if (!resultSet.wasNull()) {
+                    row.setInt(index, intValue);
+                }
+                break;
+            case BIGINT:
+                long longValue = resultSet.getLong(column);
+                if (!resultSet.wasNull()) {
+                    row.setLong(index, longValue);
+                }
+                break;
+            case FLOAT:
+                float floatValue = resultSet.getFloat(column);
+                if (!resultSet.wasNull()) {
+                    row.setFloat(index, floatValue);
+                }
+                break;
+            case DOUBLE:
+                double doubleValue = resultSet.getDouble(column);
+                if (!resultSet.wasNull()) {
+                    row.setDouble(index, doubleValue);
+                }
+                break;
+            case DECIMAL:
+                row.setDecimal(index, resultSet.getBigDecimal(column));
+                break;
+            case CHAR:
+            case VARCHAR:
+                Object str = resultSet.getObject(column);
+                row.setString(index, str == null ? null : str.toString());
+                break;
+            case DATE:
+                row.setDate(index, resultSet.getDate(column));
+                break;
+            case TIME_WITHOUT_TIME_ZONE:
+                row.setTime(index, resultSet.getTime(column));
+                break;
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                row.setTimestamp(index, resultSet.getTimestamp(column));
+                break;
+            default:
+                row.setBytes(index, resultSet.getBytes(column));
+        }
+    }
+
     @Override
     public FieldNamedPreparedStatement toExternal(
             RowData rowData, FieldNamedPreparedStatement statement) throws Exception {
+        if (rowData instanceof PrimitiveRowData) {
+            PrimitiveRowData row = (PrimitiveRowData) rowData;
+            for (int index = 0; index < row.getArity(); index++) {
+                if (row.isNullAt(index)) {
+                    statement.setObject(index, null);
+                } else {
+                    setPrimitiveField(row, index, statement);
+                }
+            }
+            return statement;
+        }
         for (int index = 0; index < rowData.getArity(); index++) {
             toExternalConverters.get(index).serialize(rowData, index, statement);
         }
         return statement;
     }
 
+    /** 和{@link #createExternalConverter}一致，通过getter读取，不创建列 */
+    private void setPrimitiveField(
+            PrimitiveRowData row, int index, FieldNamedPreparedStatement statement)
+            throws Exception {
+        switch (fieldTypes[index].getTypeRoot()) {
+            case BOOLEAN:
+                statement.setBoolean(index, row.getBoolean(index));
+                break;
+            case TINYINT:
+                statement.setByte(index, row.getByte(index));
+                break;
+            case SMALLINT:
+            case INTEGER:
+            case INTERVAL_YEAR_MONTH:
+                statement.setInt(index, row.getInt(index));
+                break;
+            case FLOAT:
+                statement.setFloat(index, row.getFloat(index));
+                break;
+            case DOUBLE:
+                statement.setDouble(index, row.getDouble(index));
+                break;
+            case BIGINT:
+                statement.setLong(index, row.getLong(index));
+                break;
+            case DECIMAL:
+                statement.setBigDecimal(index, row.getBigDecimal(index));
+                break;
+            case CHAR:
+            case VARCHAR:
+                statement.setString(index, row.getString(index).toString());
+                break;
+            case DATE:
+                statement.setDate(index, row.getSqlDate(index));
+                break;
+            case TIME_WITHOUT_TIME_ZONE:
+                statement.setTime(index, row.getSqlTime(index));
+                break;
+            case TIMESTAMP_WITH_TIME_ZONE:
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                statement.setTimestamp(index, row.getSqlTimestamp(index));
+                break;
+            case BINARY:
+            case VARBINARY:
+                statement.setBytes(index, row.getBinary(index));
+                break;
+            default:
+                throw new UnsupportedOperationException("Unsupported type:" + fieldTypes[index]);
+        }
+    }
+
     @Override
     protected IDeserializationConverter createInternalConverter(LogicalType type) {
         switch (type.getTypeRoot()) {
@@ -36,7 +36,14 @@ import io.vertx.core.json.JsonArray;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Date;
 import java.sql.ResultSet;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
@@ -364,6 +371,63 @@ public interface JdbcDialect extends Serializable {
         return sql.toString();
     }
 
+    /**
+     * Get the sql to estimate the row count of the table from statistics, the first column of the
+     * result is the row count. The split strategy 'chunk' uses the range of split key instead when
+     * it is empty.
+     */
+    default Optional<String> getRowCountEstimateSql(String schema, String tableName) {
+        return Optional.empty();
+    }
+
+    /**
+     * Get the sql to sample the split key for the split strategy 'sample'. The first column of the
+     * result is the split key, null keys are excluded and the result must be ordered by the split
+     * key, so the boundaries are in the order the database compares them. The default reads all
+     * keys and samples them on the client.
+     *
+     * @param where the filter of the job, may be blank
+     * @param ratio the expected fraction of rows to sample, in (0, 1]
+     */
+    default String getSplitKeySampleSql(
+            String schema, String tableName, String splitPk, String where, double ratio) {
+        String column = quoteIdentifier(splitPk);
+        StringBuilder sql =
+                new StringBuilder(128)
+                        .append("SELECT ")
+                        .append(column)
+                        .append(" FROM ")
+                        .append(buildTableInfoWithSchema(schema, tableName))
+                        .append(" WHERE ")
+                        .append(column)
+                        .append(" IS NOT NULL");
+        if (StringUtils.isNotBlank(where)) {
+            sql.append(" AND (").append(where).append(")");
+        }
+        return sql.append(" ORDER BY ").append(column).toString();
+    }
+
+    /**
+     * Convert the sampled split key to the literal used in the split filter, like 100 or
+     * '2022-01-01 00:00:00.0'.
+     */
+    default String getSplitKeyLiteral(Object value) {
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        } else if (value instanceof Number) {
+            return value.toString();
+        } else if (value instanceof byte[]) {
+            throw new UnsupportedOperationException("Not support binary split key");
+        } else if (value instanceof LocalDateTime) {
+            value = Timestamp.valueOf((LocalDateTime) value);
+        } else if (value instanceof LocalDate) {
+            value = Date.valueOf((LocalDate) value);
+        } else if (value instanceof LocalTime) {
+            value = Time.valueOf((LocalTime) value);
+        }
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+
     /** build split filter by mod, like ' mod(id,2) = 1' */
     default String getSplitModFilter(JdbcInputSplit split, String splitPkName) {
         return String.format(
@@ -17,9 +17,6 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 /**
  * A lookup function for {@link }.
@@ -52,13 +49,11 @@ public class JdbcAllTableFunction extends AbstractAllTableFunction {
 
     @Override
     protected void loadData(Object cacheRef) {
-        Map<String, List<Map<String, Object>>> tmpCache =
-                (Map<String, List<Map<String, Object>>>) cacheRef;
         Connection connection = null;
 
         try {
             connection = JdbcUtil.getConnection(jdbcConf, jdbcDialect);
-            queryAndFillData(tmpCache, connection);
+            queryAndFillData(cacheRef, connection);
         } catch (Exception e) {
             LOG.error("", e);
             throw new RuntimeException(e);
@@ -76,28 +71,21 @@ public class JdbcAllTableFunction extends AbstractAllTableFunction {
     /**
      * fill data
      *
-     * @param tmpCache
+     * @param cacheRef
      * @param connection
      * @throws SQLException
      */
-    protected void queryAndFillData(
-            Map<String, List<Map<String, Object>>> tmpCache, Connection connection)
-            throws SQLException {
+    protected void queryAndFillData(Object cacheRef, Connection connection) throws SQLException {
         // load data from table
         Statement statement = connection.createStatement();
         statement.setFetchSize(lookupConf.getFetchSize());
         ResultSet resultSet = statement.executeQuery(query);
 
         while (resultSet.next()) {
-            Map<String, Object> oneRow = new HashMap<>();
             // 防止一条数据有问题，后面数据无法加载
             try {
                 GenericRowData rowData = (GenericRowData) rowConverter.toInternal(resultSet);
-                for (int i = 0; i < fieldsName.length; i++) {
-                    Object object = rowData.getField(i);
-                    oneRow.put(fieldsName[i].trim(), object);
-                }
-                buildCache(oneRow, tmpCache);
+                buildCache(rowData, cacheRef);
             } catch (Exception e) {
                 LOG.error("", e);
             }
@@ -45,4 +45,18 @@ public class JdbcSinkOptions {
                     .stringType()
                     .defaultValue("at-least-once")
                     .withDescription("sink.semantic.");
+
+    public static final ConfigOption<String> SINK_CONNECTION_CHECK_MODE =
+            ConfigOptions.key("sink.connection-check.mode")
+                    .stringType()
+                    .defaultValue("idle")
+                    .withDescription(
+                            "when to check the connection is valid, one of record, idle, batch, failure.");
+
+    public static final ConfigOption<Long> SINK_CONNECTION_CHECK_IDLE_INTERVAL =
+            ConfigOptions.key("sink.connection-check.idle-interval")
+                    .longType()
+                    .defaultValue(60000L)
+                    .withDescription(
+                            "the idle time in milliseconds after which the connection is checked in idle mode.");
 }
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.chunjun.connector.jdbc.sink;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * When the sink validates its database connection with {@link java.sql.Connection#isValid(int)}.
+ *
+ * <p>Validating costs a round-trip on most drivers, so checking every record can dominate the write
+ * time. Except for {@link #RECORD}, every mode also validates and reconnects after a failed write,
+ * before the failed batch is retried record by record.
+ */
+public enum ConnectionCheckMode {
+
+    /** Validate before every record, the behavior of earlier versions. */
+    RECORD("record"),
+    /** Validate before a write only if the connection has been idle longer than the interval. */
+    IDLE("idle"),
+    /** Validate once before every batch write. */
+    BATCH("batch"),
+    /** Only validate after a write failed. */
+    FAILURE("failure");
+
+    private final String name;
+
+    ConnectionCheckMode(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public static ConnectionCheckMode getByName(String name) {
+        if (StringUtils.isBlank(name)) {
+            return IDLE;
+        }
+        for (ConnectionCheckMode mode : values()) {
+            if (mode.name.equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("unsupported connection check mode: " + name);
+    }
+}
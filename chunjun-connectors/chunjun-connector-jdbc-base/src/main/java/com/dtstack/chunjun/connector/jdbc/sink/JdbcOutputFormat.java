@@ -21,10 +21,13 @@ import com.dtstack.chunjun.cdc.DdlRowData;
 import com.dtstack.chunjun.cdc.DdlRowDataConvented;
 import com.dtstack.chunjun.conf.FieldConf;
 import com.dtstack.chunjun.connector.jdbc.conf.JdbcConf;
+import com.dtstack.chunjun.connector.jdbc.converter.JdbcColumnConverter;
 import com.dtstack.chunjun.connector.jdbc.dialect.JdbcDialect;
 import com.dtstack.chunjun.connector.jdbc.statement.FieldNamedPreparedStatement;
 import com.dtstack.chunjun.connector.jdbc.util.JdbcUtil;
+import com.dtstack.chunjun.element.AbstractBaseColumn;
 import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.PrimitiveRowData;
 import com.dtstack.chunjun.enums.EWriteMode;
 import com.dtstack.chunjun.enums.Semantic;
 import com.dtstack.chunjun.sink.format.BaseRichOutputFormat;
@@ -74,6 +77,11 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
 
     protected transient PreparedStmtProxy stmtProxy;
 
+    /** 检查连接有效性的方式 */
+    protected transient ConnectionCheckMode connectionCheckMode;
+    /** 最近一次确认连接可用(写入成功或检查通过)的时间 */
+    protected transient long lastConnectionActiveTime;
+
     @Override
     public void initializeGlobal(int parallelism) {
         executeBatch(jdbcConf.getPreSql());
@@ -88,6 +96,8 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
     protected void openInternal(int taskNumber, int numTasks) {
         try {
             dbConn = getConnection();
+            connectionCheckMode = ConnectionCheckMode.getByName(jdbcConf.getConnectionCheckMode());
+            lastConnectionActiveTime = System.currentTimeMillis();
             // 默认关闭事务自动提交，手动控制事务
             if (Semantic.EXACTLY_ONCE == semantic) {
                 autoCommit = false;
@@ -193,9 +203,12 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
     protected void writeSingleRecordInternal(RowData row) throws WriteRecordException {
         int index = 0;
         try {
+            checkConnValidBeforeWrite();
             stmtProxy.writeSingleRecordInternal(row);
+            lastConnectionActiveTime = System.currentTimeMillis();
         } catch (Exception e) {
             JdbcUtil.rollBack(dbConn);
+            checkConnValidAfterFailure(e);
             processWriteException(e, index, row);
         }
     }
@@ -214,12 +227,14 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
     @Override
     protected void writeMultipleRecordsInternal() throws Exception {
         try {
+            checkConnValidBeforeWrite();
             for (RowData row : rows) {
                 stmtProxy.convertToExternal(row);
                 stmtProxy.addBatch();
                 lastRow = row;
             }
             stmtProxy.executeBatch();
+            lastConnectionActiveTime = System.currentTimeMillis();
             // 开启了cp，但是并没有使用2pc方式让下游数据可见
             if (Semantic.EXACTLY_ONCE == semantic) {
                 rowsOfCurrentTransaction += rows.size();
@@ -231,6 +246,8 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
                     rows.size() > 0 ? GsonUtil.GSON.toJson(rows.get(0)) : "null",
                     e);
             JdbcUtil.rollBack(dbConn);
+            // 重连后批量写失败的数据会转为单条写
+            checkConnValidAfterFailure(e);
             throw e;
         } finally {
             // 执行完后清空batch
@@ -239,11 +256,55 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
     }
 
     @Override
-    public synchronized void writeRecord(RowData rowData) {
-        checkConnValid();
+    public void writeRecord(RowData rowData) {
+        // 异步刷写时连接只能在刷写线程中使用，record模式退化为每批检查
+        if (connectionCheckMode == ConnectionCheckMode.RECORD && !asyncFlush) {
+            synchronized (this) {
+                checkConnValid();
+            }
+        }
         super.writeRecord(rowData);
     }
 
+    @Override
+    protected boolean supportsAsyncFlush() {
+        return true;
+    }
+
+    @Override
+    protected boolean supportsPrimitiveRow() {
+        return rowConverter instanceof JdbcColumnConverter
+                && ((JdbcColumnConverter) rowConverter).supportsPrimitiveRow();
+    }
+
+    /** 写数据前根据connectionCheckMode检查连接，同步刷写时record模式已经在writeRecord中检查过 */
+    protected void checkConnValidBeforeWrite() {
+        if (connectionCheckMode == ConnectionCheckMode.BATCH
+                || (connectionCheckMode == ConnectionCheckMode.RECORD && asyncFlush)) {
+            checkConnValid();
+        } else if (connectionCheckMode == ConnectionCheckMode.IDLE
+                && System.currentTimeMillis() - lastConnectionActiveTime
+                        > jdbcConf.getConnectionCheckIdleMillis()) {
+            checkConnValid();
+        }
+    }
+
+    /**
+     * 写数据失败后检查连接，连接失效时重连，避免后续的单条写入全部失败
+     *
+     * @param writeException 写数据时的异常，检查连接失败时作为suppressed异常添加到其中，不替换写数据时的异常
+     */
+    protected void checkConnValidAfterFailure(Exception writeException) {
+        if (connectionCheckMode != ConnectionCheckMode.RECORD) {
+            try {
+                checkConnValid();
+            } catch (Exception e) {
+                LOG.warn("failed to check connection after writing failed", e);
+                writeException.addSuppressed(e);
+            }
+        }
+    }
+
     public void checkConnValid() {
         try {
             LOG.debug("check db connection valid..");
@@ -256,6 +317,7 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
                 dbConn = getConnection();
                 stmtProxy.reOpen(dbConn);
             }
+            lastConnectionActiveTime = System.currentTimeMillis();
         } catch (Exception e) {
             throw new ChunJunRuntimeException("failed to check jdbcConnection valid", e);
         }
@@ -272,6 +334,10 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
                         ((ColumnRowData) lastRow)
                                 .getField(jdbcConf.getRestoreColumnIndex())
                                 .asString();
+            } else if (lastRow instanceof PrimitiveRowData) {
+                AbstractBaseColumn column =
+                        ((PrimitiveRowData) lastRow).getField(jdbcConf.getRestoreColumnIndex());
+                state = column == null ? null : column.asString();
             } else {
                 LOG.warn("can't get [{}] from lastRow:{}", jdbcConf.getRestoreColumn(), lastRow);
                 state = null;
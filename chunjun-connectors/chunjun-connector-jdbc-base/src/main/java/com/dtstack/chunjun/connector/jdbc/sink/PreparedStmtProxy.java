@@ -46,10 +46,9 @@ import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -82,8 +81,19 @@ public class PreparedStmtProxy implements FieldNamedPreparedStatement {
     /** 当前执行sql的数据类型转换器 */
     protected AbstractRowConverter currentRowConverter;
 
-    /** 当调用writeMultipleRecords 可能会涉及到多个pstmt */
-    private final Set<FieldNamedPreparedStatement> unExecutePstmt = new LinkedHashSet<>();
+    /** 当前数据所属的表，addBatch时据此对待执行的pstmt分组 */
+    protected String currentTableKey;
+
+    /**
+     * 当调用writeMultipleRecords 可能会涉及到多个pstmt，按表分组，同一张表内按加入的顺序执行。不同表之间的数据互不影响，同一个pstmt 的数据合并为一个批次提交
+     */
+    private final Map<String, List<FieldNamedPreparedStatement>> unExecutePstmt =
+            new LinkedHashMap<>();
+
+    /** 本次批量写入中已经提前执行的批次结果 */
+    private int[] executedResult = new int[16];
+
+    private int executedCount;
 
     protected Connection connection;
     protected JdbcDialect jdbcDialect;
@@ -111,6 +121,7 @@ public class PreparedStmtProxy implements FieldNamedPreparedStatement {
         this.connection = connection;
         this.jdbcConf = jdbcConf;
         this.jdbcDialect = jdbcDialect;
+        this.currentTableKey = getTableKey(jdbcConf.getSchema(), jdbcConf.getTable());
         initCache(false);
         this.pstmtCache.put(
                 getPstmtCacheKey(jdbcConf.getSchema(), jdbcConf.getTable(), RowKind.INSERT),
@@ -149,6 +160,7 @@ public class PreparedStmtProxy implements FieldNamedPreparedStatement {
             String database = row.getString(dataBaseIndex).toString();
             String tableName = row.getString(tableIndex).toString();
             String key = getPstmtCacheKey(database, tableName, row.getRowKind());
+            currentTableKey = getTableKey(database, tableName);
 
             DynamicPreparedStmt fieldNamedPreparedStatement =
                     pstmtCache.get(
@@ -175,6 +187,7 @@ public class PreparedStmtProxy implements FieldNamedPreparedStatement {
         } else {
             String key =
                     getPstmtCacheKey(jdbcConf.getSchema(), jdbcConf.getTable(), row.getRowKind());
+            currentTableKey = getTableKey(jdbcConf.getSchema(), jdbcConf.getTable());
             DynamicPreparedStmt fieldNamedPreparedStatement =
                     pstmtCache.get(
                             key,
@@ -228,6 +241,10 @@ public class PreparedStmtProxy implements FieldNamedPreparedStatement {
         return String.format("%s_%s_%s", schema, table, rowKind);
     }
 
+    protected String getTableKey(String schema, String table) {
+        return schema + "." + table;
+    }
+
     @Override
     public void clearParameters() throws SQLException {
         currentFieldNamedPstmt.clearParameters();
@@ -240,31 +257,57 @@ public class PreparedStmtProxy implements FieldNamedPreparedStatement {
 
     @Override
     public void addBatch() throws SQLException {
+        List<FieldNamedPreparedStatement> tablePstmts =
+                unExecutePstmt.computeIfAbsent(currentTableKey, k -> new ArrayList<>(4));
+        int last = tablePstmts.size() - 1;
+        if (last < 0 || tablePstmts.get(last) != currentFieldNamedPstmt) {
+            if (tablePstmts.contains(currentFieldNamedPstmt)) {
+                // 同一张表的数据类型交替出现(如insert、delete、insert)，先提交这张表已有的批次，保证数据的执行顺序
+                executeTableBatch(tablePstmts);
+            }
+            tablePstmts.add(currentFieldNamedPstmt);
+        }
         currentFieldNamedPstmt.addBatch();
-        unExecutePstmt.add(currentFieldNamedPstmt);
     }
 
     @Override
     public int[] executeBatch() throws SQLException {
-        List<Integer> exeResult = new ArrayList<>();
-        for (FieldNamedPreparedStatement pstmt : unExecutePstmt) {
-            int[] resultArray = pstmt.executeBatch();
-            Arrays.stream(resultArray).forEach(exeResult::add);
+        for (List<FieldNamedPreparedStatement> tablePstmts : unExecutePstmt.values()) {
+            executeTableBatch(tablePstmts);
         }
+        int[] result = Arrays.copyOf(executedResult, executedCount);
+        executedCount = 0;
+        return result;
+    }
 
-        int[] result = new int[exeResult.size()];
-        for (int i = 0; i < exeResult.size(); i++) {
-            result[i] = exeResult.get(i);
+    /** 按加入的顺序提交一张表的所有pstmt，结果暂存到executedResult */
+    private void executeTableBatch(List<FieldNamedPreparedStatement> tablePstmts)
+            throws SQLException {
+        for (FieldNamedPreparedStatement pstmt : tablePstmts) {
+            int[] resultArray = pstmt.executeBatch();
+            if (executedCount + resultArray.length > executedResult.length) {
+                executedResult =
+                        Arrays.copyOf(
+                                executedResult,
+                                Math.max(
+                                        executedResult.length << 1,
+                                        executedCount + resultArray.length));
+            }
+            System.arraycopy(resultArray, 0, executedResult, executedCount, resultArray.length);
+            executedCount += resultArray.length;
         }
-        return result;
+        tablePstmts.clear();
     }
 
     @Override
     public void clearBatch() throws SQLException {
-        for (FieldNamedPreparedStatement pstmt : unExecutePstmt) {
-            pstmt.clearBatch();
+        for (List<FieldNamedPreparedStatement> tablePstmts : unExecutePstmt.values()) {
+            for (FieldNamedPreparedStatement pstmt : tablePstmts) {
+                pstmt.clearBatch();
+            }
         }
         unExecutePstmt.clear();
+        executedCount = 0;
     }
 
     @Override
@@ -370,6 +413,9 @@ public class PreparedStmtProxy implements FieldNamedPreparedStatement {
     @Override
     public void reOpen(Connection connection) throws SQLException {
         this.connection = connection;
+        // 旧连接上未提交的批次已经失效
+        unExecutePstmt.clear();
+        executedCount = 0;
         ConcurrentMap<String, DynamicPreparedStmt> stringDynamicPreparedStmtConcurrentMap =
                 pstmtCache.asMap();
         initCache(cacheIsExpire);
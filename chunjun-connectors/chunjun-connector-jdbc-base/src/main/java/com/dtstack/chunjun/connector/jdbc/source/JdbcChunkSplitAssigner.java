@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.jdbc.source;
+
+import org.apache.flink.core.io.InputSplit;
+import org.apache.flink.core.io.InputSplitAssigner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * splitStrategy为chunk和sample时的分片分配器，分片数可能大于并行度，读完一个分片的并行度再领取下一个，读取快的并行度自然会读取更多的分片。
+ *
+ * <p>按分片的顺序分配，failover归还的分片放回队首优先分配。
+ */
+public class JdbcChunkSplitAssigner implements InputSplitAssigner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcChunkSplitAssigner.class);
+
+    private final Deque<InputSplit> splits;
+
+    private final int totalSplits;
+
+    public JdbcChunkSplitAssigner(InputSplit[] inputSplits) {
+        this.splits = new ArrayDeque<>(Arrays.asList(inputSplits));
+        this.totalSplits = inputSplits.length;
+    }
+
+    @Override
+    public synchronized InputSplit getNextInputSplit(String host, int taskId) {
+        InputSplit split = splits.pollFirst();
+        if (split != null) {
+            LOG.debug(
+                    "assign split {} to task {}, remaining {}/{}",
+                    split.getSplitNumber(),
+                    taskId,
+                    splits.size(),
+                    totalSplits);
+        }
+        return split;
+    }
+
+    @Override
+    public synchronized void returnInputSplit(List<InputSplit> returned, int taskId) {
+        for (int i = returned.size() - 1; i >= 0; i--) {
+            splits.addFirst(returned.get(i));
+        }
+        LOG.info("task {} returned {} splits", taskId, returned.size());
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.jdbc.source;
+
+import com.dtstack.chunjun.restore.FormatState;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * splitStrategy为chunk时的读取进度，保存在{@link FormatState#getState()}中。
+ *
+ * <p>分片由任意并行度按需领取，恢复时合并所有并行度的状态：读完的分片不再读取，未读完的分片从已经读完的最大切分键之后开始读取。
+ * 第一个分片中切分键为null的数据单独记录是否读完，读完后恢复时不再读取。 分片以切分键的范围标识，恢复后重新计算的范围不同时，该分片重新读取。
+ */
+public class JdbcChunkState implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 已经读完的分片 */
+    private Set<String> finishedChunks = new HashSet<>();
+
+    /** 未读完的分片中已经读完的最大切分键，同一个切分键的数据可能没有读完，所以不包含当前正在读取的切分键 */
+    private Map<String, String> chunkOffsets = new HashMap<>();
+
+    /** 未读完的分片中切分键为null的数据已经读完的分片 */
+    private Set<String> nullKeyFinishedChunks = new HashSet<>();
+
+    public JdbcChunkState() {}
+
+    /** 拷贝当前进度，checkpoint保存拷贝，之后读取线程的更新不影响已经保存的状态 */
+    public JdbcChunkState copy() {
+        JdbcChunkState copy = new JdbcChunkState();
+        copy.finishedChunks = new HashSet<>(finishedChunks);
+        copy.chunkOffsets = new HashMap<>(chunkOffsets);
+        copy.nullKeyFinishedChunks = new HashSet<>(nullKeyFinishedChunks);
+        return copy;
+    }
+
+    /** 合并所有并行度的状态 */
+    public static JdbcChunkState restore(List<FormatState> formatStates) {
+        JdbcChunkState chunkState = new JdbcChunkState();
+        for (FormatState formatState : formatStates) {
+            if (formatState != null && formatState.getState() instanceof JdbcChunkState) {
+                chunkState.merge((JdbcChunkState) formatState.getState());
+            }
+        }
+        return chunkState;
+    }
+
+    /** 分片的标识，起始位置和结束位置为空时表示不限制 */
+    public static String chunkId(JdbcInputSplit split) {
+        return split.getStartLocationOfSplit() + "~" + split.getEndLocationOfSplit();
+    }
+
+    private void merge(JdbcChunkState other) {
+        finishedChunks.addAll(other.finishedChunks);
+        for (Map.Entry<String, String> entry : other.chunkOffsets.entrySet()) {
+            // 分片内按切分键升序读取，较大的位置是较新的进度
+            chunkOffsets.merge(
+                    entry.getKey(),
+                    entry.getValue(),
+                    (a, b) -> new BigDecimal(a).compareTo(new BigDecimal(b)) >= 0 ? a : b);
+        }
+        nullKeyFinishedChunks.addAll(other.nullKeyFinishedChunks);
+        chunkOffsets.keySet().removeAll(finishedChunks);
+        nullKeyFinishedChunks.removeAll(finishedChunks);
+    }
+
+    public boolean isFinished(String chunkId) {
+        return finishedChunks.contains(chunkId);
+    }
+
+    public void finish(String chunkId) {
+        finishedChunks.add(chunkId);
+        chunkOffsets.remove(chunkId);
+        nullKeyFinishedChunks.remove(chunkId);
+    }
+
+    public String getOffset(String chunkId) {
+        return chunkOffsets.get(chunkId);
+    }
+
+    public void setOffset(String chunkId, String offset) {
+        chunkOffsets.put(chunkId, offset);
+    }
+
+    public boolean isNullKeyFinished(String chunkId) {
+        return nullKeyFinishedChunks.contains(chunkId);
+    }
+
+    public void finishNullKey(String chunkId) {
+        nullKeyFinishedChunks.add(chunkId);
+    }
+
+    public Set<String> getFinishedChunks() {
+        return finishedChunks;
+    }
+
+    public void setFinishedChunks(Set<String> finishedChunks) {
+        this.finishedChunks = finishedChunks;
+    }
+
+    public Map<String, String> getChunkOffsets() {
+        return chunkOffsets;
+    }
+
+    public void setChunkOffsets(Map<String, String> chunkOffsets) {
+        this.chunkOffsets = chunkOffsets;
+    }
+
+    public Set<String> getNullKeyFinishedChunks() {
+        return nullKeyFinishedChunks;
+    }
+
+    public void setNullKeyFinishedChunks(Set<String> nullKeyFinishedChunks) {
+        this.nullKeyFinishedChunks = nullKeyFinishedChunks;
+    }
+
+    @Override
+    public String toString() {
+        return "JdbcChunkState{"
+                + "finishedChunks="
+                + finishedChunks.size()
+                + ", chunkOffsets="
+                + chunkOffsets
+                + ", nullKeyFinishedChunks="
+                + nullKeyFinishedChunks
+                + '}';
+    }
+}
@@ -38,6 +38,7 @@ import com.dtstack.chunjun.util.StringUtil;
 import com.dtstack.chunjun.util.TableUtil;
 
 import org.apache.flink.core.io.InputSplit;
+import org.apache.flink.core.io.InputSplitAssigner;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.types.logical.RowType;
 
@@ -46,6 +47,7 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
@@ -59,6 +61,7 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
@@ -76,6 +79,8 @@ public class JdbcInputFormat extends BaseRichInputFormat {
     public static final long serialVersionUID = 1L;
     protected static final int resultSetConcurrency = ResultSet.CONCUR_READ_ONLY;
     protected static int resultSetType = ResultSet.TYPE_FORWARD_ONLY;
+    /** chunk的分片数上限，没有预估行数且切分键稀疏时按切分键范围计算的分片数可能非常大 */
+    public static final int MAX_CHUNK_NUM = 10000;
 
     protected JdbcConf jdbcConf;
     protected JdbcDialect jdbcDialect;
@@ -99,6 +104,17 @@ public class JdbcInputFormat extends BaseRichInputFormat {
 
     protected JdbcInputSplit currentJdbcInputSplit;
 
+    /** splitStrategy为chunk时所有分片的读取进度 */
+    protected transient JdbcChunkState chunkState;
+    /** 当前分片的标识 */
+    protected transient String currentChunkId;
+    /** 切分键在查询结果中的位置，不在查询结果中或者不按切分键排序时为-1，此时只记录分片是否读完 */
+    protected int splitPkIndex = -1;
+    /** 上一条数据的切分键 */
+    protected transient Object lastSplitKey;
+    /** 上一条数据的切分键是否为null */
+    protected transient boolean lastSplitKeyNull;
+
     @Override
     public void openInternal(InputSplit inputSplit) {
         this.currentJdbcInputSplit = (JdbcInputSplit) inputSplit;
@@ -111,6 +127,16 @@ public class JdbcInputFormat extends BaseRichInputFormat {
             hasNext = false;
             return;
         }
+        if (isChunkStrategy()) {
+            currentChunkId = JdbcChunkState.chunkId(currentJdbcInputSplit);
+            lastSplitKey = null;
+            lastSplitKeyNull = false;
+            if (getChunkState().isFinished(currentChunkId)) {
+                LOG.info("skip chunk [{}], it has been read before restore", currentChunkId);
+                hasNext = false;
+                return;
+            }
+        }
 
         String querySQL = null;
         try {
@@ -130,10 +156,16 @@ public class JdbcInputFormat extends BaseRichInputFormat {
                             jdbcConf.getColumn(), fullColumnList, fullColumnTypeList);
             columnNameList = columnPair.getLeft();
             columnTypeList = columnPair.getRight();
+            if (isChunkStrategy()) {
+                splitPkIndex = getSplitPkIndex();
+            }
 
             querySQL = buildQuerySql(currentJdbcInputSplit);
             jdbcConf.setQuerySql(querySQL);
             executeQuery(currentJdbcInputSplit.getStartLocation());
+            if (!hasNext) {
+                finishChunk();
+            }
             if (!resultSet.isClosed()) {
                 columnCount = resultSet.getMetaData().getColumnCount();
             }
@@ -163,7 +195,11 @@ public class JdbcInputFormat extends BaseRichInputFormat {
                             minNumSplits, jdbcConf.getParallelism()));
         }
 
-        if (jdbcConf.getParallelism() > 1
+        if (isChunkStrategy()) {
+            return createSplitsInternalByChunk(minNumSplits);
+        } else if (isSampleStrategy()) {
+            return createSplitsInternalBySample(minNumSplits);
+        } else if (jdbcConf.getParallelism() > 1
                 && StringUtils.equalsIgnoreCase("range", jdbcConf.getSplitStrategy())) {
             // splitStrategy = range
             return createSplitsInternalBySplitRange(minNumSplits);
@@ -284,7 +320,7 @@ public class JdbcInputFormat extends BaseRichInputFormat {
         }
         try {
             @SuppressWarnings("unchecked")
-            RowData finalRowData = rowConverter.toInternal(resultSet);
+            RowData finalRowData = rowConverter.toInternal(resultSet, rowData);
             if (needUpdateEndLocation) {
                 Object obj;
                 switch (type) {
@@ -304,12 +340,18 @@ public class JdbcInputFormat extends BaseRichInputFormat {
             if (jdbcConf.getRestoreColumnIndex() > -1) {
                 state = resultSet.getObject(jdbcConf.getRestoreColumnIndex() + 1);
             }
+            if (splitPkIndex > -1) {
+                updateChunkOffset(resultSet.getObject(splitPkIndex + 1));
+            }
             return finalRowData;
         } catch (Exception se) {
             throw new ReadRecordException("", se, 0, rowData);
         } finally {
             try {
                 hasNext = resultSet.next();
+                if (!hasNext) {
+                    finishChunk();
+                }
             } catch (SQLException e) {
                 LOG.error("can not read next record", e);
                 hasNext = false;
@@ -317,13 +359,76 @@ public class JdbcInputFormat extends BaseRichInputFormat {
         }
     }
 
+    /** 读取线程在open时不持有checkpoint锁，分片进度的修改和拷贝都在当前对象的锁内进行 */
     @Override
-    public FormatState getFormatState() {
+    public synchronized FormatState getFormatState() {
         super.getFormatState();
-        formatState.setState(state);
+        formatState.setState(isChunkStrategy() ? getChunkState().copy() : state);
         return formatState;
     }
 
+    /** 分片数可能大于并行度，由{@link JdbcChunkSplitAssigner}按需分配 */
+    @Override
+    public InputSplitAssigner getInputSplitAssigner(InputSplit[] inputSplits) {
+        if (inputSplits.length > 0 && inputSplits[0] instanceof JdbcInputSplit) {
+            String splitStrategy = ((JdbcInputSplit) inputSplits[0]).getSplitStrategy();
+            if ("chunk".equals(splitStrategy) || "sample".equalsIgnoreCase(splitStrategy)) {
+                return new JdbcChunkSplitAssigner(inputSplits);
+            }
+        }
+        return super.getInputSplitAssigner(inputSplits);
+    }
+
+    protected boolean isChunkStrategy() {
+        return StringUtils.equalsIgnoreCase("chunk", jdbcConf.getSplitStrategy());
+    }
+
+    protected boolean isSampleStrategy() {
+        return StringUtils.equalsIgnoreCase("sample", jdbcConf.getSplitStrategy());
+    }
+
+    /** 第一次使用时合并恢复的所有并行度的状态 */
+    protected synchronized JdbcChunkState getChunkState() {
+        if (chunkState == null) {
+            chunkState = JdbcChunkState.restore(restoreStates);
+            LOG.info("init chunk state: {}", chunkState);
+        }
+        return chunkState;
+    }
+
+    /** 切分键在查询结果中的位置，分片内不按切分键排序时返回-1 */
+    private int getSplitPkIndex() {
+        String orderByColumn = jdbcConf.getOrderByColumn();
+        if (StringUtils.isNotBlank(orderByColumn)
+                && !orderByColumn.equalsIgnoreCase(jdbcConf.getSplitPk())) {
+            return -1;
+        }
+        for (int i = 0; i < columnNameList.size(); i++) {
+            if (columnNameList.get(i).equalsIgnoreCase(jdbcConf.getSplitPk())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** 切分键变化时，上一个切分键的数据已经读完，切分键为null的数据视为同一个切分键 */
+    private synchronized void updateChunkOffset(Object splitKey) {
+        if (lastSplitKeyNull && splitKey != null) {
+            // null排在最前面时(如MySQL、SQLServer)，读到非null的切分键说明null的数据已经读完
+            getChunkState().finishNullKey(currentChunkId);
+        } else if (lastSplitKey != null && !lastSplitKey.equals(splitKey)) {
+            getChunkState().setOffset(currentChunkId, String.valueOf(lastSplitKey));
+        }
+        lastSplitKey = splitKey;
+        lastSplitKeyNull = splitKey == null;
+    }
+
+    private synchronized void finishChunk() {
+        if (isChunkStrategy() && currentChunkId != null) {
+            getChunkState().finish(currentChunkId);
+        }
+    }
+
     @Override
     public void closeInternal() {
         JdbcUtil.closeDbResources(resultSet, statement, dbConn, true);
@@ -565,7 +670,14 @@ public class JdbcInputFormat extends BaseRichInputFormat {
 
         querySql = buildQuerySqlBySplit(jdbcInputSplit, whereList);
 
-        if (!jdbcConf.isPolling()) {
+        if (isChunkStrategy() && StringUtils.isBlank(jdbcConf.getOrderByColumn())) {
+            // 分片内按切分键排序，恢复时才能从读取的位置继续
+            querySql =
+                    querySql
+                            + String.format(
+                                    " ORDER BY %s ASC",
+                                    jdbcDialect.quoteIdentifier(jdbcConf.getSplitPk()));
+        } else if (!jdbcConf.isPolling()) {
             querySql = querySql + SqlUtil.buildOrderSql(jdbcConf, jdbcDialect, "ASC");
         }
         LOG.info("Executing sql is: '{}'", querySql);
@@ -695,7 +807,10 @@ public class JdbcInputFormat extends BaseRichInputFormat {
     /** 构建基于startLocation&endLocation的过滤条件 * */
     protected void buildLocationFilter(JdbcInputSplit jdbcInputSplit, List<String> whereList) {
         String startLocation = jdbcInputSplit.getStartLocation();
-        if (formatState.getState() != null && StringUtils.isNotBlank(jdbcConf.getRestoreColumn())) {
+        if (isChunkStrategy()) {
+            buildChunkOffsetFilter(jdbcInputSplit, whereList);
+        } else if (formatState.getState() != null
+                && StringUtils.isNotBlank(jdbcConf.getRestoreColumn())) {
             startLocation = String.valueOf(formatState.getState());
             if (StringUtils.isNotBlank(startLocation)) {
                 LOG.info(
@@ -740,12 +855,213 @@ public class JdbcInputFormat extends BaseRichInputFormat {
         }
     }
 
+    /** 分片在恢复前没有读完时，从已经读完的切分键之后开始读取，已经读完的切分键为null的数据不再读取 */
+    private void buildChunkOffsetFilter(JdbcInputSplit jdbcInputSplit, List<String> whereList) {
+        String offset = getChunkState().getOffset(currentChunkId);
+        boolean nullKeyFinished = getChunkState().isNullKeyFinished(currentChunkId);
+        if ((offset == null && !nullKeyFinished) || splitPkIndex < 0) {
+            return;
+        }
+        LOG.info(
+                "restore chunk [{}] from checkpoint, splitPk > {}, null splitPk finished: {}",
+                currentChunkId,
+                offset,
+                nullKeyFinished);
+        String splitPk = jdbcDialect.quoteIdentifier(jdbcConf.getSplitPk());
+        if (StringUtils.isNotEmpty(jdbcConf.getCustomSql())) {
+            splitPk = JdbcUtil.TEMPORARY_TABLE_NAME + "." + splitPk;
+        }
+        if (offset == null) {
+            whereList.add(splitPk + " IS NOT NULL");
+            return;
+        }
+        String filter = splitPk + " > " + offset;
+        // 第一个分片包含切分键为null的数据，排序时可能在最后
+        if (jdbcInputSplit.getSplitNumber() == 0 && !nullKeyFinished) {
+            filter = "(" + filter + " OR " + splitPk + " IS NULL)";
+        }
+        whereList.add(filter);
+    }
+
     /** create querySql for inputSplit * */
     protected String buildQuerySqlBySplit(JdbcInputSplit jdbcInputSplit, List<String> whereList) {
         return SqlUtil.buildQuerySqlBySplit(
                 jdbcConf, jdbcDialect, whereList, columnNameList, jdbcInputSplit);
     }
 
+    /**
+     * create splits for chunkSplitStrategy, the number of splits is the estimated row count divided
+     * by chunkSize and not less than the parallelism
+     */
+    protected JdbcInputSplit[] createSplitsInternalByChunk(int minNumSplits) {
+        Pair<String, String> splitRangeFromDb = getSplitRangeFromDb();
+        List<BigDecimal> boundaries = Collections.emptyList();
+        if (splitRangeFromDb != null
+                && StringUtils.isNotBlank(splitRangeFromDb.getLeft())
+                && !"null".equalsIgnoreCase(splitRangeFromDb.getLeft())) {
+            BigDecimal min = parseChunkSplitKey(splitRangeFromDb.getLeft());
+            BigDecimal max = parseChunkSplitKey(splitRangeFromDb.getRight());
+            long rowCount = getRowCountEstimate();
+            boundaries =
+                    createChunkBoundaries(
+                            min, max, rowCount, jdbcConf.getChunkSize(), minNumSplits);
+            LOG.info(
+                    "splitKey range is {} --> {}, estimated row count is {}, create {} chunks",
+                    splitRangeFromDb.getLeft(),
+                    splitRangeFromDb.getRight(),
+                    rowCount,
+                    boundaries.size() + 1);
+        }
+
+        // 第一个分片不限制起始位置，最后一个分片不限制结束位置
+        int chunkNum = boundaries.size() + 1;
+        JdbcInputSplit[] splits = new JdbcInputSplit[chunkNum];
+        for (int i = 0; i < chunkNum; i++) {
+            splits[i] =
+                    new JdbcInputSplit(
+                            i,
+                            chunkNum,
+                            i,
+                            jdbcConf.getStartLocation(),
+                            null,
+                            i == 0 ? null : boundaries.get(i - 1).toPlainString(),
+                            i == chunkNum - 1 ? null : boundaries.get(i).toPlainString(),
+                            "chunk",
+                            false);
+        }
+        return splits;
+    }
+
+    /** chunk按切分键的数值范围切分，不支持字符串、时间等类型的切分键 */
+    private BigDecimal parseChunkSplitKey(String value) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new ChunJunRuntimeException(
+                    String.format(
+                            "splitStrategy chunk only supports numeric splitPk, splitPk [%s] has value [%s]",
+                            jdbcConf.getSplitPk(), value),
+                    e);
+        }
+    }
+
+    /**
+     * 分片之间的边界，按切分键的范围等分，分片数不超过{@link #MAX_CHUNK_NUM}
+     *
+     * @param min 切分键最小值
+     * @param max 切分键最大值
+     * @param rowCount 预估的行数，小于等于0时按切分键连续计算
+     * @param chunkSize 每个分片的行数
+     * @param parallelism 并行度，分片数不小于并行度，并行度大于{@link #MAX_CHUNK_NUM}时以并行度为准
+     * @return 从小到大的边界，分片数为边界数加一
+     */
+    public static List<BigDecimal> createChunkBoundaries(
+            BigDecimal min, BigDecimal max, long rowCount, long chunkSize, int parallelism) {
+        BigDecimal span = max.subtract(min).add(BigDecimal.ONE);
+        if (span.compareTo(BigDecimal.ONE) <= 0) {
+            return Collections.emptyList();
+        }
+        BigDecimal rows = rowCount > 0 ? BigDecimal.valueOf(rowCount) : span;
+        BigDecimal chunkNum =
+                rows.divide(BigDecimal.valueOf(Math.max(chunkSize, 1)), 0, RoundingMode.CEILING)
+                        .min(BigDecimal.valueOf(MAX_CHUNK_NUM))
+                        .max(BigDecimal.valueOf(parallelism));
+        BigDecimal step = span.divide(chunkNum, 0, RoundingMode.CEILING).max(BigDecimal.ONE);
+
+        List<BigDecimal> boundaries = new ArrayList<>();
+        for (BigDecimal boundary = min.add(step);
+                boundary.compareTo(max) <= 0;
+                boundary = boundary.add(step)) {
+            boundaries.add(boundary);
+        }
+        return boundaries;
+    }
+
+    /** 通过数据库统计信息预估表的行数，不支持时返回-1 */
+    protected long getRowCountEstimate() {
+        if (StringUtils.isNotEmpty(jdbcConf.getCustomSql())) {
+            return -1;
+        }
+        Optional<String> sql =
+                jdbcDialect.getRowCountEstimateSql(jdbcConf.getSchema(), jdbcConf.getTable());
+        if (!sql.isPresent()) {
+            return -1;
+        }
+        Connection conn = null;
+        Statement st = null;
+        ResultSet rs = null;
+        try {
+            conn = getConnection();
+            st = conn.createStatement(resultSetType, resultSetConcurrency);
+            st.setQueryTimeout(jdbcConf.getQueryTimeOut());
+            rs = st.executeQuery(sql.get());
+            return rs.next() ? rs.getLong(1) : -1;
+        } catch (Exception e) {
+            LOG.warn(
+                    "failed to estimate row count by sql [{}], use the range of splitPk",
+                    sql.get(),
+                    e);
+            return -1;
+        } finally {
+            JdbcUtil.closeDbResources(rs, st, conn, false);
+        }
+    }
+
+    /** create splits for sampleSplitStrategy, each split has about the same number of rows */
+    protected JdbcInputSplit[] createSplitsInternalBySample(int minNumSplits) {
+        List<String> boundaries = planSplitBoundaries(minNumSplits);
+        int splitNum = boundaries.size() + 1;
+        JdbcInputSplit[] splits = new JdbcInputSplit[splitNum];
+        for (int i = 0; i < splitNum; i++) {
+            splits[i] =
+                    new JdbcInputSplit(
+                            i,
+                            splitNum,
+                            i,
+                            jdbcConf.getStartLocation(),
+                            null,
+                            i == 0 ? null : boundaries.get(i - 1),
+                            i == splitNum - 1 ? null : boundaries.get(i),
+                            "sample",
+                            false);
+        }
+        return splits;
+    }
+
+    /**
+     * 采样当前表的切分键，计算等行数的分片边界
+     *
+     * @param splitNum 分片数
+     * @return 从小到大的边界(sql字面量)，分片数为边界数加一
+     */
+    protected List<String> planSplitBoundaries(int splitNum) {
+        if (splitNum <= 1) {
+            return Collections.emptyList();
+        }
+        return planSplitBoundaries(splitNum, getRowCountEstimate());
+    }
+
+    /**
+     * 采样当前表的切分键，计算等行数的分片边界
+     *
+     * @param splitNum 分片数
+     * @param rowCount 预估的行数，小于等于0时读取全部切分键
+     * @return 从小到大的边界(sql字面量)，分片数为边界数加一
+     */
+    protected List<String> planSplitBoundaries(int splitNum, long rowCount) {
+        Connection conn = null;
+        try {
+            conn = getConnection();
+            return new JdbcSplitBoundaryPlanner(jdbcConf, jdbcDialect)
+                    .plan(conn, rowCount, splitNum);
+        } catch (Throwable e) {
+            throw new ChunJunRuntimeException(
+                    "Sample split key from " + jdbcConf.getTable() + " error", e);
+        } finally {
+            JdbcUtil.closeDbResources(null, null, conn, false);
+        }
+    }
+
     /** create split for rangeSplitStrategy */
     protected JdbcInputSplit[] createSplitsInternalBySplitRange(int minNumSplits) {
         List<JdbcInputSplit> splits = new ArrayList<>();
@@ -21,6 +21,7 @@ package com.dtstack.chunjun.connector.jdbc.source;
 import com.dtstack.chunjun.conf.FieldConf;
 import com.dtstack.chunjun.connector.jdbc.conf.JdbcConf;
 import com.dtstack.chunjun.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.chunjun.connector.jdbc.util.SqlUtil;
 import com.dtstack.chunjun.constants.ConstantValue;
 import com.dtstack.chunjun.enums.ColumnType;
 import com.dtstack.chunjun.enums.Semantic;
@@ -70,14 +71,38 @@ public class JdbcInputFormatBuilder extends BaseRichInputFormatBuilder<JdbcInput
             conf.setSplitPk(conf.getIncreColumn());
         }
 
-        if (conf.getParallelism() > 1) {
+        boolean chunk = "chunk".equalsIgnoreCase(conf.getSplitStrategy());
+        boolean sample = "sample".equalsIgnoreCase(conf.getSplitStrategy());
+        if (chunk || sample) {
+            String splitStrategy = conf.getSplitStrategy();
+            if (conf.isIncrement()) {
+                sb.append("splitStrategy ")
+                        .append(splitStrategy)
+                        .append(" doesn't support increment or polling;\n");
+            }
+            if (SqlUtil.isRowNumSplitKey(conf.getSplitPk())) {
+                sb.append("splitStrategy ")
+                        .append(splitStrategy)
+                        .append(" doesn't support row number split column;\n");
+            }
+        }
+
+        if (conf.getParallelism() > 1 || chunk) {
             if (StringUtils.isBlank(conf.getSplitPk())) {
-                sb.append("Must specify the split column when the channel is greater than 1;\n");
+                sb.append(
+                        "Must specify the split column when the channel is greater than 1 or splitStrategy is chunk;\n");
             } else {
                 FieldConf field =
                         FieldConf.getSameNameMetaColumn(conf.getColumn(), conf.getSplitPk());
                 if (field == null) {
                     sb.append("split column must in columns;\n");
+                } else if (sample) {
+                    if (!ColumnType.isNumberType(field.getType())
+                            && !ColumnType.isTimeType(field.getType())
+                            && !ColumnType.isStringType(field.getType())) {
+                        sb.append(
+                                "split column's type must be number, time or string type when splitStrategy is sample;\n");
+                    }
                 } else if (!ColumnType.isNumberType(field.getType())) {
                     sb.append("split column's type must be number type;\n");
                 }
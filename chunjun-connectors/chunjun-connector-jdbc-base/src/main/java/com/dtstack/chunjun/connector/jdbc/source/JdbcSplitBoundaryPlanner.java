@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.jdbc.source;
+
+import com.dtstack.chunjun.connector.jdbc.conf.JdbcConf;
+import com.dtstack.chunjun.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.chunjun.connector.jdbc.util.SqlUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * splitStrategy为sample时的分片边界计算。
+ *
+ * <p>按预估的行数确定采样比例，由数据库按切分键排序返回样本，取样本的等分位置作为边界，每个分片的行数接近，不受切分键的分布影响，支持数值、时间和字符串类型的切分键。
+ */
+public class JdbcSplitBoundaryPlanner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcSplitBoundaryPlanner.class);
+
+    private final JdbcConf jdbcConf;
+
+    private final JdbcDialect jdbcDialect;
+
+    public JdbcSplitBoundaryPlanner(JdbcConf jdbcConf, JdbcDialect jdbcDialect) {
+        this.jdbcConf = jdbcConf;
+        this.jdbcDialect = jdbcDialect;
+    }
+
+    /**
+     * 采样切分键并计算分片边界
+     *
+     * @param conn jdbcConf中的表所在的连接
+     * @param rowCount 预估的行数，小于等于0时读取全部切分键在客户端采样
+     * @param splitNum 分片数
+     * @return 从小到大的边界，已经转换为sql字面量，分片数为边界数加一
+     */
+    public List<String> plan(Connection conn, long rowCount, int splitNum) throws SQLException {
+        if (splitNum <= 1) {
+            return Collections.emptyList();
+        }
+        long startTime = System.currentTimeMillis();
+        int sampleSize = Math.max(jdbcConf.getSplitSampleSize(), splitNum);
+        double ratio = rowCount > 0 ? Math.min(1.0D, (double) sampleSize / rowCount) : 1.0D;
+        String sampleSql = SqlUtil.buildSplitKeySampleSql(jdbcConf, jdbcDialect, ratio);
+        LOG.info("Query split key sample sql is '{}'", sampleSql);
+
+        OrderedSample<Object> sample = new OrderedSample<>(sampleSize);
+        try (Statement st =
+                conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            st.setFetchSize(jdbcConf.getFetchSize());
+            st.setQueryTimeout(jdbcConf.getQueryTimeOut());
+            try (ResultSet rs = st.executeQuery(sampleSql)) {
+                int sqlType = rs.getMetaData().getColumnType(1);
+                while (rs.next()) {
+                    Object value = readSplitKey(rs, sqlType);
+                    if (value != null) {
+                        sample.add(value);
+                    }
+                }
+            }
+        }
+
+        List<String> boundaries =
+                selectBoundaries(sample.getValues(), splitNum).stream()
+                        .map(jdbcDialect::getSplitKeyLiteral)
+                        .collect(Collectors.toList());
+        LOG.info(
+                "Takes [{}] milliseconds to sample [{}] split keys of [{}] rows from {}, boundaries are {}",
+                System.currentTimeMillis() - startTime,
+                sample.getValues().size(),
+                sample.getSeen(),
+                jdbcConf.getTable(),
+                boundaries);
+        return boundaries;
+    }
+
+    /** 时间类型统一读取为java.sql类型，驱动返回私有类型(如oracle.sql.TIMESTAMP)时方言无法转换为字面量 */
+    private static Object readSplitKey(ResultSet rs, int sqlType) throws SQLException {
+        switch (sqlType) {
+            case Types.TIMESTAMP:
+                return rs.getTimestamp(1);
+            case Types.DATE:
+                return rs.getDate(1);
+            case Types.TIME:
+                return rs.getTime(1);
+            default:
+                return rs.getObject(1);
+        }
+    }
+
+    /**
+     * 取有序样本的等分位置作为边界，相同的边界只保留一个
+     *
+     * @param samples 按切分键排序的样本
+     * @param splitNum 分片数
+     * @return 边界，个数不超过splitNum - 1
+     */
+    public static <T> List<T> selectBoundaries(List<T> samples, int splitNum) {
+        List<T> boundaries = new ArrayList<>();
+        if (splitNum <= 1 || samples.isEmpty()) {
+            return boundaries;
+        }
+        T previous = samples.get(0);
+        for (int i = 1; i < splitNum; i++) {
+            T boundary = samples.get((int) ((long) i * samples.size() / splitNum));
+            // 大量重复的切分键只能落在一个分片中
+            if (!boundary.equals(previous)) {
+                boundaries.add(boundary);
+                previous = boundary;
+            }
+        }
+        return boundaries;
+    }
+
+    /** 按顺序等间隔保留样本，超过容量的两倍时隔一个丢弃一个并加倍间隔，内存不随行数增长 */
+    static class OrderedSample<T> {
+
+        private final int capacity;
+
+        private final List<T> values = new ArrayList<>();
+
+        private long stride = 1;
+
+        private long seen;
+
+        OrderedSample(int capacity) {
+            this.capacity = Math.max(capacity, 1);
+        }
+
+        void add(T value) {
+            if (seen++ % stride != 0) {
+                return;
+            }
+            values.add(value);
+            if (values.size() >= capacity * 2) {
+                int size = 0;
+                for (int i = 0; i < values.size(); i += 2) {
+                    values.set(size++, values.get(i));
+                }
+                values.subList(size, values.size()).clear();
+                stride *= 2;
+            }
+        }
+
+        List<T> getValues() {
+            return values;
+        }
+
+        long getSeen() {
+            return seen;
+        }
+    }
+}
@@ -20,6 +20,7 @@ package com.dtstack.chunjun.connector.jdbc.source.distribute;
 import com.dtstack.chunjun.conf.FieldConf;
 import com.dtstack.chunjun.connector.jdbc.conf.DataSourceConf;
 import com.dtstack.chunjun.connector.jdbc.source.JdbcInputFormat;
+import com.dtstack.chunjun.connector.jdbc.source.JdbcInputSplit;
 import com.dtstack.chunjun.connector.jdbc.util.JdbcUtil;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 import com.dtstack.chunjun.util.ColumnBuildUtil;
@@ -35,6 +36,8 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -53,10 +56,15 @@ public class DistributedJdbcInputFormat extends JdbcInputFormat {
     public void openInternal(InputSplit inputSplit) {
         this.inputSplit = (DistributedJdbcInputSplit) inputSplit;
         this.sourceList = this.inputSplit.getSourceList();
+        // splitStrategy为sample时一个并行度会依次读取多个分片
+        this.sourceIndex = 0;
+        this.noDataSource = false;
         if (CollectionUtils.isEmpty(this.sourceList)) {
             noDataSource = true;
             return;
         }
+        this.columnNameList = new ArrayList<>();
+        this.columnTypeList = new ArrayList<>();
         for (FieldConf fieldConf : jdbcConf.getColumn()) {
             this.columnNameList.add(fieldConf.getName());
             this.columnTypeList.add(fieldConf.getType());
@@ -84,6 +92,9 @@ public class DistributedJdbcInputFormat extends JdbcInputFormat {
                             "numTaskVertices is [%s], but parallelism in jdbcConf is [%s]",
                             minNumSplits, jdbcConf.getParallelism()));
         }
+        if (isSampleStrategy()) {
+            return createSplitsInternalBySample(minNumSplits);
+        }
         DistributedJdbcInputSplit[] inputSplits = new DistributedJdbcInputSplit[minNumSplits];
         List<List<DataSourceConf>> subList =
                 RangeSplitUtil.subListBySegment(sourceList, minNumSplits);
@@ -105,6 +116,58 @@ public class DistributedJdbcInputFormat extends JdbcInputFormat {
         return inputSplits;
     }
 
+    /**
+     * 按预估的行数把并行度分配给每张表，分到多个分片的表按采样的切分键切分为行数接近的分片，所有分片按需领取，表的大小不均匀时各并行度的读取量接近。
+     *
+     * <p>无法预估行数的表按并行度切分。
+     */
+    @Override
+    protected JdbcInputSplit[] createSplitsInternalBySample(int minNumSplits) {
+        long[] rowCounts = new long[sourceList.size()];
+        long totalRowCount = 0;
+        for (sourceIndex = 0; sourceIndex < sourceList.size(); sourceIndex++) {
+            useCurrentSource();
+            rowCounts[sourceIndex] = getRowCountEstimate();
+            totalRowCount += Math.max(rowCounts[sourceIndex], 0);
+        }
+        double rowsPerSplit = Math.max((double) totalRowCount / minNumSplits, 1.0D);
+
+        List<JdbcInputSplit> splits = new ArrayList<>();
+        for (sourceIndex = 0; sourceIndex < sourceList.size(); sourceIndex++) {
+            useCurrentSource();
+            long rowCount = rowCounts[sourceIndex];
+            int splitNum =
+                    rowCount < 0
+                            ? minNumSplits
+                            : (int) Math.min(Math.ceil(rowCount / rowsPerSplit), minNumSplits);
+            List<String> boundaries =
+                    splitNum > 1
+                            ? planSplitBoundaries(splitNum, rowCount)
+                            : Collections.emptyList();
+            int rangeNum = boundaries.size() + 1;
+            for (int i = 0; i < rangeNum; i++) {
+                DistributedJdbcInputSplit split =
+                        new DistributedJdbcInputSplit(
+                                i,
+                                rangeNum,
+                                Collections.singletonList(sourceList.get(sourceIndex)),
+                                jdbcConf.getSplitStrategy(),
+                                jdbcConf.isPolling());
+                split.setStartLocationOfSplit(i == 0 ? null : boundaries.get(i - 1));
+                split.setEndLocationOfSplit(i == rangeNum - 1 ? null : boundaries.get(i));
+                splits.add(split);
+            }
+        }
+        sourceIndex = 0;
+
+        LOG.info(
+                "create {} InputSplits by sample for {} tables, estimated row count is {}",
+                splits.size(),
+                sourceList.size(),
+                totalRowCount);
+        return splits.toArray(new JdbcInputSplit[0]);
+    }
+
     @Override
     public boolean reachedEnd() {
         if (noDataSource) {
@@ -160,13 +223,18 @@ public class DistributedJdbcInputFormat extends JdbcInputFormat {
 
     @Override
     protected Connection getConnection() throws SQLException {
+        useCurrentSource();
+        return JdbcUtil.getConnection(jdbcConf, this.jdbcDialect);
+    }
+
+    /** 把当前数据源的连接信息和表名设置到jdbcConf中 */
+    protected void useCurrentSource() {
         DataSourceConf currentSource = sourceList.get(sourceIndex);
         jdbcConf.setJdbcUrl(currentSource.getJdbcUrl());
         jdbcConf.setUsername(currentSource.getUserName());
         jdbcConf.setPassword(currentSource.getPassword());
         jdbcConf.setTable(currentSource.getTable());
         jdbcConf.setSchema(currentSource.getSchema());
-        return JdbcUtil.getConnection(jdbcConf, this.jdbcDialect);
     }
 
     public void setSourceList(List<DataSourceConf> sourceList) {
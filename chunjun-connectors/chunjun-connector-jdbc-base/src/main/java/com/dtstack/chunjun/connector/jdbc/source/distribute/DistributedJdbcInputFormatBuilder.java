@@ -58,6 +58,11 @@ public class DistributedJdbcInputFormatBuilder extends JdbcInputFormatBuilder {
             sb.append("JDBC distribute plugin not support restore from failed state;\n");
         }
 
+        if ("sample".equalsIgnoreCase(conf.getSplitStrategy())
+                && StringUtils.isBlank(conf.getSplitPk())) {
+            sb.append("Must specify the split column when splitStrategy is sample;\n");
+        }
+
         for (ConnectionConf connectionConf : conf.getConnection()) {
             boolean hasNoAccountInfoInConnectionConf =
                     StringUtils.isBlank(connectionConf.getUsername())
@@ -23,6 +23,7 @@ import com.dtstack.chunjun.connector.jdbc.conf.JdbcLookupConf;
 import com.dtstack.chunjun.connector.jdbc.conf.SinkConnectionConf;
 import com.dtstack.chunjun.connector.jdbc.conf.SourceConnectionConf;
 import com.dtstack.chunjun.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.chunjun.connector.jdbc.sink.ConnectionCheckMode;
 import com.dtstack.chunjun.connector.jdbc.sink.JdbcDynamicTableSink;
 import com.dtstack.chunjun.connector.jdbc.sink.JdbcOutputFormat;
 import com.dtstack.chunjun.connector.jdbc.sink.JdbcOutputFormatBuilder;
@@ -65,11 +66,16 @@ import static com.dtstack.chunjun.connector.jdbc.options.JdbcLookupOptions.VERTX
 import static com.dtstack.chunjun.connector.jdbc.options.JdbcLookupOptions.VERTX_WORKER_POOL_SIZE;
 import static com.dtstack.chunjun.connector.jdbc.options.JdbcLookupOptions.getLibConfMap;
 import static com.dtstack.chunjun.connector.jdbc.options.JdbcSinkOptions.SINK_ALL_REPLACE;
+import static com.dtstack.chunjun.connector.jdbc.options.JdbcSinkOptions.SINK_CONNECTION_CHECK_IDLE_INTERVAL;
+import static com.dtstack.chunjun.connector.jdbc.options.JdbcSinkOptions.SINK_CONNECTION_CHECK_MODE;
 import static com.dtstack.chunjun.connector.jdbc.options.JdbcSinkOptions.SINK_PARALLELISM;
 import static com.dtstack.chunjun.connector.jdbc.options.JdbcSinkOptions.SINK_SEMANTIC;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_ASYNC_TIMEOUT;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_ALL_STORAGE;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_ROWS;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_WEIGHT;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_PERIOD;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_REFRESH_INTERVAL;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_TTL;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_TYPE;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_ERROR_LIMIT;
@@ -89,6 +95,8 @@ import static com.dtstack.chunjun.source.options.SourceOptions.SCAN_QUERY_TIMEOU
 import static com.dtstack.chunjun.source.options.SourceOptions.SCAN_RESTORE_COLUMNNAME;
 import static com.dtstack.chunjun.source.options.SourceOptions.SCAN_RESTORE_COLUMNTYPE;
 import static com.dtstack.chunjun.source.options.SourceOptions.SCAN_START_LOCATION;
+import static com.dtstack.chunjun.table.options.SinkOptions.SINK_ASYNC_FLUSH;
+import static com.dtstack.chunjun.table.options.SinkOptions.SINK_ASYNC_FLUSH_MAX_INFLIGHT;
 import static com.dtstack.chunjun.table.options.SinkOptions.SINK_BUFFER_FLUSH_INTERVAL;
 import static com.dtstack.chunjun.table.options.SinkOptions.SINK_BUFFER_FLUSH_MAX_ROWS;
 import static com.dtstack.chunjun.table.options.SinkOptions.SINK_MAX_RETRIES;
@@ -169,8 +177,13 @@ public abstract class JdbcDynamicTableFactory
         jdbcConf.setAllReplace(conf.getAllReplace());
         jdbcConf.setBatchSize(readableConfig.get(SINK_BUFFER_FLUSH_MAX_ROWS));
         jdbcConf.setFlushIntervalMills(readableConfig.get(SINK_BUFFER_FLUSH_INTERVAL));
+        jdbcConf.setAsyncFlush(readableConfig.get(SINK_ASYNC_FLUSH));
+        jdbcConf.setAsyncFlushMaxInflight(readableConfig.get(SINK_ASYNC_FLUSH_MAX_INFLIGHT));
         jdbcConf.setParallelism(readableConfig.get(SINK_PARALLELISM));
         jdbcConf.setSemantic(readableConfig.get(SINK_SEMANTIC));
+        jdbcConf.setConnectionCheckMode(readableConfig.get(SINK_CONNECTION_CHECK_MODE));
+        jdbcConf.setConnectionCheckIdleMillis(
+                readableConfig.get(SINK_CONNECTION_CHECK_IDLE_INTERVAL));
 
         List<String> keyFields =
                 schema.getPrimaryKey().map(UniqueConstraint::getColumns).orElse(null);
@@ -188,6 +201,9 @@ public abstract class JdbcDynamicTableFactory
                 .setPeriod(readableConfig.get(LOOKUP_CACHE_PERIOD))
                 .setCacheSize(readableConfig.get(LOOKUP_CACHE_MAX_ROWS))
                 .setCacheTtl(readableConfig.get(LOOKUP_CACHE_TTL))
+                .setCacheAllStorage(readableConfig.get(LOOKUP_CACHE_ALL_STORAGE))
+                .setCacheMaxWeight(readableConfig.get(LOOKUP_CACHE_MAX_WEIGHT))
+                .setCacheRefreshInterval(readableConfig.get(LOOKUP_CACHE_REFRESH_INTERVAL))
                 .setCache(readableConfig.get(LOOKUP_CACHE_TYPE))
                 .setMaxRetryTimes(readableConfig.get(LOOKUP_MAX_RETRIES))
                 .setErrorLimit(readableConfig.get(LOOKUP_ERROR_LIMIT))
@@ -278,6 +294,9 @@ public abstract class JdbcDynamicTableFactory
         optionalOptions.add(LOOKUP_CACHE_PERIOD);
         optionalOptions.add(LOOKUP_CACHE_MAX_ROWS);
         optionalOptions.add(LOOKUP_CACHE_TTL);
+        optionalOptions.add(LOOKUP_CACHE_ALL_STORAGE);
+        optionalOptions.add(LOOKUP_CACHE_MAX_WEIGHT);
+        optionalOptions.add(LOOKUP_CACHE_REFRESH_INTERVAL);
         optionalOptions.add(LOOKUP_CACHE_TYPE);
         optionalOptions.add(LOOKUP_MAX_RETRIES);
         optionalOptions.add(LOOKUP_ERROR_LIMIT);
@@ -287,10 +306,14 @@ public abstract class JdbcDynamicTableFactory
 
         optionalOptions.add(SINK_BUFFER_FLUSH_MAX_ROWS);
         optionalOptions.add(SINK_BUFFER_FLUSH_INTERVAL);
+        optionalOptions.add(SINK_ASYNC_FLUSH);
+        optionalOptions.add(SINK_ASYNC_FLUSH_MAX_INFLIGHT);
         optionalOptions.add(SINK_MAX_RETRIES);
         optionalOptions.add(SINK_ALL_REPLACE);
         optionalOptions.add(SINK_PARALLELISM);
         optionalOptions.add(SINK_SEMANTIC);
+        optionalOptions.add(SINK_CONNECTION_CHECK_MODE);
+        optionalOptions.add(SINK_CONNECTION_CHECK_IDLE_INTERVAL);
         return optionalOptions;
     }
 
@@ -334,6 +357,16 @@ public abstract class JdbcDynamicTableFactory
                             Semantic.AT_LEAST_ONCE.getAlisName(),
                             config.get(SINK_SEMANTIC)));
         }
+        try {
+            ConnectionCheckMode.getByName(config.get(SINK_CONNECTION_CHECK_MODE));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The value of '%s' option should only be one of %s, but is %s.",
+                            SINK_CONNECTION_CHECK_MODE.key(),
+                            Arrays.toString(ConnectionCheckMode.values()),
+                            config.get(SINK_CONNECTION_CHECK_MODE)));
+        }
         String orderByColumn = config.get(SCAN_ORDER_BY_COLUMN);
         if (orderByColumn != null) {
             boolean isExist =
@@ -84,6 +84,38 @@ public class SqlUtil {
         return querySplitRangeSql;
     }
 
+    /**
+     * 查询切分键样本的sql，结果按切分键排序，不包含切分键为null的数据
+     *
+     * @param ratio 采样比例，自定义sql不支持数据库采样，读取全部切分键
+     */
+    public static String buildSplitKeySampleSql(
+            JdbcConf jdbcConf, JdbcDialect jdbcDialect, double ratio) {
+        if (StringUtils.isEmpty(jdbcConf.getCustomSql())) {
+            return jdbcDialect.getSplitKeySampleSql(
+                    jdbcConf.getSchema(),
+                    jdbcConf.getTable(),
+                    jdbcConf.getSplitPk(),
+                    jdbcConf.getWhere(),
+                    ratio);
+        }
+        String splitPk =
+                JdbcUtil.TEMPORARY_TABLE_NAME
+                        + "."
+                        + jdbcDialect.quoteIdentifier(jdbcConf.getSplitPk());
+        String whereFilter = " WHERE " + splitPk + " IS NOT NULL";
+        if (StringUtils.isNotBlank(jdbcConf.getWhere())) {
+            whereFilter += " AND (" + jdbcConf.getWhere() + ")";
+        }
+        return String.format(
+                "SELECT %s FROM ( %s ) %s%s ORDER BY %s",
+                splitPk,
+                jdbcConf.getCustomSql(),
+                JdbcUtil.TEMPORARY_TABLE_NAME,
+                whereFilter,
+                splitPk);
+    }
+
     /** create querySql for inputSplit * */
     public static String buildQuerySqlBySplit(
             JdbcConf jdbcConf,
@@ -202,7 +234,9 @@ public class SqlUtil {
             JdbcInputSplit jdbcInputSplit,
             String splitColumn) {
         String sql;
-        if ("range".equalsIgnoreCase(splitStrategy)) {
+        if ("range".equalsIgnoreCase(splitStrategy)
+                || "chunk".equalsIgnoreCase(splitStrategy)
+                || "sample".equalsIgnoreCase(splitStrategy)) {
             sql = jdbcDialect.getSplitRangeFilter(jdbcInputSplit, splitColumn);
         } else {
             sql = jdbcDialect.getSplitModFilter(jdbcInputSplit, splitColumn);
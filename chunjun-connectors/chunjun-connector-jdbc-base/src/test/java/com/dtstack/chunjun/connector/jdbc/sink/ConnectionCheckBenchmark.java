@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.jdbc.sink;
+
+import com.dtstack.chunjun.conf.FieldConf;
+import com.dtstack.chunjun.connector.jdbc.conf.JdbcConf;
+import com.dtstack.chunjun.connector.jdbc.conf.SinkConnectionConf;
+import com.dtstack.chunjun.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.chunjun.converter.RawTypeConverter;
+import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.column.BigDecimalColumn;
+import com.dtstack.chunjun.element.column.StringColumn;
+
+import org.apache.flink.api.common.accumulators.LongCounter;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.RowData;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rows per second written by {@link JdbcOutputFormat#writeRecord} for each {@link
+ * ConnectionCheckMode}.
+ *
+ * <p>The H2 database is reached over its TCP server so that {@link Connection#isValid(int)} is a
+ * real round-trip, as it is for the databases the sink talks to. Run it with {@link #main}; it is
+ * not picked up by surefire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConnectionCheckBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"record", "idle", "batch", "failure"})
+    public String mode;
+
+    private Server server;
+    private Connection connection;
+    private BenchmarkOutputFormat format;
+    private RowData[] rows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0").start();
+        String url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:bench";
+        // 保持一个连接，避免sink的连接关闭后内存库被删除
+        connection = DriverManager.getConnection(url, "sa", "");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE T (ID BIGINT, NAME VARCHAR(64))");
+        }
+
+        SinkConnectionConf connectionConf = new SinkConnectionConf();
+        connectionConf.setJdbcUrl(url);
+        connectionConf.setTable(Collections.singletonList("T"));
+        JdbcConf jdbcConf = new JdbcConf();
+        jdbcConf.setConnection(Collections.singletonList(connectionConf));
+        jdbcConf.setUsername("sa");
+        jdbcConf.setColumn(Arrays.asList(field("ID", "BIGINT"), field("NAME", "VARCHAR")));
+        jdbcConf.setBatchSize(BATCH_SIZE);
+        jdbcConf.setConnectionCheckMode(mode);
+
+        format = new BenchmarkOutputFormat();
+        format.setConfig(jdbcConf);
+        format.setJdbcConf(jdbcConf);
+        format.setJdbcDialect(new H2Dialect());
+        format.openForBenchmark();
+
+        rows = new RowData[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            ColumnRowData row = new ColumnRowData(2);
+            row.addField(new BigDecimalColumn(i));
+            row.addField(new StringColumn("name"));
+            rows[i] = row;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("TRUNCATE TABLE T");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        format.closeInternal();
+        connection.close();
+        server.stop();
+    }
+
+    /** 每次调用写满一个批次，触发一次writeMultipleRecordsInternal */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long writeBatch() {
+        for (RowData row : rows) {
+            format.writeRecord(row);
+        }
+        return format.getWrittenRows();
+    }
+
+    private static FieldConf field(String name, String type) {
+        FieldConf fieldConf = new FieldConf();
+        fieldConf.setName(name);
+        fieldConf.setType(type);
+        return fieldConf;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                        new OptionsBuilder()
+                                .include(ConnectionCheckBenchmark.class.getSimpleName())
+                                .build())
+                .run();
+    }
+
+    /** 跳过依赖RuntimeContext的部分，只初始化同步批量写需要的状态 */
+    private static class BenchmarkOutputFormat extends JdbcOutputFormat {
+
+        void openForBenchmark() {
+            batchSize = config.getBatchSize();
+            rows = new ArrayList<>(batchSize);
+            flushEnable = new AtomicBoolean(true);
+            numWriteCounter = new LongCounter();
+            bytesWriteCounter = new LongCounter();
+            snapshotWriteCounter = new LongCounter();
+            initRowSizeCalculator();
+            openInternal(0, 1);
+        }
+
+        long getWrittenRows() {
+            return numWriteCounter.getLocalValue();
+        }
+    }
+
+    private static class H2Dialect implements JdbcDialect {
+
+        @Override
+        public String dialectName() {
+            return "H2";
+        }
+
+        @Override
+        public boolean canHandle(String url) {
+            return url.startsWith("jdbc:h2:");
+        }
+
+        @Override
+        public RawTypeConverter getRawTypeConverter() {
+            return type ->
+                    "BIGINT".equalsIgnoreCase(type) ? DataTypes.BIGINT() : DataTypes.STRING();
+        }
+
+        @Override
+        public Optional<String> defaultDriverName() {
+            return Optional.of("org.h2.Driver");
+        }
+    }
+}
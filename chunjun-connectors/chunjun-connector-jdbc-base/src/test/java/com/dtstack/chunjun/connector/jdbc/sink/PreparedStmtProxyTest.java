@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.jdbc.sink;
+
+import com.dtstack.chunjun.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.chunjun.connector.jdbc.statement.FieldNamedPreparedStatement;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PreparedStmtProxyTest {
+
+    private PreparedStmtProxy proxy;
+    private FieldNamedPreparedStatement insertA;
+    private FieldNamedPreparedStatement deleteA;
+    private FieldNamedPreparedStatement insertB;
+
+    @Before
+    public void setUp() throws SQLException {
+        proxy = new PreparedStmtProxy(mock(Connection.class), mock(JdbcDialect.class), false);
+        insertA = mock(FieldNamedPreparedStatement.class);
+        deleteA = mock(FieldNamedPreparedStatement.class);
+        insertB = mock(FieldNamedPreparedStatement.class);
+        when(insertA.executeBatch()).thenReturn(new int[] {1, 1});
+        when(deleteA.executeBatch()).thenReturn(new int[] {1});
+        when(insertB.executeBatch()).thenReturn(new int[] {1});
+    }
+
+    @Test
+    public void testSameStatementIsExecutedOnce() throws SQLException {
+        addBatch(insertA, "s.a");
+        addBatch(insertB, "s.b");
+        addBatch(insertA, "s.a");
+
+        Assert.assertArrayEquals(new int[] {1, 1, 1}, proxy.executeBatch());
+        verify(insertA, times(2)).addBatch();
+        verify(insertA, times(1)).executeBatch();
+        verify(insertB, times(1)).executeBatch();
+    }
+
+    @Test
+    public void testOrderOfOneTableIsKept() throws SQLException {
+        addBatch(insertA, "s.a");
+        addBatch(deleteA, "s.a");
+        // insert after delete on the same table, the pending batches must be executed first
+        addBatch(insertA, "s.a");
+
+        InOrder inOrder = inOrder(insertA, deleteA);
+        inOrder.verify(insertA).executeBatch();
+        inOrder.verify(deleteA).executeBatch();
+        inOrder.verify(insertA).addBatch();
+
+        Assert.assertArrayEquals(new int[] {1, 1, 1, 1, 1}, proxy.executeBatch());
+        verify(insertA, times(2)).executeBatch();
+        verify(deleteA, times(1)).executeBatch();
+    }
+
+    @Test
+    public void testClearBatch() throws SQLException {
+        addBatch(insertA, "s.a");
+        addBatch(deleteA, "s.a");
+        proxy.clearBatch();
+
+        verify(insertA).clearBatch();
+        verify(deleteA).clearBatch();
+        Assert.assertEquals(0, proxy.executeBatch().length);
+    }
+
+    private void addBatch(FieldNamedPreparedStatement pstmt, String tableKey) throws SQLException {
+        proxy.currentFieldNamedPstmt = pstmt;
+        proxy.currentTableKey = tableKey;
+        proxy.addBatch();
+    }
+}
@@ -19,8 +19,13 @@
 package com.dtstack.chunjun.connector.jdbc.source;
 
 import com.dtstack.chunjun.connector.jdbc.conf.JdbcConf;
+import com.dtstack.chunjun.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.chunjun.restore.FormatState;
+
+import org.apache.flink.core.io.InputSplit;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -34,7 +39,10 @@ import org.slf4j.Logger;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /** @author liuliu 2022/4/15 */
 @RunWith(PowerMockRunner.class)
@@ -79,4 +87,117 @@ public class JdbcInputFormatTest {
         Arrays.stream(splitsInternalBySplitRange).forEach(System.out::println);
         assert splitsInternalBySplitRange.length == 6;
     }
+
+    @Test
+    public void createChunkBoundariesTest() {
+        // 没有预估行数时按切分键连续计算
+        List<BigDecimal> boundaries =
+                JdbcInputFormat.createChunkBoundaries(
+                        BigDecimal.ONE, BigDecimal.valueOf(1000), -1, 100, 3);
+        Assert.assertEquals(9, boundaries.size());
+        Assert.assertEquals(BigDecimal.valueOf(101), boundaries.get(0));
+        Assert.assertEquals(BigDecimal.valueOf(901), boundaries.get(8));
+
+        // 切分键稀疏时按预估行数计算，分片数不小于并行度
+        boundaries =
+                JdbcInputFormat.createChunkBoundaries(
+                        BigDecimal.ONE, BigDecimal.valueOf(1000), 50, 100, 3);
+        Assert.assertEquals(
+                Arrays.asList(BigDecimal.valueOf(335), BigDecimal.valueOf(669)), boundaries);
+
+        Assert.assertTrue(
+                JdbcInputFormat.createChunkBoundaries(BigDecimal.TEN, BigDecimal.TEN, 1, 1, 3)
+                        .isEmpty());
+
+        // 没有预估行数且切分键稀疏时分片数不超过上限
+        boundaries =
+                JdbcInputFormat.createChunkBoundaries(
+                        BigDecimal.ONE, new BigDecimal("10000000000000"), -1, 100, 3);
+        Assert.assertTrue(boundaries.size() < JdbcInputFormat.MAX_CHUNK_NUM);
+    }
+
+    @Test
+    public void restoreChunkStateTest() {
+        JdbcInputSplit first = new JdbcInputSplit(0, 2, 0, null, null, null, "100", "chunk", false);
+        JdbcInputSplit second =
+                new JdbcInputSplit(1, 2, 1, null, null, "100", null, "chunk", false);
+        String firstId = JdbcChunkState.chunkId(first);
+        String secondId = JdbcChunkState.chunkId(second);
+
+        JdbcChunkState finished = new JdbcChunkState();
+        finished.setOffset(firstId, "20");
+        finished.finish(firstId);
+        JdbcChunkState stale = new JdbcChunkState();
+        stale.setOffset(firstId, "10");
+        stale.setOffset(secondId, "150");
+        JdbcChunkState latest = new JdbcChunkState();
+        latest.setOffset(secondId, "170");
+
+        JdbcChunkState restored =
+                JdbcChunkState.restore(
+                        Arrays.asList(
+                                new FormatState(0, finished),
+                                new FormatState(1, stale),
+                                new FormatState(2, latest),
+                                null));
+        Assert.assertTrue(restored.isFinished(firstId));
+        Assert.assertNull(restored.getOffset(firstId));
+        Assert.assertFalse(restored.isFinished(secondId));
+        Assert.assertEquals("170", restored.getOffset(secondId));
+
+        JdbcChunkSplitAssigner assigner =
+                new JdbcChunkSplitAssigner(new InputSplit[] {first, second});
+        Assert.assertSame(first, assigner.getNextInputSplit(null, 0));
+        assigner.returnInputSplit(Collections.singletonList(first), 0);
+        Assert.assertSame(first, assigner.getNextInputSplit(null, 1));
+        Assert.assertSame(second, assigner.getNextInputSplit(null, 1));
+        Assert.assertNull(assigner.getNextInputSplit(null, 0));
+    }
+
+    @Test
+    public void restoreNullSplitKeyTest() throws Exception {
+        JdbcInputSplit first = new JdbcInputSplit(0, 2, 0, null, null, null, "100", "chunk", false);
+
+        // null排在最前面，读到非null的切分键后null的数据不再读取
+        JdbcChunkState state = readChunk(first, null, null, 1);
+        Assert.assertEquals("`id` IS NOT NULL", restoreChunkFilter(first, state));
+        state = readChunk(first, null, null, 1, 1, 2);
+        Assert.assertEquals("`id` > 1", restoreChunkFilter(first, state));
+
+        // null排在最后面，读到null之前的切分键已经读完，null的数据需要重新读取
+        state = readChunk(first, 1, 2, null);
+        Assert.assertEquals("(`id` > 2 OR `id` IS NULL)", restoreChunkFilter(first, state));
+    }
+
+    private JdbcInputFormat chunkInputFormat(JdbcInputSplit split, List<FormatState> states) {
+        JdbcConf jdbcConf = new JdbcConf();
+        jdbcConf.setSplitPk("id");
+        JdbcDialect jdbcDialect = PowerMockito.mock(JdbcDialect.class);
+        PowerMockito.when(jdbcDialect.quoteIdentifier(Mockito.anyString()))
+                .thenAnswer(invocation -> "`" + invocation.getArgument(0) + "`");
+
+        JdbcInputFormat format = new JdbcInputFormat();
+        format.setJdbcConf(jdbcConf);
+        format.setJdbcDialect(jdbcDialect);
+        format.setRestoreStates(states);
+        Whitebox.setInternalState(format, "currentChunkId", JdbcChunkState.chunkId(split));
+        Whitebox.setInternalState(format, "splitPkIndex", 0);
+        return format;
+    }
+
+    private JdbcChunkState readChunk(JdbcInputSplit split, Object... splitKeys) throws Exception {
+        JdbcInputFormat format = chunkInputFormat(split, new ArrayList<>());
+        for (Object splitKey : splitKeys) {
+            Whitebox.invokeMethod(format, "updateChunkOffset", new Object[] {splitKey});
+        }
+        return format.getChunkState();
+    }
+
+    private String restoreChunkFilter(JdbcInputSplit split, JdbcChunkState state) throws Exception {
+        JdbcInputFormat format =
+                chunkInputFormat(split, Collections.singletonList(new FormatState(0, state)));
+        List<String> whereList = new ArrayList<>();
+        Whitebox.invokeMethod(format, "buildChunkOffsetFilter", split, whereList);
+        return String.join(" AND ", whereList);
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.jdbc.source;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class JdbcSplitBoundaryPlannerTest {
+
+    @Test
+    public void selectBoundariesTest() {
+        // 雪花id稀疏分布，按值等分时大部分数据落在最后一个分片
+        List<Long> samples = new ArrayList<>();
+        for (long i = 0; i < 90; i++) {
+            samples.add(i);
+        }
+        for (long i = 0; i < 10; i++) {
+            samples.add(1_000_000_000_000L + i);
+        }
+        Assert.assertEquals(
+                Arrays.asList(25L, 50L, 75L),
+                JdbcSplitBoundaryPlanner.selectBoundaries(samples, 4));
+
+        List<String> keys = Arrays.asList("a", "b", "b", "b", "b", "b", "c", "d");
+        Assert.assertEquals(
+                Arrays.asList("b", "c"), JdbcSplitBoundaryPlanner.selectBoundaries(keys, 4));
+        Assert.assertEquals(
+                Collections.emptyList(), JdbcSplitBoundaryPlanner.selectBoundaries(keys, 1));
+        Assert.assertEquals(
+                Collections.emptyList(),
+                JdbcSplitBoundaryPlanner.selectBoundaries(Collections.emptyList(), 4));
+    }
+
+    @Test
+    public void orderedSampleTest() {
+        JdbcSplitBoundaryPlanner.OrderedSample<Integer> sample =
+                new JdbcSplitBoundaryPlanner.OrderedSample<>(10);
+        for (int i = 0; i < 1000; i++) {
+            sample.add(i);
+        }
+        List<Integer> values = sample.getValues();
+        Assert.assertEquals(1000, sample.getSeen());
+        Assert.assertTrue(values.size() >= 10 && values.size() < 20);
+        Assert.assertEquals(0, (int) values.get(0));
+        // 等间隔保留，顺序不变
+        int stride = values.get(1) - values.get(0);
+        for (int i = 1; i < values.size(); i++) {
+            Assert.assertEquals(stride, values.get(i) - values.get(i - 1));
+        }
+        Assert.assertTrue(values.get(values.size() - 1) >= 1000 - stride);
+    }
+}
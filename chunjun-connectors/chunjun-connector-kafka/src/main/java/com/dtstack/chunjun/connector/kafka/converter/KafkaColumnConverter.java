@@ -25,9 +25,11 @@ import com.dtstack.chunjun.converter.AbstractRowConverter;
 import com.dtstack.chunjun.converter.IDeserializationConverter;
 import com.dtstack.chunjun.decoder.IDecode;
 import com.dtstack.chunjun.decoder.JsonDecoder;
+import com.dtstack.chunjun.decoder.JsonProjectionDecoder;
 import com.dtstack.chunjun.decoder.TextDecoder;
 import com.dtstack.chunjun.element.AbstractBaseColumn;
 import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.PrimitiveRowData;
 import com.dtstack.chunjun.element.column.BigDecimalColumn;
 import com.dtstack.chunjun.element.column.BooleanColumn;
 import com.dtstack.chunjun.element.column.MapColumn;
@@ -74,6 +76,8 @@ public class KafkaColumnConverter extends AbstractRowConverter<String, Object, b
     private final KafkaConf kafkaConf;
     /** kafka sink out fields */
     private List<String> outList;
+    /** source json msg decode, only extract the configured fields */
+    private JsonProjectionDecoder projectionDecoder;
 
     public KafkaColumnConverter(KafkaConf kafkaConf, List<String> keyTypeList) {
         this.kafkaConf = kafkaConf;
@@ -105,11 +109,19 @@ public class KafkaColumnConverter extends AbstractRowConverter<String, Object, b
                 toInternalConverters.add(
                         wrapIntoNullableInternalConverter(createInternalConverter(s)));
             }
+            this.projectionDecoder =
+                    new JsonProjectionDecoder(
+                            kafkaConf.getColumn().stream()
+                                    .map(FieldConf::getName)
+                                    .collect(Collectors.toList()));
         }
     }
 
     @Override
     public RowData toInternal(String input) throws Exception {
+        if (projectionDecoder != null) {
+            return toInternal(input.getBytes(StandardCharsets.UTF_8));
+        }
         Map<String, Object> map = decode.decode(input);
         ColumnRowData result;
         if (toInternalConverters == null || toInternalConverters.size() == 0) {
@@ -129,11 +141,38 @@ public class KafkaColumnConverter extends AbstractRowConverter<String, Object, b
         return result;
     }
 
+    /**
+     * convert kafka record value directly, json msg with column configured is parsed by a streaming
+     * parser which only extracts the configured fields
+     *
+     * @param input kafka record value
+     * @return RowData
+     * @throws Exception Exception
+     */
+    public RowData toInternal(byte[] input) throws Exception {
+        if (projectionDecoder == null) {
+            return toInternal(new String(input, StandardCharsets.UTF_8));
+        }
+        List<FieldConf> fieldConfList = kafkaConf.getColumn();
+        Object[] values = new Object[fieldConfList.size()];
+        projectionDecoder.decode(input, values);
+        ColumnRowData result = new ColumnRowData(fieldConfList.size());
+        for (int i = 0; i < fieldConfList.size(); i++) {
+            AbstractBaseColumn baseColumn =
+                    (AbstractBaseColumn) toInternalConverters.get(i).deserialize(values[i]);
+            result.addField(assembleFieldProps(fieldConfList.get(i), baseColumn));
+        }
+        return result;
+    }
+
     @Override
     public byte[] toExternal(RowData rowData, byte[] output) throws Exception {
         Map<String, Object> map;
         int arity = rowData.getArity();
-        ColumnRowData row = (ColumnRowData) rowData;
+        ColumnRowData row =
+                rowData instanceof PrimitiveRowData
+                        ? ((PrimitiveRowData) rowData).toColumnRowData()
+                        : (ColumnRowData) rowData;
 
         if (kafkaConf.getTableFields() != null
                 && kafkaConf.getTableFields().size() >= arity
@@ -18,6 +18,7 @@
 package com.dtstack.chunjun.connector.kafka.serialization;
 
 import com.dtstack.chunjun.connector.kafka.conf.KafkaConf;
+import com.dtstack.chunjun.connector.kafka.converter.KafkaColumnConverter;
 import com.dtstack.chunjun.connector.kafka.source.DynamicKafkaDeserializationSchema;
 import com.dtstack.chunjun.converter.AbstractRowConverter;
 import com.dtstack.chunjun.util.JsonUtil;
@@ -65,8 +66,12 @@ public class RowDeserializationSchema extends DynamicKafkaDeserializationSchema
     public void deserialize(ConsumerRecord<byte[], byte[]> record, Collector<RowData> collector) {
         try {
             beforeDeserialize(record);
-            collector.collect(
-                    converter.toInternal(new String(record.value(), StandardCharsets.UTF_8)));
+            if (converter instanceof KafkaColumnConverter) {
+                collector.collect(((KafkaColumnConverter) converter).toInternal(record.value()));
+            } else {
+                collector.collect(
+                        converter.toInternal(new String(record.value(), StandardCharsets.UTF_8)));
+            }
         } catch (Exception e) {
             dirtyManager.collect(new String(record.value(), StandardCharsets.UTF_8), e, null);
         }
@@ -27,7 +27,6 @@ import com.dtstack.chunjun.util.ThreadUtil;
 
 import org.apache.flink.table.data.GenericRowData;
 
-import com.google.common.collect.Maps;
 import org.apache.kudu.client.KuduClient;
 import org.apache.kudu.client.KuduException;
 import org.apache.kudu.client.KuduScanner;
@@ -38,8 +37,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -68,8 +65,6 @@ public class KuduAllTableFunction extends AbstractAllTableFunction {
     @Override
     @SuppressWarnings("unchecked")
     protected void loadData(Object cacheRef) {
-        Map<String, List<Map<String, Object>>> tmpCache =
-                (Map<String, List<Map<String, Object>>>) cacheRef;
         KuduScanner scanner = getKuduScannerWithRetry(kuduLookupConf);
         // load data from table
         if (Objects.isNull(scanner)) {
@@ -87,12 +82,7 @@ public class KuduAllTableFunction extends AbstractAllTableFunction {
                 while (results.hasNext()) {
                     RowResult result = results.next();
                     GenericRowData rowData = (GenericRowData) rowConverter.toInternalLookup(result);
-                    Map<String, Object> oneRow = Maps.newHashMap();
-                    for (int i = 0; i < fieldsName.length; i++) {
-                        Object object = rowData.getField(i);
-                        oneRow.put(fieldsName[i].trim(), object);
-                    }
-                    buildCache(oneRow, tmpCache);
+                    buildCache(rowData, cacheRef);
                 }
             } catch (Exception e) {
                 LOG.error("", e);
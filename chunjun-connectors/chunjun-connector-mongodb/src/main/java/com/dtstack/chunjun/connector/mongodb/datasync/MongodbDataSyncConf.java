@@ -51,6 +51,12 @@ public class MongodbDataSyncConf extends ChunJunCommonConf implements Serializab
 
     private int fetchSize;
 
+    /** 分片的切分键，需要有升序的单字段索引 */
+    private String splitKey;
+
+    /** 无法使用splitVector计算分片时采样的文档数 */
+    private int splitSampleSize;
+
     private String writeMode;
 
     private String replaceKey;
@@ -179,6 +185,22 @@ public class MongodbDataSyncConf extends ChunJunCommonConf implements Serializab
         this.fetchSize = fetchSize;
     }
 
+    public String getSplitKey() {
+        return splitKey;
+    }
+
+    public void setSplitKey(String splitKey) {
+        this.splitKey = splitKey;
+    }
+
+    public int getSplitSampleSize() {
+        return splitSampleSize;
+    }
+
+    public void setSplitSampleSize(int splitSampleSize) {
+        this.splitSampleSize = splitSampleSize;
+    }
+
     public String getWriteMode() {
         return writeMode;
     }
@@ -232,6 +254,11 @@ public class MongodbDataSyncConf extends ChunJunCommonConf implements Serializab
                 + '\''
                 + ", fetchSize="
                 + fetchSize
+                + ", splitKey='"
+                + splitKey
+                + '\''
+                + ", splitSampleSize="
+                + splitSampleSize
                 + ", writeMode='"
                 + writeMode
                 + '\''
@@ -20,6 +20,7 @@ package com.dtstack.chunjun.connector.mongodb.source;
 
 import com.dtstack.chunjun.connector.mongodb.MongoClientFactory;
 import com.dtstack.chunjun.connector.mongodb.conf.MongoClientConf;
+import com.dtstack.chunjun.restore.FormatState;
 import com.dtstack.chunjun.source.format.BaseRichInputFormat;
 import com.dtstack.chunjun.throwable.ReadRecordException;
 import com.dtstack.chunjun.util.ExceptionUtil;
@@ -37,9 +38,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 /**
+ * 按切分键的范围分片，每个分片通过切分键的索引按顺序读取，读取进度保存在{@link MongodbSplitState}中，恢复时从上次读完的切分键之后继续读取。
+ *
  * @author Ada Wong
  * @program chunjun
  * @create 2021/06/21
@@ -48,13 +52,35 @@ public class MongodbInputFormat extends BaseRichInputFormat {
 
     private static final Logger LOG = LoggerFactory.getLogger(MongodbInputFormat.class);
 
+    public static final String DEFAULT_SPLIT_KEY = "_id";
+
+    public static final int DEFAULT_SPLIT_SAMPLE_SIZE = 10000;
+
     private final MongoClientConf mongoClientConf;
     private final Bson filter;
     private final int fetchSize;
 
+    /** 切分键，需要有升序的单字段索引 */
+    private String splitKey = DEFAULT_SPLIT_KEY;
+    /** 无法使用splitVector时采样的文档数 */
+    private int splitSampleSize = DEFAULT_SPLIT_SAMPLE_SIZE;
+
     private transient MongoCursor<Document> cursor;
     private transient MongoClient mongoClient;
 
+    /** 下一条要返回的文档 */
+    private transient Document nextDocument;
+    /** 所有分片的读取进度 */
+    private transient MongodbSplitState splitState;
+    /** 当前分片的标识 */
+    private transient String currentSplitId;
+    /** 恢复时跳过的已经读完的切分键 */
+    private transient Object skipKey;
+    /** 当前正在读取的切分键 */
+    private transient Object lastKey;
+    /** 当前分片累计读取的条数 */
+    private transient long position;
+
     public MongodbInputFormat(MongoClientConf mongoClientConf, Bson filter, int fetchSize) {
         this.mongoClientConf = mongoClientConf;
         this.filter = filter;
@@ -63,8 +89,6 @@ public class MongodbInputFormat extends BaseRichInputFormat {
 
     @Override
     protected InputSplit[] createInputSplitsInternal(int minNumSplits) throws Exception {
-        ArrayList<MongodbInputSplit> splits = new ArrayList<>();
-
         MongoClient client = null;
         try {
             client = MongoClientFactory.createClient(mongoClientConf);
@@ -74,36 +98,46 @@ public class MongodbInputFormat extends BaseRichInputFormat {
 
             // 不使用 collection.countDocuments() 获取总数是因为这个方法在大数据量时超时，导致出现超时异常结束任务
             long docNum = collection.estimatedDocumentCount();
-            if (docNum <= minNumSplits) {
-                splits.add(new MongodbInputSplit(0, (int) docNum));
-                return splits.toArray(new MongodbInputSplit[splits.size()]);
-            }
-
-            long size = Math.floorDiv(docNum, minNumSplits);
-            for (int i = 0; i < minNumSplits; i++) {
-                splits.add(new MongodbInputSplit((int) (i * size), (int) size));
-            }
+            List<Object> boundaries =
+                    new MongodbSplitPlanner(splitKey, splitSampleSize)
+                            .plan(
+                                    client.getDatabase(mongoClientConf.getDatabase()),
+                                    collection,
+                                    docNum,
+                                    minNumSplits);
 
-            if (size * minNumSplits < docNum) {
-                splits.add(
-                        new MongodbInputSplit(
-                                (int) (size * minNumSplits), (int) (docNum - size * minNumSplits)));
+            MongodbInputSplit[] splits = new MongodbInputSplit[boundaries.size() + 1];
+            String lowerBound = null;
+            for (int i = 0; i < splits.length; i++) {
+                String upperBound =
+                        i < boundaries.size()
+                                ? MongodbSplitPlanner.toBound(splitKey, boundaries.get(i))
+                                : null;
+                splits[i] = new MongodbInputSplit(i, lowerBound, upperBound);
+                lowerBound = upperBound;
             }
+            return splits;
         } catch (Exception e) {
             LOG.error("error to create inputSplits, e = {}", ExceptionUtil.getErrorMessage(e));
             throw e;
         } finally {
             closeMongo(client, null);
         }
-
-        return splits.toArray(new MongodbInputSplit[splits.size()]);
     }
 
     @Override
     protected void openInternal(InputSplit inputSplit) throws IOException {
         LOG.info("inputSplit = {}", inputSplit);
         MongodbInputSplit split = (MongodbInputSplit) inputSplit;
-        FindIterable<Document> findIterable;
+        currentSplitId = split.getSplitId();
+        nextDocument = null;
+        lastKey = null;
+        skipKey = null;
+        position = 0;
+        if (getSplitState().isFinished(currentSplitId)) {
+            LOG.info("skip split [{}], it has been read before restore", currentSplitId);
+            return;
+        }
 
         mongoClient = MongoClientFactory.createClient(mongoClientConf);
         MongoCollection<Document> collection =
@@ -112,20 +146,39 @@ public class MongodbInputFormat extends BaseRichInputFormat {
                         mongoClientConf.getDatabase(),
                         mongoClientConf.getCollection());
 
+        FindIterable<Document> findIterable;
         if (filter == null) {
             findIterable = collection.find();
         } else {
             findIterable = collection.find(filter);
         }
 
-        findIterable =
-                findIterable.skip(split.getSkip()).limit(split.getLimit()).batchSize(fetchSize);
+        // min和max按索引的顺序限定范围，不同bson类型的切分键也只会落在一个分片中
+        Document keyPattern = new Document(splitKey, 1);
+        Bson lowerBound = MongodbSplitPlanner.parseBound(split.getLowerBound());
+        MongodbSplitState.Offset offset = getSplitState().getOffset(currentSplitId);
+        if (offset != null) {
+            LOG.info("resume split [{}] from {}", currentSplitId, offset);
+            Document offsetKey = MongodbSplitPlanner.parseBound(offset.getKey());
+            lowerBound = offsetKey;
+            skipKey = offsetKey.get(splitKey);
+            position = offset.getPosition();
+        }
+        if (lowerBound != null) {
+            findIterable = findIterable.min(lowerBound);
+        }
+        if (split.getUpperBound() != null) {
+            findIterable = findIterable.max(MongodbSplitPlanner.parseBound(split.getUpperBound()));
+        }
+        findIterable = findIterable.hint(keyPattern).sort(keyPattern).batchSize(fetchSize);
         cursor = findIterable.iterator();
     }
 
     @Override
     protected RowData nextRecordInternal(RowData rowData) throws ReadRecordException {
-        Document document = cursor.next();
+        Document document = nextDocument;
+        nextDocument = null;
+        updateOffset(MongodbSplitPlanner.getKeyValue(document, splitKey));
         try {
             return rowConverter.toInternal(document);
         } catch (Exception e) {
@@ -133,9 +186,42 @@ public class MongodbInputFormat extends BaseRichInputFormat {
         }
     }
 
+    /** 切分键变化时，上一个切分键的数据已经读完 */
+    private synchronized void updateOffset(Object key) {
+        if (lastKey != null && !Objects.equals(lastKey, key)) {
+            getSplitState()
+                    .setOffset(
+                            currentSplitId,
+                            new MongodbSplitState.Offset(
+                                    MongodbSplitPlanner.toBound(splitKey, lastKey), position));
+        }
+        lastKey = key;
+        position++;
+    }
+
+    /** reachedEnd不持有checkpoint锁，分片进度的修改和拷贝都在当前对象的锁内进行 */
+    @Override
+    public synchronized FormatState getFormatState() {
+        super.getFormatState();
+        if (formatState != null) {
+            formatState.setState(getSplitState().copy());
+        }
+        return formatState;
+    }
+
+    protected synchronized MongodbSplitState getSplitState() {
+        if (splitState == null) {
+            splitState = MongodbSplitState.restore(restoreStates);
+            LOG.info("init split state: {}", splitState);
+        }
+        return splitState;
+    }
+
     @Override
     protected void closeInternal() throws IOException {
         closeMongo(mongoClient, cursor);
+        cursor = null;
+        mongoClient = null;
     }
 
     private void closeMongo(MongoClient mongoClient, MongoCursor<Document> cursor) {
@@ -154,6 +240,36 @@ public class MongodbInputFormat extends BaseRichInputFormat {
 
     @Override
     public boolean reachedEnd() throws IOException {
-        return !cursor.hasNext();
+        if (cursor == null) {
+            return true;
+        }
+        while (nextDocument == null && cursor.hasNext()) {
+            Document document = cursor.next();
+            // min包含下界，跳过恢复前已经读完的切分键
+            if (skipKey != null
+                    && Objects.equals(
+                            skipKey, MongodbSplitPlanner.getKeyValue(document, splitKey))) {
+                continue;
+            }
+            skipKey = null;
+            nextDocument = document;
+        }
+        if (nextDocument == null) {
+            finishSplit();
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized void finishSplit() {
+        getSplitState().finish(currentSplitId);
+    }
+
+    public void setSplitKey(String splitKey) {
+        this.splitKey = splitKey;
+    }
+
+    public void setSplitSampleSize(int splitSampleSize) {
+        this.splitSampleSize = splitSampleSize;
     }
 }
@@ -38,7 +38,15 @@ public class MongodbInputFormatBuilder extends BaseRichInputFormatBuilder<Mongod
         MongoClientConf clientConf =
                 MongoClientConfFactory.createMongoClientConf(mongodbDataSyncConf);
         Bson filter = parseFilter(mongodbDataSyncConf.getFilter());
-        return newBuild(clientConf, filter, mongodbDataSyncConf.getFetchSize());
+        MongodbInputFormatBuilder builder =
+                newBuild(clientConf, filter, mongodbDataSyncConf.getFetchSize());
+        if (StringUtils.isNotBlank(mongodbDataSyncConf.getSplitKey())) {
+            builder.format.setSplitKey(mongodbDataSyncConf.getSplitKey().trim());
+        }
+        if (mongodbDataSyncConf.getSplitSampleSize() > 0) {
+            builder.format.setSplitSampleSize(mongodbDataSyncConf.getSplitSampleSize());
+        }
+        return builder;
     }
 
     public static MongodbInputFormatBuilder newBuild(
@@ -27,38 +27,49 @@ import org.apache.flink.core.io.InputSplit;
  */
 public class MongodbInputSplit implements InputSplit {
 
-    private int skip;
+    private static final long serialVersionUID = 1L;
 
-    private int limit;
+    private final int splitNumber;
 
-    public MongodbInputSplit(int skip, int limit) {
-        this.skip = skip;
-        this.limit = limit;
-    }
+    /** 切分键的下界(包含)，extended json格式的{splitKey: value}，为空时不限制 */
+    private final String lowerBound;
+
+    /** 切分键的上界(不包含)，extended json格式的{splitKey: value}，为空时不限制 */
+    private final String upperBound;
 
-    public int getSkip() {
-        return skip;
+    public MongodbInputSplit(int splitNumber, String lowerBound, String upperBound) {
+        this.splitNumber = splitNumber;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
     }
 
-    public void setSkip(int skip) {
-        this.skip = skip;
+    public String getLowerBound() {
+        return lowerBound;
     }
 
-    public int getLimit() {
-        return limit;
+    public String getUpperBound() {
+        return upperBound;
     }
 
-    public void setLimit(int limit) {
-        this.limit = limit;
+    /** 分片的标识，用于恢复时匹配读取进度 */
+    public String getSplitId() {
+        return lowerBound + "~" + upperBound;
     }
 
     @Override
     public int getSplitNumber() {
-        return 0;
+        return splitNumber;
     }
 
     @Override
     public String toString() {
-        return "MongodbInputSplit{" + "skip=" + skip + ", limit=" + limit + '}';
+        return "MongodbInputSplit{"
+                + "splitNumber="
+                + splitNumber
+                + ", lowerBound="
+                + lowerBound
+                + ", upperBound="
+                + upperBound
+                + '}';
     }
 }
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.mongodb.source;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 按切分键的范围计算分片边界，每个分片通过切分键的索引读取，不再使用skip跳过前面的数据。
+ *
+ * <p>优先使用splitVector命令按索引和数据大小计算边界，相同的数据每次计算的边界相同，恢复时可以继续读取未读完的分片；
+ * 没有权限或者通过mongos连接分片集群时，使用$sample随机采样切分键，取样本的等分位置作为边界。
+ */
+public class MongodbSplitPlanner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MongodbSplitPlanner.class);
+
+    private static final JsonWriterSettings JSON_WRITER_SETTINGS =
+            JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+
+    private final String splitKey;
+
+    private final int sampleSize;
+
+    public MongodbSplitPlanner(String splitKey, int sampleSize) {
+        this.splitKey = splitKey;
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * 计算分片边界
+     *
+     * @param database 集合所在的库
+     * @param collection 集合
+     * @param docNum 预估的文档数
+     * @param splitNum 分片数
+     * @return 从小到大的边界，分片数为边界数加一
+     */
+    public List<Object> plan(
+            MongoDatabase database,
+            MongoCollection<Document> collection,
+            long docNum,
+            int splitNum) {
+        if (splitNum <= 1 || docNum <= splitNum) {
+            return new ArrayList<>();
+        }
+        long startTime = System.currentTimeMillis();
+        String method = "splitVector";
+        List<Object> candidates = splitVector(database, collection, splitNum);
+        boolean sampled = candidates == null;
+        if (sampled) {
+            method = "$sample";
+            candidates = sample(collection, docNum, splitNum);
+        }
+        List<Object> boundaries = selectBoundaries(candidates, splitNum, sampled);
+        LOG.info(
+                "Takes [{}] milliseconds to plan splits of {} by {} on [{}], candidates = {}, boundaries = {}",
+                System.currentTimeMillis() - startTime,
+                collection.getNamespace(),
+                method,
+                splitKey,
+                candidates.size(),
+                boundaries);
+        return boundaries;
+    }
+
+    /** 没有权限、不支持、失败或者没有返回切分点时返回null */
+    private List<Object> splitVector(
+            MongoDatabase database, MongoCollection<Document> collection, int splitNum) {
+        try {
+            Document stats =
+                    database.runCommand(
+                            new Document(
+                                    "collStats", collection.getNamespace().getCollectionName()));
+            long size = stats.get("size", Number.class).longValue();
+            if (size <= 0) {
+                return null;
+            }
+            // splitVector按maxChunkSizeBytes的一半切分
+            Document result =
+                    database.runCommand(
+                            new Document("splitVector", collection.getNamespace().getFullName())
+                                    .append("keyPattern", new Document(splitKey, 1))
+                                    .append(
+                                            "maxChunkSizeBytes",
+                                            Math.max(2 * size / splitNum, 1L)));
+            List<Object> candidates = new ArrayList<>();
+            for (Document key : result.getList("splitKeys", Document.class)) {
+                Object value = getKeyValue(key, splitKey);
+                if (value != null) {
+                    candidates.add(value);
+                }
+            }
+            if (candidates.isEmpty()) {
+                LOG.warn(
+                        "splitVector returns no split keys of {}, use $sample instead",
+                        collection.getNamespace());
+                return null;
+            }
+            return candidates;
+        } catch (MongoException | NullPointerException | ClassCastException e) {
+            LOG.warn(
+                    "failed to split {} by splitVector, use $sample instead, e = {}",
+                    collection.getNamespace(),
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    /** 由数据库按切分键排序返回样本 */
+    private List<Object> sample(MongoCollection<Document> collection, long docNum, int splitNum) {
+        int size = (int) Math.min(docNum, Math.max(sampleSize, splitNum));
+        List<Object> samples = new ArrayList<>(size);
+        for (Document document :
+                collection
+                        .aggregate(
+                                Arrays.asList(
+                                        Aggregates.sample(size),
+                                        Aggregates.project(Projections.include(splitKey)),
+                                        Aggregates.sort(Sorts.ascending(splitKey))))
+                        .allowDiskUse(true)) {
+            Object value = getKeyValue(document, splitKey);
+            if (value != null) {
+                samples.add(value);
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * 选择分片边界，相邻的相同边界只保留一个
+     *
+     * @param candidates 按切分键排序的候选边界
+     * @param splitNum 分片数
+     * @param sampled true：候选为$sample的样本，取样本的等分位置作为边界；false：候选为splitVector按数据大小计算的切分点，直接作为边界
+     * @return 边界，sampled为true时个数不超过splitNum - 1
+     */
+    public static List<Object> selectBoundaries(
+            List<Object> candidates, int splitNum, boolean sampled) {
+        List<Object> boundaries = new ArrayList<>();
+        if (splitNum <= 1 || candidates.isEmpty()) {
+            return boundaries;
+        }
+        Object previous = null;
+        int count = sampled ? splitNum - 1 : candidates.size();
+        for (int i = 0; i < count; i++) {
+            Object boundary =
+                    sampled
+                            ? candidates.get((int) ((long) (i + 1) * candidates.size() / splitNum))
+                            : candidates.get(i);
+            if (!Objects.equals(boundary, previous)) {
+                boundaries.add(boundary);
+                previous = boundary;
+            }
+        }
+        return boundaries;
+    }
+
+    /** 切分键的值，切分键为a.b时取嵌套文档中的值 */
+    public static Object getKeyValue(Document document, String splitKey) {
+        if (document.containsKey(splitKey) || splitKey.indexOf('.') < 0) {
+            return document.get(splitKey);
+        }
+        try {
+            return document.getEmbedded(Arrays.asList(splitKey.split("\\.")), Object.class);
+        } catch (ClassCastException e) {
+            return null;
+        }
+    }
+
+    /** 转为extended json格式的{splitKey: value}，保留切分键的bson类型 */
+    public static String toBound(String splitKey, Object value) {
+        return value == null ? null : new Document(splitKey, value).toJson(JSON_WRITER_SETTINGS);
+    }
+
+    public static Document parseBound(String bound) {
+        return bound == null ? null : Document.parse(bound);
+    }
+}
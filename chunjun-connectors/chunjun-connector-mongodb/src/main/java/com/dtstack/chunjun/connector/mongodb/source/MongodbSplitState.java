@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.mongodb.source;
+
+import com.dtstack.chunjun.restore.FormatState;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 按切分键范围分片读取时的进度，保存在{@link FormatState#getState()}中。
+ *
+ * <p>分片由任意并行度领取，恢复时合并所有并行度的状态：读完的分片不再读取，未读完的分片从已经读完的最大切分键之后开始读取。 分片以切分键的范围标识，恢复后重新计算的范围不同时，该分片重新读取。
+ */
+public class MongodbSplitState implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 已经读完的分片 */
+    private Set<String> finishedSplits = new HashSet<>();
+
+    /** 未读完的分片中已经读完的最大切分键，同一个切分键的数据可能没有读完，所以不包含当前正在读取的切分键 */
+    private Map<String, Offset> splitOffsets = new HashMap<>();
+
+    public MongodbSplitState() {}
+
+    /** 拷贝当前进度，checkpoint保存拷贝，之后读取线程的更新不影响已经保存的状态。Offset不会被修改，不需要拷贝 */
+    public MongodbSplitState copy() {
+        MongodbSplitState copy = new MongodbSplitState();
+        copy.finishedSplits = new HashSet<>(finishedSplits);
+        copy.splitOffsets = new HashMap<>(splitOffsets);
+        return copy;
+    }
+
+    /** 合并所有并行度的状态 */
+    public static MongodbSplitState restore(List<FormatState> formatStates) {
+        MongodbSplitState splitState = new MongodbSplitState();
+        for (FormatState formatState : formatStates) {
+            if (formatState != null && formatState.getState() instanceof MongodbSplitState) {
+                splitState.merge((MongodbSplitState) formatState.getState());
+            }
+        }
+        return splitState;
+    }
+
+    private void merge(MongodbSplitState other) {
+        finishedSplits.addAll(other.finishedSplits);
+        for (Map.Entry<String, Offset> entry : other.splitOffsets.entrySet()) {
+            // 恢复后继续累计读取的条数，条数多的是较新的进度
+            splitOffsets.merge(
+                    entry.getKey(),
+                    entry.getValue(),
+                    (a, b) -> a.getPosition() >= b.getPosition() ? a : b);
+        }
+        splitOffsets.keySet().removeAll(finishedSplits);
+    }
+
+    public boolean isFinished(String splitId) {
+        return finishedSplits.contains(splitId);
+    }
+
+    public void finish(String splitId) {
+        finishedSplits.add(splitId);
+        splitOffsets.remove(splitId);
+    }
+
+    public Offset getOffset(String splitId) {
+        return splitOffsets.get(splitId);
+    }
+
+    public void setOffset(String splitId, Offset offset) {
+        splitOffsets.put(splitId, offset);
+    }
+
+    public Set<String> getFinishedSplits() {
+        return finishedSplits;
+    }
+
+    public void setFinishedSplits(Set<String> finishedSplits) {
+        this.finishedSplits = finishedSplits;
+    }
+
+    public Map<String, Offset> getSplitOffsets() {
+        return splitOffsets;
+    }
+
+    public void setSplitOffsets(Map<String, Offset> splitOffsets) {
+        this.splitOffsets = splitOffsets;
+    }
+
+    @Override
+    public String toString() {
+        return "MongodbSplitState{"
+                + "finishedSplits="
+                + finishedSplits.size()
+                + ", splitOffsets="
+                + splitOffsets
+                + '}';
+    }
+
+    /** 分片内已经读完的最大切分键 */
+    public static class Offset implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        /** 切分键，extended json格式的{splitKey: value} */
+        private String key;
+
+        /** 分片内读完这个切分键时累计读取的条数 */
+        private long position;
+
+        public Offset() {}
+
+        public Offset(String key, long position) {
+            this.key = key;
+            this.position = position;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        public long getPosition() {
+            return position;
+        }
+
+        public void setPosition(long position) {
+            this.position = position;
+        }
+
+        @Override
+        public String toString() {
+            return key + "@" + position;
+        }
+    }
+}
@@ -27,16 +27,12 @@ import com.dtstack.chunjun.lookup.conf.LookupConf;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.types.logical.RowType;
 
-import com.google.common.collect.Maps;
 import com.mongodb.MongoClient;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import org.bson.Document;
 
-import java.util.List;
-import java.util.Map;
-
 /**
  * @author Ada Wong
  * @program chunjun
@@ -68,21 +64,14 @@ public class MongoAllTableFunction extends AbstractAllTableFunction {
                         mongoClient,
                         mongoClientConf.getDatabase(),
                         mongoClientConf.getCollection());
-        Map<String, List<Map<String, Object>>> tmpCache =
-                (Map<String, List<Map<String, Object>>>) cacheRef;
 
         FindIterable<Document> findIterable = collection.find().limit(fetchSize);
         MongoCursor<Document> mongoCursor = findIterable.iterator();
         while (mongoCursor.hasNext()) {
             Document doc = mongoCursor.next();
-            Map<String, Object> row = Maps.newHashMap();
             GenericRowData rowData =
                     (GenericRowData) ((MongodbRowConverter) rowConverter).toInternal(doc);
-            for (int i = 0; i < fieldsName.length; i++) {
-                Object object = rowData.getField(i);
-                row.put(fieldsName[i].trim(), object);
-            }
-            buildCache(row, tmpCache);
+            buildCache(rowData, cacheRef);
         }
     }
 }
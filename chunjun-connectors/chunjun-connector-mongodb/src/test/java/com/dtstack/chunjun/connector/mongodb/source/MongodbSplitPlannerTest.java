@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.mongodb.source;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class MongodbSplitPlannerTest {
+
+    @Test
+    public void selectBoundariesOfSplitVectorTest() {
+        // splitVector按数据大小返回splitNum - 1个切分点，全部作为边界
+        Assert.assertEquals(
+                Collections.singletonList(100),
+                MongodbSplitPlanner.selectBoundaries(Collections.singletonList(100), 2, false));
+        Assert.assertEquals(
+                Arrays.asList(1, 2, 3),
+                MongodbSplitPlanner.selectBoundaries(Arrays.asList(1, 2, 2, 3), 4, false));
+        // 数据量变化时切分点可能多于splitNum - 1个
+        Assert.assertEquals(
+                Arrays.asList(1, 2, 3, 4, 5),
+                MongodbSplitPlanner.selectBoundaries(Arrays.asList(1, 2, 3, 4, 5), 4, false));
+        Assert.assertEquals(
+                Collections.emptyList(),
+                MongodbSplitPlanner.selectBoundaries(Arrays.asList(1, 2), 1, false));
+    }
+
+    @Test
+    public void selectBoundariesOfSampleTest() {
+        List<Object> samples = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            samples.add(i);
+        }
+        Assert.assertEquals(
+                Arrays.asList(25, 50, 75), MongodbSplitPlanner.selectBoundaries(samples, 4, true));
+
+        List<Object> keys = Arrays.asList("a", "b", "b", "b", "b", "b", "c", "d");
+        Assert.assertEquals(
+                Arrays.asList("b", "c"), MongodbSplitPlanner.selectBoundaries(keys, 4, true));
+        // 第一个样本也可以作为边界
+        Assert.assertEquals(
+                Arrays.asList("a", "b"),
+                MongodbSplitPlanner.selectBoundaries(Arrays.asList("a", "b"), 4, true));
+        Assert.assertEquals(
+                Collections.emptyList(),
+                MongodbSplitPlanner.selectBoundaries(Collections.emptyList(), 4, true));
+    }
+}
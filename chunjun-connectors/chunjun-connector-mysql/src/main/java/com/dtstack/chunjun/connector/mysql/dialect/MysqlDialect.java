@@ -22,6 +22,9 @@ import com.dtstack.chunjun.connector.jdbc.dialect.JdbcDialect;
 import com.dtstack.chunjun.connector.mysql.converter.MysqlRawTypeConverter;
 import com.dtstack.chunjun.converter.RawTypeConverter;
 
+import org.apache.commons.lang3.StringUtils;
+
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -98,6 +101,59 @@ public class MysqlDialect implements JdbcDialect {
                         + updateClause);
     }
 
+    /** TABLE_ROWS of InnoDB is an estimate from statistics, which does not scan the table. */
+    @Override
+    public Optional<String> getRowCountEstimateSql(String schema, String tableName) {
+        String schemaFilter =
+                StringUtils.isBlank(schema) ? "DATABASE()" : "'" + escape(schema) + "'";
+        return Optional.of(
+                "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = "
+                        + schemaFilter
+                        + " AND TABLE_NAME = '"
+                        + escape(tableName)
+                        + "'");
+    }
+
+    private static String escape(String value) {
+        return value.replace("'", "''");
+    }
+
+    /**
+     * Sample by RAND() on the server, MySQL reads the index of the split key in order so the result
+     * needs no sort and only the sampled keys are sent to the client.
+     */
+    @Override
+    public String getSplitKeySampleSql(
+            String schema, String tableName, String splitPk, String where, double ratio) {
+        String column = quoteIdentifier(splitPk);
+        StringBuilder sql =
+                new StringBuilder(128)
+                        .append("SELECT ")
+                        .append(column)
+                        .append(" FROM ")
+                        .append(buildTableInfoWithSchema(schema, tableName))
+                        .append(" WHERE ");
+        if (ratio < 1.0D) {
+            sql.append("RAND() < ")
+                    .append(BigDecimal.valueOf(ratio).toPlainString())
+                    .append(" AND ");
+        }
+        sql.append(column).append(" IS NOT NULL");
+        if (StringUtils.isNotBlank(where)) {
+            sql.append(" AND (").append(where).append(")");
+        }
+        return sql.append(" ORDER BY ").append(column).toString();
+    }
+
+    /** Backslash is an escape character in MySQL string literals. */
+    @Override
+    public String getSplitKeyLiteral(Object value) {
+        if (value instanceof String) {
+            return "'" + ((String) value).replace("\\", "\\\\").replace("'", "''") + "'";
+        }
+        return JdbcDialect.super.getSplitKeyLiteral(value);
+    }
+
     @Override
     public Optional<String> getReplaceStatement(
             String schema, String tableName, String[] fieldNames) {
@@ -33,7 +33,9 @@ import org.apache.flink.table.types.logical.RowType;
 import io.vertx.core.json.JsonArray;
 import org.apache.commons.lang3.StringUtils;
 
+import java.sql.Date;
 import java.sql.ResultSet;
+import java.sql.Timestamp;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -174,4 +176,15 @@ public class OracleDialect implements JdbcDialect {
     public String getRowNumColumn(String orderBy) {
         return "rownum as " + getRowNumColumnAlias();
     }
+
+    /** Render temporal split keys with explicit formats, so they do not depend on the session NLS settings. */
+    @Override
+    public String getSplitKeyLiteral(Object value) {
+        if (value instanceof Timestamp) {
+            return "TO_TIMESTAMP('" + value + "', 'YYYY-MM-DD HH24:MI:SS.FF')";
+        } else if (value instanceof Date) {
+            return "TO_DATE('" + value + "', 'YYYY-MM-DD')";
+        }
+        return JdbcDialect.super.getSplitKeyLiteral(value);
+    }
 }
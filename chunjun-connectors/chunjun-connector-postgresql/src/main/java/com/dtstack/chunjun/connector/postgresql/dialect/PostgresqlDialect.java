@@ -33,6 +33,8 @@ import org.apache.flink.table.types.logical.RowType;
 import io.vertx.core.json.JsonArray;
 import org.apache.commons.lang3.StringUtils;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.sql.ResultSet;
 import java.util.Arrays;
 import java.util.Optional;
@@ -45,7 +47,7 @@ import java.util.stream.Collectors;
  */
 public class PostgresqlDialect implements JdbcDialect {
 
-    private static final String DIALECT_NAME = "PostgreSQL";
+    public static final String DIALECT_NAME = "PostgreSQL";
     private static final String DRIVER = "org.postgresql.Driver";
     private static final String URL_START = "jdbc:postgresql:";
 
@@ -106,6 +108,42 @@ public class PostgresqlDialect implements JdbcDialect {
                         + updateClause);
     }
 
+    /** reltuples is the row count estimated by VACUUM and ANALYZE, it is -1 before analyzed. */
+    @Override
+    public Optional<String> getRowCountEstimateSql(String schema, String tableName) {
+        return Optional.of(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass('"
+                        + buildTableInfoWithSchema(schema, tableName).replace("'", "''")
+                        + "')");
+    }
+
+    @Override
+    public String getSplitKeySampleSql(
+            String schema, String tableName, String splitPk, String where, double ratio) {
+        String column = quoteIdentifier(splitPk);
+        StringBuilder sql =
+                new StringBuilder(128)
+                        .append("SELECT ")
+                        .append(column)
+                        .append(" FROM ")
+                        .append(buildTableInfoWithSchema(schema, tableName));
+        if (ratio < 1.0D) {
+            sql.append(getTableSampleClause(ratio));
+        }
+        sql.append(" WHERE ").append(column).append(" IS NOT NULL");
+        if (StringUtils.isNotBlank(where)) {
+            sql.append(" AND (").append(where).append(")");
+        }
+        return sql.append(" ORDER BY ").append(column).toString();
+    }
+
+    /** TABLESAMPLE SYSTEM only reads the sampled pages, empty when the database doesn't support */
+    protected String getTableSampleClause(double ratio) {
+        return " TABLESAMPLE SYSTEM ("
+                + BigDecimal.valueOf(ratio * 100).setScale(6, RoundingMode.UP).toPlainString()
+                + ")";
+    }
+
     @Override
     public String getSelectFromStatement(
             String schemaName,
@@ -19,11 +19,15 @@
 package com.dtstack.chunjun.connector.postgresql.sink;
 
 import com.dtstack.chunjun.conf.SyncConf;
+import com.dtstack.chunjun.connector.jdbc.conf.JdbcConf;
 import com.dtstack.chunjun.connector.jdbc.dialect.JdbcDialect;
 import com.dtstack.chunjun.connector.jdbc.sink.JdbcOutputFormatBuilder;
 import com.dtstack.chunjun.connector.jdbc.sink.JdbcSinkFactory;
+import com.dtstack.chunjun.connector.jdbc.util.JdbcUtil;
 import com.dtstack.chunjun.connector.postgresql.dialect.PostgresqlDialect;
 
+import java.util.Properties;
+
 /**
  * Starting with Postgresql that is for compatible with 1.10 API.
  *
@@ -41,6 +45,17 @@ public class PostgresqlSinkFactory extends JdbcSinkFactory {
         super(syncConf, dialect);
     }
 
+    @Override
+    protected void rebuildJdbcConf(JdbcConf jdbcConf) {
+        super.rebuildJdbcConf(jdbcConf);
+        if (PostgresqlDialect.DIALECT_NAME.equals(jdbcDialect.dialectName())) {
+            // 驱动将批量insert改写为多值insert，一个批次只需要一次网络交互
+            Properties properties = new Properties();
+            properties.put("reWriteBatchedInserts", "true");
+            JdbcUtil.putExtParam(jdbcConf, properties);
+        }
+    }
+
     @Override
     protected JdbcOutputFormatBuilder getBuilder() {
         return new JdbcOutputFormatBuilder(new PostgresOutputFormat());
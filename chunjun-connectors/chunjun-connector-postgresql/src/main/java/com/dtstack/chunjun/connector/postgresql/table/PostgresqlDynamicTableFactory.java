@@ -18,10 +18,17 @@
 
 package com.dtstack.chunjun.connector.postgresql.table;
 
+import com.dtstack.chunjun.connector.jdbc.conf.JdbcConf;
 import com.dtstack.chunjun.connector.jdbc.dialect.JdbcDialect;
 import com.dtstack.chunjun.connector.jdbc.table.JdbcDynamicTableFactory;
+import com.dtstack.chunjun.connector.jdbc.util.JdbcUtil;
 import com.dtstack.chunjun.connector.postgresql.dialect.PostgresqlDialect;
 
+import org.apache.flink.configuration.ReadableConfig;
+import org.apache.flink.table.api.TableSchema;
+
+import java.util.Properties;
+
 /**
  * @program chunjun
  * @author: wuren
@@ -40,4 +47,16 @@ public class PostgresqlDynamicTableFactory extends JdbcDynamicTableFactory {
     protected JdbcDialect getDialect() {
         return new PostgresqlDialect();
     }
+
+    @Override
+    protected JdbcConf getSinkConnectionConf(ReadableConfig readableConfig, TableSchema schema) {
+        JdbcConf jdbcConf = super.getSinkConnectionConf(readableConfig, schema);
+        if (PostgresqlDialect.DIALECT_NAME.equals(getDialect().dialectName())) {
+            // 驱动将批量insert改写为多值insert，一个批次只需要一次网络交互
+            Properties properties = new Properties();
+            properties.put("reWriteBatchedInserts", "true");
+            JdbcUtil.putExtParam(jdbcConf, properties);
+        }
+        return jdbcConf;
+    }
 }
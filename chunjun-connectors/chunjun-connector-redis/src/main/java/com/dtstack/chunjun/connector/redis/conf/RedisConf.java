@@ -94,6 +94,13 @@ public class RedisConf extends ChunJunCommonConf {
     private int minIdle;
     /** primary key */
     private List<String> updateKey;
+    /**
+     * Whether to wrap the commands of each batch in MULTI/EXEC, so that other clients never see a
+     * part of the batch. In cluster mode each node executes its part of the batch in a transaction.
+     * Redis does not roll back a command failing at runtime, such a command is retried outside the
+     * transaction.
+     */
+    private boolean transaction = false;
 
     public String getHostPort() {
         return hostPort;
@@ -255,6 +262,14 @@ public class RedisConf extends ChunJunCommonConf {
         this.indexFillHash = indexFillHash;
     }
 
+    public boolean isTransaction() {
+        return transaction;
+    }
+
+    public void setTransaction(boolean transaction) {
+        this.transaction = transaction;
+    }
+
     @Override
     public String toString() {
         return "RedisConf{"
@@ -305,6 +320,8 @@ public class RedisConf extends ChunJunCommonConf {
                 + minIdle
                 + ", updateKey="
                 + updateKey
+                + ", transaction="
+                + transaction
                 + '}';
     }
 }
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.redis.connection;
+
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisSlotBasedConnectionHandler;
+
+import java.util.Set;
+
+/** JedisCluster that lends the connection of the node serving a slot, to pipeline commands. */
+public class RedisClusterClient extends JedisCluster {
+
+    public RedisClusterClient(
+            Set<HostAndPort> jedisClusterNode,
+            int connectionTimeout,
+            int soTimeout,
+            int maxAttempts,
+            String password,
+            GenericObjectPoolConfig poolConfig) {
+        super(jedisClusterNode, connectionTimeout, soTimeout, maxAttempts, password, poolConfig);
+    }
+
+    /**
+     * Get a connection of the node serving the slot from its pool, the caller should close it to
+     * return it to the pool.
+     */
+    public Jedis getConnectionFromSlot(int slot) {
+        return ((JedisSlotBasedConnectionHandler) connectionHandler).getConnectionFromSlot(slot);
+    }
+
+    /** refresh the slots of the nodes after a MOVED reply */
+    public void renewSlotCache() {
+        connectionHandler.renewSlotCache();
+    }
+}
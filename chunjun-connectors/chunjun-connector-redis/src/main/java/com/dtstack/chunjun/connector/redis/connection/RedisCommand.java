@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.redis.connection;
+
+import redis.clients.jedis.JedisCommands;
+import redis.clients.jedis.RedisPipeline;
+import redis.clients.jedis.Response;
+import redis.clients.util.JedisClusterCRC16;
+
+import java.util.Arrays;
+
+/**
+ * A write command built from one record. The command is executed directly by {@link JedisCommands}
+ * or queued on a pipeline, and the key decides the cluster slot it is sent to.
+ */
+public class RedisCommand {
+
+    public enum Type {
+        SET,
+        LPUSH,
+        RPUSH,
+        SADD,
+        ZADD,
+        HSET,
+        EXPIRE,
+        EXPIRE_AT
+    }
+
+    private final Type type;
+    private final String key;
+    private final String[] values;
+    /** score of ZADD, seconds of EXPIRE or unix time of EXPIRE_AT */
+    private final double number;
+
+    private RedisCommand(Type type, String key, String[] values, double number) {
+        this.type = type;
+        this.key = key;
+        this.values = values;
+        this.number = number;
+    }
+
+    public static RedisCommand set(String key, String value) {
+        return new RedisCommand(Type.SET, key, new String[] {value}, 0);
+    }
+
+    public static RedisCommand lpush(String key, String... values) {
+        return new RedisCommand(Type.LPUSH, key, values, 0);
+    }
+
+    public static RedisCommand rpush(String key, String... values) {
+        return new RedisCommand(Type.RPUSH, key, values, 0);
+    }
+
+    public static RedisCommand sadd(String key, String... members) {
+        return new RedisCommand(Type.SADD, key, members, 0);
+    }
+
+    public static RedisCommand zadd(String key, double score, String member) {
+        return new RedisCommand(Type.ZADD, key, new String[] {member}, score);
+    }
+
+    public static RedisCommand hset(String key, String field, String value) {
+        return new RedisCommand(Type.HSET, key, new String[] {field, value}, 0);
+    }
+
+    public static RedisCommand expire(String key, int seconds) {
+        return new RedisCommand(Type.EXPIRE, key, null, seconds);
+    }
+
+    public static RedisCommand expireAt(String key, long unixTime) {
+        return new RedisCommand(Type.EXPIRE_AT, key, null, unixTime);
+    }
+
+    /** execute the command and wait for the reply */
+    public void execute(JedisCommands jedis) {
+        switch (type) {
+            case SET:
+                jedis.set(key, values[0]);
+                break;
+            case LPUSH:
+                jedis.lpush(key, values);
+                break;
+            case RPUSH:
+                jedis.rpush(key, values);
+                break;
+            case SADD:
+                jedis.sadd(key, values);
+                break;
+            case ZADD:
+                jedis.zadd(key, number, values[0]);
+                break;
+            case HSET:
+                jedis.hset(key, values[0], values[1]);
+                break;
+            case EXPIRE:
+                jedis.expire(key, (int) number);
+                break;
+            case EXPIRE_AT:
+                jedis.expireAt(key, (long) number);
+                break;
+            default:
+                throw new UnsupportedOperationException("unsupported redis command: " + type);
+        }
+    }
+
+    /** queue the command on the pipeline, the reply is available after the pipeline is synced */
+    public Response<?> queue(RedisPipeline pipeline) {
+        switch (type) {
+            case SET:
+                return pipeline.set(key, values[0]);
+            case LPUSH:
+                return pipeline.lpush(key, values);
+            case RPUSH:
+                return pipeline.rpush(key, values);
+            case SADD:
+                return pipeline.sadd(key, values);
+            case ZADD:
+                return pipeline.zadd(key, number, values[0]);
+            case HSET:
+                return pipeline.hset(key, values[0], values[1]);
+            case EXPIRE:
+                return pipeline.expire(key, (int) number);
+            case EXPIRE_AT:
+                return pipeline.expireAt(key, (long) number);
+            default:
+                throw new UnsupportedOperationException("unsupported redis command: " + type);
+        }
+    }
+
+    /**
+     * LPUSH and RPUSH append the values again when executed twice, the others leave the same data
+     */
+    public boolean isIdempotent() {
+        return type != Type.LPUSH && type != Type.RPUSH;
+    }
+
+    /** the cluster slot of the key */
+    public int getSlot() {
+        return JedisClusterCRC16.getSlot(key);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String[] getValues() {
+        return values;
+    }
+
+    public double getNumber() {
+        return number;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + key + (values == null ? " " + number : " " + Arrays.toString(values));
+    }
+}
@@ -19,6 +19,7 @@
 package com.dtstack.chunjun.connector.redis.connection;
 
 import com.dtstack.chunjun.connector.redis.conf.RedisConf;
+import com.dtstack.chunjun.connector.redis.enums.RedisConnectType;
 import com.dtstack.chunjun.util.ExceptionUtil;
 
 import org.apache.commons.lang3.StringUtils;
@@ -26,7 +27,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
-import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisCommands;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
@@ -126,7 +126,7 @@ public class RedisSyncClient {
                     }
                 }
                 jedis =
-                        new JedisCluster(
+                        new RedisClusterClient(
                                 addresses,
                                 redisConf.getTimeout(),
                                 redisConf.getTimeout(),
@@ -143,7 +143,9 @@ public class RedisSyncClient {
     }
 
     /**
-     * test jedis client whether is in active or not,if not,close and get a new jedis client
+     * test jedis client whether is in active or not,if not,close and get a new jedis client from
+     * the pool of the connect type. The cluster client keeps a pool for each node and takes a
+     * connection for every command, so it is returned as is.
      *
      * @param jedis
      * @param key
@@ -151,6 +153,9 @@ public class RedisSyncClient {
      * @throws IOException
      */
     public JedisCommands testTimeout(JedisCommands jedis, String key) throws IOException {
+        if (redisConf.getRedisConnectType() == RedisConnectType.CLUSTER) {
+            return jedis;
+        }
         try {
             jedis.exists(key);
             return jedis;
@@ -158,6 +163,9 @@ public class RedisSyncClient {
             if (jedis != null) {
                 closeJedis(jedis);
             }
+            if (redisConf.getRedisConnectType() == RedisConnectType.SENTINEL) {
+                return jedisSentinelPool.getResource();
+            }
             return pool.getResource();
         }
     }
@@ -205,7 +213,11 @@ public class RedisSyncClient {
 
     public void close(JedisCommands jedis) {
         try {
-            if (jedis != null && ((Jedis) jedis).isConnected()) {
+            if (jedis instanceof Jedis) {
+                if (((Jedis) jedis).isConnected()) {
+                    ((Jedis) jedis).close();
+                }
+            } else if (jedis instanceof Closeable) {
                 ((Closeable) jedis).close();
             }
             if (jedisSentinelPool != null) {
@@ -20,9 +20,11 @@ package com.dtstack.chunjun.connector.redis.converter;
 
 import com.dtstack.chunjun.conf.FieldConf;
 import com.dtstack.chunjun.connector.redis.conf.RedisConf;
+import com.dtstack.chunjun.connector.redis.connection.RedisCommand;
 import com.dtstack.chunjun.connector.redis.enums.RedisDataMode;
 import com.dtstack.chunjun.connector.redis.enums.RedisDataType;
 import com.dtstack.chunjun.converter.AbstractRowConverter;
+import com.dtstack.chunjun.element.AbstractBaseColumn;
 import com.dtstack.chunjun.element.ColumnRowData;
 import com.dtstack.chunjun.element.column.SqlDateColumn;
 import com.dtstack.chunjun.element.column.StringColumn;
@@ -34,7 +36,6 @@ import org.apache.flink.table.types.logical.LogicalType;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
-import redis.clients.jedis.Jedis;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -51,7 +52,8 @@ import static com.dtstack.chunjun.connector.redis.options.RedisOptions.REDIS_KEY
  * @create 2021-06-17 14:32
  * @description
  */
-public class RedisColumnConverter extends AbstractRowConverter<Object, Object, Jedis, LogicalType> {
+public class RedisColumnConverter
+        extends AbstractRowConverter<Object, Object, List<RedisCommand>, LogicalType> {
 
     /** redis Conf */
     private final RedisConf redisConf;
@@ -93,8 +95,9 @@ public class RedisColumnConverter extends AbstractRowConverter<Object, Object, J
         return rowData;
     }
 
+    /** append the commands to write the row, so that they can be sent in a pipeline */
     @Override
-    public Jedis toExternal(RowData rowData, Jedis jedis) {
+    public List<RedisCommand> toExternal(RowData rowData, List<RedisCommand> commands) {
         ColumnRowData row = (ColumnRowData) rowData;
         processTimeFormat(row);
         String key = concatKey(row);
@@ -103,31 +106,35 @@ public class RedisColumnConverter extends AbstractRowConverter<Object, Object, J
         RedisDataMode mode = redisConf.getMode();
 
         if (type == RedisDataType.STRING) {
-            jedis.set(key, concatValues(row));
+            commands.add(RedisCommand.set(key, concatValues(row)));
         } else if (type == RedisDataType.LIST) {
             if (mode == RedisDataMode.L_PUSH) {
-                jedis.lpush(key, values);
+                commands.add(RedisCommand.lpush(key, values));
             } else if (mode == RedisDataMode.R_PUSH) {
-                jedis.rpush(key, values);
+                commands.add(RedisCommand.rpush(key, values));
             }
         } else if (type == RedisDataType.SET) {
-            jedis.sadd(key, values);
+            commands.add(RedisCommand.sadd(key, values));
         } else if (type == RedisDataType.Z_SET) {
             List<Object> scoreValue = getFieldAndValue(row);
-            jedis.zadd(key, (Integer) scoreValue.get(0), String.valueOf(scoreValue.get(1)));
+            commands.add(
+                    RedisCommand.zadd(
+                            key,
+                            ((AbstractBaseColumn) scoreValue.get(0)).asDouble(),
+                            String.valueOf(scoreValue.get(1))));
         } else if (type == RedisDataType.HASH) {
             key = concatHashKey(row);
-            hashWrite(row, key, jedis);
+            hashWrite(row, key, commands);
         }
 
         if (redisConf.getExpireTime() > 0) {
             if (redisConf.getExpireTime() > REDIS_CRITICAL_TIME.defaultValue()) {
-                jedis.expireAt(key, redisConf.getExpireTime());
+                commands.add(RedisCommand.expireAt(key, redisConf.getExpireTime()));
             } else {
-                jedis.expire(key, (int) redisConf.getExpireTime());
+                commands.add(RedisCommand.expire(key, (int) redisConf.getExpireTime()));
             }
         }
-        return jedis;
+        return commands;
     }
 
     private void processTimeFormat(ColumnRowData row) {
@@ -214,18 +221,22 @@ public class RedisColumnConverter extends AbstractRowConverter<Object, Object, J
         return keyBuilder.append(concatKey(row)).toString();
     }
 
-    private void hashWrite(ColumnRowData row, String key, Jedis jedis) {
+    private void hashWrite(ColumnRowData row, String key, List<RedisCommand> commands) {
         if (CollectionUtils.isNotEmpty(redisConf.getColumn())) {
             for (int index : fieldIndex) {
                 FieldConf fieldConf = redisConf.getColumn().get(index);
                 String field = fieldConf.getName();
                 if (row.getField(index) != null) {
-                    jedis.hset(key, field, row.getField(index).asString());
+                    commands.add(RedisCommand.hset(key, field, row.getField(index).asString()));
                 }
             }
         } else {
             List<Object> fieldValue = getFieldAndValue(row);
-            jedis.hset(key, String.valueOf(fieldValue.get(0)), String.valueOf(fieldValue.get(1)));
+            commands.add(
+                    RedisCommand.hset(
+                            key,
+                            String.valueOf(fieldValue.get(0)),
+                            String.valueOf(fieldValue.get(1))));
         }
     }
 }
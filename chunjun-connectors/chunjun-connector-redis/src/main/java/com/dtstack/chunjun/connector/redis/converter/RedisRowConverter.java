@@ -19,6 +19,7 @@
 package com.dtstack.chunjun.connector.redis.converter;
 
 import com.dtstack.chunjun.connector.redis.conf.RedisConf;
+import com.dtstack.chunjun.connector.redis.connection.RedisCommand;
 import com.dtstack.chunjun.converter.AbstractRowConverter;
 import com.dtstack.chunjun.converter.IDeserializationConverter;
 import com.dtstack.chunjun.converter.ISerializationConverter;
@@ -34,8 +35,6 @@ import org.apache.flink.table.types.logical.LogicalTypeRoot;
 import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.table.types.logical.TimestampType;
 
-import redis.clients.jedis.JedisCommands;
-
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -57,7 +56,7 @@ import java.util.stream.Collectors;
  */
 public class RedisRowConverter
         extends AbstractRowConverter<
-                Map<String, String>, Map<String, String>, JedisCommands, LogicalType> {
+                Map<String, String>, Map<String, String>, List<RedisCommand>, LogicalType> {
 
     private static final long serialVersionUID = 1L;
 
@@ -129,8 +128,10 @@ public class RedisRowConverter
         return genericRowData;
     }
 
+    /** append the commands to write the row, so that they can be sent in a pipeline */
     @Override
-    public JedisCommands toExternal(RowData rowData, JedisCommands jedis) throws Exception {
+    public List<RedisCommand> toExternal(RowData rowData, List<RedisCommand> commands)
+            throws Exception {
         List<String> fieldNames = rowType.getFieldNames();
         List<Object> fieldValue = new ArrayList<>();
         for (int index = 0; index < rowData.getArity(); index++) {
@@ -143,12 +144,14 @@ public class RedisRowConverter
                     collect.put(key, fieldValue.get(fieldNames.indexOf(key)));
                 });
         String key = buildCacheKey(collect);
-        collect.forEach((field, value) -> jedis.hset(key, field, String.valueOf(value)));
+        collect.forEach(
+                (field, value) ->
+                        commands.add(RedisCommand.hset(key, field, String.valueOf(value))));
 
         if (redisConf.getExpireTime() != 0) {
-            jedis.expire(key, (int) redisConf.getExpireTime());
+            commands.add(RedisCommand.expire(key, (int) redisConf.getExpireTime()));
         }
-        return jedis;
+        return commands;
     }
 
     private String buildCacheKey(Map<String, Object> refData) {
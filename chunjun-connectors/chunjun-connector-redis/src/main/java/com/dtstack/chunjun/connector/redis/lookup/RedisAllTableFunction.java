@@ -23,9 +23,13 @@ import com.dtstack.chunjun.connector.redis.connection.RedisSyncClient;
 import com.dtstack.chunjun.connector.redis.util.RedisUtil;
 import com.dtstack.chunjun.converter.AbstractRowConverter;
 import com.dtstack.chunjun.lookup.AbstractAllTableFunction;
+import com.dtstack.chunjun.lookup.cache.CompactAllCache;
 import com.dtstack.chunjun.lookup.conf.LookupConf;
 
 import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.VarCharType;
 
 import com.google.common.collect.Lists;
 import org.apache.commons.collections.CollectionUtils;
@@ -62,14 +66,26 @@ public class RedisAllTableFunction extends AbstractAllTableFunction {
         this.redisConf = redisConf;
     }
 
+    /** 缓存的key是redis的key */
+    @Override
+    protected LogicalType[] getCacheKeyTypes() {
+        return new LogicalType[] {new VarCharType(VarCharType.MAX_LENGTH)};
+    }
+
     @Override
     public void eval(Object... keys) {
         String keyPattern =
                 redisConf.getTableName()
                         + "_"
                         + Arrays.stream(keys).map(String::valueOf).collect(Collectors.joining("_"));
+        Object cache = cacheRef.get();
+        if (cache instanceof CompactAllCache) {
+            ((CompactAllCache) cache)
+                    .get(new Object[] {StringData.fromString(keyPattern)}, this::collect);
+            return;
+        }
         List<Map<String, Object>> cacheList =
-                ((Map<String, List<Map<String, Object>>>) cacheRef.get()).get(keyPattern);
+                ((Map<String, List<Map<String, Object>>>) cache).get(keyPattern);
 
         // 有数据才往下发，(左/内)连接flink会做相应的处理
         if (!CollectionUtils.isEmpty(cacheList)) {
@@ -79,8 +95,6 @@ public class RedisAllTableFunction extends AbstractAllTableFunction {
 
     @Override
     protected void loadData(Object cacheRef) {
-        Map<String, List<Map<String, Object>>> tmpCache =
-                (Map<String, List<Map<String, Object>>>) cacheRef;
         if (redisSyncClient == null) {
             redisSyncClient = new RedisSyncClient(redisConf);
         }
@@ -99,16 +113,23 @@ public class RedisAllTableFunction extends AbstractAllTableFunction {
 
         try {
             for (String key : keys) {
-                Map<String, Object> oneRow = new HashMap<>();
                 Map<String, String> hgetAll = jedis.hgetAll(key);
                 // 防止一条数据有问题，后面数据无法加载
                 try {
                     GenericRowData rowData = (GenericRowData) rowConverter.toInternal(hgetAll);
+                    if (cacheRef instanceof CompactAllCache.Builder) {
+                        ((CompactAllCache.Builder) cacheRef)
+                                .add(new Object[] {StringData.fromString(key)}, rowData);
+                        continue;
+                    }
+                    Map<String, Object> oneRow = new HashMap<>();
                     for (int i = 0; i < fieldsName.length; i++) {
                         Object object = rowData.getField(i);
                         oneRow.put(fieldsName[i].trim(), object);
                     }
-                    tmpCache.computeIfAbsent(key, k -> Lists.newArrayList()).add(oneRow);
+                    ((Map<String, List<Map<String, Object>>>) cacheRef)
+                            .computeIfAbsent(key, k -> Lists.newArrayList())
+                            .add(oneRow);
                 } catch (Exception e) {
                     LOG.error("error:{} \n  data:{}", e.getMessage(), hgetAll);
                 }
@@ -100,6 +100,14 @@ public class RedisOptions {
     public static final ConfigOption<String> REDIS_DATA_MODE =
             ConfigOptions.key("mode").stringType().noDefaultValue().withDescription("mode");
 
+    public static final ConfigOption<Boolean> SINK_TRANSACTION =
+            ConfigOptions.key("sink.transaction")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "whether to write each batch in a MULTI/EXEC transaction, in cluster mode each node has its own transaction, "
+                                    + "and a command failing at runtime is retried outside the transaction");
+
     public static final ConfigOption<String> KEY_PREFIX =
             ConfigOptions.key("keyPrefix").stringType().noDefaultValue().withDescription("mode");
 }
@@ -19,16 +19,40 @@
 package com.dtstack.chunjun.connector.redis.sink;
 
 import com.dtstack.chunjun.connector.redis.conf.RedisConf;
+import com.dtstack.chunjun.connector.redis.connection.RedisClusterClient;
+import com.dtstack.chunjun.connector.redis.connection.RedisCommand;
 import com.dtstack.chunjun.connector.redis.connection.RedisSyncClient;
 import com.dtstack.chunjun.sink.format.BaseRichOutputFormat;
 import com.dtstack.chunjun.throwable.WriteRecordException;
 
 import org.apache.flink.table.data.RowData;
 
+import redis.clients.jedis.Client;
+import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisCommands;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisMovedDataException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
+ * Batches are sent in a pipeline, in cluster mode the commands are grouped by the node serving
+ * their slots and each node gets a pipeline. Commands with a failed reply are retried one by one.
+ *
+ * <p>If the pipeline of a node fails, only the records sent to that node are written again record
+ * by record. When the connection is lost the commands may have been applied, so records with a
+ * LPUSH or RPUSH command are collected as dirty data instead of being pushed twice.
+ *
  * @author chuixue
  * @create 2021-06-16 15:12
  * @description
@@ -43,10 +67,17 @@ public class RedisOutputFormat extends BaseRichOutputFormat {
 
     private String TEST_KEY = "test";
 
+    /** commands of the records being written */
+    private transient List<RedisCommand> commands;
+    /** index of the record in rows for each command */
+    private transient List<Integer> commandRows;
+
     @Override
     protected void openInternal(int taskNumber, int numTasks) {
         redisSyncClient = new RedisSyncClient(redisConf);
         jedis = redisSyncClient.getJedis();
+        commands = new ArrayList<>();
+        commandRows = new ArrayList<>();
     }
 
     @Override
@@ -65,20 +96,225 @@ public class RedisOutputFormat extends BaseRichOutputFormat {
      * @throws Exception
      */
     private void writeSingleRecordWithRetry(RowData rowData) throws Exception {
+        List<RedisCommand> rowCommands = new ArrayList<>();
+        rowConverter.toExternal(rowData, rowCommands);
         try {
-            rowConverter.toExternal(rowData, jedis);
+            for (RedisCommand command : rowCommands) {
+                command.execute(jedis);
+            }
         } catch (JedisConnectionException e) {
             // JedisConnectionException may be caused by jedis time out ,retry to get jedis from
             // pool
             LOG.error("retry get redis once");
             jedis = redisSyncClient.testTimeout(jedis, TEST_KEY);
-            rowConverter.toExternal(rowData, jedis);
+            if (!isIdempotent(rowCommands)) {
+                throw new WriteRecordException(
+                        "connection lost while pushing to a list, the record may have been written",
+                        e,
+                        0,
+                        rowData);
+            }
+            for (RedisCommand command : rowCommands) {
+                command.execute(jedis);
+            }
         }
     }
 
+    private static boolean isIdempotent(List<RedisCommand> rowCommands) {
+        for (RedisCommand command : rowCommands) {
+            if (!command.isIdempotent()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
-    protected void writeMultipleRecordsInternal() {
-        throw new UnsupportedOperationException();
+    protected void writeMultipleRecordsInternal() throws Exception {
+        commands.clear();
+        commandRows.clear();
+        for (int i = 0; i < rows.size(); i++) {
+            rowConverter.toExternal(rows.get(i), commands);
+            while (commandRows.size() < commands.size()) {
+                commandRows.add(i);
+            }
+        }
+
+        Set<Integer> dirtyRows = new HashSet<>();
+        Set<Integer> unwrittenRows = new HashSet<>();
+        Set<Integer> uncertainRows = new HashSet<>();
+        if (jedis instanceof RedisClusterClient) {
+            writeCluster((RedisClusterClient) jedis, dirtyRows, unwrittenRows, uncertainRows);
+        } else {
+            List<Integer> indexes = new ArrayList<>(commands.size());
+            for (int i = 0; i < commands.size(); i++) {
+                indexes.add(i);
+            }
+            writePipeline((Jedis) jedis, indexes, dirtyRows, unwrittenRows, uncertainRows);
+        }
+        if (!unwrittenRows.isEmpty() || !uncertainRows.isEmpty()) {
+            LOG.error("retry get redis once");
+            jedis = redisSyncClient.testTimeout(jedis, TEST_KEY);
+            // in the order of the records, the order matters for lists
+            Set<Integer> failedRows = new TreeSet<>(unwrittenRows);
+            failedRows.addAll(uncertainRows);
+            for (int row : failedRows) {
+                if (!dirtyRows.contains(row)) {
+                    writeAgain(row, uncertainRows.contains(row));
+                }
+            }
+        }
+    }
+
+    /**
+     * write a record of a failed pipeline again, the record is collected as dirty data if it fails
+     * again or if it may have been applied and pushes to a list
+     */
+    private void writeAgain(int row, boolean uncertain) {
+        RowData rowData = rows.get(row);
+        try {
+            if (uncertain && !isIdempotent(rowCommands(row))) {
+                throw new WriteRecordException(
+                        "connection lost while pushing to a list, the record may have been written",
+                        null,
+                        0,
+                        rowData);
+            }
+            writeSingleRecordInternal(rowData);
+        } catch (WriteRecordException e) {
+            dirtyManager.collect(rowData, e, null);
+        }
+    }
+
+    private List<RedisCommand> rowCommands(int row) {
+        List<RedisCommand> rowCommands = new ArrayList<>();
+        for (int i = 0; i < commands.size(); i++) {
+            if (commandRows.get(i) == row) {
+                rowCommands.add(commands.get(i));
+            }
+        }
+        return rowCommands;
+    }
+
+    /** group the commands by the node serving their slots, and send a pipeline to each node */
+    private void writeCluster(
+            RedisClusterClient cluster,
+            Set<Integer> dirtyRows,
+            Set<Integer> unwrittenRows,
+            Set<Integer> uncertainRows) {
+        Map<String, Jedis> connections = new LinkedHashMap<>();
+        Map<String, List<Integer>> nodeCommands = new LinkedHashMap<>();
+        Map<Integer, String> slotNodes = new HashMap<>();
+        try {
+            for (int i = 0; i < commands.size(); i++) {
+                int slot = commands.get(i).getSlot();
+                String node = slotNodes.get(slot);
+                if (node == null) {
+                    Jedis connection = cluster.getConnectionFromSlot(slot);
+                    Client client = connection.getClient();
+                    node = client.getHost() + ":" + client.getPort();
+                    if (connections.containsKey(node)) {
+                        connection.close();
+                    } else {
+                        connections.put(node, connection);
+                    }
+                    slotNodes.put(slot, node);
+                }
+                nodeCommands.computeIfAbsent(node, k -> new ArrayList<>()).add(i);
+            }
+            for (Map.Entry<String, List<Integer>> entry : nodeCommands.entrySet()) {
+                writePipeline(
+                        connections.get(entry.getKey()),
+                        entry.getValue(),
+                        dirtyRows,
+                        unwrittenRows,
+                        uncertainRows);
+            }
+        } finally {
+            connections.values().forEach(Jedis::close);
+        }
+    }
+
+    /**
+     * Send the commands in a pipeline and retry the commands with a failed reply. If the batch is
+     * in a transaction and the transaction is aborted, nothing is written on this node and its
+     * records are written again. If the connection is lost, the commands may be partly applied.
+     *
+     * <p>Redis does not roll back a transaction when a command fails at runtime, e.g. a wrong type
+     * of the key. Such a command is retried outside the transaction, so the atomicity of the batch
+     * only covers the commands that succeed.
+     *
+     * @param connection connection of a redis node
+     * @param indexes index of the commands to send
+     * @param dirtyRows records already collected as dirty data
+     * @param unwrittenRows records of an aborted transaction, nothing of them is written
+     * @param uncertainRows records which may be partly written when the connection is lost
+     */
+    private void writePipeline(
+            Jedis connection,
+            List<Integer> indexes,
+            Set<Integer> dirtyRows,
+            Set<Integer> unwrittenRows,
+            Set<Integer> uncertainRows) {
+        List<Response<?>> responses = new ArrayList<>(indexes.size());
+        try {
+            Pipeline pipeline = connection.pipelined();
+            if (redisConf.isTransaction()) {
+                pipeline.multi();
+            }
+            for (int index : indexes) {
+                responses.add(commands.get(index).queue(pipeline));
+            }
+            Response<List<Object>> exec = redisConf.isTransaction() ? pipeline.exec() : null;
+            pipeline.sync();
+            if (exec != null) {
+                exec.get();
+            }
+        } catch (JedisConnectionException e) {
+            LOG.warn("connection lost while writing {} commands", indexes.size(), e);
+            indexes.forEach(index -> uncertainRows.add(commandRows.get(index)));
+            return;
+        } catch (JedisDataException e) {
+            LOG.warn("transaction of {} commands is aborted", indexes.size(), e);
+            indexes.forEach(index -> unwrittenRows.add(commandRows.get(index)));
+            return;
+        }
+
+        for (int i = 0; i < indexes.size(); i++) {
+            try {
+                responses.get(i).get();
+            } catch (JedisDataException e) {
+                retryCommand(indexes.get(i), e, dirtyRows, uncertainRows);
+            }
+        }
+    }
+
+    /** execute the command again, the record is collected as dirty data if it fails again */
+    private void retryCommand(
+            int index,
+            JedisDataException failure,
+            Set<Integer> dirtyRows,
+            Set<Integer> uncertainRows) {
+        RedisCommand command = commands.get(index);
+        int row = commandRows.get(index);
+        if (dirtyRows.contains(row)) {
+            return;
+        }
+        LOG.warn("retry command [{}], reply = {}", command, failure.getMessage());
+        try {
+            if (failure instanceof JedisMovedDataException && jedis instanceof RedisClusterClient) {
+                ((RedisClusterClient) jedis).renewSlotCache();
+            }
+            command.execute(jedis);
+        } catch (JedisConnectionException e) {
+            uncertainRows.add(row);
+        } catch (Exception e) {
+            dirtyRows.add(row);
+            dirtyManager.collect(
+                    rows.get(row),
+                    new WriteRecordException("writer data error", e, 0, rows.get(row)),
+                    null);
+        }
     }
 
     @Override
@@ -54,18 +54,24 @@ import static com.dtstack.chunjun.connector.redis.options.RedisOptions.PASSWORD;
 import static com.dtstack.chunjun.connector.redis.options.RedisOptions.REDISTYPE;
 import static com.dtstack.chunjun.connector.redis.options.RedisOptions.REDIS_DATA_MODE;
 import static com.dtstack.chunjun.connector.redis.options.RedisOptions.REDIS_DATA_TYPE;
+import static com.dtstack.chunjun.connector.redis.options.RedisOptions.SINK_TRANSACTION;
 import static com.dtstack.chunjun.connector.redis.options.RedisOptions.TABLENAME;
 import static com.dtstack.chunjun.connector.redis.options.RedisOptions.TIMEOUT;
 import static com.dtstack.chunjun.connector.redis.options.RedisOptions.URL;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_ASYNC_TIMEOUT;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_ALL_STORAGE;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_ROWS;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_WEIGHT;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_PERIOD;
+import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_REFRESH_INTERVAL;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_TTL;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_TYPE;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_ERROR_LIMIT;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_FETCH_SIZE;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_MAX_RETRIES;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_PARALLELISM;
+import static com.dtstack.chunjun.table.options.SinkOptions.SINK_BUFFER_FLUSH_INTERVAL;
+import static com.dtstack.chunjun.table.options.SinkOptions.SINK_BUFFER_FLUSH_MAX_ROWS;
 import static org.apache.flink.table.factories.FactoryUtil.SINK_PARALLELISM;
 
 /**
@@ -136,6 +142,9 @@ public class RedisDynamicTableFactory
         optionalOptions.add(MASTERNAME);
         optionalOptions.add(DATABASE);
         optionalOptions.add(SINK_PARALLELISM);
+        optionalOptions.add(SINK_BUFFER_FLUSH_MAX_ROWS);
+        optionalOptions.add(SINK_BUFFER_FLUSH_INTERVAL);
+        optionalOptions.add(SINK_TRANSACTION);
         optionalOptions.add(TIMEOUT);
         optionalOptions.add(MAXTOTAL);
         optionalOptions.add(MAXIDLE);
@@ -145,6 +154,9 @@ public class RedisDynamicTableFactory
         optionalOptions.add(LOOKUP_CACHE_PERIOD);
         optionalOptions.add(LOOKUP_CACHE_MAX_ROWS);
         optionalOptions.add(LOOKUP_CACHE_TTL);
+        optionalOptions.add(LOOKUP_CACHE_ALL_STORAGE);
+        optionalOptions.add(LOOKUP_CACHE_MAX_WEIGHT);
+        optionalOptions.add(LOOKUP_CACHE_REFRESH_INTERVAL);
         optionalOptions.add(LOOKUP_CACHE_TYPE);
         optionalOptions.add(LOOKUP_MAX_RETRIES);
         optionalOptions.add(LOOKUP_ERROR_LIMIT);
@@ -163,6 +175,9 @@ public class RedisDynamicTableFactory
         redisConf.setMasterName(config.get(MASTERNAME));
         redisConf.setDatabase(config.get(DATABASE));
         redisConf.setParallelism(config.get(SINK_PARALLELISM));
+        redisConf.setBatchSize(config.get(SINK_BUFFER_FLUSH_MAX_ROWS));
+        redisConf.setFlushIntervalMills(config.get(SINK_BUFFER_FLUSH_INTERVAL));
+        redisConf.setTransaction(config.get(SINK_TRANSACTION));
         redisConf.setTimeout(config.get(TIMEOUT));
         redisConf.setMaxTotal(config.get(MAXTOTAL));
         redisConf.setMaxIdle(config.get(MAXIDLE));
@@ -182,6 +197,9 @@ public class RedisDynamicTableFactory
                 .setPeriod(readableConfig.get(LOOKUP_CACHE_PERIOD))
                 .setCacheSize(readableConfig.get(LOOKUP_CACHE_MAX_ROWS))
                 .setCacheTtl(readableConfig.get(LOOKUP_CACHE_TTL))
+                .setCacheAllStorage(readableConfig.get(LOOKUP_CACHE_ALL_STORAGE))
+                .setCacheMaxWeight(readableConfig.get(LOOKUP_CACHE_MAX_WEIGHT))
+                .setCacheRefreshInterval(readableConfig.get(LOOKUP_CACHE_REFRESH_INTERVAL))
                 .setCache(readableConfig.get(LOOKUP_CACHE_TYPE))
                 .setMaxRetryTimes(readableConfig.get(LOOKUP_MAX_RETRIES))
                 .setErrorLimit(readableConfig.get(LOOKUP_ERROR_LIMIT))
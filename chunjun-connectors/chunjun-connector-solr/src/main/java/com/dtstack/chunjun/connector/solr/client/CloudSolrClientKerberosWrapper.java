@@ -34,9 +34,12 @@ import org.apache.solr.client.solrj.impl.CloudSolrClient;
 import org.apache.solr.client.solrj.impl.HttpClientUtil;
 import org.apache.solr.client.solrj.impl.Krb5HttpClientBuilder;
 import org.apache.solr.client.solrj.impl.SolrHttpClientBuilder;
+import org.apache.solr.client.solrj.request.schema.SchemaRequest;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.UpdateResponse;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.cloud.DocCollection;
+import org.apache.solr.common.cloud.Slice;
 import org.apache.solr.common.params.SolrParams;
 import org.apache.solr.common.util.NamedList;
 import org.slf4j.Logger;
@@ -52,8 +55,11 @@ import java.lang.invoke.MethodHandles;
 import java.security.PrivilegedAction;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static com.dtstack.chunjun.connector.solr.client.ChunJunKrb5HttpClientBuilder.SOLR_KERBEROS_JAAS_APPNAME;
 
@@ -141,6 +147,39 @@ public class CloudSolrClientKerberosWrapper extends SolrClient {
                 });
     }
 
+    /** names of the active shards, empty if the collection is not found such as an alias */
+    public List<String> getShardNames() {
+        return doWithKerberos(
+                () -> {
+                    DocCollection collection =
+                            cloudSolrClient
+                                    .getZkStateReader()
+                                    .getClusterState()
+                                    .getCollectionOrNull(solrConf.getCollection());
+                    if (collection == null) {
+                        return Collections.emptyList();
+                    }
+                    return collection.getActiveSlices().stream()
+                            .map(Slice::getName)
+                            .sorted()
+                            .collect(Collectors.toList());
+                });
+    }
+
+    /** the uniqueKey field of the collection schema */
+    public String getUniqueKey() {
+        return doWithKerberos(
+                () -> {
+                    try {
+                        return new SchemaRequest.UniqueKey()
+                                .process(cloudSolrClient)
+                                .getUniqueKey();
+                    } catch (SolrServerException | IOException e) {
+                        throw new ChunJunRuntimeException(e);
+                    }
+                });
+    }
+
     @Override
     public NamedList<Object> request(SolrRequest request, String collection)
             throws SolrServerException, IOException {
@@ -20,6 +20,7 @@ package com.dtstack.chunjun.connector.solr.source;
 
 import com.dtstack.chunjun.connector.solr.SolrConf;
 import com.dtstack.chunjun.connector.solr.client.CloudSolrClientKerberosWrapper;
+import com.dtstack.chunjun.restore.FormatState;
 import com.dtstack.chunjun.source.format.BaseRichInputFormat;
 import com.dtstack.chunjun.throwable.ReadRecordException;
 
@@ -32,28 +33,65 @@ import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.apache.solr.common.params.ShardParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
 /**
+ * Read the collection by cursorMark sorted on the uniqueKey, so each page costs the same no matter
+ * how deep it is. The shards are assigned to the splits and read directly in parallel, and the
+ * cursorMark of each shard is saved in {@link SolrSplitState} to resume after restoring.
+ *
+ * <p>Pages are fetched in {@link #reachedEnd()} without the checkpoint lock. A new page or shard is
+ * prepared in local variables and published under the monitor of this format, which {@link
+ * #getFormatState()} also holds, so a snapshot never sees a half switched page.
+ *
  * @author Ada Wong
  * @program chunjun
  * @create 2021/06/15
  */
 public class SolrInputFormat extends BaseRichInputFormat {
 
+    private static final Logger LOG = LoggerFactory.getLogger(SolrInputFormat.class);
+
     public static final String QUERY_ALL = "*:*";
+    /** split id when the shards are unknown and the whole collection is read by one split */
+    private static final String ALL_SHARDS = "*";
+
     private final SolrConf solrConf;
     protected String[] fieldNames;
     private CloudSolrClientKerberosWrapper solrClientWrapper;
     private SolrQuery solrQuery;
-    private Long startRows;
-    private Long queryRows;
-    private Long maxRows;
     private Iterator<SolrDocument> iterator;
 
+    /** shards read by this split */
+    private transient List<String> shards;
+
+    private transient int shardIndex;
+    /** the shard being read, null when all shards are read together */
+    private transient String currentShard;
+    /** the cursorMark to read the next page */
+    private transient String cursorMark;
+    /** the cursorMark of the current page */
+    private transient String pageCursorMark;
+    /** documents emitted from the current page */
+    private transient int pageOffset;
+    /** documents emitted from the current shard */
+    private transient long position;
+    /** documents of the first page emitted before restoring */
+    private transient int skip;
+
+    private transient boolean shardFinished;
+
+    private transient SolrSplitState splitState;
+
     public SolrInputFormat(SolrConf solrConf, String[] fieldNames) {
         this.solrConf = solrConf;
         this.fieldNames = fieldNames;
@@ -76,30 +114,85 @@ public class SolrInputFormat extends BaseRichInputFormat {
         solrClientWrapper.init();
 
         GenericInputSplit genericInputSplit = (GenericInputSplit) inputSplit;
+        shards = assignShards(genericInputSplit);
+        shardIndex = 0;
+        LOG.info("split {} reads shards {}", genericInputSplit, shards);
+
+        String uniqueKey = solrClientWrapper.getUniqueKey();
         solrQuery = new SolrQuery();
         solrQuery.setQuery(QUERY_ALL);
-        solrQuery.setStart(0);
-        solrQuery.setRows(0);
+        solrQuery.setRows(solrConf.getBatchSize());
         solrQuery.setFields(fieldNames);
+        // cursorMark needs a sort on the uniqueKey
+        solrQuery.setSort(uniqueKey, SolrQuery.ORDER.asc);
         List<String> filterQueries = solrConf.getFilterQueries();
         if (CollectionUtils.isNotEmpty(filterQueries)) {
             solrQuery.setFilterQueries(filterQueries.toArray(new String[filterQueries.size()]));
         }
-        QueryResponse response = solrClientWrapper.query(solrQuery);
-        SolrDocumentList solrDocumentList = response.getResults();
-        long numFound = solrDocumentList.getNumFound();
-        queryRows = numFound / genericInputSplit.getTotalNumberOfSplits();
-        startRows = queryRows * (genericInputSplit.getSplitNumber() - 1);
-        if (genericInputSplit.getTotalNumberOfSplits() == genericInputSplit.getSplitNumber()) {
-            queryRows += numFound % genericInputSplit.getTotalNumberOfSplits();
+        shardFinished = true;
+    }
+
+    /**
+     * The sorted shards are assigned to the splits in turn. If the shards are unknown, the first
+     * split reads the whole collection.
+     */
+    private List<String> assignShards(GenericInputSplit split) {
+        List<String> allShards = solrClientWrapper.getShardNames();
+        if (allShards.isEmpty()) {
+            return split.getSplitNumber() == 1
+                    ? Collections.singletonList(null)
+                    : Collections.emptyList();
         }
-        maxRows = startRows + queryRows;
+        List<String> assigned = new ArrayList<>();
+        for (int i = split.getSplitNumber() - 1;
+                i < allShards.size();
+                i += split.getTotalNumberOfSplits()) {
+            assigned.add(allShards.get(i));
+        }
+        return assigned;
+    }
+
+    /** @return false if there is no more shard */
+    private boolean nextShard() {
+        while (shardIndex < shards.size()) {
+            String shard = shards.get(shardIndex++);
+            String splitId = shard == null ? ALL_SHARDS : shard;
+            if (getSplitState().isFinished(splitId)) {
+                LOG.info("skip shard [{}], it has been read before restore", splitId);
+                continue;
+            }
+            SolrSplitState.Offset offset = getSplitState().getOffset(splitId);
+            if (offset != null) {
+                LOG.info("resume shard [{}] from {}", splitId, offset);
+            }
+            synchronized (this) {
+                currentShard = shard;
+                cursorMark =
+                        offset == null
+                                ? CursorMarkParams.CURSOR_MARK_START
+                                : offset.getCursorMark();
+                pageCursorMark = null;
+                pageOffset = 0;
+                position = offset == null ? 0 : offset.getPosition();
+                skip = offset == null ? 0 : offset.getOffsetInPage();
+                shardFinished = false;
+            }
+            if (shard == null) {
+                solrQuery.remove(ShardParams.SHARDS);
+            } else {
+                solrQuery.set(ShardParams.SHARDS, shard);
+            }
+            return true;
+        }
+        return false;
     }
 
     @Override
     protected RowData nextRecordInternal(RowData rowData) throws ReadRecordException {
         try {
             SolrDocument document = iterator.next();
+            pageOffset++;
+            position++;
             return rowConverter.toInternal(document);
         } catch (Exception e) {
             throw new ReadRecordException("", e, 0, rowData);
@@ -123,22 +216,65 @@ public class SolrInputFormat extends BaseRichInputFormat {
     }
 
     private boolean getNextBatchSize() throws IOException {
-        if (startRows >= maxRows) {
-            return true;
+        while (true) {
+            if (shardFinished && !nextShard()) {
+                return true;
+            }
+            solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            QueryResponse response = solrClientWrapper.query(solrQuery);
+            SolrDocumentList solrDocumentList = response.getResults();
+
+            if (CollectionUtils.isEmpty(solrDocumentList)) {
+                synchronized (this) {
+                    getSplitState().finish(getSplitId());
+                    shardFinished = true;
+                    iterator = null;
+                }
+                continue;
+            }
+            // documents of the first page emitted before restoring
+            Iterator<SolrDocument> page = solrDocumentList.iterator();
+            int skipped = 0;
+            for (; skipped < skip && page.hasNext(); skipped++) {
+                page.next();
+            }
+            synchronized (this) {
+                pageCursorMark = cursorMark;
+                cursorMark = response.getNextCursorMark();
+                iterator = page;
+                pageOffset = skipped;
+                skip -= skipped;
+            }
+            if (iterator.hasNext()) {
+                return false;
+            }
         }
-        Long batchSize = Math.min(solrConf.getBatchSize(), maxRows - startRows);
+    }
 
-        solrQuery.setStart(Integer.valueOf(startRows.toString()));
-        solrQuery.setRows(Integer.valueOf(batchSize.toString()));
-        SolrDocumentList solrDocumentList;
-        QueryResponse response = solrClientWrapper.query(solrQuery);
-        solrDocumentList = response.getResults();
+    private String getSplitId() {
+        return currentShard == null ? ALL_SHARDS : currentShard;
+    }
 
-        if (CollectionUtils.isEmpty(solrDocumentList)) {
-            return true;
+    @Override
+    public synchronized FormatState getFormatState() {
+        super.getFormatState();
+        if (formatState != null) {
+            if (!shardFinished && pageCursorMark != null) {
+                getSplitState()
+                        .setOffset(
+                                getSplitId(),
+                                new SolrSplitState.Offset(pageCursorMark, pageOffset, position));
+            }
+            formatState.setState(getSplitState().copy());
         }
-        this.iterator = solrDocumentList.iterator();
-        startRows += batchSize;
-        return false;
+        return formatState;
+    }
+
+    protected synchronized SolrSplitState getSplitState() {
+        if (splitState == null) {
+            splitState = SolrSplitState.restore(restoreStates);
+            LOG.info("init split state: {}", splitState);
+        }
+        return splitState;
     }
 }
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.solr.source;
+
+import com.dtstack.chunjun.restore.FormatState;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The read progress of each shard, saved in {@link FormatState#getState()}.
+ *
+ * <p>The states of all subtasks are merged when restoring: finished shards are skipped, and the
+ * others continue from the cursorMark of the page being read, skipping the documents of that page
+ * which have been emitted.
+ */
+public class SolrSplitState implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Set<String> finishedSplits = new HashSet<>();
+
+    private Map<String, Offset> splitOffsets = new HashMap<>();
+
+    public SolrSplitState() {}
+
+    /** copy the progress, later updates of the reading thread do not change the saved copy */
+    public SolrSplitState copy() {
+        SolrSplitState copy = new SolrSplitState();
+        copy.finishedSplits = new HashSet<>(finishedSplits);
+        copy.splitOffsets = new HashMap<>(splitOffsets);
+        return copy;
+    }
+
+    /** merge the states of all subtasks */
+    public static SolrSplitState restore(List<FormatState> formatStates) {
+        SolrSplitState splitState = new SolrSplitState();
+        for (FormatState formatState : formatStates) {
+            if (formatState != null && formatState.getState() instanceof SolrSplitState) {
+                splitState.merge((SolrSplitState) formatState.getState());
+            }
+        }
+        return splitState;
+    }
+
+    private void merge(SolrSplitState other) {
+        finishedSplits.addAll(other.finishedSplits);
+        for (Map.Entry<String, Offset> entry : other.splitOffsets.entrySet()) {
+            // the position keeps growing after restoring, so the larger one is newer
+            splitOffsets.merge(
+                    entry.getKey(),
+                    entry.getValue(),
+                    (a, b) -> a.getPosition() >= b.getPosition() ? a : b);
+        }
+        splitOffsets.keySet().removeAll(finishedSplits);
+    }
+
+    public boolean isFinished(String splitId) {
+        return finishedSplits.contains(splitId);
+    }
+
+    public void finish(String splitId) {
+        finishedSplits.add(splitId);
+        splitOffsets.remove(splitId);
+    }
+
+    public Offset getOffset(String splitId) {
+        return splitOffsets.get(splitId);
+    }
+
+    public void setOffset(String splitId, Offset offset) {
+        splitOffsets.put(splitId, offset);
+    }
+
+    public Set<String> getFinishedSplits() {
+        return finishedSplits;
+    }
+
+    public void setFinishedSplits(Set<String> finishedSplits) {
+        this.finishedSplits = finishedSplits;
+    }
+
+    public Map<String, Offset> getSplitOffsets() {
+        return splitOffsets;
+    }
+
+    public void setSplitOffsets(Map<String, Offset> splitOffsets) {
+        this.splitOffsets = splitOffsets;
+    }
+
+    @Override
+    public String toString() {
+        return "SolrSplitState{"
+                + "finishedSplits="
+                + finishedSplits
+                + ", splitOffsets="
+                + splitOffsets
+                + '}';
+    }
+
+    /** the cursorMark of the page being read and the documents emitted from that page */
+    public static class Offset implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String cursorMark;
+
+        private int offsetInPage;
+
+        /** documents emitted from the split */
+        private long position;
+
+        public Offset() {}
+
+        public Offset(String cursorMark, int offsetInPage, long position) {
+            this.cursorMark = cursorMark;
+            this.offsetInPage = offsetInPage;
+            this.position = position;
+        }
+
+        public String getCursorMark() {
+            return cursorMark;
+        }
+
+        public void setCursorMark(String cursorMark) {
+            this.cursorMark = cursorMark;
+        }
+
+        public int getOffsetInPage() {
+            return offsetInPage;
+        }
+
+        public void setOffsetInPage(int offsetInPage) {
+            this.offsetInPage = offsetInPage;
+        }
+
+        public long getPosition() {
+            return position;
+        }
+
+        public void setPosition(long position) {
+            this.position = position;
+        }
+
+        @Override
+        public String toString() {
+            return cursorMark + "+" + offsetInPage + "@" + position;
+        }
+    }
+}
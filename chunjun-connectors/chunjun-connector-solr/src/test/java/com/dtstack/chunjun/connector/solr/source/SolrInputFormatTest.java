@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.solr.source;
+
+import com.dtstack.chunjun.connector.solr.SolrConf;
+import com.dtstack.chunjun.connector.solr.client.CloudSolrClientKerberosWrapper;
+import com.dtstack.chunjun.converter.AbstractRowConverter;
+import com.dtstack.chunjun.restore.FormatState;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.StringData;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.powermock.reflect.Whitebox;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class SolrInputFormatTest {
+
+    /** two pages of ids, the cursorMark after a page is its last id */
+    private static final String[][] PAGES = {{"a", "b", "c"}, {"d", "e"}};
+
+    @Test
+    public void restoreInPageTest() throws Exception {
+        SolrInputFormat format = solrInputFormat(Collections.emptyList());
+        Assert.assertEquals(Arrays.asList("a", "b"), read(format, 2));
+
+        SolrInputFormat restored =
+                solrInputFormat(Collections.singletonList(snapshot(format.getFormatState())));
+        Assert.assertEquals(Arrays.asList("c", "d", "e"), read(restored, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void restoreAfterPageSwitchTest() throws Exception {
+        SolrInputFormat format = solrInputFormat(Collections.emptyList());
+        Assert.assertEquals(Arrays.asList("a", "b", "c"), read(format, 3));
+        // the next page is fetched before the checkpoint
+        Assert.assertFalse(format.reachedEnd());
+
+        SolrInputFormat restored =
+                solrInputFormat(Collections.singletonList(snapshot(format.getFormatState())));
+        Assert.assertEquals(Arrays.asList("d", "e"), read(restored, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void restoreFinishedTest() throws Exception {
+        SolrInputFormat format = solrInputFormat(Collections.emptyList());
+        Assert.assertEquals(5, read(format, Integer.MAX_VALUE).size());
+
+        SolrInputFormat restored =
+                solrInputFormat(Collections.singletonList(snapshot(format.getFormatState())));
+        Assert.assertTrue(read(restored, Integer.MAX_VALUE).isEmpty());
+    }
+
+    private static List<String> read(SolrInputFormat format, int limit) throws Exception {
+        List<String> ids = new ArrayList<>();
+        while (ids.size() < limit && !format.reachedEnd()) {
+            ids.add(format.nextRecordInternal(null).getString(0).toString());
+        }
+        return ids;
+    }
+
+    /** the state is saved by a copy, like the operator state backend does */
+    private static FormatState snapshot(FormatState formatState) {
+        SolrSplitState state = (SolrSplitState) formatState.getState();
+        return new FormatState(0, state.copy());
+    }
+
+    private static SolrInputFormat solrInputFormat(List<FormatState> restoreStates)
+            throws Exception {
+        CloudSolrClientKerberosWrapper client = Mockito.mock(CloudSolrClientKerberosWrapper.class);
+        Mockito.when(client.query(Mockito.any(SolrQuery.class)))
+                .thenAnswer(
+                        invocation ->
+                                page(
+                                        ((SolrQuery) invocation.getArgument(0))
+                                                .get(CursorMarkParams.CURSOR_MARK_PARAM)));
+        AbstractRowConverter converter = Mockito.mock(AbstractRowConverter.class);
+        Mockito.when(converter.toInternal(Mockito.any()))
+                .thenAnswer(
+                        invocation ->
+                                GenericRowData.of(
+                                        StringData.fromString(
+                                                (String)
+                                                        ((SolrDocument) invocation.getArgument(0))
+                                                                .get("id"))));
+
+        SolrInputFormat format = new SolrInputFormat(new SolrConf(), new String[] {"id"});
+        format.setRestoreStates(restoreStates);
+        Whitebox.setInternalState(format, "formatState", new FormatState(0, null));
+        Whitebox.setInternalState(format, "rowConverter", converter);
+        Whitebox.setInternalState(format, "solrClientWrapper", client);
+        Whitebox.setInternalState(format, "solrQuery", new SolrQuery());
+        Whitebox.setInternalState(format, "shards", Collections.singletonList("shard1"));
+        Whitebox.setInternalState(format, "shardFinished", true);
+        return format;
+    }
+
+    private static QueryResponse page(String cursorMark) {
+        String[] ids = new String[0];
+        String nextCursorMark = cursorMark;
+        if (CursorMarkParams.CURSOR_MARK_START.equals(cursorMark)) {
+            ids = PAGES[0];
+        } else if (PAGES[0][PAGES[0].length - 1].equals(cursorMark)) {
+            ids = PAGES[1];
+        }
+        SolrDocumentList documents = new SolrDocumentList();
+        for (String id : ids) {
+            SolrDocument document = new SolrDocument();
+            document.setField("id", id);
+            documents.add(document);
+            nextCursorMark = id;
+        }
+        QueryResponse response = Mockito.mock(QueryResponse.class);
+        Mockito.when(response.getResults()).thenReturn(documents);
+        Mockito.when(response.getNextCursorMark()).thenReturn(nextCursorMark);
+        return response;
+    }
+}
@@ -38,7 +38,10 @@ import io.vertx.core.json.JsonArray;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.sql.Date;
 import java.sql.ResultSet;
+import java.sql.Time;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -287,4 +290,22 @@ public class SqlserverDialect implements JdbcDialect {
     public boolean isWithNoLock() {
         return withNoLock;
     }
+
+    /**
+     * Render temporal split keys with CONVERT and an ODBC canonical style. DATETIME2 keeps at most
+     * 7 fractional digits, so the nanoseconds are truncated to 100ns.
+     */
+    @Override
+    public String getSplitKeyLiteral(Object value) {
+        if (value instanceof Timestamp) {
+            Timestamp timestamp = (Timestamp) value;
+            String literal = String.format("%tF %<tT.%07d", timestamp, timestamp.getNanos() / 100);
+            return "CONVERT(DATETIME2, '" + literal + "', 121)";
+        } else if (value instanceof Date) {
+            return "CONVERT(DATE, '" + value + "', 23)";
+        } else if (value instanceof Time) {
+            return "CONVERT(TIME, '" + value + "', 108)";
+        }
+        return JdbcDialect.super.getSplitKeyLiteral(value);
+    }
 }
@@ -27,6 +27,12 @@ public class CdcConf implements Serializable {
     /** worker线程池的最大容量 */
     private int workerMax = 3;
 
+    /** 单表数据队列的容量，队列满时对source产生反压 */
+    private int tableQueueCapacity = 10000;
+
+    /** 所有表数据队列的总容量 */
+    private int totalQueueCapacity = 100000;
+
     private MonitorConf monitor;
 
     public int getWorkerNum() {
@@ -53,6 +59,22 @@ public class CdcConf implements Serializable {
         this.workerMax = workerMax;
     }
 
+    public int getTableQueueCapacity() {
+        return tableQueueCapacity;
+    }
+
+    public void setTableQueueCapacity(int tableQueueCapacity) {
+        this.tableQueueCapacity = tableQueueCapacity;
+    }
+
+    public int getTotalQueueCapacity() {
+        return totalQueueCapacity;
+    }
+
+    public void setTotalQueueCapacity(int totalQueueCapacity) {
+        this.totalQueueCapacity = totalQueueCapacity;
+    }
+
     public boolean isSkipDDL() {
         return skipDDL;
     }
@@ -76,6 +98,8 @@ public class CdcConf implements Serializable {
                 .add("workerNum=" + workerNum)
                 .add("workerSize=" + workerSize)
                 .add("workerMax=" + workerMax)
+                .add("tableQueueCapacity=" + tableQueueCapacity)
+                .add("totalQueueCapacity=" + totalQueueCapacity)
                 .add("monitor=" + monitor)
                 .toString();
     }
@@ -23,127 +23,166 @@ package com.dtstack.chunjun.cdc;
 import org.apache.flink.table.data.RowData;
 
 import java.io.Serializable;
-import java.util.Deque;
-import java.util.LinkedList;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.Semaphore;
 
 /**
- * QueuesChamberlain维护blockedQueues、unblockQueues,对外提供访问二者的方法.
+ * QueuesChamberlain维护所有表的数据队列以及队列的block、unblock状态,对外提供访问队列的方法.
+ *
+ * <p>每张表对应一个有界的{@link TableQueue}，队列各自加锁，不存在全局锁；单表队列已满或者所有队列的数据总量达到上限时，{@link #add(RowData,
+ * String)}会阻塞调用方，从而对source产生反压。
+ *
+ * <p>队列状态变化时通过{@link Notifier}通知消费方：有新的待下发数据时通知worker overseer，有队列被block时通知store和fetcher。
  *
  * @author shitou
  * @date 2021/12/6
  */
 public class QueuesChamberlain implements Serializable {
 
-    private static final long serialVersionUID = 2L;
+    private static final long serialVersionUID = 3L;
+
+    private final ConcurrentHashMap<String, TableQueue> queues = new ConcurrentHashMap<>();
+
+    /** 处于block状态的表 */
+    private final Set<String> blockedTables = ConcurrentHashMap.newKeySet();
 
-    private final ConcurrentHashMap<String, Deque<RowData>> blockedQueues;
+    /** 处于unblock状态且有待下发数据的表 */
+    private final Set<String> unblockTables = ConcurrentHashMap.newKeySet();
 
-    private final ConcurrentHashMap<String, Deque<RowData>> unblockQueues;
+    /** 所有队列共享的容量许可，许可数即所有队列数据总量的上限 */
+    private final Semaphore globalPermits;
 
-    private final Lock lock = new ReentrantLock();
+    /** unblock表集合中新增了表时发出通知 */
+    private final Notifier unblockNotifier = new Notifier();
 
-    public QueuesChamberlain(
-            ConcurrentHashMap<String, Deque<RowData>> blockedQueues,
-            ConcurrentHashMap<String, Deque<RowData>> unblockQueues) {
-        this.blockedQueues = blockedQueues;
-        this.unblockQueues = unblockQueues;
+    /** blocked表集合中新增了表时发出通知 */
+    private final Notifier blockNotifier = new Notifier();
+
+    /** 单表队列的容量 */
+    private final int tableQueueCapacity;
+
+    public QueuesChamberlain(int tableQueueCapacity, int totalQueueCapacity) {
+        this.tableQueueCapacity = tableQueueCapacity;
+        this.globalPermits = new Semaphore(totalQueueCapacity);
     }
 
     /**
-     * 将RowData放入队列中，如果队列中没有对应的数据队列，那么创建一个
+     * 将RowData放入队列中，如果不存在对应的数据队列，那么创建一个；队列已满时阻塞
      *
      * @param data row data.
      * @param tableIdentifier table identifier.
+     * @throws InterruptedException if interrupted while waiting for queue capacity.
      */
-    public void add(RowData data, String tableIdentifier) {
-        lock.lock();
-        try {
-            if (unblockQueues.containsKey(tableIdentifier)) {
-                unblockQueues.get(tableIdentifier).add(data);
-            } else if (blockedQueues.containsKey(tableIdentifier)) {
-                blockedQueues.get(tableIdentifier).add(data);
-            } else {
-                // 说明此时不存在该tableIdentifier的数据队列
-                Deque<RowData> dataDeque = new LinkedList<>();
-                dataDeque.add(data);
-                unblockQueues.put(tableIdentifier, dataDeque);
-            }
-        } finally {
-            lock.unlock();
+    public void add(RowData data, String tableIdentifier) throws InterruptedException {
+        TableQueue queue = getOrCreate(tableIdentifier);
+        queue.put(data);
+        if (!queue.isBlocked()) {
+            markUnblocked(tableIdentifier);
         }
     }
 
+    /**
+     * 队列为空或已经处于block状态时，将其从unblock表集合中移除
+     *
+     * @param tableIdentifier table identifier.
+     */
     public void removeEmptyQueue(String tableIdentifier) {
-        unblockQueues.remove(tableIdentifier);
+        unblockTables.remove(tableIdentifier);
+        // 移除之后再检查一次，避免与add并发时丢失刚放入的数据
+        TableQueue queue = queues.get(tableIdentifier);
+        if (queue != null && !queue.isBlocked() && !queue.isEmpty()) {
+            markUnblocked(tableIdentifier);
+        }
     }
 
-    public void block(String tableIdentity, RowData rowData) {
-        lock.lock();
-        try {
-            if (blockedQueues.containsKey(tableIdentity)) {
-                Deque<RowData> rowDataDeque = blockedQueues.get(tableIdentity);
-                rowDataDeque.add(rowData);
-                return;
-            }
-
-            Deque<RowData> dataDeque = new LinkedList<>();
-            dataDeque.add(rowData);
-            blockedQueues.put(tableIdentity, dataDeque);
-        } finally {
-            lock.unlock();
-        }
+    /**
+     * 将外部存储中尚未处理的ddl数据放入对应队列，并将该队列置为block状态
+     *
+     * @param tableIdentity table identifier.
+     * @param rowData ddl row data.
+     * @throws InterruptedException if interrupted while waiting for queue capacity.
+     */
+    public void block(String tableIdentity, RowData rowData) throws InterruptedException {
+        TableQueue queue = getOrCreate(tableIdentity);
+        block(tableIdentity);
+        queue.put(rowData);
     }
 
-    public void block(String tableIdentity, Deque<RowData> queue) {
-        // 将该队列放到blockQueues
-        lock.lock();
-        try {
-            blockedQueues.put(tableIdentity, queue);
-            unblockQueues.remove(tableIdentity);
-        } finally {
-            lock.unlock();
+    /** 将表对应的队列置为block状态 */
+    public void block(String tableIdentity) {
+        TableQueue queue = getOrCreate(tableIdentity);
+        queue.setBlocked(true);
+        unblockTables.remove(tableIdentity);
+        if (blockedTables.add(tableIdentity)) {
+            blockNotifier.signal();
         }
     }
 
-    public void unblock(String tableIdentity, Deque<RowData> queue) {
-        // 将该队列放到unblockQueues
-        lock.lock();
-        try {
-            unblockQueues.put(tableIdentity, queue);
-            blockedQueues.remove(tableIdentity);
-        } finally {
-            lock.unlock();
+    /** 将表对应的队列置为unblock状态 */
+    public void unblock(String tableIdentity) {
+        TableQueue queue = queues.get(tableIdentity);
+        if (queue == null) {
+            return;
+        }
+        queue.setBlocked(false);
+        blockedTables.remove(tableIdentity);
+        if (!queue.isEmpty()) {
+            markUnblocked(tableIdentity);
         }
     }
 
     /**
-     * 从unblockQueues中取出表名为tableIdentity的队列
+     * 获取表名为tableIdentity且处于unblock状态的队列，不存在时返回null
      *
      * @param tableIdentity table identifier.
      */
-    public Deque<RowData> fromUnblock(String tableIdentity) {
-        return unblockQueues.get(tableIdentity);
+    public TableQueue fromUnblock(String tableIdentity) {
+        TableQueue queue = queues.get(tableIdentity);
+        return queue == null || queue.isBlocked() ? null : queue;
     }
 
-    public Deque<RowData> fromBlock(String tableIdentity) {
-        return blockedQueues.get(tableIdentity);
+    /**
+     * 获取表名为tableIdentity且处于block状态的队列，不存在时返回null
+     *
+     * @param tableIdentity table identifier.
+     */
+    public TableQueue fromBlock(String tableIdentity) {
+        TableQueue queue = queues.get(tableIdentity);
+        return queue == null || !queue.isBlocked() ? null : queue;
     }
 
-    /** 从unblockQueues中获取所有key集. */
+    /** 获取所有处于unblock状态且有待下发数据的表. */
     public Set<String> unblockTableIdentities() {
-        return unblockQueues.keySet();
+        return unblockTables;
     }
 
-    /** 从blockedQueues中获取所有key集. */
+    /** 获取所有处于block状态的表. */
     public Set<String> blockTableIdentities() {
-        return blockedQueues.keySet();
+        return blockedTables;
     }
 
     public boolean unblockQueuesIsEmpty() {
-        return unblockQueues.isEmpty();
+        return unblockTables.isEmpty();
+    }
+
+    public Notifier getUnblockNotifier() {
+        return unblockNotifier;
+    }
+
+    public Notifier getBlockNotifier() {
+        return blockNotifier;
+    }
+
+    /** 只有表新加入unblock集合时才发出通知，避免每条数据都去竞争通知器的锁 */
+    private void markUnblocked(String tableIdentifier) {
+        if (unblockTables.add(tableIdentifier)) {
+            unblockNotifier.signal();
+        }
+    }
+
+    private TableQueue getOrCreate(String tableIdentifier) {
+        return queues.computeIfAbsent(
+                tableIdentifier, k -> new TableQueue(k, tableQueueCapacity, globalPermits));
     }
 }
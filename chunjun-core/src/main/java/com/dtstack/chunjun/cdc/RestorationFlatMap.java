@@ -3,17 +3,19 @@ package com.dtstack.chunjun.cdc;
 import com.dtstack.chunjun.cdc.monitor.Monitor;
 import com.dtstack.chunjun.cdc.monitor.fetch.FetcherBase;
 import com.dtstack.chunjun.cdc.monitor.store.StoreBase;
+import com.dtstack.chunjun.cdc.utils.LoopStatistics;
 import com.dtstack.chunjun.cdc.worker.WorkerManager;
+import com.dtstack.chunjun.constants.Metrics;
 import com.dtstack.chunjun.element.ColumnRowData;
 
 import org.apache.flink.api.common.functions.RichFlatMapFunction;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.util.Collector;
 
-import java.util.Deque;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 数据（不论ddl还是dml数据）下发到对应表名下的unblock队列中，worker在轮询过程中，处理unblock数据队列中的数据，在遇到ddl数据之后，将数据队列置为block状态，并将队
@@ -25,20 +27,15 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class RestorationFlatMap extends RichFlatMapFunction<RowData, RowData> {
 
-    private final ConcurrentHashMap<String, Deque<RowData>> blockedQueues =
-            new ConcurrentHashMap<>();
-
-    private final ConcurrentHashMap<String, Deque<RowData>> unblockQueues =
-            new ConcurrentHashMap<>();
-
-    private final QueuesChamberlain chamberlain =
-            new QueuesChamberlain(blockedQueues, unblockQueues);
+    private final QueuesChamberlain chamberlain;
 
     private final Monitor monitor;
 
     private final WorkerManager workerManager;
 
     public RestorationFlatMap(FetcherBase fetcher, StoreBase store, CdcConf conf) {
+        this.chamberlain =
+                new QueuesChamberlain(conf.getTableQueueCapacity(), conf.getTotalQueueCapacity());
         this.monitor = new Monitor(fetcher, store, chamberlain);
         this.workerManager = new WorkerManager(chamberlain, conf);
     }
@@ -48,6 +45,23 @@ public class RestorationFlatMap extends RichFlatMapFunction<RowData, RowData> {
         workerManager.open();
         monitor.open();
         monitor.work();
+        registerMetrics();
+    }
+
+    /** 注册后台线程的唤醒次数以及CPU时间，用于观察线程是否空转 */
+    private void registerMetrics() {
+        MetricGroup cdcGroup =
+                getRuntimeContext()
+                        .getMetricGroup()
+                        .addGroup(Metrics.METRIC_GROUP_KEY_CHUNJUN, Metrics.METRIC_GROUP_VALUE_CDC);
+        registerLoopMetrics(cdcGroup.addGroup("overseer"), workerManager.getOverseerStatistics());
+        registerLoopMetrics(cdcGroup.addGroup("store"), monitor.getStore().getStatistics());
+        registerLoopMetrics(cdcGroup.addGroup("fetcher"), monitor.getFetcher().getStatistics());
+    }
+
+    private void registerLoopMetrics(MetricGroup group, LoopStatistics statistics) {
+        group.gauge(Metrics.WAKE_UP_COUNT, (Gauge<Long>) statistics::getWakeUpCount);
+        group.gauge(Metrics.CPU_TIME_NANOS, (Gauge<Long>) statistics::getCpuTimeNanos);
     }
 
     @Override
@@ -58,15 +72,16 @@ public class RestorationFlatMap extends RichFlatMapFunction<RowData, RowData> {
 
     @Override
     public void flatMap(RowData value, Collector<RowData> out) throws Exception {
-        put(value);
         if (workerManager.getCollector() == null) {
             WrapCollector<RowData> wrapCollector = new WrapCollector<>(out);
             workerManager.setCollector(wrapCollector);
             monitor.setCollector(wrapCollector);
         }
+        // 队列已满时阻塞，对上游产生反压
+        put(value);
     }
 
-    private void put(RowData rowData) {
+    private void put(RowData rowData) throws InterruptedException {
         String tableIdentifier;
         if (rowData instanceof ColumnRowData) {
             tableIdentifier = getTableIdentifierFromColumnData((ColumnRowData) rowData);
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.cdc;
+
+import org.apache.flink.table.data.RowData;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 单张表的有界数据队列，基于数组实现的环形缓冲区。
+ *
+ * <p>每个队列持有自己的锁，不同表之间互不竞争；队列满或者所有队列的总容量耗尽时，{@link #put(RowData)} 会阻塞调用方，以此向上游 source 施加反压。
+ */
+public class TableQueue {
+
+    private final String tableIdentifier;
+
+    private final RowData[] items;
+
+    /** 所有表队列共享的容量许可 */
+    private final Semaphore globalPermits;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notFull = lock.newCondition();
+
+    private int head;
+
+    private int tail;
+
+    private int count;
+
+    /** 队列是否处于block状态，即队列头部是一条等待外部存储反馈的ddl数据 */
+    private volatile boolean blocked;
+
+    public TableQueue(String tableIdentifier, int capacity, Semaphore globalPermits) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("table queue capacity must be positive");
+        }
+        this.tableIdentifier = tableIdentifier;
+        this.items = new RowData[capacity];
+        this.globalPermits = globalPermits;
+    }
+
+    /**
+     * 将数据放入队列尾部，队列已满或总容量耗尽时阻塞等待
+     *
+     * @param data row data.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void put(RowData data) throws InterruptedException {
+        globalPermits.acquire();
+        boolean enqueued = false;
+        try {
+            lock.lockInterruptibly();
+            try {
+                while (count == items.length) {
+                    notFull.await();
+                }
+                items[tail] = data;
+                tail = (tail + 1) % items.length;
+                count++;
+                enqueued = true;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            if (!enqueued) {
+                globalPermits.release();
+            }
+        }
+    }
+
+    /** 获取但不移除队列头部数据，队列为空时返回null */
+    public RowData peek() {
+        lock.lock();
+        try {
+            return count == 0 ? null : items[head];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 获取并移除队列头部数据，队列为空时返回null */
+    public RowData poll() {
+        RowData data;
+        lock.lock();
+        try {
+            if (count == 0) {
+                return null;
+            }
+            data = items[head];
+            items[head] = null;
+            head = (head + 1) % items.length;
+            count--;
+            notFull.signal();
+        } finally {
+            lock.unlock();
+        }
+        globalPermits.release();
+        return data;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean isBlocked() {
+        return blocked;
+    }
+
+    void setBlocked(boolean blocked) {
+        this.blocked = blocked;
+    }
+
+    public String getTableIdentifier() {
+        return tableIdentifier;
+    }
+}
@@ -10,7 +10,8 @@ import com.dtstack.chunjun.cdc.utils.ExecutorUtils;
 import org.apache.flink.table.data.RowData;
 
 import java.io.Serializable;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 
 /**
@@ -30,7 +31,7 @@ public class Monitor implements Serializable {
     private final StoreBase store;
 
     /** 用来存储已经下发的ddl table */
-    private final CopyOnWriteArrayList<String> storedTableIdentifier = new CopyOnWriteArrayList<>();
+    private final Set<String> storedTableIdentifier = ConcurrentHashMap.newKeySet();
 
     private transient ExecutorService fetcherExecutor;
 
@@ -74,6 +75,14 @@ public class Monitor implements Serializable {
         storeExecutor.execute(store);
     }
 
+    public FetcherBase getFetcher() {
+        return fetcher;
+    }
+
+    public StoreBase getStore() {
+        return store;
+    }
+
     public WrapCollector<RowData> getCollector() {
         return this.store.getCollector();
     }
@@ -1,14 +1,16 @@
 package com.dtstack.chunjun.cdc.monitor.fetch;
 
 import com.dtstack.chunjun.cdc.DdlRowData;
+import com.dtstack.chunjun.cdc.Notifier;
 import com.dtstack.chunjun.cdc.QueuesChamberlain;
+import com.dtstack.chunjun.cdc.TableQueue;
+import com.dtstack.chunjun.cdc.utils.LoopStatistics;
 
 import org.apache.flink.table.data.RowData;
 
 import java.io.Serializable;
-import java.util.Deque;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -17,17 +19,25 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public abstract class FetcherBase implements Runnable, Serializable {
 
+    /** 没有block队列时的最长等待时间，超时后重新检查关闭状态 */
+    private static final long IDLE_TIMEOUT_MILLIS = 1000L;
+
+    /** 存在block队列时查询外部数据源的间隔 */
+    private static final long FETCH_INTERVAL_MILLIS = 1000L;
+
     private QueuesChamberlain chamberlain;
 
     protected final AtomicBoolean closed = new AtomicBoolean(false);
 
-    protected CopyOnWriteArrayList<String> storedTableIdentifier;
+    protected Set<String> storedTableIdentifier;
+
+    private final LoopStatistics statistics = new LoopStatistics();
 
     public void setChamberlain(QueuesChamberlain chamberlain) {
         this.chamberlain = chamberlain;
     }
 
-    public void setStoredTableIdentifier(CopyOnWriteArrayList<String> storedTableIdentifier) {
+    public void setStoredTableIdentifier(Set<String> storedTableIdentifier) {
         this.storedTableIdentifier = storedTableIdentifier;
     }
 
@@ -37,29 +47,49 @@ public abstract class FetcherBase implements Runnable, Serializable {
         // 查询外部数据源中是否存有ddl的数据
         Map<String, DdlRowData> ddlRowDataMap = query();
         if (null != ddlRowDataMap) {
-            ddlRowDataMap.forEach(
-                    (tableIdentity, ddlData) -> {
-                        chamberlain.block(tableIdentity, ddlData);
-                        storedTableIdentifier.add(tableIdentity);
-                    });
+            for (Map.Entry<String, DdlRowData> entry : ddlRowDataMap.entrySet()) {
+                chamberlain.block(entry.getKey(), entry.getValue());
+                storedTableIdentifier.add(entry.getKey());
+            }
         }
     }
 
     @Override
     public void run() {
-        while (!closed.get()) {
-            // 遍历block数据队列里的数据
-            for (String table : chamberlain.blockTableIdentities()) {
-                // 取队列中的头节点，查询外部数据源
-                final Deque<RowData> rowDataDeque = chamberlain.fromBlock(table);
-                RowData rowData = rowDataDeque.peekFirst();
-                // 如果外部数据源已经处理了该数据，那么将此数据从数据队列中移除，此数据队列从block中移除，放入到unblock队列中
-                if (fetch(rowData)) {
-                    rowDataDeque.removeFirst();
-                    chamberlain.unblock(table, rowDataDeque);
-                    storedTableIdentifier.remove(table);
-                    delete(rowData);
-                }
+        statistics.bindCurrentThread();
+        Notifier notifier = chamberlain.getBlockNotifier();
+        try {
+            while (!closed.get()) {
+                long version = notifier.version();
+                fetchBlocked();
+                // 没有block队列时等待通知，否则间隔一段时间后再查询外部数据源
+                notifier.await(
+                        version,
+                        chamberlain.blockTableIdentities().isEmpty()
+                                ? IDLE_TIMEOUT_MILLIS
+                                : FETCH_INTERVAL_MILLIS);
+                statistics.wakeUp();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void fetchBlocked() {
+        // 遍历block数据队列里的数据
+        for (String table : chamberlain.blockTableIdentities()) {
+            // 取队列中的头节点，查询外部数据源
+            final TableQueue queue = chamberlain.fromBlock(table);
+            if (queue == null) {
+                continue;
+            }
+            RowData rowData = queue.peek();
+            // 如果外部数据源已经处理了该数据，那么将此数据从数据队列中移除，此数据队列从block中移除，放入到unblock队列中
+            if (fetch(rowData)) {
+                queue.poll();
+                chamberlain.unblock(table);
+                storedTableIdentifier.remove(table);
+                delete(rowData);
             }
         }
     }
@@ -106,5 +136,12 @@ public abstract class FetcherBase implements Runnable, Serializable {
     public void close() {
         closeSubclass();
         closed.compareAndSet(false, true);
+        if (chamberlain != null) {
+            chamberlain.getBlockNotifier().signal();
+        }
+    }
+
+    public LoopStatistics getStatistics() {
+        return statistics;
     }
 }
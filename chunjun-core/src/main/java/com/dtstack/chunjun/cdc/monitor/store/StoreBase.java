@@ -1,13 +1,15 @@
 package com.dtstack.chunjun.cdc.monitor.store;
 
+import com.dtstack.chunjun.cdc.Notifier;
 import com.dtstack.chunjun.cdc.QueuesChamberlain;
+import com.dtstack.chunjun.cdc.TableQueue;
 import com.dtstack.chunjun.cdc.WrapCollector;
+import com.dtstack.chunjun.cdc.utils.LoopStatistics;
 
 import org.apache.flink.table.data.RowData;
 
 import java.io.Serializable;
-import java.util.Deque;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -16,47 +18,88 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public abstract class StoreBase implements Runnable, Serializable {
 
+    /** 没有待下发的ddl数据时的最长等待时间，超时后重新检查关闭状态 */
+    private static final long IDLE_TIMEOUT_MILLIS = 1000L;
+
+    /** ddl数据下发失败后的重试间隔 */
+    private static final long RETRY_INTERVAL_MILLIS = 100L;
+
     protected QueuesChamberlain chamberlain;
 
     private final AtomicBoolean closed = new AtomicBoolean(false);
 
-    protected CopyOnWriteArrayList<String> storedTableIdentifier;
+    protected Set<String> storedTableIdentifier;
 
     protected WrapCollector<RowData> collector;
 
+    private final LoopStatistics statistics = new LoopStatistics();
+
     @Override
     public void run() {
-        while (!closed.get()) {
-            for (String table : chamberlain.blockTableIdentities()) {
-                // 如果数据已经被下发了，那么就跳过
-                if (storedTableIdentifier.contains(table)) {
-                    continue;
-                }
-                // 将block的ddl数据下发到外部数据源中
-                final Deque<RowData> rowDataDeque = chamberlain.fromBlock(table);
-                RowData data = rowDataDeque.peekFirst();
-                if (collector != null && store(data)) {
-                    // ddl数据需要往下游发送 sink自身判断是否执行ddl语句
-                    collector.collect(data);
-                    storedTableIdentifier.add(table);
-                }
+        statistics.bindCurrentThread();
+        Notifier notifier = chamberlain.getBlockNotifier();
+        try {
+            while (!closed.get()) {
+                long version = notifier.version();
+                boolean pending = storeBlocked();
+                // 没有新的block队列时等待通知，存在下发失败的ddl数据时间隔一段时间后重试
+                notifier.await(version, pending ? RETRY_INTERVAL_MILLIS : IDLE_TIMEOUT_MILLIS);
+                statistics.wakeUp();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
+    /**
+     * 将block队列头部的ddl数据下发到外部数据源中
+     *
+     * @return 是否存在下发失败、需要重试的ddl数据
+     */
+    private boolean storeBlocked() {
+        boolean pending = false;
+        for (String table : chamberlain.blockTableIdentities()) {
+            // 如果数据已经被下发了，那么就跳过
+            if (storedTableIdentifier.contains(table)) {
+                continue;
+            }
+            // 将block的ddl数据下发到外部数据源中
+            final TableQueue queue = chamberlain.fromBlock(table);
+            if (queue == null) {
+                continue;
+            }
+            RowData data = queue.peek();
+            if (collector != null && store(data)) {
+                // ddl数据需要往下游发送 sink自身判断是否执行ddl语句
+                collector.collect(data);
+                storedTableIdentifier.add(table);
+            } else {
+                pending = true;
+            }
+        }
+        return pending;
+    }
+
     public void setChamberlain(QueuesChamberlain chamberlain) {
         this.chamberlain = chamberlain;
     }
 
-    public void setStoredTableIdentifier(CopyOnWriteArrayList<String> storedTableIdentifier) {
+    public void setStoredTableIdentifier(Set<String> storedTableIdentifier) {
         this.storedTableIdentifier = storedTableIdentifier;
     }
 
     public void close() {
         closed.compareAndSet(false, true);
+        if (chamberlain != null) {
+            chamberlain.getBlockNotifier().signal();
+        }
         closeSubclass();
     }
 
+    public LoopStatistics getStatistics() {
+        return statistics;
+    }
+
     public WrapCollector<RowData> getCollector() {
         return collector;
     }
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.cdc.utils;
+
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** 统计后台轮询线程的唤醒次数以及消耗的CPU时间，用于观察线程是否在空转. */
+public class LoopStatistics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final AtomicLong wakeUpCount = new AtomicLong();
+
+    private volatile long threadId = -1;
+
+    /** 记录执行循环的线程，需要在该线程中调用 */
+    public void bindCurrentThread() {
+        threadId = Thread.currentThread().getId();
+    }
+
+    public void wakeUp() {
+        wakeUpCount.incrementAndGet();
+    }
+
+    public long getWakeUpCount() {
+        return wakeUpCount.get();
+    }
+
+    /** 返回循环线程消耗的CPU时间(纳秒)，线程未启动或者JVM不支持时返回-1 */
+    public long getCpuTimeNanos() {
+        long id = threadId;
+        ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+        if (id < 0 || !threadMxBean.isThreadCpuTimeSupported()) {
+            return -1L;
+        }
+        return threadMxBean.getThreadCpuTime(id);
+    }
+}
@@ -21,13 +21,13 @@
 package com.dtstack.chunjun.cdc.worker;
 
 import com.dtstack.chunjun.cdc.QueuesChamberlain;
+import com.dtstack.chunjun.cdc.TableQueue;
 import com.dtstack.chunjun.cdc.WrapCollector;
 import com.dtstack.chunjun.element.ColumnRowData;
 
 import org.apache.flink.table.data.RowData;
 
 import java.util.Arrays;
-import java.util.Deque;
 import java.util.Iterator;
 import java.util.concurrent.Callable;
 
@@ -62,7 +62,12 @@ public class Worker implements Callable<Integer> {
         Iterator<String> iterator = Arrays.stream(chunk.getTableIdentities()).iterator();
         while (iterator.hasNext()) {
             String tableIdentity = iterator.next();
-            Deque<RowData> queue = queuesChamberlain.fromUnblock(tableIdentity);
+            TableQueue queue = queuesChamberlain.fromUnblock(tableIdentity);
+            if (queue == null) {
+                // 队列已经被置为block状态
+                queuesChamberlain.removeEmptyQueue(tableIdentity);
+                continue;
+            }
             for (int i = 0; i < size; i++) {
                 RowData data = queue.peek();
                 if (data == null) {
@@ -74,14 +79,14 @@ public class Worker implements Callable<Integer> {
                 if (data instanceof ColumnRowData) {
                     dealDmL(queue);
                 } else {
-                    queuesChamberlain.block(tableIdentity, queue);
+                    queuesChamberlain.block(tableIdentity);
                     break;
                 }
             }
         }
     }
 
-    private void dealDmL(Deque<RowData> queue) {
+    private void dealDmL(TableQueue queue) {
         // 队列头节点是dml, 将该dml数据发送到sink
         RowData rowData = queue.poll();
         collector.collect(rowData);
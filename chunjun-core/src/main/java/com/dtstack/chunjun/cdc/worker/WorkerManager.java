@@ -25,6 +25,7 @@ import com.dtstack.chunjun.cdc.QueuesChamberlain;
 import com.dtstack.chunjun.cdc.WrapCollector;
 import com.dtstack.chunjun.cdc.exception.LogExceptionHandler;
 import com.dtstack.chunjun.cdc.utils.ExecutorUtils;
+import com.dtstack.chunjun.cdc.utils.LoopStatistics;
 
 import org.apache.flink.table.data.RowData;
 
@@ -53,6 +54,8 @@ public class WorkerManager implements Serializable {
 
     private WrapCollector<RowData> collector;
 
+    private final LoopStatistics overseerStatistics = new LoopStatistics();
+
     /** worker的核心线程数 */
     private final int workerNum;
 
@@ -100,6 +103,10 @@ public class WorkerManager implements Serializable {
         }
     }
 
+    public LoopStatistics getOverseerStatistics() {
+        return overseerStatistics;
+    }
+
     public WrapCollector<RowData> getCollector() {
         return collector;
     }
@@ -112,7 +119,9 @@ public class WorkerManager implements Serializable {
 
     /** 开启Overseer线程,持续监听unblockQueues */
     private void openOverseer() {
-        overseer = new WorkerOverseer(workerExecutor, chamberlain, collector, workerSize);
+        overseer =
+                new WorkerOverseer(
+                        workerExecutor, chamberlain, collector, workerSize, overseerStatistics);
         overseerExecutor.execute(overseer);
     }
 }
@@ -20,8 +20,10 @@
 
 package com.dtstack.chunjun.cdc.worker;
 
+import com.dtstack.chunjun.cdc.Notifier;
 import com.dtstack.chunjun.cdc.QueuesChamberlain;
 import com.dtstack.chunjun.cdc.WrapCollector;
+import com.dtstack.chunjun.cdc.utils.LoopStatistics;
 
 import org.apache.flink.table.data.RowData;
 
@@ -42,6 +44,9 @@ public class WorkerOverseer implements Runnable, Serializable {
 
     private static final long serialVersionUID = 2L;
 
+    /** 没有待处理数据时的最长等待时间，超时后重新检查关闭状态 */
+    private static final long IDLE_TIMEOUT_MILLIS = 1000L;
+
     private final transient ThreadPoolExecutor workerExecutor;
 
     private final AtomicBoolean closed = new AtomicBoolean(false);
@@ -59,21 +64,37 @@ public class WorkerOverseer implements Runnable, Serializable {
     /** worker遍历队列时的步长 */
     private final int workerSize;
 
+    private final LoopStatistics statistics;
+
     public WorkerOverseer(
             ThreadPoolExecutor workerExecutor,
             QueuesChamberlain chamberlain,
             WrapCollector<RowData> collector,
-            int workerSize) {
+            int workerSize,
+            LoopStatistics statistics) {
         this.workerExecutor = workerExecutor;
         this.chamberlain = chamberlain;
         this.collector = collector;
         this.workerSize = workerSize;
+        this.statistics = statistics;
     }
 
     @Override
     public void run() {
-        while (!closed.get()) {
-            watch();
+        statistics.bindCurrentThread();
+        Notifier notifier = chamberlain.getUnblockNotifier();
+        try {
+            while (!closed.get()) {
+                long version = notifier.version();
+                watch();
+                if (chamberlain.unblockQueuesIsEmpty()) {
+                    // 没有待下发的数据，等待新数据的通知
+                    notifier.await(version, IDLE_TIMEOUT_MILLIS);
+                }
+                statistics.wakeUp();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -89,7 +110,8 @@ public class WorkerOverseer implements Runnable, Serializable {
     private void wakeUp() {
         // 创建worker
         final int workerNum = workerExecutor.getMaximumPoolSize();
-        Set<String> tableIdentities = chamberlain.unblockTableIdentities();
+        // 复制一份快照，unblock表集合会被source和worker并发修改
+        Set<String> tableIdentities = new HashSet<>(chamberlain.unblockTableIdentities());
         if (!tableIdentities.isEmpty()) {
             // 创建任务分片
             Chunk[] chunks = ChunkSplitter.createChunk(tableIdentities, workerNum);
@@ -104,6 +126,7 @@ public class WorkerOverseer implements Runnable, Serializable {
 
     public void close() {
         closed.compareAndSet(false, true);
+        chamberlain.getUnblockNotifier().signal();
     }
 
     /** 根据worker的返回结果，移除chunkSet中的记录 */
@@ -32,6 +32,10 @@ public class ChunJunCommonConf implements Serializable {
 
     /** 速率上限，0代表不限速 */
     private long speedBytes = 0;
+    /** 写入速率上限，0代表不限速 */
+    private long writerSpeedBytes = 0;
+    /** 是否按各并行度的实际速率动态分配速率上限 */
+    private boolean speedDynamicShare = true;
     /** 容忍的最大脏数据条数 */
     private int errorRecord = 0;
     /** 容忍的最大脏数据比例，-1代表不校验比例 */
@@ -52,6 +56,12 @@ public class ChunJunCommonConf implements Serializable {
     private int batchSize = 1;
     /** Time when the timer is regularly written to the database */
     private long flushIntervalMills = 10000L;
+    /** Whether full batches are written by a background thread */
+    private boolean asyncFlush = false;
+    /** Max number of batches handed to the background thread and not written yet */
+    private int asyncFlushMaxInflight = 1;
+    /** Whether the reader fills one reused primitive row instead of creating a row per record */
+    private boolean reuseRow = false;
     /** whether to execute ddlRowdata */
     private boolean executeDdlAble;
     /** sp path */
@@ -120,6 +130,22 @@ public class ChunJunCommonConf implements Serializable {
         this.speedBytes = speedBytes;
     }
 
+    public long getWriterSpeedBytes() {
+        return writerSpeedBytes;
+    }
+
+    public void setWriterSpeedBytes(long writerSpeedBytes) {
+        this.writerSpeedBytes = writerSpeedBytes;
+    }
+
+    public boolean isSpeedDynamicShare() {
+        return speedDynamicShare;
+    }
+
+    public void setSpeedDynamicShare(boolean speedDynamicShare) {
+        this.speedDynamicShare = speedDynamicShare;
+    }
+
     public int getErrorRecord() {
         return errorRecord;
     }
@@ -200,6 +226,30 @@ public class ChunJunCommonConf implements Serializable {
         this.flushIntervalMills = flushIntervalMills;
     }
 
+    public boolean isAsyncFlush() {
+        return asyncFlush;
+    }
+
+    public void setAsyncFlush(boolean asyncFlush) {
+        this.asyncFlush = asyncFlush;
+    }
+
+    public int getAsyncFlushMaxInflight() {
+        return asyncFlushMaxInflight;
+    }
+
+    public void setAsyncFlushMaxInflight(int asyncFlushMaxInflight) {
+        this.asyncFlushMaxInflight = asyncFlushMaxInflight;
+    }
+
+    public boolean isReuseRow() {
+        return reuseRow;
+    }
+
+    public void setReuseRow(boolean reuseRow) {
+        this.reuseRow = reuseRow;
+    }
+
     public String getSavePointPath() {
         return savePointPath;
     }
@@ -221,6 +271,10 @@ public class ChunJunCommonConf implements Serializable {
         return "ChunJunCommonConf{"
                 + "speedBytes="
                 + speedBytes
+                + ", writerSpeedBytes="
+                + writerSpeedBytes
+                + ", speedDynamicShare="
+                + speedDynamicShare
                 + ", errorRecord="
                 + errorRecord
                 + ", errorPercentage="
@@ -244,6 +298,12 @@ public class ChunJunCommonConf implements Serializable {
                 + executeDdlAble
                 + ", flushIntervalMills="
                 + flushIntervalMills
+                + ", asyncFlush="
+                + asyncFlush
+                + ", asyncFlushMaxInflight="
+                + asyncFlushMaxInflight
+                + ", reuseRow="
+                + reuseRow
                 + ", metricPluginRoot='"
                 + metricPluginRoot
                 + '\''
@@ -35,6 +35,10 @@ public class SpeedConf implements Serializable {
     private int writerChannel = -1;
     /** 速率上限，0代表不限速 */
     private long bytes = 0;
+    /** 写入速率上限，0代表不限速 */
+    private long writerBytes = 0;
+    /** 是否按各并行度的实际速率动态分配速率上限，关闭时每个并行度平分 */
+    private boolean dynamicShare = true;
     /** 是否强制进行rebalance，开启会消耗性能 */
     private boolean rebalance = false;
 
@@ -70,6 +74,22 @@ public class SpeedConf implements Serializable {
         this.bytes = bytes;
     }
 
+    public long getWriterBytes() {
+        return writerBytes;
+    }
+
+    public void setWriterBytes(long writerBytes) {
+        this.writerBytes = writerBytes;
+    }
+
+    public boolean isDynamicShare() {
+        return dynamicShare;
+    }
+
+    public void setDynamicShare(boolean dynamicShare) {
+        this.dynamicShare = dynamicShare;
+    }
+
     public boolean isRebalance() {
         return rebalance;
     }
@@ -89,6 +109,10 @@ public class SpeedConf implements Serializable {
                 + writerChannel
                 + ", bytes="
                 + bytes
+                + ", writerBytes="
+                + writerBytes
+                + ", dynamicShare="
+                + dynamicShare
                 + ", rebalance="
                 + rebalance
                 + '}';
@@ -72,6 +72,12 @@ public class Metrics {
 
     public static final String METRIC_GROUP_KEY_DIRTY = "DirtyData";
 
+    public static final String METRIC_GROUP_VALUE_CDC = "cdc";
+
+    public static final String WAKE_UP_COUNT = "wakeUpCount";
+
+    public static final String CPU_TIME_NANOS = "cpuTimeNanos";
+
     public static final String LAST_WRITE_LOCATION_PREFIX = "last_write_location";
 
     public static final String LAST_WRITE_NUM__PREFIX = "last_write_num";
@@ -82,6 +88,14 @@ public class Metrics {
 
     public static final String NUM_SIDE_PARSE_ERROR_RECORDS = "dtNumSideParseErrorRecords";
 
+    public static final String NUM_SIDE_CACHE_HITS = "dtNumSideCacheHits";
+
+    public static final String NUM_SIDE_CACHE_MISSES = "dtNumSideCacheMisses";
+
+    public static final String SIDE_CACHE_LOAD_AVG_NANOS = "dtSideCacheLoadAvgNanos";
+
+    public static final String SIDE_CACHE_WEIGHT_BYTES = "dtSideCacheWeightBytes";
+
     public static final String DIRTY_DATA_COUNT = "count";
 
     public static final String DIRTY_DATA_COLLECT_FAILED_COUNT = "collectFailedCount";
@@ -179,6 +179,17 @@ public abstract class AbstractRowConverter<SourceT, LookupT, SinkT, T> implement
      */
     public abstract RowData toInternal(SourceT input) throws Exception;
 
+    /**
+     * 转换数据，实现可以把数据直接填充到上一次返回的行中并返回它，默认每次创建新的行
+     *
+     * @param input input
+     * @param reuse 上一次返回的行，第一次调用时可能是其他类型的空行
+     * @return RowData
+     */
+    public RowData toInternal(SourceT input, RowData reuse) throws Exception {
+        return toInternal(input);
+    }
+
     /**
      * @param input input
      * @return RowData
@@ -216,6 +227,10 @@ public abstract class AbstractRowConverter<SourceT, LookupT, SinkT, T> implement
         return null;
     }
 
+    public LogicalType[] getFieldTypes() {
+        return fieldTypes;
+    }
+
     public ChunJunCommonConf getCommonConf() {
         return commonConf;
     }
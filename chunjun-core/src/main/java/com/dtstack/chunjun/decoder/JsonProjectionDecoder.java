@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.decoder;
+
+import com.dtstack.chunjun.util.JsonUtil;
+
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonParser;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonToken;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 直接从byte[]流式解析json，只取出配置的字段，按字段顺序写入数组，其余的值跳过，不会构建完整的Map。
+ *
+ * <p>与{@link JsonDecoder}解析后按字段名取值的结果一致：取出的值为String、Integer、Long、BigInteger、Double、Boolean，
+ * 对象和数组为Map和List；没有message字段时message为原始消息；消息不是json对象时只有message有值。
+ *
+ * <p>字段名包含'.'时，优先取同名的顶层字段，没有时按嵌套路径取值，如a.b取{"a":{"b":1}}中的1。非线程安全。
+ */
+public class JsonProjectionDecoder implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(JsonProjectionDecoder.class);
+
+    private static final String KEY_MESSAGE = "message";
+
+    /** 没有取到值 */
+    private static final byte MATCH_NONE = 0;
+    /** 按嵌套路径取到值 */
+    private static final byte MATCH_PATH = 1;
+    /** 取到同名的顶层字段 */
+    private static final byte MATCH_KEY = 2;
+
+    private final PathNode root = new PathNode();
+
+    private final int fieldCount;
+
+    /** 名称为message的字段的下标，没有时为-1 */
+    private final int messageIndex;
+
+    /** 每个字段的匹配情况，每次解析时复用 */
+    private final byte[] matches;
+
+    public JsonProjectionDecoder(List<String> fieldNames) {
+        this.fieldCount = fieldNames.size();
+        this.matches = new byte[fieldCount];
+        int message = -1;
+        for (int i = 0; i < fieldCount; i++) {
+            String name = fieldNames.get(i);
+            root.child(name).addColumn(i);
+            if (name.indexOf('.') > 0) {
+                PathNode node = root;
+                for (String segment : name.split("\\.", -1)) {
+                    node = node.child(segment);
+                }
+                node.addColumn(i);
+            }
+            if (KEY_MESSAGE.equals(name) && message < 0) {
+                message = i;
+            }
+        }
+        this.messageIndex = message;
+    }
+
+    /**
+     * 解析消息，按字段顺序写入values
+     *
+     * @param message 原始消息
+     * @param values 长度不小于字段数，没有取到的字段为null
+     */
+    public void decode(byte[] message, Object[] values) {
+        Arrays.fill(values, 0, fieldCount, null);
+        Arrays.fill(matches, MATCH_NONE);
+        try (JsonParser parser = JsonUtil.objectMapper.getFactory().createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("message is not a json object");
+            }
+            readObject(parser, root, 1, values);
+        } catch (Exception e) {
+            LOG.error(e.getMessage());
+            Arrays.fill(values, 0, fieldCount, null);
+            Arrays.fill(matches, MATCH_NONE);
+        }
+        if (messageIndex >= 0 && matches[messageIndex] == MATCH_NONE) {
+            values[messageIndex] = new String(message, StandardCharsets.UTF_8);
+        }
+    }
+
+    private void readObject(JsonParser parser, PathNode node, int depth, Object[] values)
+            throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            PathNode child = node.children.get(parser.getCurrentName());
+            JsonToken token = parser.nextToken();
+            if (child == null) {
+                parser.skipChildren();
+            } else if (child.columns.length > 0) {
+                Object value = readValue(parser, token);
+                setValue(child, depth, value, values);
+                if (!child.children.isEmpty() && value instanceof Map) {
+                    // 同时配置了a和a.b，a已经完整读出
+                    readMap(child, depth + 1, (Map<?, ?>) value, values);
+                }
+            } else if (token == JsonToken.START_OBJECT) {
+                readObject(parser, child, depth + 1, values);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readMap(PathNode node, int depth, Map<?, ?> map, Object[] values) {
+        for (Map.Entry<String, PathNode> entry : node.children.entrySet()) {
+            if (!map.containsKey(entry.getKey())) {
+                continue;
+            }
+            Object value = map.get(entry.getKey());
+            PathNode child = entry.getValue();
+            setValue(child, depth, value, values);
+            if (!child.children.isEmpty() && value instanceof Map) {
+                readMap(child, depth + 1, (Map<?, ?>) value, values);
+            }
+        }
+    }
+
+    private void setValue(PathNode node, int depth, Object value, Object[] values) {
+        for (int column : node.columns) {
+            if (depth == 1) {
+                values[column] = value;
+                matches[column] = MATCH_KEY;
+            } else if (matches[column] != MATCH_KEY) {
+                values[column] = value;
+                matches[column] = MATCH_PATH;
+            }
+        }
+    }
+
+    /** 与JsonUtil反序列化为Map时的类型一致 */
+    private Object readValue(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                return parser.readValueAs(Object.class);
+        }
+    }
+
+    /** 字段名的一级，columns为取值到此为止的字段下标 */
+    private static class PathNode implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, PathNode> children = new HashMap<>();
+
+        private int[] columns = new int[0];
+
+        private PathNode child(String name) {
+            return children.computeIfAbsent(name, k -> new PathNode());
+        }
+
+        private void addColumn(int column) {
+            columns = Arrays.copyOf(columns, columns.length + 1);
+            columns[columns.length - 1] = column;
+        }
+    }
+}
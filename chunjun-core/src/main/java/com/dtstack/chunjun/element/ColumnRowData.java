@@ -38,6 +38,7 @@ import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -55,6 +56,9 @@ public final class ColumnRowData implements RowData, Serializable {
     private final List<AbstractBaseColumn> columnList;
     private Map<String, Integer> header;
     private Set<String> extHeader = new HashSet<>();
+    /** header和extHeader由多行共享，修改前需要先拷贝 */
+    private transient boolean sharedHeader;
+
     private int byteSize;
 
     private RowKind kind;
@@ -77,6 +81,7 @@ public final class ColumnRowData implements RowData, Serializable {
     }
 
     public void addHeader(String name) {
+        ensureHeaderOwned();
         if (this.header == null) {
             this.header = Maps.newLinkedHashMap();
         }
@@ -85,7 +90,30 @@ public final class ColumnRowData implements RowData, Serializable {
     }
 
     public void setHeader(Map<String, Integer> header) {
+        ensureHeaderOwned();
+        this.header = header;
+    }
+
+    /**
+     * 设置多行共享的header和extHeader，不拷贝，由序列化器的header字典使用
+     *
+     * @param header 只读的header，可以为null
+     * @param extHeader 只读的extHeader
+     */
+    public void setSharedHeader(Map<String, Integer> header, Set<String> extHeader) {
         this.header = header;
+        this.extHeader = extHeader;
+        this.sharedHeader = true;
+    }
+
+    private void ensureHeaderOwned() {
+        if (sharedHeader) {
+            if (header != null) {
+                header = new LinkedHashMap<>(header);
+            }
+            extHeader = new HashSet<>(extHeader);
+            sharedHeader = false;
+        }
     }
 
     public void replaceHeader(String original, String another) {
@@ -93,6 +121,7 @@ public final class ColumnRowData implements RowData, Serializable {
             addHeader(another);
             return;
         }
+        ensureHeaderOwned();
         Integer value = this.header.get(original);
         this.header.remove(original);
         this.header.put(another, value);
@@ -101,6 +130,7 @@ public final class ColumnRowData implements RowData, Serializable {
     }
 
     public void addExtHeader(String name) {
+        ensureHeaderOwned();
         this.extHeader.add(name);
         byteSize += getStringSize(name);
     }
@@ -125,6 +155,7 @@ public final class ColumnRowData implements RowData, Serializable {
     }
 
     public void removeExtHeaderInfo() {
+        ensureHeaderOwned();
         List<AbstractBaseColumn> needToRemove = new ArrayList<>();
         for (String key : extHeader) {
             Integer index = header.remove(key);
@@ -0,0 +1,573 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.element;
+
+import com.dtstack.chunjun.element.column.BigDecimalColumn;
+import com.dtstack.chunjun.element.column.BooleanColumn;
+import com.dtstack.chunjun.element.column.BytesColumn;
+import com.dtstack.chunjun.element.column.SqlDateColumn;
+import com.dtstack.chunjun.element.column.StringColumn;
+import com.dtstack.chunjun.element.column.TimeColumn;
+import com.dtstack.chunjun.element.column.TimestampColumn;
+
+import org.apache.flink.table.data.ArrayData;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.MapData;
+import org.apache.flink.table.data.RawValueData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.TimestampType;
+import org.apache.flink.types.RowKind;
+import org.apache.flink.util.Preconditions;
+import org.apache.flink.util.StringUtils;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+/**
+ * 按字段类型把数据存放在基本类型数组中的行，用于数据同步时在读取端复用同一个对象，每条数据不再为每个字段创建{@link AbstractBaseColumn}。
+ *
+ * <p>整数、布尔放在int数组，BIGINT、DATE、TIME、TIMESTAMP的毫秒数放在long数组，浮点数放在double数组，字符串写入共享的char缓冲区，二进制写入共享的byte缓冲区，
+ * DECIMAL保存引用，空值由位图记录。
+ *
+ * <p>getter的结果和{@link ColumnRowData}中对应的{@link AbstractBaseColumn}一致：字段类型相同时直接读取数组，否则先构造列再转换。
+ *
+ * <p>对象会被{@link #reset()}后重新填充，需要保留数据时使用{@link #copy()}。未开启对象复用时序列化器会在算子之间拷贝每条数据，
+ * 只有开启pipeline.object-reuse时才能省去每条数据的对象分配。
+ */
+public final class PrimitiveRowData implements RowData, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final byte BOOLEAN = 0;
+    private static final byte INT = 1;
+    private static final byte LONG = 2;
+    private static final byte FLOAT = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte DECIMAL = 5;
+    private static final byte STRING = 6;
+    private static final byte BYTES = 7;
+    private static final byte DATE = 8;
+    private static final byte TIME = 9;
+    private static final byte TIMESTAMP = 10;
+
+    private final LogicalType[] fieldTypes;
+    /** 字段的存储类型 */
+    private final byte[] kinds;
+    /** 字段在对应数组中的下标 */
+    private final int[] slots;
+
+    private final int[] ints;
+    private final long[] longs;
+    /** TIMESTAMP毫秒之外的纳秒，和longs下标一致 */
+    private final int[] nanos;
+
+    private final double[] doubles;
+    private final BigDecimal[] decimals;
+    /** 字符串和二进制在缓冲区中的起始位置和长度 */
+    private final int[] offsets;
+
+    private final int[] lengths;
+    private char[] chars;
+    private int charsUsed;
+    private byte[] bytes;
+    private int bytesUsed;
+    private final long[] nullBits;
+
+    private RowKind kind = RowKind.INSERT;
+    private int byteSize;
+
+    public PrimitiveRowData(LogicalType[] fieldTypes) {
+        this.fieldTypes = fieldTypes;
+        this.kinds = new byte[fieldTypes.length];
+        this.slots = new int[fieldTypes.length];
+        int intCount = 0;
+        int longCount = 0;
+        int doubleCount = 0;
+        int decimalCount = 0;
+        int varCount = 0;
+        for (int i = 0; i < fieldTypes.length; i++) {
+            byte fieldKind = kindOf(fieldTypes[i]);
+            kinds[i] = fieldKind;
+            switch (fieldKind) {
+                case BOOLEAN:
+                case INT:
+                    slots[i] = intCount++;
+                    break;
+                case LONG:
+                case DATE:
+                case TIME:
+                case TIMESTAMP:
+                    slots[i] = longCount++;
+                    break;
+                case FLOAT:
+                case DOUBLE:
+                    slots[i] = doubleCount++;
+                    break;
+                case DECIMAL:
+                    slots[i] = decimalCount++;
+                    break;
+                default:
+                    slots[i] = varCount++;
+            }
+        }
+        this.ints = new int[intCount];
+        this.longs = new long[longCount];
+        this.nanos = new int[longCount];
+        this.doubles = new double[doubleCount];
+        this.decimals = new BigDecimal[decimalCount];
+        this.offsets = new int[varCount];
+        this.lengths = new int[varCount];
+        this.chars = new char[varCount * 16];
+        this.bytes = new byte[0];
+        this.nullBits = new long[(fieldTypes.length + 63) >>> 6];
+        reset();
+    }
+
+    private PrimitiveRowData(PrimitiveRowData from) {
+        this.fieldTypes = from.fieldTypes;
+        this.kinds = from.kinds;
+        this.slots = from.slots;
+        this.ints = from.ints.clone();
+        this.longs = from.longs.clone();
+        this.nanos = from.nanos.clone();
+        this.doubles = from.doubles.clone();
+        this.decimals = from.decimals.clone();
+        this.offsets = from.offsets.clone();
+        this.lengths = from.lengths.clone();
+        this.chars = Arrays.copyOf(from.chars, from.charsUsed);
+        this.charsUsed = from.charsUsed;
+        this.bytes = Arrays.copyOf(from.bytes, from.bytesUsed);
+        this.bytesUsed = from.bytesUsed;
+        this.nullBits = from.nullBits.clone();
+        this.kind = from.kind;
+        this.byteSize = from.byteSize;
+    }
+
+    /** 所有字段类型都能存放在基本类型数组中时返回true */
+    public static boolean supports(LogicalType[] fieldTypes) {
+        for (LogicalType fieldType : fieldTypes) {
+            if (kindOf(fieldType) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte kindOf(LogicalType type) {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+                return BOOLEAN;
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+                return INT;
+            case BIGINT:
+                return LONG;
+            case FLOAT:
+                return FLOAT;
+            case DOUBLE:
+                return DOUBLE;
+            case DECIMAL:
+                return DECIMAL;
+            case CHAR:
+            case VARCHAR:
+                return STRING;
+            case BINARY:
+            case VARBINARY:
+                return BYTES;
+            case DATE:
+                return DATE;
+            case TIME_WITHOUT_TIME_ZONE:
+                return TIME;
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                return TIMESTAMP;
+            default:
+                return -1;
+        }
+    }
+
+    /** 清空数据，所有字段置为null，缓冲区保留 */
+    public void reset() {
+        Arrays.fill(nullBits, -1L);
+        Arrays.fill(decimals, null);
+        charsUsed = 0;
+        bytesUsed = 0;
+        kind = RowKind.INSERT;
+        byteSize = 1;
+    }
+
+    public LogicalType getFieldType(int pos) {
+        return fieldTypes[pos];
+    }
+
+    public void setNullAt(int pos) {
+        nullBits[pos >>> 6] |= 1L << pos;
+    }
+
+    private void setNotNull(int pos, byte expected, int size) {
+        if (kinds[pos] != expected) {
+            throw new IllegalArgumentException("field " + pos + " is " + fieldTypes[pos]);
+        }
+        nullBits[pos >>> 6] &= ~(1L << pos);
+        byteSize += size;
+    }
+
+    public void setBoolean(int pos, boolean value) {
+        setNotNull(pos, BOOLEAN, 1);
+        ints[slots[pos]] = value ? 1 : 0;
+    }
+
+    /** TINYINT、SMALLINT、INTEGER */
+    public void setInt(int pos, int value) {
+        setNotNull(pos, INT, ClassSizeUtil.IntSize);
+        ints[slots[pos]] = value;
+    }
+
+    public void setLong(int pos, long value) {
+        setNotNull(pos, LONG, ClassSizeUtil.LongSize);
+        longs[slots[pos]] = value;
+    }
+
+    public void setFloat(int pos, float value) {
+        setNotNull(pos, FLOAT, ClassSizeUtil.FloatSize);
+        doubles[slots[pos]] = value;
+    }
+
+    public void setDouble(int pos, double value) {
+        setNotNull(pos, DOUBLE, ClassSizeUtil.LongSize);
+        doubles[slots[pos]] = value;
+    }
+
+    public void setDecimal(int pos, BigDecimal value) {
+        if (value == null) {
+            setNullAt(pos);
+            return;
+        }
+        setNotNull(pos, DECIMAL, ClassSizeUtil.LongSize * 2);
+        decimals[slots[pos]] = value;
+    }
+
+    public void setString(int pos, String value) {
+        if (value == null) {
+            setNullAt(pos);
+            return;
+        }
+        int length = value.length();
+        setNotNull(pos, STRING, ClassSizeUtil.getStringSize(value));
+        if (charsUsed + length > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, charsUsed + length));
+        }
+        value.getChars(0, length, chars, charsUsed);
+        offsets[slots[pos]] = charsUsed;
+        lengths[slots[pos]] = length;
+        charsUsed += length;
+    }
+
+    public void setBytes(int pos, byte[] value) {
+        if (value == null) {
+            setNullAt(pos);
+            return;
+        }
+        setNotNull(pos, BYTES, value.length);
+        if (bytesUsed + value.length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, bytesUsed + value.length));
+        }
+        System.arraycopy(value, 0, bytes, bytesUsed, value.length);
+        offsets[slots[pos]] = bytesUsed;
+        lengths[slots[pos]] = value.length;
+        bytesUsed += value.length;
+    }
+
+    public void setDate(int pos, Date value) {
+        if (value == null) {
+            setNullAt(pos);
+            return;
+        }
+        setNotNull(pos, DATE, ClassSizeUtil.LongSize);
+        longs[slots[pos]] = value.getTime();
+    }
+
+    public void setTime(int pos, Time value) {
+        if (value == null) {
+            setNullAt(pos);
+            return;
+        }
+        setNotNull(pos, TIME, ClassSizeUtil.LongSize);
+        longs[slots[pos]] = value.getTime();
+    }
+
+    public void setTimestamp(int pos, Timestamp value) {
+        if (value == null) {
+            setNullAt(pos);
+            return;
+        }
+        setNotNull(pos, TIMESTAMP, ClassSizeUtil.LongSize);
+        longs[slots[pos]] = value.getTime();
+        nanos[slots[pos]] = value.getNanos() % 1_000_000;
+    }
+
+    /** 和同步时读取端创建的列一致，为null时返回null */
+    public AbstractBaseColumn getField(int pos) {
+        if (isNullAt(pos)) {
+            return null;
+        }
+        int slot = slots[pos];
+        switch (kinds[pos]) {
+            case BOOLEAN:
+                return new BooleanColumn(ints[slot] != 0);
+            case INT:
+                return new BigDecimalColumn(ints[slot]);
+            case LONG:
+                return new BigDecimalColumn(longs[slot]);
+            case FLOAT:
+                return new BigDecimalColumn((float) doubles[slot]);
+            case DOUBLE:
+                return new BigDecimalColumn(doubles[slot]);
+            case DECIMAL:
+                return new BigDecimalColumn(decimals[slot]);
+            case STRING:
+                return new StringColumn(new String(chars, offsets[slot], lengths[slot]));
+            case BYTES:
+                return new BytesColumn(getBinary(pos));
+            case DATE:
+                return new SqlDateColumn(new Date(longs[slot]));
+            case TIME:
+                return new TimeColumn(new Time(longs[slot]));
+            default:
+                return new TimestampColumn(
+                        getSqlTimestamp(pos), ((TimestampType) fieldTypes[pos]).getPrecision());
+        }
+    }
+
+    /** 转换为{@link ColumnRowData}，用于不支持直接写入本类的下游 */
+    public ColumnRowData toColumnRowData() {
+        ColumnRowData row = new ColumnRowData(kind, fieldTypes.length);
+        for (int i = 0; i < fieldTypes.length; i++) {
+            row.addField(getField(i));
+        }
+        return row;
+    }
+
+    /** 拷贝数据，拷贝后不受本对象复用的影响 */
+    public PrimitiveRowData copy() {
+        return new PrimitiveRowData(this);
+    }
+
+    public int getByteSize() {
+        return byteSize;
+    }
+
+    @Override
+    public int getArity() {
+        return fieldTypes.length;
+    }
+
+    @Override
+    public RowKind getRowKind() {
+        return kind;
+    }
+
+    @Override
+    public void setRowKind(RowKind kind) {
+        Preconditions.checkNotNull(kind);
+        this.kind = kind;
+    }
+
+    @Override
+    public boolean isNullAt(int pos) {
+        return (nullBits[pos >>> 6] & (1L << pos)) != 0;
+    }
+
+    @Override
+    public boolean getBoolean(int pos) {
+        if (kinds[pos] == BOOLEAN) {
+            return ints[slots[pos]] != 0;
+        }
+        return getField(pos).asBoolean();
+    }
+
+    @Override
+    public byte getByte(int pos) {
+        if (kinds[pos] == INT) {
+            return (byte) ints[slots[pos]];
+        } else if (kinds[pos] == LONG) {
+            return (byte) longs[slots[pos]];
+        }
+        return getField(pos).asBigDecimal().byteValue();
+    }
+
+    @Override
+    public short getShort(int pos) {
+        if (kinds[pos] == INT) {
+            return (short) ints[slots[pos]];
+        } else if (kinds[pos] == LONG) {
+            return (short) longs[slots[pos]];
+        }
+        return getField(pos).asShort();
+    }
+
+    @Override
+    public int getInt(int pos) {
+        if (kinds[pos] == INT) {
+            return ints[slots[pos]];
+        } else if (kinds[pos] == LONG) {
+            return (int) longs[slots[pos]];
+        }
+        return getField(pos).asInt();
+    }
+
+    @Override
+    public long getLong(int pos) {
+        if (kinds[pos] == LONG) {
+            return longs[slots[pos]];
+        } else if (kinds[pos] == INT) {
+            return ints[slots[pos]];
+        }
+        return getField(pos).asLong();
+    }
+
+    @Override
+    public float getFloat(int pos) {
+        if (kinds[pos] == FLOAT) {
+            return (float) doubles[slots[pos]];
+        }
+        return getField(pos).asFloat();
+    }
+
+    @Override
+    public double getDouble(int pos) {
+        switch (kinds[pos]) {
+            case DOUBLE:
+                return doubles[slots[pos]];
+            case INT:
+                return ints[slots[pos]];
+            case LONG:
+                return longs[slots[pos]];
+            default:
+                return getField(pos).asDouble();
+        }
+    }
+
+    @Override
+    public StringData getString(int pos) {
+        if (kinds[pos] == STRING) {
+            int slot = slots[pos];
+            return StringData.fromString(new String(chars, offsets[slot], lengths[slot]));
+        }
+        return StringData.fromString(getField(pos).asString());
+    }
+
+    @Override
+    public DecimalData getDecimal(int pos, int precision, int scale) {
+        BigDecimal bigDecimal = getBigDecimal(pos);
+        return DecimalData.fromBigDecimal(bigDecimal, bigDecimal.precision(), bigDecimal.scale());
+    }
+
+    @Override
+    public TimestampData getTimestamp(int pos, int precision) {
+        return TimestampData.fromTimestamp(getSqlTimestamp(pos));
+    }
+
+    @Override
+    public <T> RawValueData<T> getRawValue(int pos) {
+        return null;
+    }
+
+    /** 返回新的数组 */
+    @Override
+    public byte[] getBinary(int pos) {
+        if (kinds[pos] == BYTES) {
+            int slot = slots[pos];
+            return Arrays.copyOfRange(bytes, offsets[slot], offsets[slot] + lengths[slot]);
+        }
+        return getField(pos).asBinary();
+    }
+
+    @Override
+    public ArrayData getArray(int pos) {
+        return null;
+    }
+
+    @Override
+    public MapData getMap(int pos) {
+        return null;
+    }
+
+    @Override
+    public RowData getRow(int pos, int numFields) {
+        return null;
+    }
+
+    /** 对应{@link AbstractBaseColumn#asBigDecimal()} */
+    public BigDecimal getBigDecimal(int pos) {
+        if (kinds[pos] == DECIMAL) {
+            return decimals[slots[pos]];
+        }
+        return getField(pos).asBigDecimal();
+    }
+
+    /** 对应{@link AbstractBaseColumn#asSqlDate()} */
+    public Date getSqlDate(int pos) {
+        if (kinds[pos] == DATE) {
+            return new Date(longs[slots[pos]]);
+        }
+        return getField(pos).asSqlDate();
+    }
+
+    /** 对应{@link AbstractBaseColumn#asTime()} */
+    public Time getSqlTime(int pos) {
+        if (kinds[pos] == TIME) {
+            return new Time(longs[slots[pos]]);
+        }
+        return getField(pos).asTime();
+    }
+
+    /** 对应{@link AbstractBaseColumn#asTimestamp()} */
+    public Timestamp getSqlTimestamp(int pos) {
+        if (kinds[pos] == TIMESTAMP) {
+            int slot = slots[pos];
+            Timestamp timestamp = new Timestamp(longs[slot]);
+            timestamp.setNanos(timestamp.getNanos() + nanos[slot]);
+            return timestamp;
+        }
+        return getField(pos).asTimestamp();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(kind.shortString()).append("(");
+        for (int i = 0; i < fieldTypes.length; i++) {
+            if (i != 0) {
+                sb.append(",");
+            }
+            AbstractBaseColumn field = getField(i);
+            sb.append(StringUtils.arrayAwareToString(field == null ? null : field.asString()));
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+}
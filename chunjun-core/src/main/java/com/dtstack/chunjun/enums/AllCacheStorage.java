@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.enums;
+
+/** ALL维表缓存的存储方式 */
+public enum AllCacheStorage {
+    /** 每行数据保存为Map<String, Object> */
+    MAP,
+    /** 每行数据编码后写入堆内内存页 */
+    COMPACT,
+    /** 每行数据编码后写入堆外内存页，需要配置足够的taskmanager堆外内存。堆外内存页只在GC时释放，定时刷新时新旧两份缓存会同时存在， 因此堆外内存需按缓存大小的2倍预留 */
+    OFF_HEAP;
+
+    public static AllCacheStorage getByName(String name) {
+        for (AllCacheStorage storage : AllCacheStorage.values()) {
+            if (storage.name().equalsIgnoreCase(name)) {
+                return storage;
+            }
+        }
+        throw new IllegalArgumentException("unsupported all cache storage: " + name);
+    }
+}
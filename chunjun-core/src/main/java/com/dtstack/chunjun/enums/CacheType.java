@@ -29,7 +29,9 @@ public enum CacheType {
     /** lru */
     LRU,
     /** all */
-    ALL;
+    ALL,
+    /** caffeine, evict by weight and refresh hot keys asynchronously */
+    CAFFEINE;
 
     public static boolean isValid(String type) {
         for (CacheType tmpType : CacheType.values()) {
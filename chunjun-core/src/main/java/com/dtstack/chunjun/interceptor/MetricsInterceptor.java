@@ -75,7 +75,11 @@ public class MetricsInterceptor implements Interceptor {
     private void initByteRateLimiter() {
         if (config.getSpeedBytes() > 0) {
             this.byteRateLimiter =
-                    new ByteRateLimiter(accumulatorCollector, config.getSpeedBytes());
+                    new ByteRateLimiter(
+                            config.isSpeedDynamicShare() ? accumulatorCollector : null,
+                            Metrics.READ_BYTES,
+                            config.getSpeedBytes(),
+                            context.getNumberOfParallelSubtasks());
             this.byteRateLimiter.start();
         }
     }
@@ -104,11 +108,7 @@ public class MetricsInterceptor implements Interceptor {
     }
 
     @Override
-    public void pre(Context context) {
-        if (byteRateLimiter != null) {
-            byteRateLimiter.acquire();
-        }
-    }
+    public void pre(Context context) {}
 
     @Override
     public void post(Context context) {
@@ -117,9 +117,15 @@ public class MetricsInterceptor implements Interceptor {
             if (numReadCounter != null) {
                 numReadCounter.add(1);
             }
-            if (bytesReadCounter != null) {
-                bytesReadCounter.add(
-                        ObjectSizeCalculator.getObjectSize(context.get("data", RowData.class)));
+            if (bytesReadCounter != null || byteRateLimiter != null) {
+                long rowBytes =
+                        ObjectSizeCalculator.getObjectSize(context.get("data", RowData.class));
+                if (bytesReadCounter != null) {
+                    bytesReadCounter.add(rowBytes);
+                }
+                if (byteRateLimiter != null) {
+                    byteRateLimiter.acquire(rowBytes);
+                }
             }
         }
     }
@@ -19,13 +19,16 @@
 package com.dtstack.chunjun.lookup;
 
 import com.dtstack.chunjun.converter.AbstractRowConverter;
+import com.dtstack.chunjun.enums.AllCacheStorage;
 import com.dtstack.chunjun.factory.ChunJunThreadFactory;
+import com.dtstack.chunjun.lookup.cache.CompactAllCache;
 import com.dtstack.chunjun.lookup.conf.LookupConf;
 
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.functions.FunctionContext;
 import org.apache.flink.table.functions.TableFunction;
+import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.types.RowKind;
 
 import com.google.common.collect.Lists;
@@ -37,6 +40,7 @@ import org.slf4j.LoggerFactory;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
@@ -64,6 +68,10 @@ public abstract class AbstractAllTableFunction extends TableFunction<RowData> {
     protected final String[] fieldsName;
     /** 数据类型转换器 */
     protected final AbstractRowConverter rowConverter;
+    /** 缓存的存储方式 */
+    protected transient AllCacheStorage cacheStorage;
+    /** 紧凑存储时关联键在行中的下标 */
+    private transient int[] keyIndexes;
 
     public AbstractAllTableFunction(
             String[] fieldNames,
@@ -78,6 +86,10 @@ public abstract class AbstractAllTableFunction extends TableFunction<RowData> {
 
     /** 初始化加载数据库中数据 */
     protected void initCache() {
+        if (isCompactStorage()) {
+            cacheRef.set(loadCompactCache());
+            return;
+        }
         Map<String, List<Map<String, Object>>> newCache = Maps.newConcurrentMap();
         cacheRef.set(newCache);
         loadData(newCache);
@@ -86,9 +98,14 @@ public abstract class AbstractAllTableFunction extends TableFunction<RowData> {
     /** 定时加载数据库中数据 */
     protected void reloadCache() {
         // reload cacheRef and replace to old cacheRef
-        Map<String, List<Map<String, Object>>> newCache = Maps.newConcurrentMap();
+        Object newCache;
         try {
-            loadData(newCache);
+            if (isCompactStorage()) {
+                newCache = loadCompactCache();
+            } else {
+                newCache = Maps.newConcurrentMap();
+                loadData(newCache);
+            }
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -102,13 +119,67 @@ public abstract class AbstractAllTableFunction extends TableFunction<RowData> {
     /**
      * 加载数据到缓存
      *
-     * @param cacheRef
+     * @param cacheRef MAP存储时是Map，紧凑存储时是{@link CompactAllCache.Builder}
      */
     protected abstract void loadData(Object cacheRef);
 
+    protected boolean isCompactStorage() {
+        return cacheStorage == AllCacheStorage.COMPACT || cacheStorage == AllCacheStorage.OFF_HEAP;
+    }
+
+    /** 加载一份完整的紧凑存储，加载完成后才替换旧的缓存 */
+    protected CompactAllCache loadCompactCache() {
+        CompactAllCache.Builder builder =
+                new CompactAllCache.Builder(
+                        getCacheKeyTypes(),
+                        getCacheFieldTypes(),
+                        cacheStorage == AllCacheStorage.OFF_HEAP);
+        loadData(builder);
+        CompactAllCache cache = builder.build();
+        LOG.info(
+                "{} compact cache loaded, rows: {}, keys: {}, bytes: {}",
+                lookupConf.getTableName(),
+                cache.getRowCount(),
+                cache.getKeyCount(),
+                cache.getMemorySize());
+        return cache;
+    }
+
+    /** 紧凑存储中行数据的字段类型，顺序和fieldsName一致 */
+    protected LogicalType[] getCacheFieldTypes() {
+        return rowConverter.getFieldTypes();
+    }
+
+    /** 紧凑存储中关联键的类型，顺序和keyNames一致 */
+    protected LogicalType[] getCacheKeyTypes() {
+        LogicalType[] fieldTypes = getCacheFieldTypes();
+        int[] keyIndexes = getKeyIndexes();
+        LogicalType[] keyTypes = new LogicalType[keyIndexes.length];
+        for (int i = 0; i < keyIndexes.length; i++) {
+            keyTypes[i] = fieldTypes[keyIndexes[i]];
+        }
+        return keyTypes;
+    }
+
+    /** 关联键在fieldsName中的下标 */
+    private int[] getKeyIndexes() {
+        List<String> names =
+                Arrays.stream(fieldsName).map(String::trim).collect(Collectors.toList());
+        int[] keyIndexes = new int[keyNames.length];
+        for (int i = 0; i < keyNames.length; i++) {
+            keyIndexes[i] = names.indexOf(keyNames[i]);
+            if (keyIndexes[i] < 0) {
+                throw new IllegalArgumentException(
+                        "lookup key " + keyNames[i] + " is not a field of " + names);
+            }
+        }
+        return keyIndexes;
+    }
+
     @Override
     public void open(FunctionContext context) throws Exception {
         super.open(context);
+        cacheStorage = AllCacheStorage.getByName(lookupConf.getCacheAllStorage());
         initCache();
         LOG.info("----- all cacheRef init end-----");
 
@@ -140,15 +211,45 @@ public abstract class AbstractAllTableFunction extends TableFunction<RowData> {
         tmpCache.computeIfAbsent(cacheKey, key -> Lists.newArrayList()).add(oneRow);
     }
 
+    /**
+     * 缓存一行数据，紧凑存储时直接编码写入内存页，否则转为Map
+     *
+     * @param rowData 字段顺序和fieldsName一致的一行数据
+     * @param cacheRef loadData的参数
+     */
+    protected void buildCache(GenericRowData rowData, Object cacheRef) {
+        if (cacheRef instanceof CompactAllCache.Builder) {
+            if (keyIndexes == null) {
+                keyIndexes = getKeyIndexes();
+            }
+            Object[] keys = new Object[keyIndexes.length];
+            for (int i = 0; i < keyIndexes.length; i++) {
+                keys[i] = rowData.getField(keyIndexes[i]);
+            }
+            ((CompactAllCache.Builder) cacheRef).add(keys, rowData);
+            return;
+        }
+        Map<String, Object> oneRow = new HashMap<>();
+        for (int i = 0; i < fieldsName.length; i++) {
+            oneRow.put(fieldsName[i].trim(), rowData.getField(i));
+        }
+        buildCache(oneRow, (Map<String, List<Map<String, Object>>>) cacheRef);
+    }
+
     /**
      * 每条数据都会进入该方法
      *
      * @param keys 维表join key的值
      */
     public void eval(Object... keys) {
+        Object cache = cacheRef.get();
+        if (cache instanceof CompactAllCache) {
+            ((CompactAllCache) cache).get(keys, this::collect);
+            return;
+        }
         String cacheKey = Arrays.stream(keys).map(String::valueOf).collect(Collectors.joining("_"));
         List<Map<String, Object>> cacheList =
-                ((Map<String, List<Map<String, Object>>>) (cacheRef.get())).get(cacheKey);
+                ((Map<String, List<Map<String, Object>>>) cache).get(cacheKey);
         // 有数据才往下发，(左/内)连接flink会做相应的处理
         if (!CollectionUtils.isEmpty(cacheList)) {
             cacheList.forEach(one -> collect(fillData(one)));
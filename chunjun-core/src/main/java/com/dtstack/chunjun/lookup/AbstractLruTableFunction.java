@@ -24,12 +24,16 @@ import com.dtstack.chunjun.enums.CacheType;
 import com.dtstack.chunjun.enums.ECacheContentType;
 import com.dtstack.chunjun.lookup.cache.AbstractSideCache;
 import com.dtstack.chunjun.lookup.cache.CacheObj;
+import com.dtstack.chunjun.lookup.cache.CaffeineSideCache;
 import com.dtstack.chunjun.lookup.cache.LRUSideCache;
+import com.dtstack.chunjun.lookup.cache.LookupCacheKey;
 import com.dtstack.chunjun.lookup.conf.LookupConf;
 import com.dtstack.chunjun.util.ReflectionUtils;
 
 import org.apache.flink.api.common.functions.RuntimeContext;
 import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.execution.SuppressRestartsException;
 import org.apache.flink.streaming.api.functions.async.RichAsyncFunction;
 import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
@@ -64,6 +68,8 @@ public abstract class AbstractLruTableFunction extends AsyncTableFunction<RowDat
     protected transient Counter parseErrorRecords;
     /** 缓存 */
     protected AbstractSideCache sideCache;
+    /** CAFFEINE缓存，与sideCache是同一个对象 */
+    private transient CaffeineSideCache caffeineSideCache;
     /** 维表配置 */
     protected LookupConf lookupConf;
     /** 运行环境 */
@@ -101,6 +107,14 @@ public abstract class AbstractLruTableFunction extends AsyncTableFunction<RowDat
 
         if (CacheType.LRU.name().equalsIgnoreCase(lookupConf.getCache())) {
             sideCache = new LRUSideCache(lookupConf.getCacheSize(), lookupConf.getCacheTtl());
+        } else if (CacheType.CAFFEINE.name().equalsIgnoreCase(lookupConf.getCache())) {
+            caffeineSideCache =
+                    new CaffeineSideCache(
+                            lookupConf.getCacheMaxWeight(),
+                            lookupConf.getCacheTtl(),
+                            lookupConf.getCacheRefreshInterval(),
+                            this::loadFromDatabase);
+            sideCache = caffeineSideCache;
         } else {
             throw new RuntimeException("not support side cache with type:" + lookupConf.getCache());
         }
@@ -114,7 +128,22 @@ public abstract class AbstractLruTableFunction extends AsyncTableFunction<RowDat
      * @param context 上下文
      */
     private void initMetric(FunctionContext context) {
-        parseErrorRecords = context.getMetricGroup().counter(Metrics.NUM_SIDE_PARSE_ERROR_RECORDS);
+        MetricGroup metricGroup = context.getMetricGroup();
+        parseErrorRecords = metricGroup.counter(Metrics.NUM_SIDE_PARSE_ERROR_RECORDS);
+        if (caffeineSideCache != null) {
+            metricGroup.gauge(
+                    Metrics.NUM_SIDE_CACHE_HITS,
+                    (Gauge<Long>) () -> caffeineSideCache.stats().hitCount());
+            metricGroup.gauge(
+                    Metrics.NUM_SIDE_CACHE_MISSES,
+                    (Gauge<Long>) () -> caffeineSideCache.stats().missCount());
+            metricGroup.gauge(
+                    Metrics.SIDE_CACHE_LOAD_AVG_NANOS,
+                    (Gauge<Double>) () -> caffeineSideCache.stats().averageLoadPenalty());
+            metricGroup.gauge(
+                    Metrics.SIDE_CACHE_WEIGHT_BYTES,
+                    (Gauge<Long>) () -> caffeineSideCache.weightedSize());
+        }
     }
 
     /**
@@ -215,12 +244,19 @@ public abstract class AbstractLruTableFunction extends AsyncTableFunction<RowDat
         try {
             preInvoke(future, keys);
 
-            String cacheKey = buildCacheKey(keys);
-            // 缓存判断
-            if (isUseCache(cacheKey)) {
-                invokeWithCache(cacheKey, future);
+            if (caffeineSideCache != null) {
+                invokeWithCaffeineCache(future, keys);
                 return;
             }
+
+            // 缓存判断，只查询一次缓存
+            if (openCache()) {
+                CacheObj val = getFromCache(buildCacheKey(keys));
+                if (val != null) {
+                    invokeWithCache(val, future);
+                    return;
+                }
+            }
             handleAsyncInvoke(future, keys);
         } catch (Exception e) {
             // todo 优化
@@ -239,43 +275,75 @@ public abstract class AbstractLruTableFunction extends AsyncTableFunction<RowDat
     }
 
     /**
-     * 从缓存中获取数据
+     * 使用缓存的数据
      *
-     * @param cacheKey 缓存健
+     * @param val 缓存数据
      * @param future
      */
-    private void invokeWithCache(String cacheKey, CompletableFuture<Collection<RowData>> future) {
-        if (openCache()) {
-            CacheObj val = getFromCache(cacheKey);
-            if (val != null) {
-                if (ECacheContentType.MissVal == val.getType()) {
-                    dealMissKey(future);
-                    return;
-                } else if (ECacheContentType.SingleLine == val.getType()) {
-                    try {
-                        RowData row = rowConverter.toInternalLookup(val.getContent());
-                        future.complete(Collections.singleton(row));
-                    } catch (Exception e) {
-                        dealFillDataError(future, e);
-                    }
-                } else if (ECacheContentType.MultiLine == val.getType()) {
-                    try {
-                        List<RowData> rowList = Lists.newArrayList();
-                        for (Object one : (List) val.getContent()) {
-                            RowData row = rowConverter.toInternalLookup(one);
-                            rowList.add(row);
-                        }
-                        future.complete(rowList);
-                    } catch (Exception e) {
-                        dealFillDataError(future, e);
-                    }
-                } else {
-                    future.completeExceptionally(
-                            new RuntimeException("not support cache obj type " + val.getType()));
+    private void invokeWithCache(CacheObj val, CompletableFuture<Collection<RowData>> future) {
+        if (ECacheContentType.MissVal == val.getType()) {
+            dealMissKey(future);
+        } else if (ECacheContentType.SingleLine == val.getType()) {
+            try {
+                RowData row = rowConverter.toInternalLookup(val.getContent());
+                future.complete(Collections.singleton(row));
+            } catch (Exception e) {
+                dealFillDataError(future, e);
+            }
+        } else if (ECacheContentType.MultiLine == val.getType()) {
+            try {
+                List<RowData> rowList = Lists.newArrayList();
+                for (Object one : (List) val.getContent()) {
+                    RowData row = rowConverter.toInternalLookup(one);
+                    rowList.add(row);
                 }
-                return;
+                future.complete(rowList);
+            } catch (Exception e) {
+                dealFillDataError(future, e);
             }
+        } else {
+            future.completeExceptionally(
+                    new RuntimeException("not support cache obj type " + val.getType()));
+        }
+    }
+
+    /**
+     * 从CAFFEINE缓存中获取数据，未命中时由缓存调用{@link #loadFromDatabase(LookupCacheKey)}加载
+     *
+     * @param future 发送到下游
+     * @param keys 关联数据
+     */
+    private void invokeWithCaffeineCache(
+            CompletableFuture<Collection<RowData>> future, Object... keys) {
+        LookupCacheKey cacheKey = new LookupCacheKey(keys);
+        CompletableFuture<Collection<RowData>> cached = caffeineSideCache.getIfPresent(cacheKey);
+        if (cached == null) {
+            cached = caffeineSideCache.get(cacheKey.copy());
+        }
+        cached.whenComplete(
+                (rows, e) -> {
+                    if (e != null) {
+                        future.completeExceptionally(e);
+                    } else {
+                        future.complete(rows);
+                    }
+                });
+    }
+
+    /**
+     * 请求数据库加载CAFFEINE缓存的数据，查询结果同时放入缓存，查询失败时不缓存
+     *
+     * @param cacheKey 关联数据
+     * @return 查询结果
+     */
+    private CompletableFuture<Collection<RowData>> loadFromDatabase(LookupCacheKey cacheKey) {
+        CompletableFuture<Collection<RowData>> loaded = new CompletableFuture<>();
+        try {
+            handleAsyncInvoke(loaded, cacheKey.getKeys());
+        } catch (Exception e) {
+            loaded.completeExceptionally(e);
         }
+        return loaded;
     }
 
     /**
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.lookup.cache;
+
+import com.dtstack.chunjun.metrics.RowSizeCalculator;
+
+import org.apache.flink.table.data.RowData;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 基于caffeine(W-TinyLFU)的维表缓存，缓存的是转换后的RowData。
+ *
+ * <p>按数据的估算字节数淘汰；同一个key并发未命中时只会发起一次查询；开启刷新后，写入超过刷新时间的key被读取时返回旧值并异步重新加载。 数据由loader加载后放入缓存，{@link
+ * #putCache(String, CacheObj)}不做任何事。
+ */
+public class CaffeineSideCache extends AbstractSideCache {
+
+    private final long maxWeight;
+    private final long timeOut;
+    private final long refreshInterval;
+    /** 查询外部数据源，返回的future完成后放入缓存 */
+    private final Function<LookupCacheKey, CompletableFuture<Collection<RowData>>> loader;
+
+    private transient AsyncLoadingCache<LookupCacheKey, Collection<RowData>> cache;
+
+    public CaffeineSideCache(
+            long maxWeight,
+            long timeOut,
+            long refreshInterval,
+            Function<LookupCacheKey, CompletableFuture<Collection<RowData>>> loader) {
+        this.maxWeight = maxWeight;
+        this.timeOut = timeOut;
+        this.refreshInterval = refreshInterval;
+        this.loader = loader;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void initCache() {
+        RowSizeCalculator<Object> rowSizeCalculator = RowSizeCalculator.getRowSizeCalculator();
+        Caffeine<Object, Object> builder =
+                Caffeine.newBuilder()
+                        .maximumWeight(maxWeight)
+                        .expireAfterWrite(timeOut, TimeUnit.MILLISECONDS)
+                        // 加载和刷新都在调用线程中发起，查询本身是异步的
+                        .executor(Runnable::run)
+                        .recordStats();
+        if (refreshInterval > 0 && refreshInterval < timeOut) {
+            builder.refreshAfterWrite(refreshInterval, TimeUnit.MILLISECONDS);
+        }
+        cache =
+                builder.<LookupCacheKey, Collection<RowData>>weigher(
+                                (key, rows) ->
+                                        (int)
+                                                Math.min(
+                                                        Integer.MAX_VALUE,
+                                                        rowSizeCalculator.getObjectSize(rows)))
+                        .buildAsync((key, executor) -> loader.apply(key));
+    }
+
+    /** 只查询缓存，不存在时返回null */
+    public CompletableFuture<Collection<RowData>> getIfPresent(LookupCacheKey key) {
+        return cache.getIfPresent(key);
+    }
+
+    /** 查询缓存，不存在时加载，并发的加载会合并为一次 */
+    public CompletableFuture<Collection<RowData>> get(LookupCacheKey key) {
+        return cache.get(key);
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    /** 缓存数据的估算字节数 */
+    public long weightedSize() {
+        return cache.synchronous()
+                .policy()
+                .eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    @Override
+    public CacheObj getFromCache(String key) {
+        return null;
+    }
+
+    @Override
+    public void putCache(String key, CacheObj value) {
+        // 数据由loader加载
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.lookup.cache;
+
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.binary.BinarySegmentUtils;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.types.RowKind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * ALL维表的紧凑存储：每行数据编码为{@link BinaryRowData}后连续写入固定大小的内存页(堆内或堆外)，关联键到行地址的索引是开放寻址的基本类型数组。
+ *
+ * <p>页中一条记录的格式为：下一条同key记录的地址(long) + key长度(int) + 行长度(int) + key + 行，key只写在同key的第一条记录中。
+ * 地址的高32位是页号，低32位是页内偏移。
+ *
+ * <p>由{@link Builder}在加载线程中构建，构建完成后只读，查询时直接在页上构造{@link BinaryRowData}，不再拷贝。
+ */
+public class CompactAllCache {
+
+    /** 内存页大小 */
+    public static final int DEFAULT_PAGE_SIZE = 4 * 1024 * 1024;
+
+    private static final int RECORD_HEADER_SIZE = 16;
+    private static final long EMPTY = -1L;
+
+    private final MemorySegment[] pages;
+    private final int[] hashes;
+    private final long[] heads;
+    private final int mask;
+    private final int rowArity;
+    private final long rowCount;
+    private final long keyCount;
+    private final long memorySize;
+
+    /** 只在查询线程中使用，编码查询的key */
+    private final RowDataSerializer keySerializer;
+
+    private CompactAllCache(Builder builder) {
+        this.pages = builder.pages.toArray(new MemorySegment[0]);
+        this.hashes = builder.hashes;
+        this.heads = builder.heads;
+        this.mask = builder.heads.length - 1;
+        this.rowArity = builder.rowTypes.length;
+        this.rowCount = builder.rowCount;
+        this.keyCount = builder.keyCount;
+        this.memorySize = builder.memorySize();
+        this.keySerializer = new RowDataSerializer(builder.keyTypes);
+    }
+
+    /**
+     * 查询关联键对应的所有行
+     *
+     * @param keys 关联键，顺序和类型与构建时一致
+     * @param consumer 按写入顺序接收每一行，行数据直接引用内存页
+     */
+    public void get(Object[] keys, Consumer<RowData> consumer) {
+        BinaryRowData key = keySerializer.toBinaryRow(GenericRowData.of(keys));
+        int hash = key.hashCode();
+        int slot = hash & mask;
+        while (heads[slot] != EMPTY) {
+            long head = heads[slot];
+            if (hashes[slot] == hash && keyEquals(pages[pageIndex(head)], pageOffset(head), key)) {
+                long address = head;
+                while (address != EMPTY) {
+                    MemorySegment page = pages[pageIndex(address)];
+                    int offset = pageOffset(address);
+                    int keyLength = page.getInt(offset + 8);
+                    int rowLength = page.getInt(offset + 12);
+                    BinaryRowData row = new BinaryRowData(rowArity);
+                    row.pointTo(page, offset + RECORD_HEADER_SIZE + keyLength, rowLength);
+                    consumer.accept(row);
+                    address = page.getLong(offset);
+                }
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /** 比较页中offset处记录的key和编码后的key */
+    private static boolean keyEquals(MemorySegment page, int offset, BinaryRowData key) {
+        int length = page.getInt(offset + 8);
+        if (length != key.getSizeInBytes()) {
+            return false;
+        }
+        MemorySegment[] segments = key.getSegments();
+        if (segments.length == 1) {
+            return segments[0].equalTo(page, key.getOffset(), offset + RECORD_HEADER_SIZE, length);
+        }
+        byte[] bytes = BinarySegmentUtils.copyToBytes(segments, key.getOffset(), length);
+        return MemorySegmentFactory.wrap(bytes)
+                .equalTo(page, 0, offset + RECORD_HEADER_SIZE, length);
+    }
+
+    /** 缓存的行数 */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /** 不同关联键的个数 */
+    public long getKeyCount() {
+        return keyCount;
+    }
+
+    /** 内存页和索引占用的字节数 */
+    public long getMemorySize() {
+        return memorySize;
+    }
+
+    private static int pageIndex(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int pageOffset(long address) {
+        return (int) address;
+    }
+
+    /** 在加载线程中逐行写入，{@link #build()}后不能再写入 */
+    public static class Builder {
+
+        private final LogicalType[] keyTypes;
+        private final LogicalType[] rowTypes;
+        private final int pageSize;
+        private final boolean offHeap;
+
+        private final RowDataSerializer keySerializer;
+        private final RowDataSerializer rowSerializer;
+
+        private final List<MemorySegment> pages = new ArrayList<>();
+        private MemorySegment currentPage;
+        private int currentOffset;
+
+        private int[] hashes;
+        private long[] heads;
+        private long[] tails;
+        private long rowCount;
+        private long keyCount;
+
+        public Builder(LogicalType[] keyTypes, LogicalType[] rowTypes, boolean offHeap) {
+            this(keyTypes, rowTypes, offHeap, DEFAULT_PAGE_SIZE);
+        }
+
+        public Builder(
+                LogicalType[] keyTypes, LogicalType[] rowTypes, boolean offHeap, int pageSize) {
+            this.keyTypes = keyTypes;
+            this.rowTypes = rowTypes;
+            this.offHeap = offHeap;
+            this.pageSize = pageSize;
+            this.keySerializer = new RowDataSerializer(keyTypes);
+            this.rowSerializer = new RowDataSerializer(rowTypes);
+            resize(1024);
+        }
+
+        /**
+         * 写入一行数据
+         *
+         * @param keys 关联键
+         * @param row 字段顺序和类型与构建时一致的数据
+         */
+        public void add(Object[] keys, RowData row) {
+            row.setRowKind(RowKind.INSERT);
+            BinaryRowData binaryKey = keySerializer.toBinaryRow(GenericRowData.of(keys));
+            int hash = binaryKey.hashCode();
+            int slot = findSlot(hash, binaryKey);
+            boolean newKey = heads[slot] == EMPTY;
+
+            int keyLength = newKey ? binaryKey.getSizeInBytes() : 0;
+            BinaryRowData binaryRow = rowSerializer.toBinaryRow(row);
+            int rowLength = binaryRow.getSizeInBytes();
+            long address = reserve(RECORD_HEADER_SIZE + keyLength + rowLength);
+            MemorySegment page = pages.get(pageIndex(address));
+            int offset = pageOffset(address);
+            page.putLong(offset, EMPTY);
+            page.putInt(offset + 8, keyLength);
+            page.putInt(offset + 12, rowLength);
+            if (newKey) {
+                write(binaryKey, page, offset + RECORD_HEADER_SIZE);
+            }
+            write(binaryRow, page, offset + RECORD_HEADER_SIZE + keyLength);
+
+            if (newKey) {
+                hashes[slot] = hash;
+                heads[slot] = address;
+                keyCount++;
+            } else {
+                long tail = tails[slot];
+                pages.get(pageIndex(tail)).putLong(pageOffset(tail), address);
+            }
+            tails[slot] = address;
+            rowCount++;
+            if (keyCount * 4 > heads.length * 3L) {
+                resize(heads.length * 2);
+            }
+        }
+
+        public CompactAllCache build() {
+            tails = null;
+            return new CompactAllCache(this);
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        long memorySize() {
+            long size = (long) heads.length * (4 + 8);
+            for (MemorySegment page : pages) {
+                size += page.size();
+            }
+            return size;
+        }
+
+        private int findSlot(int hash, BinaryRowData key) {
+            int mask = heads.length - 1;
+            int slot = hash & mask;
+            while (heads[slot] != EMPTY) {
+                long head = heads[slot];
+                if (hashes[slot] == hash
+                        && keyEquals(pages.get(pageIndex(head)), pageOffset(head), key)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void resize(int capacity) {
+            int[] oldHashes = hashes;
+            long[] oldHeads = heads;
+            long[] oldTails = tails;
+            hashes = new int[capacity];
+            heads = new long[capacity];
+            tails = new long[capacity];
+            Arrays.fill(heads, EMPTY);
+            if (oldHeads == null) {
+                return;
+            }
+            int mask = capacity - 1;
+            for (int i = 0; i < oldHeads.length; i++) {
+                if (oldHeads[i] != EMPTY) {
+                    int slot = oldHashes[i] & mask;
+                    while (heads[slot] != EMPTY) {
+                        slot = (slot + 1) & mask;
+                    }
+                    hashes[slot] = oldHashes[i];
+                    heads[slot] = oldHeads[i];
+                    tails[slot] = oldTails[i];
+                }
+            }
+        }
+
+        /** 在当前页分配空间，放不下时换新页，超过页大小的记录单独占一页 */
+        private long reserve(int length) {
+            if (currentPage == null || currentOffset + length > currentPage.size()) {
+                int size = Math.max(pageSize, length);
+                currentPage =
+                        offHeap
+                                ? MemorySegmentFactory.allocateUnpooledOffHeapMemory(size)
+                                : MemorySegmentFactory.allocateUnpooledSegment(size);
+                currentOffset = 0;
+                pages.add(currentPage);
+            }
+            long address = ((long) (pages.size() - 1) << 32) | currentOffset;
+            currentOffset += length;
+            return address;
+        }
+
+        private void write(BinaryRowData row, MemorySegment page, int offset) {
+            MemorySegment[] segments = row.getSegments();
+            if (segments.length == 1) {
+                segments[0].copyTo(row.getOffset(), page, offset, row.getSizeInBytes());
+            } else {
+                byte[] bytes =
+                        BinarySegmentUtils.copyToBytes(
+                                segments, row.getOffset(), row.getSizeInBytes());
+                page.put(offset, bytes, 0, bytes.length);
+            }
+        }
+    }
+}
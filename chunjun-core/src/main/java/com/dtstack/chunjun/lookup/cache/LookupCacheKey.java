@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.lookup.cache;
+
+import org.apache.flink.table.data.binary.BinaryStringData;
+
+import java.util.Arrays;
+
+/**
+ * 维表缓存的组合键，直接使用关联字段的值比较，不再拼接字符串。
+ *
+ * <p>flink传入的字符串可能指向输入数据的内存，放入缓存前需要拷贝。
+ */
+public final class LookupCacheKey {
+
+    private final Object[] keys;
+
+    private final int hash;
+
+    public LookupCacheKey(Object... keys) {
+        this.keys = keys;
+        this.hash = Arrays.deepHashCode(keys);
+    }
+
+    /** 拷贝后可以长期持有的key，只在放入缓存时调用 */
+    public LookupCacheKey copy() {
+        Object[] copied = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            Object key = keys[i];
+            if (key instanceof BinaryStringData) {
+                copied[i] = ((BinaryStringData) key).copy();
+            } else if (key instanceof byte[]) {
+                copied[i] = ((byte[]) key).clone();
+            } else {
+                copied[i] = key;
+            }
+        }
+        return new LookupCacheKey(copied);
+    }
+
+    public Object[] getKeys() {
+        return keys;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LookupCacheKey)) {
+            return false;
+        }
+        LookupCacheKey that = (LookupCacheKey) o;
+        return hash == that.hash && Arrays.deepEquals(keys, that.keys);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.deepToString(keys);
+    }
+}
@@ -18,6 +18,7 @@
 
 package com.dtstack.chunjun.lookup.conf;
 
+import com.dtstack.chunjun.enums.AllCacheStorage;
 import com.dtstack.chunjun.enums.CacheType;
 
 import java.io.Serializable;
@@ -36,6 +37,12 @@ public class LookupConf implements Serializable {
     protected long cacheSize = 1000L;
     /** 缓存时间 */
     protected long cacheTtl = 60 * 1000L;
+    /** CAFFEINE缓存的最大字节数 */
+    protected long cacheMaxWeight = 64 * 1024 * 1024L;
+    /** CAFFEINE缓存写入多久后异步刷新，小于等于0不刷新 */
+    protected long cacheRefreshInterval = 0L;
+    /** ALL缓存的存储方式 */
+    protected String cacheAllStorage = AllCacheStorage.MAP.name();
     /** 缓存类型 */
     protected String cache = CacheType.LRU.name();
     /** 失败重试次数 */
@@ -85,6 +92,33 @@ public class LookupConf implements Serializable {
         return this;
     }
 
+    public long getCacheMaxWeight() {
+        return cacheMaxWeight;
+    }
+
+    public LookupConf setCacheMaxWeight(long cacheMaxWeight) {
+        this.cacheMaxWeight = cacheMaxWeight;
+        return this;
+    }
+
+    public long getCacheRefreshInterval() {
+        return cacheRefreshInterval;
+    }
+
+    public LookupConf setCacheRefreshInterval(long cacheRefreshInterval) {
+        this.cacheRefreshInterval = cacheRefreshInterval;
+        return this;
+    }
+
+    public String getCacheAllStorage() {
+        return cacheAllStorage;
+    }
+
+    public LookupConf setCacheAllStorage(String cacheAllStorage) {
+        this.cacheAllStorage = cacheAllStorage;
+        return this;
+    }
+
     public long getErrorLimit() {
         return errorLimit;
     }
@@ -155,6 +189,13 @@ public class LookupConf implements Serializable {
                 + cacheSize
                 + ", cacheTtl="
                 + cacheTtl
+                + ", cacheMaxWeight="
+                + cacheMaxWeight
+                + ", cacheRefreshInterval="
+                + cacheRefreshInterval
+                + ", cacheAllStorage='"
+                + cacheAllStorage
+                + '\''
                 + ", cache='"
                 + cache
                 + '\''
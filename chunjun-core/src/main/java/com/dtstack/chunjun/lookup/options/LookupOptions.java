@@ -18,6 +18,7 @@
 
 package com.dtstack.chunjun.lookup.options;
 
+import com.dtstack.chunjun.enums.AllCacheStorage;
 import com.dtstack.chunjun.enums.CacheType;
 
 import org.apache.flink.configuration.ConfigOption;
@@ -51,6 +52,29 @@ public class LookupOptions {
                     .defaultValue(60 * 1000L)
                     .withDescription("the cache time to live.");
 
+    public static final ConfigOption<Long> LOOKUP_CACHE_MAX_WEIGHT =
+            ConfigOptions.key("lookup.cache.max-weight")
+                    .longType()
+                    .defaultValue(64 * 1024 * 1024L)
+                    .withDescription(
+                            "the max estimated bytes of the CAFFEINE lookup cache, over this value, the least valuable rows will be eliminated.");
+
+    public static final ConfigOption<Long> LOOKUP_CACHE_REFRESH_INTERVAL =
+            ConfigOptions.key("lookup.cache.refresh-interval")
+                    .longType()
+                    .defaultValue(0L)
+                    .withDescription(
+                            "the CAFFEINE lookup cache reloads a key asynchronously when it is read after this time, 0 means no refresh.");
+
+    public static final ConfigOption<String> LOOKUP_CACHE_ALL_STORAGE =
+            ConfigOptions.key("lookup.cache.all-storage")
+                    .stringType()
+                    .defaultValue(AllCacheStorage.MAP.name())
+                    .withDescription(
+                            "how the ALL lookup cache keeps rows, MAP, COMPACT(encoded pages on heap) or OFF_HEAP(encoded pages off heap). "
+                                    + "OFF_HEAP pages are released only by GC and the old and new cache coexist during a reload, "
+                                    + "so reserve twice the cache size of direct memory (-XX:MaxDirectMemorySize).");
+
     public static final ConfigOption<String> LOOKUP_CACHE_TYPE =
             ConfigOptions.key("lookup.cache-type")
                     .stringType()
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.metrics;
+
+import org.apache.flink.api.common.functions.AggregateFunction;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 在JobMaster上汇总所有subtask的累加器，通过{@link
+ * org.apache.flink.runtime.taskexecutor.GlobalAggregateManager#updateGlobalAggregate}调用。
+ *
+ * <p>subtask只上报上次上报后变化过的累加器的当前值，JobMaster按subtask覆盖后更新汇总值，重复上报和failover后重新上报不会重复累加。
+ * 上报的数据和返回的汇总值只使用jdk的类型，JobMaster和TaskManager的rpc不需要加载用户代码。
+ */
+public class AccumulatorAggregateFunction
+        implements AggregateFunction<
+                HashMap<String, Long>,
+                AccumulatorAggregateFunction.Aggregate,
+                HashMap<String, Long>> {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 所有subtask汇总到同一个聚合中，和flink按名称合并累加器一致 */
+    public static final String AGGREGATE_NAME = "chunjun-accumulators";
+
+    /** 上报的subtask，同一个subtask链接在一起的算子使用同一组累加器 */
+    private final String subtask;
+
+    /** 需要返回汇总值的累加器 */
+    private final ArrayList<String> names;
+
+    public AccumulatorAggregateFunction(String subtask, List<String> names) {
+        this.subtask = subtask;
+        this.names = new ArrayList<>(names);
+    }
+
+    @Override
+    public Aggregate createAccumulator() {
+        return new Aggregate();
+    }
+
+    @Override
+    public Aggregate add(HashMap<String, Long> values, Aggregate aggregate) {
+        Map<String, Long> subtaskValues =
+                aggregate.subtaskValues.computeIfAbsent(subtask, k -> new HashMap<>());
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            Long previous = subtaskValues.put(entry.getKey(), entry.getValue());
+            long delta = entry.getValue() - (previous == null ? 0L : previous);
+            aggregate.totals.merge(entry.getKey(), delta, Long::sum);
+        }
+        return aggregate;
+    }
+
+    @Override
+    public HashMap<String, Long> getResult(Aggregate aggregate) {
+        HashMap<String, Long> result = new HashMap<>(names.size() * 2);
+        for (String name : names) {
+            result.put(name, aggregate.totals.getOrDefault(name, 0L));
+        }
+        return result;
+    }
+
+    @Override
+    public Aggregate merge(Aggregate a, Aggregate b) {
+        throw new UnsupportedOperationException("merge is not used by GlobalAggregateManager");
+    }
+
+    /** JobMaster上保存的聚合状态 */
+    public static class Aggregate implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        /** 每个subtask最近一次上报的值 */
+        private final Map<String, Map<String, Long>> subtaskValues = new HashMap<>();
+
+        /** 所有subtask的汇总值 */
+        private final Map<String, Long> totals = new HashMap<>();
+    }
+}
@@ -19,25 +19,18 @@
 package com.dtstack.chunjun.metrics;
 
 import com.dtstack.chunjun.util.ExceptionUtil;
-import com.dtstack.chunjun.util.ReflectionUtils;
 
-import org.apache.flink.api.common.time.Time;
-import org.apache.flink.runtime.accumulators.StringifiedAccumulatorResult;
-import org.apache.flink.runtime.executiongraph.ArchivedExecutionGraph;
-import org.apache.flink.runtime.jobmaster.JobMasterGateway;
+import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
 import org.apache.flink.runtime.taskexecutor.TaskManagerConfiguration;
-import org.apache.flink.runtime.taskexecutor.rpc.RpcGlobalAggregateManager;
 import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
 import org.apache.flink.util.Preconditions;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.Field;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -45,6 +38,9 @@ import java.util.concurrent.TimeUnit;
 /**
  * 累加器收集器，周期性地更新累加器信息
  *
+ * <p>通过{@link GlobalAggregateManager}把本subtask变化过的累加器上报给JobMaster，同时取回这些累加器的汇总值缓存在本地，
+ * 速率限制等功能读取缓存的汇总值，不需要请求整个ExecutionGraph。
+ *
  * @author jiangbo
  * @date 2019/7/17
  */
@@ -57,7 +53,10 @@ public class AccumulatorCollector {
     private static final int MAX_COLLECT_ERROR_TIMES = 100;
     private long collectErrorTimes = 0;
 
-    private JobMasterGateway gateway;
+    private final GlobalAggregateManager globalAggregateManager;
+    private final AccumulatorAggregateFunction aggregateFunction;
+    /** 最近一次上报成功的本地值，只上报变化过的累加器 */
+    private final Map<String, Long> reportedValueMap;
 
     private final long period;
     private final ScheduledExecutorService scheduledExecutorService;
@@ -80,18 +79,10 @@ public class AccumulatorCollector {
                                 .getTimeout()
                                 .toMilliseconds()
                         + 1000;
-        RpcGlobalAggregateManager globalAggregateManager =
-                ((RpcGlobalAggregateManager) (context).getGlobalAggregateManager());
-        Field field = ReflectionUtils.getDeclaredField(globalAggregateManager, "jobMasterGateway");
-        assert field != null;
-        field.setAccessible(true);
-        try {
-            gateway = (JobMasterGateway) field.get(globalAggregateManager);
-        } catch (IllegalArgumentException | IllegalAccessException e) {
-            LOG.error(
-                    "failed to get field:[gateway] from RpcGlobalAggregateManager, e = {}",
-                    ExceptionUtil.getErrorMessage(e));
-        }
+        this.globalAggregateManager = context.getGlobalAggregateManager();
+        this.aggregateFunction =
+                new AccumulatorAggregateFunction(context.getTaskNameWithSubtasks(), metricNames);
+        this.reportedValueMap = new HashMap<>(metricNames.size());
     }
 
     /** 启动线程池，周期性更新累加器信息 */
@@ -109,13 +100,23 @@ public class AccumulatorCollector {
         }
     }
 
-    /** 收集累加器信息 */
+    /** 上报本地累加器并收集汇总值 */
     public void collectAccumulator() {
-        CompletableFuture<ArchivedExecutionGraph> archivedExecutionGraphFuture =
-                gateway.requestJob(Time.seconds(10));
-        ArchivedExecutionGraph archivedExecutionGraph;
+        HashMap<String, Long> changedValueMap = new HashMap<>(valueAccumulatorMap.size() * 2);
+        for (Map.Entry<String, ValueAccumulator> entry : valueAccumulatorMap.entrySet()) {
+            long value = entry.getValue().getLocal().getLocalValue();
+            Long reported = reportedValueMap.get(entry.getKey());
+            if (reported == null || reported != value) {
+                changedValueMap.put(entry.getKey(), value);
+            }
+        }
+        HashMap<String, Long> globalValueMap;
         try {
-            archivedExecutionGraph = archivedExecutionGraphFuture.get();
+            globalValueMap =
+                    globalAggregateManager.updateGlobalAggregate(
+                            AccumulatorAggregateFunction.AGGREGATE_NAME,
+                            changedValueMap,
+                            aggregateFunction);
         } catch (Exception e) {
             // 限制最大出错次数，超过最大次数则使任务失败，如果不失败，统计数据没有及时更新，会影响速率限制，错误控制等功能
             collectErrorTimes++;
@@ -125,14 +126,16 @@ public class AccumulatorCollector {
                 throw new RuntimeException(
                         "The number of errors in updating statistics data exceeds the maximum limit of 100 times. To ensure the correctness of the data, the task automatically fails");
             }
+            LOG.warn(
+                    "failed to update global accumulators, e = {}",
+                    ExceptionUtil.getErrorMessage(e));
             return;
         }
-        StringifiedAccumulatorResult[] accumulatorResult =
-                archivedExecutionGraph.getAccumulatorResultsStringified();
-        for (StringifiedAccumulatorResult result : accumulatorResult) {
-            ValueAccumulator valueAccumulator = valueAccumulatorMap.get(result.getName());
+        reportedValueMap.putAll(changedValueMap);
+        for (Map.Entry<String, Long> entry : globalValueMap.entrySet()) {
+            ValueAccumulator valueAccumulator = valueAccumulatorMap.get(entry.getKey());
             if (valueAccumulator != null) {
-                valueAccumulator.setGlobal(Long.parseLong(result.getValue()));
+                valueAccumulator.setGlobal(entry.getValue());
             }
         }
     }
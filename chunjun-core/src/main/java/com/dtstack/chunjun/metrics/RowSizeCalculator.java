@@ -19,9 +19,12 @@
 package com.dtstack.chunjun.metrics;
 
 import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.PrimitiveRowData;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 import com.dtstack.chunjun.throwable.UnsupportedTypeException;
 
+import org.apache.flink.table.data.RowData;
+
 import jdk.nashorn.internal.ir.debug.ObjectSizeCalculator;
 
 import java.util.Arrays;
@@ -88,10 +91,13 @@ public abstract class RowSizeCalculator<T> {
         }
     }
 
-    static class SyncCalculator extends RowSizeCalculator<ColumnRowData> {
+    static class SyncCalculator extends RowSizeCalculator<RowData> {
         @Override
-        public long getObjectSize(ColumnRowData object) {
-            return object.getByteSize();
+        public long getObjectSize(RowData object) {
+            if (object instanceof PrimitiveRowData) {
+                return ((PrimitiveRowData) object).getByteSize();
+            }
+            return ((ColumnRowData) object).getByteSize();
         }
     }
 
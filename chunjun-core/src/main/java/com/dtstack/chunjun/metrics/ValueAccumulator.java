@@ -26,7 +26,8 @@ import org.apache.flink.api.common.accumulators.LongCounter;
  */
 public class ValueAccumulator {
     private final LongCounter local;
-    private long global;
+    /** 由收集线程更新，速率限制等线程读取 */
+    private volatile long global;
 
     public ValueAccumulator(long global, LongCounter local) {
         this.global = global;
@@ -92,6 +92,12 @@ public abstract class SinkFactory implements RawTypeConvertible {
     public void initCommonConf(ChunJunCommonConf commonConf) {
         PropertiesUtil.initCommonConf(commonConf, this.syncConf);
         commonConf.setCheckFormat(this.syncConf.getWriter().getBooleanVal("check", true));
+        commonConf.setAsyncFlush(
+                this.syncConf.getWriter().getBooleanVal("asyncFlush", commonConf.isAsyncFlush()));
+        commonConf.setAsyncFlushMaxInflight(
+                this.syncConf
+                        .getWriter()
+                        .getIntVal("asyncFlushMaxInflight", commonConf.getAsyncFlushMaxInflight()));
         SpeedConf speed = this.syncConf.getSpeed();
         commonConf.setParallelism(
                 speed.getWriterChannel() == -1 ? speed.getChannel() : speed.getWriterChannel());
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.sink.format;
+
+import com.dtstack.chunjun.factory.ChunJunThreadFactory;
+
+import org.apache.flink.table.data.RowData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 异步批量刷写：task线程向当前缓冲区写入数据，缓冲区写满后整体交给后台线程写出，task线程换一个空缓冲区继续写入。
+ *
+ * <p>后台只有一个写出线程，批次按提交顺序写出；已提交但未写完的批次数达到上限时，{@link #submit()} 阻塞调用方。 写完的缓冲区清空后复用。
+ */
+public class AsyncBatchFlusher {
+
+    private final int batchSize;
+
+    private final int maxInflight;
+
+    /** 已提交但未写完的批次许可 */
+    private final Semaphore inflightPermits;
+
+    /** 可复用的空缓冲区 */
+    private final BlockingQueue<List<RowData>> freeBuffers;
+
+    private final ExecutorService executor;
+
+    /** 在后台线程中写出一个批次 */
+    private final Consumer<List<RowData>> flushFunction;
+
+    /** task线程正在写入的缓冲区 */
+    private List<RowData> buffer;
+
+    public AsyncBatchFlusher(
+            int batchSize, int maxInflight, Consumer<List<RowData>> flushFunction) {
+        if (maxInflight <= 0) {
+            throw new IllegalArgumentException("asyncFlushMaxInflight must be positive");
+        }
+        this.batchSize = batchSize;
+        this.maxInflight = maxInflight;
+        this.flushFunction = flushFunction;
+        this.inflightPermits = new Semaphore(maxInflight);
+        this.freeBuffers = new ArrayBlockingQueue<>(maxInflight + 1);
+        this.buffer = new ArrayList<>(batchSize);
+        this.executor =
+                new ThreadPoolExecutor(
+                        1,
+                        1,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(),
+                        new ChunJunThreadFactory("async-data-write-thread"));
+    }
+
+    /**
+     * 写入一条数据
+     *
+     * @return 缓冲区是否已满
+     */
+    public boolean add(RowData rowData) {
+        buffer.add(rowData);
+        return buffer.size() >= batchSize;
+    }
+
+    /**
+     * 将当前缓冲区交给后台线程写出，在途批次已达上限时阻塞
+     *
+     * @return 提交的数据条数
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public int submit() throws InterruptedException {
+        if (buffer.isEmpty()) {
+            return 0;
+        }
+        inflightPermits.acquire();
+        List<RowData> batch = buffer;
+        int size = batch.size();
+        List<RowData> next = freeBuffers.poll();
+        buffer = next == null ? new ArrayList<>(batchSize) : next;
+        try {
+            executor.execute(
+                    () -> {
+                        try {
+                            flushFunction.accept(batch);
+                        } finally {
+                            batch.clear();
+                            freeBuffers.offer(batch);
+                            inflightPermits.release();
+                        }
+                    });
+        } catch (RuntimeException e) {
+            inflightPermits.release();
+            throw e;
+        }
+        return size;
+    }
+
+    /**
+     * 等待所有已提交的批次写完
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void awaitInflight() throws InterruptedException {
+        inflightPermits.acquire(maxInflight);
+        inflightPermits.release(maxInflight);
+    }
+
+    /** task线程缓冲区中的数据条数 */
+    public int bufferSize() {
+        return buffer.size();
+    }
+
+    /** 已提交但未写完的批次数 */
+    public int inflightBatches() {
+        return maxInflight - inflightPermits.availablePermits();
+    }
+
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -29,6 +29,8 @@ import com.dtstack.chunjun.converter.AbstractRowConverter;
 import com.dtstack.chunjun.dirty.DirtyConf;
 import com.dtstack.chunjun.dirty.manager.DirtyManager;
 import com.dtstack.chunjun.dirty.utils.DirtyConfUtil;
+import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.PrimitiveRowData;
 import com.dtstack.chunjun.enums.Semantic;
 import com.dtstack.chunjun.factory.ChunJunThreadFactory;
 import com.dtstack.chunjun.metrics.AccumulatorCollector;
@@ -36,6 +38,7 @@ import com.dtstack.chunjun.metrics.BaseMetric;
 import com.dtstack.chunjun.metrics.RowSizeCalculator;
 import com.dtstack.chunjun.restore.FormatState;
 import com.dtstack.chunjun.sink.DirtyDataManager;
+import com.dtstack.chunjun.source.ByteRateLimiter;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 import com.dtstack.chunjun.throwable.NoRestartException;
 import com.dtstack.chunjun.throwable.WriteRecordException;
@@ -147,6 +150,12 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
     protected transient AtomicBoolean flushEnable;
     /** 当前事务的条数 */
     protected long rowsOfCurrentTransaction;
+    /** 是否开启异步刷写，开启后rows只在刷写线程中使用，task线程的数据写入asyncBatchFlusher的缓冲区 */
+    protected boolean asyncFlush;
+    /** 异步刷写服务 */
+    protected transient AsyncBatchFlusher asyncBatchFlusher;
+    /** 是否开启了pipeline.object-reuse，开启时上游可能每条数据复用同一个行对象 */
+    protected boolean objectReuse;
 
     /** A collection of field names filled in user scripts with constants removed */
     protected List<String> columnNameList = new ArrayList<>();
@@ -157,6 +166,8 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
     protected AccumulatorCollector accumulatorCollector;
     /** 对象大小计算器 */
     protected RowSizeCalculator rowSizeCalculator;
+    /** 写入速率限制器 */
+    protected ByteRateLimiter byteRateLimiter;
 
     protected LongCounter bytesWriteCounter;
     protected LongCounter durationCounter;
@@ -179,6 +190,7 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
 
     private boolean useAbstractColumn;
 
+    /** 定时提交或者异步刷写线程中的写出异常 */
     private transient volatile Exception timerWriteException;
 
     @Override
@@ -209,6 +221,7 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
         this.numTasks = numTasks;
         this.context = (StreamingRuntimeContext) getRuntimeContext();
         this.checkpointEnabled = context.isCheckpointingEnabled();
+        this.objectReuse = context.getExecutionConfig().isObjectReuseEnabled();
         this.batchSize = config.getBatchSize();
         this.rows = new ArrayList<>(batchSize);
         this.executeDdlAble = config.isExecuteDdlAble();
@@ -240,39 +253,62 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
 
         initStatisticsAccumulator();
         initRestoreInfo();
+        initAsyncFlush();
         initTimingSubmitTask();
         initRowSizeCalculator();
 
         if (initAccumulatorAndDirty) {
             initAccumulatorCollector();
         }
+        initByteRateLimiter();
         openInternal(taskNumber, numTasks);
         this.startTime = System.currentTimeMillis();
 
         LOG.info(
-                "[{}] open successfully, \ncheckpointMode = {}, \ncheckpointEnabled = {}, \nflushIntervalMills = {}, \nbatchSize = {}, \n[{}]: \n{} ",
+                "[{}] open successfully, \ncheckpointMode = {}, \ncheckpointEnabled = {}, \nflushIntervalMills = {}, \nbatchSize = {}, \nasyncFlush = {}, \n[{}]: \n{} ",
                 this.getClass().getSimpleName(),
                 checkpointMode,
                 checkpointEnabled,
                 flushIntervalMills,
                 batchSize,
+                asyncFlush,
                 config.getClass().getSimpleName(),
                 JsonUtil.toPrintJson(config));
     }
 
+    /** 限速时在锁外等待，避免阻塞定时刷写和checkpoint */
     @Override
-    public synchronized void writeRecord(RowData rowData) {
+    public void writeRecord(RowData rowData) {
         checkTimerWriteException();
+        if (rowData instanceof PrimitiveRowData && !supportsPrimitiveRow()) {
+            rowData = ((PrimitiveRowData) rowData).toColumnRowData();
+        }
+        long rowBytes = rowSizeCalculator.getObjectSize(rowData);
+        if (byteRateLimiter != null) {
+            byteRateLimiter.acquire(rowBytes);
+        }
+        synchronized (this) {
+            writeRecordLocked(rowData, rowBytes);
+        }
+    }
+
+    private void writeRecordLocked(RowData rowData, long rowBytes) {
         int size = 0;
         if (rowData instanceof DdlRowData) {
+            // ddl需要在之前的数据都写出后执行
+            flushAsyncAndWait();
             executeDdlRowDataTemplate((DdlRowData) rowData);
             size = 1;
         } else {
-            if (batchSize <= 1) {
+            if (asyncFlush) {
+                if (asyncBatchFlusher.add(detachReusedRow(rowData)) && flushEnable.get()) {
+                    size = submitAsyncFlush();
+                }
+            } else if (batchSize <= 1) {
                 writeSingleRecord(rowData, numWriteCounter);
                 size = 1;
             } else {
-                rows.add(rowData);
+                rows.add(detachReusedRow(rowData));
                 if (rows.size() >= batchSize) {
                     writeRecordInternal();
                     size = batchSize;
@@ -280,7 +316,7 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
             }
         }
         updateDuration();
-        bytesWriteCounter.add(rowSizeCalculator.getObjectSize(rowData));
+        bytesWriteCounter.add(rowBytes);
         if (checkpointEnabled) {
             snapshotWriteCounter.add(size);
         }
@@ -300,6 +336,15 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
 
         Exception closeException = null;
 
+        if (asyncFlush) {
+            try {
+                flushAsyncAndWait();
+            } catch (Exception e) {
+                closeException = e;
+            }
+            asyncBatchFlusher.close();
+        }
+
         if (null != timerWriteException) {
             closeException = timerWriteException;
         }
@@ -341,6 +386,10 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
             }
         }
 
+        if (byteRateLimiter != null) {
+            byteRateLimiter.stop();
+        }
+
         if (accumulatorCollector != null) {
             accumulatorCollector.close();
         }
@@ -395,6 +444,19 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
         accumulatorCollector.start();
     }
 
+    /** 初始化写入速率限制器 */
+    private void initByteRateLimiter() {
+        if (config.getWriterSpeedBytes() > 0) {
+            byteRateLimiter =
+                    new ByteRateLimiter(
+                            config.isSpeedDynamicShare() ? accumulatorCollector : null,
+                            Metrics.WRITE_BYTES,
+                            config.getWriterSpeedBytes(),
+                            numTasks);
+            byteRateLimiter.start();
+        }
+    }
+
     /** 初始化对象大小计算器 */
     protected void initRowSizeCalculator() {
         rowSizeCalculator =
@@ -421,6 +483,23 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
         }
     }
 
+    /** 开启异步刷写，单条写入时不需要 */
+    private void initAsyncFlush() {
+        if (config.isAsyncFlush() && !supportsAsyncFlush()) {
+            LOG.warn("{} does not support asyncFlush, ignore it", getClass().getSimpleName());
+        }
+        this.asyncFlush = config.isAsyncFlush() && batchSize > 1 && supportsAsyncFlush();
+        if (asyncFlush) {
+            LOG.info(
+                    "initAsyncFlush() ,batchSize:{}, maxInflight:{}",
+                    batchSize,
+                    config.getAsyncFlushMaxInflight());
+            this.asyncBatchFlusher =
+                    new AsyncBatchFlusher(
+                            batchSize, config.getAsyncFlushMaxInflight(), this::writeAsyncBatch);
+        }
+    }
+
     /** Turn on timed submission,Each result table is opened separately */
     private void initTimingSubmitTask() {
         if (batchSize > 1 && flushIntervalMills > 0) {
@@ -439,7 +518,11 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
                                         return;
                                     }
                                     try {
-                                        if (!rows.isEmpty()) {
+                                        if (asyncFlush) {
+                                            if (flushEnable.get()) {
+                                                submitAsyncFlush();
+                                            }
+                                        } else if (!rows.isEmpty()) {
                                             writeRecordInternal();
                                         }
                                     } catch (Exception e) {
@@ -476,20 +559,81 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
         }
     }
 
+    /**
+     * 开启对象复用时，读取端复用的{@link PrimitiveRowData}会直接传到这里，缓存到批次之前需要拷贝，否则批次中都是最后一条数据。
+     * 未开启时上游传来的已经是序列化器拷贝的对象，不再拷贝
+     */
+    private RowData detachReusedRow(RowData rowData) {
+        if (objectReuse && rowData instanceof PrimitiveRowData) {
+            return ((PrimitiveRowData) rowData).copy();
+        }
+        return rowData;
+    }
+
     /** 数据批量写出 */
     protected synchronized void writeRecordInternal() {
         if (flushEnable.get()) {
-            try {
-                writeMultipleRecordsInternal();
-                numWriteCounter.add(rows.size());
-            } catch (Exception e) {
-                // 批量写异常转为单条写
-                rows.forEach(item -> writeSingleRecord(item, numWriteCounter));
-            } finally {
-                // Data is either recorded dirty data or written normally
-                rows.clear();
+            writeRows();
+        }
+    }
+
+    /** 批量写出rows中的数据，异步刷写时在刷写线程中调用，不持有当前对象的锁 */
+    protected void writeRows() {
+        try {
+            writeMultipleRecordsInternal();
+            numWriteCounter.add(rows.size());
+        } catch (Exception e) {
+            // 批量写异常转为单条写
+            rows.forEach(item -> writeSingleRecord(item, numWriteCounter));
+        } finally {
+            // Data is either recorded dirty data or written normally
+            rows.clear();
+        }
+    }
+
+    /** 在刷写线程中写出一个批次，写出期间rows指向该批次 */
+    private void writeAsyncBatch(List<RowData> batch) {
+        List<RowData> idleRows = rows;
+        rows = batch;
+        try {
+            writeRows();
+        } catch (Exception e) {
+            LOG.error("Writing records failed. {}", ExceptionUtil.getErrorMessage(e));
+            timerWriteException = e;
+        } finally {
+            rows = idleRows;
+        }
+    }
+
+    /**
+     * 将异步刷写的缓冲区交给刷写线程
+     *
+     * @return 提交的数据条数
+     */
+    private int submitAsyncFlush() {
+        try {
+            return asyncBatchFlusher.submit();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ChunJunRuntimeException("interrupted while submitting records", e);
+        }
+    }
+
+    /** 异步刷写时，写出缓冲区中剩余的数据并等待所有批次写完，之后rows和下游连接只会被当前线程使用 */
+    protected void flushAsyncAndWait() {
+        if (!asyncFlush) {
+            return;
+        }
+        try {
+            if (flushEnable.get()) {
+                asyncBatchFlusher.submit();
             }
+            asyncBatchFlusher.awaitInflight();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ChunJunRuntimeException("interrupted while waiting for records written", e);
         }
+        checkTimerWriteException();
     }
 
     private void checkTimerWriteException() {
@@ -531,6 +675,8 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
      * @return
      */
     public synchronized FormatState getFormatState() throws Exception {
+        // 异步刷写时等待之前的数据全部写出，保证checkpoint前的数据已经提交或者预提交
+        flushAsyncAndWait();
         // not EXACTLY_ONCE model,Does not interact with the db
         if (Semantic.EXACTLY_ONCE == semantic) {
             try {
@@ -581,6 +727,22 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
      */
     protected abstract void writeSingleRecordInternal(RowData rowData) throws WriteRecordException;
 
+    /**
+     * 是否可以直接写出{@link PrimitiveRowData}，不支持时写出前转换为{@link ColumnRowData}。
+     * 支持时converter只能通过RowData的getter或PrimitiveRowData的方法读取数据
+     */
+    protected boolean supportsPrimitiveRow() {
+        return false;
+    }
+
+    /**
+     * 是否支持异步刷写。异步刷写时刷写线程通过{@link #writeRows}直接调用{@link #writeMultipleRecordsInternal}， 不经过{@link
+     * #writeRecordInternal}，批量写出的逻辑全部在writeMultipleRecordsInternal中、且可以在刷写线程中执行时才能返回true
+     */
+    protected boolean supportsAsyncFlush() {
+        return false;
+    }
+
     /**
      * 写出多条数据
      *
@@ -612,6 +774,7 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
     public synchronized void notifyCheckpointComplete(long checkpointId) {
         if (Semantic.EXACTLY_ONCE == semantic) {
             try {
+                flushAsyncAndWait();
                 commit(checkpointId);
                 LOG.info("notifyCheckpointComplete:Commit success , checkpointId:{}", checkpointId);
             } catch (Exception e) {
@@ -656,6 +819,7 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
     public synchronized void notifyCheckpointAborted(long checkpointId) {
         if (Semantic.EXACTLY_ONCE == semantic) {
             try {
+                flushAsyncAndWait();
                 rollback(checkpointId);
                 LOG.info(
                         "notifyCheckpointAborted:rollback success , checkpointId:{}", checkpointId);
@@ -18,14 +18,12 @@
 
 package com.dtstack.chunjun.source;
 
-import com.dtstack.chunjun.constants.Metrics;
 import com.dtstack.chunjun.metrics.AccumulatorCollector;
 
 import org.apache.flink.shaded.guava18.com.google.common.util.concurrent.RateLimiter;
 
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 
-import java.math.BigDecimal;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
@@ -34,25 +32,58 @@ import java.util.concurrent.TimeUnit;
 /**
  * This class is user for speed control
  *
+ * <p>令牌桶的单位是字节，按每条数据实际的字节数扣减令牌，数据大小差异很大时速率依然准确。为了减少逐条申请的开销，累计到速率的1%后再一次性申请。
+ *
+ * <p>速率上限是整个任务的速率，默认每个并行度平分；开启动态分配时，根据{@link AccumulatorCollector}中所有并行度的速率，每个并行度在当前速率的基础上平分剩余的速率，
+ * 读取慢或者已经结束的并行度让出的速率由其他并行度使用，每个并行度至少保留平分的速率。
+ *
+ * <p>{@link #acquire(long)}只能由一个线程调用。
+ *
  * <p>Company: www.dtstack.com
  *
  * @author huyifan.zju@163.com
  */
-@SuppressWarnings("all")
 public class ByteRateLimiter {
 
-    private static final int MIN_RECORD_NUMBER_UPDATE_RATE = 1000;
+    /** 每次申请的字节数占速率的比例 */
+    private static final double BATCH_RATIO = 0.01D;
+    /** 每次申请的最大字节数 */
+    private static final long MAX_BATCH_BYTES = 1024 * 1024;
+
     private final RateLimiter rateLimiter;
     private final double expectedBytePerSecond;
+    private final int parallelism;
     private final AccumulatorCollector accumulatorCollector;
+    private final String bytesMetric;
     private final ScheduledExecutorService scheduledExecutorService;
 
+    /** 累计到该字节数后申请令牌 */
+    private volatile long batchBytes;
+    /** 还没有申请令牌的字节数 */
+    private long pendingBytes;
+
+    private long lastGlobalBytes = -1;
+    private long lastLocalBytes;
+    private long lastUpdateTime;
+
+    /**
+     * @param accumulatorCollector 为null时每个并行度平分速率上限
+     * @param bytesMetric 统计字节数的累加器，如{@link com.dtstack.chunjun.constants.Metrics#READ_BYTES}
+     * @param expectedBytePerSecond 整个任务的速率上限
+     * @param parallelism 并行度
+     */
     public ByteRateLimiter(
-            AccumulatorCollector accumulatorCollector, double expectedBytePerSecond) {
-        double initialRate = 1000.0;
-        this.rateLimiter = RateLimiter.create(initialRate);
+            AccumulatorCollector accumulatorCollector,
+            String bytesMetric,
+            double expectedBytePerSecond,
+            int parallelism) {
         this.expectedBytePerSecond = expectedBytePerSecond;
+        this.parallelism = Math.max(parallelism, 1);
         this.accumulatorCollector = accumulatorCollector;
+        this.bytesMetric = bytesMetric;
+        double initialRate = expectedBytePerSecond / this.parallelism;
+        this.rateLimiter = RateLimiter.create(initialRate);
+        this.batchBytes = getBatchBytes(initialRate);
 
         ThreadFactory threadFactory =
                 new BasicThreadFactory.Builder()
@@ -63,8 +94,10 @@ public class ByteRateLimiter {
     }
 
     public void start() {
-        scheduledExecutorService.scheduleAtFixedRate(
-                this::updateRate, 0, 1000L, TimeUnit.MILLISECONDS);
+        if (accumulatorCollector != null && parallelism > 1) {
+            scheduledExecutorService.scheduleAtFixedRate(
+                    this::updateRate, 0, 1000L, TimeUnit.MILLISECONDS);
+        }
     }
 
     public void stop() {
@@ -73,24 +106,73 @@ public class ByteRateLimiter {
         }
     }
 
-    public void acquire() {
-        rateLimiter.acquire();
+    /**
+     * 申请令牌，令牌不足时等待
+     *
+     * @param bytes 本条数据的字节数
+     */
+    public void acquire(long bytes) {
+        pendingBytes += bytes;
+        if (pendingBytes < batchBytes) {
+            return;
+        }
+        while (pendingBytes > 0) {
+            int permits = (int) Math.min(pendingBytes, Integer.MAX_VALUE);
+            rateLimiter.acquire(permits);
+            pendingBytes -= permits;
+        }
     }
 
+    /** 累加器的汇总值更新后，按这段时间的速率重新分配 */
     private void updateRate() {
-        long totalBytes = accumulatorCollector.getAccumulatorValue(Metrics.READ_BYTES, false);
-        long thisRecords = accumulatorCollector.getLocalAccumulatorValue(Metrics.NUM_READS);
-        long totalRecords = accumulatorCollector.getAccumulatorValue(Metrics.NUM_READS, false);
-
-        BigDecimal thisWriteRatio =
-                BigDecimal.valueOf(totalRecords == 0 ? 0 : thisRecords / (double) totalRecords);
-
-        if (totalRecords > MIN_RECORD_NUMBER_UPDATE_RATE
-                && totalBytes != 0
-                && thisWriteRatio.compareTo(BigDecimal.ZERO) != 0) {
-            double bpr = totalBytes / (double) totalRecords;
-            double permitsPerSecond = expectedBytePerSecond / bpr * thisWriteRatio.doubleValue();
-            rateLimiter.setRate(permitsPerSecond);
+        long globalBytes = accumulatorCollector.getAccumulatorValue(bytesMetric, false);
+        long localBytes = accumulatorCollector.getLocalAccumulatorValue(bytesMetric);
+        long now = System.currentTimeMillis();
+        if (lastGlobalBytes < 0 || globalBytes < lastGlobalBytes) {
+            // 第一次更新或者有并行度failover后重新上报
+            lastGlobalBytes = globalBytes;
+            lastLocalBytes = localBytes;
+            lastUpdateTime = now;
+            return;
         }
+        if (globalBytes == lastGlobalBytes || now <= lastUpdateTime) {
+            return;
+        }
+        double seconds = (now - lastUpdateTime) / 1000.0D;
+        double rate =
+                computeRate(
+                        expectedBytePerSecond,
+                        parallelism,
+                        Math.max(localBytes - lastLocalBytes, 0) / seconds,
+                        (globalBytes - lastGlobalBytes) / seconds);
+        rateLimiter.setRate(rate);
+        batchBytes = getBatchBytes(rate);
+
+        lastGlobalBytes = globalBytes;
+        lastLocalBytes = localBytes;
+        lastUpdateTime = now;
+    }
+
+    /**
+     * 计算当前并行度的速率：当前速率加上平分的剩余速率，不低于平分的速率，不超过整个任务的速率上限
+     *
+     * @param expectedBytePerSecond 整个任务的速率上限
+     * @param parallelism 并行度
+     * @param localBytePerSecond 当前并行度的速率
+     * @param globalBytePerSecond 所有并行度的速率
+     */
+    static double computeRate(
+            double expectedBytePerSecond,
+            int parallelism,
+            double localBytePerSecond,
+            double globalBytePerSecond) {
+        double evenRate = expectedBytePerSecond / parallelism;
+        double rate =
+                localBytePerSecond + (expectedBytePerSecond - globalBytePerSecond) / parallelism;
+        return Math.min(Math.max(rate, evenRate), expectedBytePerSecond);
+    }
+
+    private static long getBatchBytes(double rate) {
+        return Math.max(1L, Math.min((long) (rate * BATCH_RATIO), MAX_BATCH_BYTES));
     }
 }
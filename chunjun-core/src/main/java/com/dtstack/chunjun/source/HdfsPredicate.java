@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.source;
+
+import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * filter参数中的一个简单条件：字段 比较符 常量，多个条件之间只支持and。
+ *
+ * <p>条件先根据orc stripe/row group、parquet row group的统计信息跳过不可能满足条件的数据，再通过{@link #test}逐行过滤。
+ */
+public class HdfsPredicate implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Pattern AND_PATTERN =
+            Pattern.compile("\\s+and\\s+(?=(?:[^']*'[^']*')*[^']*$)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern PREDICATE_PATTERN =
+            Pattern.compile("^\\s*(\\w+)\\s*(>=|<=|!=|<>|=|>|<)\\s*(.+?)\\s*$");
+
+    /** yyyy-MM-dd的长度 */
+    private static final int DATE_LENGTH = 10;
+
+    private final String column;
+    private final Operator operator;
+    /** Long、Double、Boolean或String */
+    private final Object literal;
+
+    public HdfsPredicate(String column, Operator operator, Object literal) {
+        this.column = column;
+        this.operator = operator;
+        this.literal = literal;
+    }
+
+    /**
+     * 解析filter参数，例如：id >= 100 and name = 'a' and flag = true
+     *
+     * @param filter filter参数
+     * @return 为空时返回空列表
+     */
+    public static List<HdfsPredicate> parse(String filter) {
+        List<HdfsPredicate> predicates = new ArrayList<>();
+        if (StringUtils.isBlank(filter)) {
+            return predicates;
+        }
+        for (String condition : AND_PATTERN.split(filter.trim())) {
+            Matcher matcher = PREDICATE_PATTERN.matcher(condition);
+            if (!matcher.matches()) {
+                throw new ChunJunRuntimeException(
+                        String.format(
+                                "unsupported filter condition [%s] in [%s], only [column operator literal] joined by and is supported",
+                                condition, filter));
+            }
+            predicates.add(
+                    new HdfsPredicate(
+                            matcher.group(1),
+                            Operator.of(matcher.group(2)),
+                            parseLiteral(matcher.group(3), filter)));
+        }
+        return predicates;
+    }
+
+    private static Object parseLiteral(String literal, String filter) {
+        if (literal.length() >= 2 && literal.startsWith("'") && literal.endsWith("'")) {
+            return literal.substring(1, literal.length() - 1).replace("''", "'");
+        }
+        if ("true".equalsIgnoreCase(literal) || "false".equalsIgnoreCase(literal)) {
+            return Boolean.valueOf(literal);
+        }
+        try {
+            return Long.valueOf(literal);
+        } catch (NumberFormatException e) {
+            try {
+                return Double.valueOf(literal);
+            } catch (NumberFormatException e1) {
+                throw new ChunJunRuntimeException(
+                        String.format(
+                                "unsupported literal [%s] in filter [%s], string literal should be quoted by '",
+                                literal, filter));
+            }
+        }
+    }
+
+    /**
+     * 字段的值是否满足条件，值为null或者无法与常量比较时不满足条件
+     *
+     * @param value 字段的值
+     */
+    public boolean test(Object value) {
+        Integer result = compareTo(value);
+        return result != null && operator.matches(result);
+    }
+
+    /** 字段的值与常量比较的结果，无法比较时返回null */
+    private Integer compareTo(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            if (literal instanceof Boolean) {
+                if (value instanceof Boolean) {
+                    return Boolean.compare((Boolean) value, (Boolean) literal);
+                }
+                return value instanceof String
+                                && ("true".equalsIgnoreCase((String) value)
+                                        || "false".equalsIgnoreCase((String) value))
+                        ? Boolean.compare(Boolean.parseBoolean((String) value), (Boolean) literal)
+                        : null;
+            }
+            if (literal instanceof Number) {
+                if (value instanceof Number) {
+                    return toBigDecimal((Number) value).compareTo(toBigDecimal((Number) literal));
+                }
+                return value instanceof String
+                        ? new BigDecimal(((String) value).trim())
+                                .compareTo(toBigDecimal((Number) literal))
+                        : null;
+            }
+            String stringLiteral = (String) literal;
+            if (value instanceof Number) {
+                return toBigDecimal((Number) value).compareTo(new BigDecimal(stringLiteral.trim()));
+            }
+            if (value instanceof Timestamp) {
+                Timestamp timestamp =
+                        stringLiteral.trim().length() == DATE_LENGTH
+                                ? new Timestamp(Date.valueOf(stringLiteral.trim()).getTime())
+                                : Timestamp.valueOf(stringLiteral.trim());
+                return ((Timestamp) value).compareTo(timestamp);
+            }
+            if (value instanceof Date) {
+                return ((Date) value)
+                        .toLocalDate()
+                        .compareTo(Date.valueOf(stringLiteral.trim()).toLocalDate());
+            }
+            if (value instanceof byte[]) {
+                return null;
+            }
+            return value.toString().compareTo(stringLiteral);
+        } catch (IllegalArgumentException e) {
+            // 包括NumberFormatException，字符串不是合法的数字、日期
+            return null;
+        }
+    }
+
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        if (number instanceof Double || number instanceof Float) {
+            return new BigDecimal(number.toString());
+        }
+        return BigDecimal.valueOf(number.longValue());
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public Object getLiteral() {
+        return literal;
+    }
+
+    @Override
+    public String toString() {
+        return column + " " + operator.getSymbol() + " " + literal;
+    }
+
+    public enum Operator {
+        EQ("="),
+        NOT_EQ("!="),
+        LT("<"),
+        LT_EQ("<="),
+        GT(">"),
+        GT_EQ(">=");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public static Operator of(String symbol) {
+            if ("<>".equals(symbol)) {
+                return NOT_EQ;
+            }
+            for (Operator operator : values()) {
+                if (operator.symbol.equals(symbol)) {
+                    return operator;
+                }
+            }
+            throw new IllegalArgumentException("unsupported operator: " + symbol);
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        /** @param result 字段的值与常量比较的结果 */
+        public boolean matches(int result) {
+            switch (this) {
+                case EQ:
+                    return result == 0;
+                case NOT_EQ:
+                    return result != 0;
+                case LT:
+                    return result < 0;
+                case LT_EQ:
+                    return result <= 0;
+                case GT:
+                    return result > 0;
+                default:
+                    return result >= 0;
+            }
+        }
+    }
+}
@@ -95,6 +95,8 @@ public abstract class BaseRichInputFormat extends RichInputFormat<RowData, Input
     protected RowSizeCalculator rowSizeCalculator;
     /** checkpoint状态缓存map */
     protected FormatState formatState;
+    /** 从checkpoint恢复时所有并行度的状态，分片不固定属于某个并行度时使用 */
+    protected List<FormatState> restoreStates = new ArrayList<>();
 
     protected LongCounter numReadCounter;
     protected LongCounter bytesReadCounter;
@@ -131,8 +133,9 @@ public abstract class BaseRichInputFormat extends RichInputFormat<RowData, Input
         }
     }
 
+    /** 默认按请求顺序分配分片，子类可以覆盖 */
     @Override
-    public final InputSplitAssigner getInputSplitAssigner(InputSplit[] inputSplits) {
+    public InputSplitAssigner getInputSplitAssigner(InputSplit[] inputSplits) {
         return new DefaultInputSplitAssigner(inputSplits);
     }
 
@@ -189,9 +192,6 @@ public abstract class BaseRichInputFormat extends RichInputFormat<RowData, Input
 
     @Override
     public RowData nextRecord(RowData rowData) {
-        if (byteRateLimiter != null) {
-            byteRateLimiter.acquire();
-        }
         RowData internalRow = null;
         try {
             internalRow = nextRecordInternal(rowData);
@@ -203,8 +203,14 @@ public abstract class BaseRichInputFormat extends RichInputFormat<RowData, Input
             if (numReadCounter != null) {
                 numReadCounter.add(1);
             }
-            if (bytesReadCounter != null) {
-                bytesReadCounter.add(rowSizeCalculator.getObjectSize(internalRow));
+            if (bytesReadCounter != null || byteRateLimiter != null) {
+                long rowBytes = rowSizeCalculator.getObjectSize(internalRow);
+                if (bytesReadCounter != null) {
+                    bytesReadCounter.add(rowBytes);
+                }
+                if (byteRateLimiter != null) {
+                    byteRateLimiter.acquire(rowBytes);
+                }
             }
         }
 
@@ -292,7 +298,11 @@ public abstract class BaseRichInputFormat extends RichInputFormat<RowData, Input
     private void initByteRateLimiter() {
         if (config.getSpeedBytes() > 0) {
             this.byteRateLimiter =
-                    new ByteRateLimiter(accumulatorCollector, config.getSpeedBytes());
+                    new ByteRateLimiter(
+                            config.isSpeedDynamicShare() ? accumulatorCollector : null,
+                            Metrics.READ_BYTES,
+                            config.getSpeedBytes(),
+                            context.getNumberOfParallelSubtasks());
             this.byteRateLimiter.start();
         }
     }
@@ -384,6 +394,10 @@ public abstract class BaseRichInputFormat extends RichInputFormat<RowData, Input
         this.formatState = formatState;
     }
 
+    public void setRestoreStates(List<FormatState> restoreStates) {
+        this.restoreStates = restoreStates;
+    }
+
     public ChunJunCommonConf getConfig() {
         return config;
     }
@@ -62,4 +62,18 @@ public class SinkOptions {
                     .intType()
                     .defaultValue(null)
                     .withDescription("sink parallelism");
+
+    public static final ConfigOption<Boolean> SINK_ASYNC_FLUSH =
+            ConfigOptions.key("sink.async-flush.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "whether full batches are written by a background thread while the task thread keeps buffering records.");
+
+    public static final ConfigOption<Integer> SINK_ASYNC_FLUSH_MAX_INFLIGHT =
+            ConfigOptions.key("sink.async-flush.max-inflight")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "the max number of batches waiting to be written by the background thread, the task thread is blocked when it is reached.");
 }
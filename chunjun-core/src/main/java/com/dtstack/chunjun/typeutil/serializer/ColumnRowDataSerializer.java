@@ -20,6 +20,7 @@ package com.dtstack.chunjun.typeutil.serializer;
 
 import com.dtstack.chunjun.element.AbstractBaseColumn;
 import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.PrimitiveRowData;
 
 import org.apache.flink.api.common.typeutils.CompositeTypeSerializerUtil;
 import org.apache.flink.api.common.typeutils.NestedSerializersSnapshotDelegate;
@@ -38,22 +39,53 @@ import org.apache.flink.types.RowKind;
 import org.apache.flink.util.InstantiationUtil;
 
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
-/** @author liuliu 2022/5/12 */
+/**
+ * ColumnRowData的序列化器。
+ *
+ * <p>header的编码放在headerInfoSize的位置：{@link
+ * #NO_HEADER}表示没有header和extHeader，后面直接是字段；小于等于-2表示header字典中的布局编号；
+ * 其余取值和之前的格式一致，header和extHeader逐条写入。
+ *
+ * <p>同一个序列化器会写入多个下游通道和状态，所以header字典不在数据中传递，而是在构造时确定，并随snapshot保存：默认包含字段名到下标的布局，也可以额外注册布局。
+ *
+ * @author liuliu 2022/5/12
+ */
 public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
 
+    /** 没有header和extHeader */
+    static final int NO_HEADER = Integer.MIN_VALUE;
+    /** header为null，后面是逐条写入的extHeader */
+    private static final int NULL_HEADER = -1;
+
     StringSerializer stringSerializer = StringSerializer.INSTANCE;
     int size;
 
     private final LogicalType[] types;
     private final TypeSerializer<AbstractBaseColumn>[] fieldSerializers;
+    /** header字典，编号为下标 */
+    private final HeaderLayout[] headerLayouts;
 
-    @SuppressWarnings("unchecked")
     public ColumnRowDataSerializer(RowType rowType) {
+        this(rowType, Collections.emptyList());
+    }
+
+    /**
+     * @param rowType 字段类型
+     * @param headerLayouts 额外注册的header布局，编号排在字段名布局之后
+     */
+    @SuppressWarnings("unchecked")
+    public ColumnRowDataSerializer(RowType rowType, List<HeaderLayout> headerLayouts) {
         this(
                 rowType.getChildren().toArray(new LogicalType[0]),
                 rowType.getFields().stream()
@@ -64,16 +96,34 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
                                                 field.getDescription().isPresent()
                                                         ? field.getDescription().get()
                                                         : ""))
-                        .toArray(TypeSerializer[]::new));
+                        .toArray(TypeSerializer[]::new),
+                buildLayouts(rowType, headerLayouts));
     }
 
     public ColumnRowDataSerializer(
             LogicalType[] types, TypeSerializer<AbstractBaseColumn>[] fieldSerializers) {
+        this(types, fieldSerializers, new HeaderLayout[0]);
+    }
+
+    public ColumnRowDataSerializer(
+            LogicalType[] types,
+            TypeSerializer<AbstractBaseColumn>[] fieldSerializers,
+            HeaderLayout[] headerLayouts) {
         this.types = types;
         this.fieldSerializers = fieldSerializers;
+        this.headerLayouts = headerLayouts;
         this.size = fieldSerializers.length;
     }
 
+    private static HeaderLayout[] buildLayouts(RowType rowType, List<HeaderLayout> extra) {
+        HeaderLayout[] layouts = new HeaderLayout[extra.size() + 1];
+        layouts[0] = HeaderLayout.of(rowType.getFieldNames().toArray(new String[0]));
+        for (int i = 0; i < extra.size(); i++) {
+            layouts[i + 1] = extra.get(i);
+        }
+        return layouts;
+    }
+
     @Override
     public boolean isImmutableType() {
         return false;
@@ -86,7 +136,7 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
         for (int i = 0; i < fieldSerializers.length; i++) {
             duplicateFieldSerializers[i] = fieldSerializers[i].duplicate();
         }
-        return new ColumnRowDataSerializer(types, duplicateFieldSerializers);
+        return new ColumnRowDataSerializer(types, duplicateFieldSerializers, headerLayouts);
     }
 
     @Override
@@ -94,14 +144,18 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
         return new ColumnRowData(fieldSerializers.length);
     }
 
+    /** 读取端复用的{@link PrimitiveRowData}需要拷贝，避免下游缓存的数据被覆盖 */
     @Override
     public RowData copy(RowData from) {
+        if (from instanceof PrimitiveRowData) {
+            return ((PrimitiveRowData) from).copy();
+        }
         return from;
     }
 
     @Override
     public RowData copy(RowData from, RowData reuse) {
-        return from;
+        return copy(from);
     }
 
     @Override
@@ -109,33 +163,46 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
         return -1;
     }
 
-    /** rowKind + headerInfoSize + headerInfo + extHeaderSize + extHeader + fields */
+    /**
+     * rowKind + byteSize + headerInfoSize + [headerInfo + extHeaderSize + extHeader] + fields，
+     * header为空或在字典中时只写headerInfoSize
+     */
     @Override
     public void serialize(RowData record, DataOutputView target) throws IOException {
+        if (record instanceof PrimitiveRowData) {
+            record = ((PrimitiveRowData) record).toColumnRowData();
+        }
         ColumnRowData columnRowData = (ColumnRowData) record;
         target.writeByte(record.getRowKind().toByteValue());
         target.writeInt(columnRowData.getByteSize());
 
-        if (columnRowData.getHeaderInfo() == null) {
-            target.writeInt(-1);
+        Map<String, Integer> headerInfo = columnRowData.getHeaderInfo();
+        Set<String> extHeader = columnRowData.getExtHeader();
+        int layoutId;
+        if (headerInfo == null && extHeader.isEmpty()) {
+            target.writeInt(NO_HEADER);
+        } else if ((layoutId = findLayout(headerInfo, extHeader)) >= 0) {
+            target.writeInt(-2 - layoutId);
         } else {
-            Map<String, Integer> headerInfo = columnRowData.getHeaderInfo();
-            target.writeInt(headerInfo.size());
-            for (Map.Entry<String, Integer> entry : headerInfo.entrySet()) {
-                stringSerializer.serialize(entry.getKey(), target);
-                if (entry.getValue() == null) {
-                    target.writeBoolean(false);
-                } else {
-                    target.writeBoolean(true);
-                    target.writeInt(entry.getValue());
+            if (headerInfo == null) {
+                target.writeInt(NULL_HEADER);
+            } else {
+                target.writeInt(headerInfo.size());
+                for (Map.Entry<String, Integer> entry : headerInfo.entrySet()) {
+                    stringSerializer.serialize(entry.getKey(), target);
+                    if (entry.getValue() == null) {
+                        target.writeBoolean(false);
+                    } else {
+                        target.writeBoolean(true);
+                        target.writeInt(entry.getValue());
+                    }
                 }
             }
-        }
 
-        Set<String> extHeader = columnRowData.getExtHeader();
-        target.writeInt(extHeader.size());
-        for (String ext : columnRowData.getExtHeader()) {
-            stringSerializer.serialize(ext, target);
+            target.writeInt(extHeader.size());
+            for (String ext : extHeader) {
+                stringSerializer.serialize(ext, target);
+            }
         }
 
         for (int i = 0; i < size; i++) {
@@ -143,7 +210,7 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
         }
     }
 
-    /** rowKind + headerInfoSize + headerInfo + extHeaderSize + extHeader + fields */
+    /** 格式见{@link #serialize(RowData, DataOutputView)} */
     @Override
     public ColumnRowData deserialize(DataInputView source) throws IOException {
         RowKind rowKind = RowKind.fromByteValue(source.readByte());
@@ -151,21 +218,27 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
         ColumnRowData columnRowData = new ColumnRowData(rowKind, fieldSerializers.length, byteSize);
 
         int infoSize = source.readInt();
-        if (infoSize >= 0) {
-            final Map<String, Integer> headerInfo = new HashMap<>(infoSize);
-            for (int i = 0; i < infoSize; i++) {
-                String key = stringSerializer.deserialize(source);
-                boolean isNotNull = source.readBoolean();
-                Integer value = isNotNull ? source.readInt() : null;
-                headerInfo.put(key, value);
+        if (infoSize < NULL_HEADER) {
+            if (infoSize != NO_HEADER) {
+                HeaderLayout layout = getLayout(infoSize);
+                columnRowData.setSharedHeader(layout.header, layout.extHeader);
+            }
+        } else {
+            if (infoSize >= 0) {
+                final Map<String, Integer> headerInfo = new HashMap<>(infoSize);
+                for (int i = 0; i < infoSize; i++) {
+                    String key = stringSerializer.deserialize(source);
+                    boolean isNotNull = source.readBoolean();
+                    Integer value = isNotNull ? source.readInt() : null;
+                    headerInfo.put(key, value);
+                }
+                columnRowData.setHeader(headerInfo);
             }
-            columnRowData.setHeader(headerInfo);
-        }
 
-        int extHeaderSize = source.readInt();
-        Set<String> extHeader = columnRowData.getExtHeader();
-        for (int i = 0; i < extHeaderSize; i++) {
-            extHeader.add(stringSerializer.deserialize(source));
+            int extHeaderSize = source.readInt();
+            for (int i = 0; i < extHeaderSize; i++) {
+                columnRowData.getExtHeader().add(stringSerializer.deserialize(source));
+            }
         }
 
         for (TypeSerializer<AbstractBaseColumn> typeSerializer : fieldSerializers) {
@@ -180,54 +253,187 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
         return deserialize(source);
     }
 
+    /** 直接拷贝字节，不构造ColumnRowData和字段 */
     @Override
     public void copy(DataInputView source, DataOutputView target) throws IOException {
         target.writeByte(source.readByte());
         target.writeInt(source.readInt());
         int infoSize = source.readInt();
         target.writeInt(infoSize);
-        for (int i = 0; i < infoSize; i++) {
-            stringSerializer.serialize(stringSerializer.deserialize(source), target);
-            boolean isNotNull = source.readBoolean();
-            target.writeBoolean(isNotNull);
-            if (isNotNull) {
-                target.writeInt(source.readInt());
+        if (infoSize >= NULL_HEADER) {
+            for (int i = 0; i < infoSize; i++) {
+                stringSerializer.copy(source, target);
+                boolean isNotNull = source.readBoolean();
+                target.writeBoolean(isNotNull);
+                if (isNotNull) {
+                    target.writeInt(source.readInt());
+                }
+            }
+            int extHeaderSize = source.readInt();
+            target.writeInt(extHeaderSize);
+            for (int i = 0; i < extHeaderSize; i++) {
+                stringSerializer.copy(source, target);
             }
-        }
-        int extHeaderSize = source.readInt();
-        target.writeInt(extHeaderSize);
-        for (int i = 0; i < extHeaderSize; i++) {
-            stringSerializer.serialize(stringSerializer.deserialize(source), target);
         }
         for (TypeSerializer<AbstractBaseColumn> typeSerializer : fieldSerializers) {
-            typeSerializer.serialize(typeSerializer.deserialize(source), target);
+            typeSerializer.copy(source, target);
+        }
+    }
+
+    /** 查找和header、extHeader相同的布局，没有时返回-1。反序列化得到的行直接引用布局中的header，比较引用即可；其他行的header可能被修改，每次都比较内容 */
+    private int findLayout(Map<String, Integer> headerInfo, Set<String> extHeader) {
+        for (int i = 0; i < headerLayouts.length; i++) {
+            if (headerLayouts[i].header == headerInfo && headerLayouts[i].extHeader == extHeader) {
+                return i;
+            }
+        }
+        for (int i = 0; i < headerLayouts.length; i++) {
+            if (headerLayouts[i].matches(headerInfo, extHeader)) {
+                return i;
+            }
         }
+        return -1;
+    }
+
+    private HeaderLayout getLayout(int infoSize) throws IOException {
+        int layoutId = -2 - infoSize;
+        if (layoutId >= headerLayouts.length) {
+            throw new IOException(
+                    "unknown header layout id "
+                            + layoutId
+                            + ", the serializer has "
+                            + headerLayouts.length
+                            + " layouts");
+        }
+        return headerLayouts[layoutId];
     }
 
     @Override
     public boolean equals(Object obj) {
         if (obj instanceof ColumnRowDataSerializer) {
             ColumnRowDataSerializer other = (ColumnRowDataSerializer) obj;
-            return Arrays.equals(fieldSerializers, other.fieldSerializers);
+            return Arrays.equals(fieldSerializers, other.fieldSerializers)
+                    && Arrays.equals(headerLayouts, other.headerLayouts);
         }
         return false;
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(fieldSerializers);
+        return 31 * Arrays.hashCode(fieldSerializers) + Arrays.hashCode(headerLayouts);
     }
 
     @Override
     public TypeSerializerSnapshot<RowData> snapshotConfiguration() {
-        return new ColumnRowDataSerializerSnapshot(types, fieldSerializers);
+        return new ColumnRowDataSerializerSnapshot(types, fieldSerializers, headerLayouts);
+    }
+
+    /** header字典中的一个布局，header和extHeader都是只读的 */
+    public static final class HeaderLayout implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        /** 可以为null */
+        private final Map<String, Integer> header;
+
+        private final Set<String> extHeader;
+
+        public HeaderLayout(Map<String, Integer> header, Set<String> extHeader) {
+            this.header =
+                    header == null
+                            ? null
+                            : Collections.unmodifiableMap(new LinkedHashMap<>(header));
+            this.extHeader = Collections.unmodifiableSet(new HashSet<>(extHeader));
+        }
+
+        /**
+         * 按顺序编号的header
+         *
+         * @param names header，下标即值
+         * @param extHeader extHeader
+         */
+        public static HeaderLayout of(String[] names, String... extHeader) {
+            Map<String, Integer> header = new LinkedHashMap<>(names.length * 2);
+            for (String name : names) {
+                header.put(name, header.size());
+            }
+            return new HeaderLayout(header, new HashSet<>(Arrays.asList(extHeader)));
+        }
+
+        boolean matches(Map<String, Integer> otherHeader, Set<String> otherExtHeader) {
+            if (header == null) {
+                if (otherHeader != null) {
+                    return false;
+                }
+            } else if (otherHeader == null
+                    || header.size() != otherHeader.size()
+                    || !header.equals(otherHeader)) {
+                return false;
+            }
+            return extHeader.size() == otherExtHeader.size() && extHeader.equals(otherExtHeader);
+        }
+
+        void write(DataOutputView out) throws IOException {
+            if (header == null) {
+                out.writeInt(NULL_HEADER);
+            } else {
+                out.writeInt(header.size());
+                for (Map.Entry<String, Integer> entry : header.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeBoolean(entry.getValue() != null);
+                    if (entry.getValue() != null) {
+                        out.writeInt(entry.getValue());
+                    }
+                }
+            }
+            out.writeInt(extHeader.size());
+            for (String ext : extHeader) {
+                out.writeUTF(ext);
+            }
+        }
+
+        static HeaderLayout read(DataInputView in) throws IOException {
+            int headerSize = in.readInt();
+            Map<String, Integer> header = null;
+            if (headerSize >= 0) {
+                header = new LinkedHashMap<>(headerSize * 2);
+                for (int i = 0; i < headerSize; i++) {
+                    String key = in.readUTF();
+                    header.put(key, in.readBoolean() ? in.readInt() : null);
+                }
+            }
+            int extHeaderSize = in.readInt();
+            Set<String> extHeader = new HashSet<>(extHeaderSize * 2);
+            for (int i = 0; i < extHeaderSize; i++) {
+                extHeader.add(in.readUTF());
+            }
+            return new HeaderLayout(header, extHeader);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof HeaderLayout)) {
+                return false;
+            }
+            HeaderLayout that = (HeaderLayout) o;
+            return Objects.equals(header, that.header) && extHeader.equals(that.extHeader);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(header, extHeader);
+        }
     }
 
     public static final class ColumnRowDataSerializerSnapshot
             implements TypeSerializerSnapshot<RowData> {
-        private static final int CURRENT_VERSION = 3;
+        private static final int CURRENT_VERSION = 4;
 
         private LogicalType[] previousTypes;
+        private HeaderLayout[] previousLayouts;
         private NestedSerializersSnapshotDelegate nestedSerializersSnapshotDelegate;
 
         @SuppressWarnings("unused")
@@ -235,8 +441,10 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
             // this constructor is used when restoring from a checkpoint/savepoint.
         }
 
-        ColumnRowDataSerializerSnapshot(LogicalType[] types, TypeSerializer[] serializers) {
+        ColumnRowDataSerializerSnapshot(
+                LogicalType[] types, TypeSerializer[] serializers, HeaderLayout[] layouts) {
             this.previousTypes = types;
+            this.previousLayouts = layouts;
             this.nestedSerializersSnapshotDelegate =
                     new NestedSerializersSnapshotDelegate(serializers);
         }
@@ -253,6 +461,10 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
             for (LogicalType previousType : previousTypes) {
                 InstantiationUtil.serializeObject(stream, previousType);
             }
+            out.writeInt(previousLayouts.length);
+            for (HeaderLayout layout : previousLayouts) {
+                layout.write(out);
+            }
             nestedSerializersSnapshotDelegate.writeNestedSerializerSnapshots(out);
         }
 
@@ -270,6 +482,11 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
                     throw new IOException(e);
                 }
             }
+            // 版本3及之前没有header字典
+            previousLayouts = new HeaderLayout[readVersion >= 4 ? in.readInt() : 0];
+            for (int i = 0; i < previousLayouts.length; i++) {
+                previousLayouts[i] = HeaderLayout.read(in);
+            }
             this.nestedSerializersSnapshotDelegate =
                     NestedSerializersSnapshotDelegate.readNestedSerializerSnapshots(
                             in, userCodeClassLoader);
@@ -280,7 +497,8 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
             return new ColumnRowDataSerializer(
                     previousTypes,
                     (TypeSerializer<AbstractBaseColumn>[])
-                            nestedSerializersSnapshotDelegate.getRestoredNestedSerializers());
+                            nestedSerializersSnapshotDelegate.getRestoredNestedSerializers(),
+                    previousLayouts);
         }
 
         @Override
@@ -296,6 +514,14 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
                 return TypeSerializerSchemaCompatibility.incompatible();
             }
 
+            // 新的字典以旧的字典开头时，已有数据中的编号仍然有效
+            HeaderLayout[] newLayouts = newColumnRowSerializer.headerLayouts;
+            boolean layoutsCompatible =
+                    previousLayouts.length <= newLayouts.length
+                            && Arrays.equals(
+                                    previousLayouts,
+                                    Arrays.copyOf(newLayouts, previousLayouts.length));
+
             CompositeTypeSerializerUtil.IntermediateCompatibilityResult<RowData>
                     intermediateResult =
                             CompositeTypeSerializerUtil.constructIntermediateCompatibilityResult(
@@ -303,6 +529,10 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
                                     nestedSerializersSnapshotDelegate
                                             .getNestedSerializerSnapshots());
 
+            if (!layoutsCompatible && !intermediateResult.isIncompatible()) {
+                return TypeSerializerSchemaCompatibility.compatibleAfterMigration();
+            }
+
             if (intermediateResult.isCompatibleWithReconfiguredSerializer()) {
                 ColumnRowDataSerializer reconfiguredCompositeSerializer = restoreSerializer();
                 return TypeSerializerSchemaCompatibility.compatibleWithReconfiguredSerializer(
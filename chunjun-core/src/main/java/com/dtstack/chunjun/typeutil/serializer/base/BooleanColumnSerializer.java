@@ -113,10 +113,8 @@ public class BooleanColumnSerializer extends TypeSerializerSingleton<AbstractBas
             target.writeBoolean(source.readBoolean());
         } else if (type == 2) {
             int len = source.readInt();
-            byte[] result = new byte[len];
-            source.readFully(result);
             target.writeInt(len);
-            target.write(result);
+            target.write(source, len);
         }
     }
 
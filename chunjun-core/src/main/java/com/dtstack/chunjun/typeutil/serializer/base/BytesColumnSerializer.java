@@ -108,10 +108,8 @@ public class BytesColumnSerializer extends TypeSerializerSingleton<AbstractBaseC
         target.writeBoolean(isNotNull);
         if (isNotNull) {
             int len = source.readInt();
-            byte[] result = new byte[len];
-            source.readFully(result);
             target.writeInt(len);
-            target.write(result);
+            target.write(source, len);
         }
     }
 
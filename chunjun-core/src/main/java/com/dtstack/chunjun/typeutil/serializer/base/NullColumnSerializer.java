@@ -83,7 +83,7 @@ public class NullColumnSerializer extends TypeSerializerSingleton<AbstractBaseCo
 
     @Override
     public void copy(DataInputView source, DataOutputView target) throws IOException {
-        target.writeByte(0);
+        target.writeByte(source.readByte());
     }
 
     @Override
@@ -89,6 +89,8 @@ public class PropertiesUtil {
      */
     public static void initCommonConf(ChunJunCommonConf commonConf, SyncConf syncConf) {
         commonConf.setSpeedBytes(syncConf.getSpeed().getBytes());
+        commonConf.setWriterSpeedBytes(syncConf.getSpeed().getWriterBytes());
+        commonConf.setSpeedDynamicShare(syncConf.getSpeed().isDynamicShare());
         commonConf.setSavePointPath(syncConf.getSavePointPath());
         if (syncConf.getMetricPluginConf() != null) {
             commonConf.setMetricPluginRoot(
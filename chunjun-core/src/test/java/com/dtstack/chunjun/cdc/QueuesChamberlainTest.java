@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.cdc;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class QueuesChamberlainTest {
+
+    @Test
+    public void testBlockAndUnblock() throws InterruptedException {
+        QueuesChamberlain chamberlain = new QueuesChamberlain(4, 16);
+        RowData row = GenericRowData.of(1);
+        chamberlain.add(row, "a");
+        Assert.assertTrue(chamberlain.unblockTableIdentities().contains("a"));
+
+        chamberlain.block("a");
+        Assert.assertNull(chamberlain.fromUnblock("a"));
+        Assert.assertSame(row, chamberlain.fromBlock("a").peek());
+        Assert.assertTrue(chamberlain.unblockQueuesIsEmpty());
+
+        chamberlain.add(GenericRowData.of(2), "a");
+        Assert.assertTrue(chamberlain.unblockQueuesIsEmpty());
+
+        chamberlain.fromBlock("a").poll();
+        chamberlain.unblock("a");
+        Assert.assertTrue(chamberlain.blockTableIdentities().isEmpty());
+        Assert.assertEquals(1, chamberlain.fromUnblock("a").size());
+
+        chamberlain.fromUnblock("a").poll();
+        chamberlain.removeEmptyQueue("a");
+        Assert.assertTrue(chamberlain.unblockQueuesIsEmpty());
+    }
+
+    @Test
+    public void testTableCapacityBackpressure() throws InterruptedException {
+        QueuesChamberlain chamberlain = new QueuesChamberlain(2, 16);
+        chamberlain.add(GenericRowData.of(1), "a");
+        chamberlain.add(GenericRowData.of(2), "a");
+
+        CountDownLatch added = new CountDownLatch(1);
+        Thread producer =
+                new Thread(
+                        () -> {
+                            try {
+                                chamberlain.add(GenericRowData.of(3), "a");
+                                added.countDown();
+                            } catch (InterruptedException ignored) {
+                            }
+                        });
+        producer.start();
+        Assert.assertFalse(added.await(200, TimeUnit.MILLISECONDS));
+
+        chamberlain.fromUnblock("a").poll();
+        Assert.assertTrue(added.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(2, chamberlain.fromUnblock("a").size());
+    }
+
+    @Test
+    public void testTotalCapacityBackpressure() throws InterruptedException {
+        QueuesChamberlain chamberlain = new QueuesChamberlain(8, 2);
+        chamberlain.add(GenericRowData.of(1), "a");
+        chamberlain.add(GenericRowData.of(2), "b");
+
+        CountDownLatch added = new CountDownLatch(1);
+        Thread producer =
+                new Thread(
+                        () -> {
+                            try {
+                                chamberlain.add(GenericRowData.of(3), "c");
+                                added.countDown();
+                            } catch (InterruptedException ignored) {
+                            }
+                        });
+        producer.start();
+        Assert.assertFalse(added.await(200, TimeUnit.MILLISECONDS));
+
+        chamberlain.fromUnblock("b").poll();
+        Assert.assertTrue(added.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(1, chamberlain.fromUnblock("c").size());
+    }
+
+    @Test
+    public void testNotifyOnStateChange() throws InterruptedException {
+        QueuesChamberlain chamberlain = new QueuesChamberlain(4, 16);
+        Notifier unblockNotifier = chamberlain.getUnblockNotifier();
+        Notifier blockNotifier = chamberlain.getBlockNotifier();
+
+        long unblockVersion = unblockNotifier.version();
+        chamberlain.add(GenericRowData.of(1), "a");
+        Assert.assertTrue(unblockNotifier.await(unblockVersion, 0));
+
+        // the table is already waiting for workers, no further signal is needed
+        unblockVersion = unblockNotifier.version();
+        chamberlain.add(GenericRowData.of(2), "a");
+        Assert.assertFalse(unblockNotifier.await(unblockVersion, 10));
+
+        long blockVersion = blockNotifier.version();
+        chamberlain.block("a");
+        Assert.assertTrue(blockNotifier.await(blockVersion, 0));
+
+        unblockVersion = unblockNotifier.version();
+        chamberlain.unblock("a");
+        Assert.assertTrue(unblockNotifier.await(unblockVersion, 0));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.decoder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * kafka source解析一条json消息并取出配置字段的耗时：decodeMap为原有的转为String后解析成完整Map再按字段名取值，
+ * decodeProjection为从byte[]流式解析只取配置的字段。
+ *
+ * <p>消息大小由messageBytes控制，包含嵌套对象和数组，取其中的6个字段，其中一个为嵌套路径。通过{@link #main}运行，不会被surefire执行。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonProjectionDecoderBenchmark {
+
+    @Param({"1024", "10240"})
+    public int messageBytes;
+
+    private final List<String> names =
+            Arrays.asList("id", "user_name", "amount", "create_time", "status", "ext.source");
+
+    private final JsonDecoder jsonDecoder = new JsonDecoder();
+    private JsonProjectionDecoder projectionDecoder;
+    private Object[] values;
+    private byte[] message;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder sb = new StringBuilder(messageBytes + 256);
+        sb.append("{\"id\":1024,\"user_name\":\"chunjun\",\"amount\":12.5,")
+                .append("\"create_time\":\"2022-01-01 12:00:00\",")
+                .append("\"ext\":{\"source\":\"app\",\"version\":3},");
+        int i = 0;
+        while (sb.length() < messageBytes - 64) {
+            sb.append("\"field_")
+                    .append(i)
+                    .append("\":")
+                    .append(
+                            i % 3 == 0
+                                    ? "\"value_" + i + "\""
+                                    : i % 3 == 1
+                                            ? String.valueOf(i * 31L)
+                                            : "{\"k\":[" + i + ",\"v\"]}")
+                    .append(',');
+            i++;
+        }
+        sb.append("\"status\":\"ok\"}");
+        message = sb.toString().getBytes(StandardCharsets.UTF_8);
+        projectionDecoder = new JsonProjectionDecoder(names);
+        values = new Object[names.size()];
+    }
+
+    @Benchmark
+    public Object[] decodeMap() {
+        Map<String, Object> map = jsonDecoder.decode(new String(message, StandardCharsets.UTF_8));
+        Object[] result = new Object[names.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = map.get(names.get(i));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Object[] decodeProjection() {
+        projectionDecoder.decode(message, values);
+        return values;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                        new OptionsBuilder()
+                                .include(JsonProjectionDecoderBenchmark.class.getSimpleName())
+                                .build())
+                .run();
+    }
+}
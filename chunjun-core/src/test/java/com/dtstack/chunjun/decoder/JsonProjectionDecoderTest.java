@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.decoder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class JsonProjectionDecoderTest {
+
+    @Test
+    public void testSameAsJsonDecoder() {
+        String message =
+                "{\"id\":1,\"big\":12345678901,\"price\":1.10,\"name\":\"a\\\"b\",\"flag\":true,"
+                        + "\"none\":null,\"skip\":{\"x\":[1,{\"y\":2}]},"
+                        + "\"tags\":[\"t1\",\"t2\"],\"attr\":{\"k\":\"v\"}}";
+        List<String> names =
+                Arrays.asList(
+                        "attr", "tags", "flag", "price", "name", "none", "big", "id", "absent",
+                        "message");
+        Object[] values = decode(names, message);
+
+        Map<String, Object> map = new JsonDecoder().decode(message);
+        for (int i = 0; i < names.size(); i++) {
+            Assert.assertEquals(names.get(i), map.get(names.get(i)), values[i]);
+        }
+    }
+
+    @Test
+    public void testNestedPath() {
+        String message =
+                "{\"a\":{\"b\":{\"c\":3},\"d\":\"x\"},\"a.d\":\"top\",\"e\":[1],\"message\":\"m\"}";
+        Object[] values =
+                decode(Arrays.asList("a.b.c", "a.d", "a.b", "e.f", "a.x", "message", "a"), message);
+        Assert.assertEquals(3, values[0]);
+        // 同名的顶层字段优先
+        Assert.assertEquals("top", values[1]);
+        Assert.assertEquals(Collections.singletonMap("c", 3), values[2]);
+        Assert.assertNull(values[3]);
+        Assert.assertNull(values[4]);
+        Assert.assertEquals("m", values[5]);
+        Assert.assertTrue(values[6] instanceof Map);
+
+        values = decode(Arrays.asList("a.d", "a.b.c"), "{\"a\":{\"d\":\"x\",\"b\":null}}");
+        Assert.assertEquals("x", values[0]);
+        Assert.assertNull(values[1]);
+    }
+
+    @Test
+    public void testNotJsonObject() {
+        List<String> names = Arrays.asList("id", "message");
+        for (String message : new String[] {"plain text", "[1,2]", "{\"id\":1,", ""}) {
+            Object[] values = decode(names, message);
+            Assert.assertNull(message, values[0]);
+            Assert.assertEquals(message, values[1]);
+        }
+    }
+
+    private static Object[] decode(List<String> names, String message) {
+        Object[] values = new Object[names.size()];
+        new JsonProjectionDecoder(names).decode(message.getBytes(StandardCharsets.UTF_8), values);
+        return values;
+    }
+}
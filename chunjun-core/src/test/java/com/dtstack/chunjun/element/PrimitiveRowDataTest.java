@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.element;
+
+import com.dtstack.chunjun.typeutil.serializer.ColumnRowDataSerializer;
+
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+
+public class PrimitiveRowDataTest {
+
+    private static final LogicalType[] TYPES =
+            new LogicalType[] {
+                DataTypes.INT().getLogicalType(),
+                DataTypes.BIGINT().getLogicalType(),
+                DataTypes.DOUBLE().getLogicalType(),
+                DataTypes.DECIMAL(10, 2).getLogicalType(),
+                DataTypes.STRING().getLogicalType(),
+                DataTypes.BYTES().getLogicalType(),
+                DataTypes.DATE().getLogicalType(),
+                DataTypes.TIMESTAMP(9).getLogicalType(),
+                DataTypes.BOOLEAN().getLogicalType()
+            };
+
+    private static final Timestamp TIMESTAMP = Timestamp.valueOf("2022-01-02 03:04:05.123456789");
+
+    @Test
+    public void testGettersMatchColumnRowData() {
+        PrimitiveRowData row = fill(new PrimitiveRowData(TYPES), "abc");
+        ColumnRowData columnRow = row.toColumnRowData();
+
+        Assert.assertEquals(columnRow.getInt(0), row.getInt(0));
+        Assert.assertEquals(columnRow.getLong(1), row.getLong(1));
+        // 类型不同时和列的转换一致
+        Assert.assertEquals(columnRow.getString(0), row.getString(0));
+        Assert.assertEquals(columnRow.getLong(2), row.getLong(2));
+        Assert.assertEquals(columnRow.getString(4), row.getString(4));
+        Assert.assertEquals(columnRow.getDecimal(3, 10, 2), row.getDecimal(3, 10, 2));
+        Assert.assertArrayEquals(columnRow.getBinary(5), row.getBinary(5));
+        Assert.assertEquals(columnRow.getTimestamp(6, 3), row.getTimestamp(6, 3));
+        Assert.assertEquals(columnRow.getTimestamp(7, 9), row.getTimestamp(7, 9));
+        Assert.assertEquals(TIMESTAMP, row.getSqlTimestamp(7));
+        Assert.assertTrue(row.isNullAt(8));
+        Assert.assertNull(columnRow.getField(8));
+        Assert.assertEquals(columnRow.getByteSize() > 0, row.getByteSize() > 0);
+    }
+
+    @Test
+    public void testResetAndCopy() {
+        PrimitiveRowData row = fill(new PrimitiveRowData(TYPES), "first");
+        PrimitiveRowData copy = row.copy();
+
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            longValue.append("value");
+        }
+        row.reset();
+        Assert.assertTrue(row.isNullAt(0));
+        fill(row, longValue.toString());
+
+        Assert.assertEquals(longValue.toString(), row.getString(4).toString());
+        Assert.assertEquals("first", copy.getString(4).toString());
+        Assert.assertArrayEquals(new byte[] {1, 2, 3}, row.getBinary(5));
+        Assert.assertArrayEquals(new byte[] {1, 2, 3}, copy.getBinary(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTypeMismatch() {
+        new PrimitiveRowData(TYPES).setLong(0, 1L);
+    }
+
+    @Test
+    public void testSerializer() throws Exception {
+        PrimitiveRowData row = fill(new PrimitiveRowData(TYPES), "abc");
+        ColumnRowDataSerializer serializer = new ColumnRowDataSerializer(RowType.of(TYPES));
+
+        RowData copy = serializer.copy(row);
+        row.reset();
+        Assert.assertEquals("abc", copy.getString(4).toString());
+
+        DataOutputSerializer out = new DataOutputSerializer(64);
+        serializer.serialize(copy, out);
+        ColumnRowData result =
+                serializer.deserialize(new DataInputDeserializer(out.getCopyOfBuffer()));
+        Assert.assertEquals(1, result.getInt(0));
+        Assert.assertEquals("abc", result.getString(4).toString());
+        Assert.assertEquals(TIMESTAMP, result.getField(7).asTimestamp());
+    }
+
+    private static PrimitiveRowData fill(PrimitiveRowData row, String value) {
+        row.setInt(0, 1);
+        row.setLong(1, 2L);
+        row.setDouble(2, 3.5D);
+        row.setDecimal(3, new BigDecimal("4.25"));
+        row.setString(4, value);
+        row.setBytes(5, new byte[] {1, 2, 3});
+        row.setDate(6, Date.valueOf("2022-01-02"));
+        row.setTimestamp(7, TIMESTAMP);
+        row.setBoolean(8, false);
+        row.setNullAt(8);
+        return row;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.lookup.cache;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CaffeineSideCacheTest {
+
+    @Test
+    public void testConcurrentMissesAreLoadedOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<Collection<RowData>> pending = new CompletableFuture<>();
+        CaffeineSideCache cache =
+                new CaffeineSideCache(
+                        1024 * 1024,
+                        60_000,
+                        0,
+                        key -> {
+                            loads.incrementAndGet();
+                            return pending;
+                        });
+        cache.initCache();
+
+        LookupCacheKey key = new LookupCacheKey(StringData.fromString("a"), 1);
+        CompletableFuture<Collection<RowData>> first = cache.get(key.copy());
+        CompletableFuture<Collection<RowData>> second =
+                cache.get(new LookupCacheKey(StringData.fromString("a"), 1));
+        Assert.assertFalse(first.isDone());
+
+        pending.complete(Collections.singletonList(GenericRowData.of(1)));
+        Assert.assertEquals(1, first.get().size());
+        Assert.assertSame(first.get(), second.get());
+        Assert.assertNotNull(cache.getIfPresent(key));
+        Assert.assertEquals(1, loads.get());
+        Assert.assertTrue(cache.weightedSize() > 0);
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CaffeineSideCache cache =
+                new CaffeineSideCache(
+                        1024 * 1024,
+                        60_000,
+                        0,
+                        key -> {
+                            CompletableFuture<Collection<RowData>> loaded =
+                                    new CompletableFuture<>();
+                            if (loads.incrementAndGet() == 1) {
+                                loaded.completeExceptionally(new RuntimeException("failed"));
+                            } else {
+                                loaded.complete(Collections.emptyList());
+                            }
+                            return loaded;
+                        });
+        cache.initCache();
+
+        LookupCacheKey key = new LookupCacheKey(1L);
+        Assert.assertTrue(cache.get(key).isCompletedExceptionally());
+        Assert.assertTrue(cache.get(key).get().isEmpty());
+        Assert.assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.lookup.cache;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CompactAllCacheTest {
+
+    private static final LogicalType[] ROW_TYPES =
+            new LogicalType[] {
+                new IntType(), new VarCharType(VarCharType.MAX_LENGTH), new BigIntType()
+            };
+
+    private static final LogicalType[] KEY_TYPES =
+            new LogicalType[] {new IntType(), new VarCharType(VarCharType.MAX_LENGTH)};
+
+    @Test
+    public void testRowsOfOneKeyKeepOrder() {
+        CompactAllCache.Builder builder = new CompactAllCache.Builder(KEY_TYPES, ROW_TYPES, false);
+        builder.add(keys(1, "a"), row(1, "a", 10L));
+        builder.add(keys(2, "b"), row(2, "b", 20L));
+        builder.add(keys(1, "a"), row(1, "a", 11L));
+        CompactAllCache cache = builder.build();
+
+        List<RowData> rows = get(cache, keys(1, "a"));
+        Assert.assertEquals(2, rows.size());
+        Assert.assertEquals(10L, rows.get(0).getLong(2));
+        Assert.assertEquals(11L, rows.get(1).getLong(2));
+        Assert.assertEquals("a", rows.get(0).getString(1).toString());
+
+        Assert.assertTrue(get(cache, keys(1, "b")).isEmpty());
+        Assert.assertEquals(3, cache.getRowCount());
+        Assert.assertEquals(2, cache.getKeyCount());
+    }
+
+    @Test
+    public void testManyKeysAcrossPagesOffHeap() {
+        // 小页面，保证数据跨页并且索引扩容
+        CompactAllCache.Builder builder =
+                new CompactAllCache.Builder(KEY_TYPES, ROW_TYPES, true, 256);
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            longValue.append("long value ");
+        }
+        int count = 5000;
+        for (int i = 0; i < count; i++) {
+            String value = i == 42 ? longValue.toString() : "v" + i;
+            builder.add(keys(i, "k" + i), row(i, value, i * 2L));
+        }
+        CompactAllCache cache = builder.build();
+
+        for (int i = 0; i < count; i++) {
+            List<RowData> rows = get(cache, keys(i, "k" + i));
+            Assert.assertEquals(1, rows.size());
+            Assert.assertEquals(i, rows.get(0).getInt(0));
+            Assert.assertEquals(i * 2L, rows.get(0).getLong(2));
+        }
+        Assert.assertEquals(
+                longValue.toString(), get(cache, keys(42, "k42")).get(0).getString(1).toString());
+        Assert.assertEquals(count, cache.getKeyCount());
+    }
+
+    @Test
+    public void testNullField() {
+        CompactAllCache.Builder builder = new CompactAllCache.Builder(KEY_TYPES, ROW_TYPES, false);
+        builder.add(keys(1, "a"), GenericRowData.of(1, null, null));
+        List<RowData> rows = get(builder.build(), keys(1, "a"));
+        Assert.assertEquals(1, rows.size());
+        Assert.assertTrue(rows.get(0).isNullAt(1));
+        Assert.assertTrue(rows.get(0).isNullAt(2));
+    }
+
+    private static Object[] keys(int id, String name) {
+        return new Object[] {id, StringData.fromString(name)};
+    }
+
+    private static GenericRowData row(int id, String name, long value) {
+        return GenericRowData.of(id, StringData.fromString(name), value);
+    }
+
+    private static List<RowData> get(CompactAllCache cache, Object[] keys) {
+        List<RowData> rows = new ArrayList<>();
+        cache.get(keys, rows::add);
+        return rows;
+    }
+}
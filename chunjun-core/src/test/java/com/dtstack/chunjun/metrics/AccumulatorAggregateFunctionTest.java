@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.metrics;
+
+import com.dtstack.chunjun.constants.Metrics;
+
+import org.apache.flink.util.InstantiationUtil;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class AccumulatorAggregateFunctionTest {
+
+    @Test
+    public void testAggregate() throws Exception {
+        AccumulatorAggregateFunction source0 =
+                new AccumulatorAggregateFunction(
+                        "source (1/2)", Arrays.asList(Metrics.NUM_READS, Metrics.READ_BYTES));
+        AccumulatorAggregateFunction source1 =
+                new AccumulatorAggregateFunction(
+                        "source (2/2)", Arrays.asList(Metrics.NUM_READS, Metrics.READ_BYTES));
+        // JobMaster每次反序列化新的函数实例
+        source0 = InstantiationUtil.clone(source0);
+
+        AccumulatorAggregateFunction.Aggregate aggregate = source0.createAccumulator();
+        aggregate = source0.add(values(10L, 100L), aggregate);
+        aggregate = source1.add(values(5L, 50L), aggregate);
+        // 重复上报当前值不会重复累加
+        aggregate = source0.add(values(10L, 100L), aggregate);
+        Map<String, Long> result = source1.getResult(aggregate);
+        Assert.assertEquals(15L, (long) result.get(Metrics.NUM_READS));
+        Assert.assertEquals(150L, (long) result.get(Metrics.READ_BYTES));
+
+        // 只上报变化过的累加器
+        HashMap<String, Long> changed = new HashMap<>();
+        changed.put(Metrics.NUM_READS, 12L);
+        aggregate = source0.add(changed, aggregate);
+        result = source0.getResult(aggregate);
+        Assert.assertEquals(17L, (long) result.get(Metrics.NUM_READS));
+        Assert.assertEquals(150L, (long) result.get(Metrics.READ_BYTES));
+
+        AccumulatorAggregateFunction sink =
+                new AccumulatorAggregateFunction(
+                        "sink (1/1)", Arrays.asList(Metrics.NUM_WRITES, Metrics.NUM_READS));
+        result = sink.getResult(aggregate);
+        Assert.assertEquals(0L, (long) result.get(Metrics.NUM_WRITES));
+        Assert.assertEquals(17L, (long) result.get(Metrics.NUM_READS));
+        Assert.assertEquals(2, result.size());
+    }
+
+    private static HashMap<String, Long> values(long reads, long bytes) {
+        HashMap<String, Long> values = new HashMap<>();
+        values.put(Metrics.NUM_READS, reads);
+        values.put(Metrics.READ_BYTES, bytes);
+        return values;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.sink.format;
+
+import org.apache.flink.table.data.GenericRowData;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncBatchFlusherTest {
+
+    @Test
+    public void testBatchesAreWrittenInOrder() throws InterruptedException {
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        AsyncBatchFlusher flusher =
+                new AsyncBatchFlusher(
+                        2, 2, batch -> batch.forEach(row -> written.add(row.getInt(0))));
+        for (int i = 0; i < 5; i++) {
+            if (flusher.add(GenericRowData.of(i))) {
+                Assert.assertEquals(2, flusher.submit());
+            }
+        }
+        Assert.assertEquals(1, flusher.bufferSize());
+        Assert.assertEquals(1, flusher.submit());
+        flusher.awaitInflight();
+
+        Assert.assertEquals(0, flusher.inflightBatches());
+        Assert.assertEquals(5, written.size());
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(i, (int) written.get(i));
+        }
+        flusher.close();
+    }
+
+    @Test
+    public void testSubmitBlocksWhenInflightIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncBatchFlusher flusher =
+                new AsyncBatchFlusher(
+                        1,
+                        1,
+                        batch -> {
+                            try {
+                                release.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+        flusher.add(GenericRowData.of(1));
+        flusher.submit();
+        flusher.add(GenericRowData.of(2));
+
+        CountDownLatch submitted = new CountDownLatch(1);
+        Thread task =
+                new Thread(
+                        () -> {
+                            try {
+                                flusher.submit();
+                                submitted.countDown();
+                            } catch (InterruptedException ignored) {
+                            }
+                        });
+        task.start();
+        Assert.assertFalse(submitted.await(200, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        Assert.assertTrue(submitted.await(5, TimeUnit.SECONDS));
+        flusher.awaitInflight();
+        Assert.assertEquals(0, flusher.inflightBatches());
+        flusher.close();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.sink.format;
+
+import com.dtstack.chunjun.element.PrimitiveRowData;
+import com.dtstack.chunjun.metrics.RowSizeCalculator;
+
+import org.apache.flink.api.common.accumulators.LongCounter;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class BaseRichOutputFormatTest {
+
+    @Test
+    public void testBufferedRowsSurviveObjectReuse() {
+        RecordingOutputFormat format = new RecordingOutputFormat(3, true);
+        PrimitiveRowData reuse =
+                new PrimitiveRowData(new LogicalType[] {DataTypes.INT().getLogicalType()});
+        for (int i = 0; i < 3; i++) {
+            reuse.reset();
+            reuse.setInt(0, i);
+            format.writeRecord(reuse);
+        }
+
+        Assert.assertEquals(3, format.written.size());
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(i, (int) format.written.get(i));
+        }
+    }
+
+    @Test
+    public void testRowsAreNotCopiedWithoutObjectReuse() {
+        RecordingOutputFormat format = new RecordingOutputFormat(3, false);
+        PrimitiveRowData row =
+                new PrimitiveRowData(new LogicalType[] {DataTypes.INT().getLogicalType()});
+        row.setInt(0, 1);
+        format.writeRecord(row);
+
+        Assert.assertSame(row, format.rows.get(0));
+    }
+
+    private static class RecordingOutputFormat extends BaseRichOutputFormat {
+
+        private final List<Integer> written = new ArrayList<>();
+
+        RecordingOutputFormat(int batchSize, boolean objectReuse) {
+            this.batchSize = batchSize;
+            this.objectReuse = objectReuse;
+            this.rows = new ArrayList<>(batchSize);
+            this.flushEnable = new AtomicBoolean(true);
+            this.rowSizeCalculator = RowSizeCalculator.getRowSizeCalculator();
+            this.bytesWriteCounter = new LongCounter();
+            this.numWriteCounter = new LongCounter();
+        }
+
+        @Override
+        protected boolean supportsPrimitiveRow() {
+            return true;
+        }
+
+        @Override
+        protected void writeSingleRecordInternal(RowData rowData) {
+            written.add(rowData.getInt(0));
+        }
+
+        @Override
+        protected void writeMultipleRecordsInternal() {
+            for (RowData row : rows) {
+                written.add(row.getInt(0));
+            }
+        }
+
+        @Override
+        protected void openInternal(int taskNumber, int numTasks) {}
+
+        @Override
+        protected void closeInternal() {}
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.source;
+
+import com.dtstack.chunjun.constants.Metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ByteRateLimiterTest {
+
+    @Test
+    public void testAcquireByBytes() {
+        // 任务速率200KB/s，两个并行度平分
+        ByteRateLimiter limiter = new ByteRateLimiter(null, Metrics.READ_BYTES, 200_000, 2);
+        limiter.start();
+        long start = System.nanoTime();
+        // 大小差异很大的数据
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire(i % 10 == 0 ? 2_000 : 100);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        limiter.stop();
+        // 29000字节，扣除最后一次预支的令牌和创建后积累的令牌后至少需要等待约0.2秒
+        Assert.assertTrue(String.valueOf(elapsedMillis), elapsedMillis >= 200);
+        Assert.assertTrue(String.valueOf(elapsedMillis), elapsedMillis < 2_000);
+    }
+
+    @Test
+    public void testComputeRate() {
+        // 所有并行度都达到上限时保持平分
+        Assert.assertEquals(250, ByteRateLimiter.computeRate(1000, 4, 250, 1000), 0.001);
+        // 其他并行度读取慢，剩余的速率平分给每个并行度
+        Assert.assertEquals(400, ByteRateLimiter.computeRate(1000, 4, 250, 400), 0.001);
+        // 读取慢的并行度保留平分的速率
+        Assert.assertEquals(250, ByteRateLimiter.computeRate(1000, 4, 10, 1000), 0.001);
+        // 不超过整个任务的上限
+        Assert.assertEquals(1000, ByteRateLimiter.computeRate(1000, 2, 1000, 500), 0.001);
+    }
+}
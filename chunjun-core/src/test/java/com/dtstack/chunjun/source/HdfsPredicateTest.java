@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.source;
+
+import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+
+public class HdfsPredicateTest {
+
+    @Test
+    public void testParseBlank() {
+        Assert.assertTrue(HdfsPredicate.parse(null).isEmpty());
+        Assert.assertTrue(HdfsPredicate.parse("  ").isEmpty());
+    }
+
+    @Test
+    public void testParseConditionsJoinedByAnd() {
+        List<HdfsPredicate> predicates =
+                HdfsPredicate.parse(" id >= 100 AND name = 'a' and\tflag=true ");
+        Assert.assertEquals(3, predicates.size());
+        assertPredicate(predicates.get(0), "id", HdfsPredicate.Operator.GT_EQ, 100L);
+        assertPredicate(predicates.get(1), "name", HdfsPredicate.Operator.EQ, "a");
+        assertPredicate(predicates.get(2), "flag", HdfsPredicate.Operator.EQ, true);
+    }
+
+    @Test
+    public void testParseAndInsideQuotes() {
+        List<HdfsPredicate> predicates =
+                HdfsPredicate.parse("name = 'tom and jerry' and note != 'it''s and'");
+        Assert.assertEquals(2, predicates.size());
+        assertPredicate(predicates.get(0), "name", HdfsPredicate.Operator.EQ, "tom and jerry");
+        assertPredicate(predicates.get(1), "note", HdfsPredicate.Operator.NOT_EQ, "it's and");
+    }
+
+    @Test
+    public void testParseOperators() {
+        assertPredicate(single("a=1"), "a", HdfsPredicate.Operator.EQ, 1L);
+        assertPredicate(single("a!=1"), "a", HdfsPredicate.Operator.NOT_EQ, 1L);
+        assertPredicate(single("a<>1"), "a", HdfsPredicate.Operator.NOT_EQ, 1L);
+        assertPredicate(single("a<1"), "a", HdfsPredicate.Operator.LT, 1L);
+        assertPredicate(single("a<=1"), "a", HdfsPredicate.Operator.LT_EQ, 1L);
+        assertPredicate(single("a>1"), "a", HdfsPredicate.Operator.GT, 1L);
+        assertPredicate(single("a>=1"), "a", HdfsPredicate.Operator.GT_EQ, 1L);
+    }
+
+    @Test
+    public void testParseLiterals() {
+        assertPredicate(single("a = -5"), "a", HdfsPredicate.Operator.EQ, -5L);
+        assertPredicate(single("a = 1.5"), "a", HdfsPredicate.Operator.EQ, 1.5D);
+        assertPredicate(single("a = 1e3"), "a", HdfsPredicate.Operator.EQ, 1000D);
+        assertPredicate(single("a = FALSE"), "a", HdfsPredicate.Operator.EQ, false);
+        assertPredicate(single("a = ''"), "a", HdfsPredicate.Operator.EQ, "");
+        assertPredicate(single("a = '100'"), "a", HdfsPredicate.Operator.EQ, "100");
+        assertPredicate(
+                single("dt >= '2022-01-01 00:00:00'"),
+                "dt",
+                HdfsPredicate.Operator.GT_EQ,
+                "2022-01-01 00:00:00");
+    }
+
+    @Test(expected = ChunJunRuntimeException.class)
+    public void testParseUnquotedString() {
+        HdfsPredicate.parse("name = abc");
+    }
+
+    @Test(expected = ChunJunRuntimeException.class)
+    public void testParseOr() {
+        HdfsPredicate.parse("id = 1 or id = 2");
+    }
+
+    @Test(expected = ChunJunRuntimeException.class)
+    public void testParseMissingLiteral() {
+        HdfsPredicate.parse("id >=");
+    }
+
+    @Test(expected = ChunJunRuntimeException.class)
+    public void testParseExpression() {
+        HdfsPredicate.parse("id + 1 > 2");
+    }
+
+    @Test
+    public void testNumber() {
+        HdfsPredicate predicate = single("id >= 100");
+        Assert.assertTrue(predicate.test(100));
+        Assert.assertTrue(predicate.test(100.5D));
+        Assert.assertTrue(predicate.test(new BigDecimal("100.00")));
+        Assert.assertTrue(predicate.test("101"));
+        Assert.assertFalse(predicate.test(99L));
+        Assert.assertFalse(predicate.test((short) 1));
+        Assert.assertFalse(predicate.test(null));
+        Assert.assertFalse(predicate.test("abc"));
+        Assert.assertFalse(predicate.test(Double.NaN));
+
+        Assert.assertTrue(single("price = 0.1").test(0.1F));
+        Assert.assertTrue(single("price != 0.1").test(0.2D));
+    }
+
+    @Test
+    public void testString() {
+        HdfsPredicate predicate = single("name < 'b'");
+        Assert.assertTrue(predicate.test("a"));
+        Assert.assertFalse(predicate.test("b"));
+        Assert.assertFalse(predicate.test(new byte[] {'a'}));
+        Assert.assertTrue(single("code = '001'").test("001"));
+        Assert.assertTrue(single("id = '1'").test(1L));
+    }
+
+    @Test
+    public void testBoolean() {
+        HdfsPredicate predicate = single("flag = true");
+        Assert.assertTrue(predicate.test(true));
+        Assert.assertTrue(predicate.test("TRUE"));
+        Assert.assertFalse(predicate.test(false));
+        Assert.assertFalse(predicate.test(1));
+        Assert.assertTrue(single("flag <> true").test(false));
+    }
+
+    @Test
+    public void testDateAndTimestamp() {
+        HdfsPredicate predicate = single("dt >= '2022-01-01'");
+        Assert.assertTrue(predicate.test(Timestamp.valueOf("2022-01-01 00:00:00")));
+        Assert.assertFalse(predicate.test(Timestamp.valueOf("2021-12-31 23:59:59.999")));
+        Assert.assertTrue(predicate.test(Date.valueOf("2022-01-01")));
+        Assert.assertFalse(predicate.test(Date.valueOf("2021-12-31")));
+        Assert.assertTrue(predicate.test("2022-01-01"));
+
+        HdfsPredicate timestamp = single("ts = '2022-01-01 08:00:00'");
+        Assert.assertTrue(timestamp.test(Timestamp.valueOf("2022-01-01 08:00:00")));
+        Assert.assertFalse(single("ts = 'abc'").test(Timestamp.valueOf("2022-01-01 08:00:00")));
+    }
+
+    private static HdfsPredicate single(String filter) {
+        List<HdfsPredicate> predicates = HdfsPredicate.parse(filter);
+        Assert.assertEquals(1, predicates.size());
+        return predicates.get(0);
+    }
+
+    private static void assertPredicate(
+            HdfsPredicate predicate,
+            String column,
+            HdfsPredicate.Operator operator,
+            Object literal) {
+        Assert.assertEquals(column, predicate.getColumn());
+        Assert.assertEquals(operator, predicate.getOperator());
+        Assert.assertEquals(literal, predicate.getLiteral());
+    }
+}
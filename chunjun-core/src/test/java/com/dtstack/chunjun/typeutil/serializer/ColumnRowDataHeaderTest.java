@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.typeutil.serializer;
+
+import com.dtstack.chunjun.element.AbstractBaseColumn;
+import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.column.BigDecimalColumn;
+import com.dtstack.chunjun.element.column.StringColumn;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.TypeSerializerSchemaCompatibility;
+import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+/** header字典和没有header时的编码 */
+public class ColumnRowDataHeaderTest {
+
+    private static final RowType ROW_TYPE =
+            RowType.of(
+                    new LogicalType[] {
+                        DataTypes.INT().getLogicalType(), DataTypes.STRING().getLogicalType()
+                    },
+                    new String[] {"id", "name"});
+
+    private static final ColumnRowDataSerializer.HeaderLayout CDC_LAYOUT =
+            ColumnRowDataSerializer.HeaderLayout.of(new String[] {"id", "name", "op"}, "op");
+
+    @Test
+    public void testFieldNameHeaderUsesDictionary() throws IOException {
+        ColumnRowDataSerializer serializer = new ColumnRowDataSerializer(ROW_TYPE);
+        ColumnRowData row = row("id", "name");
+
+        byte[] bytes = serialize(serializer, row);
+        Assert.assertTrue(bytes.length < serialize(inlineSerializer(), row).length);
+
+        ColumnRowData result = deserialize(serializer, bytes);
+        Assert.assertArrayEquals(new String[] {"id", "name"}, result.getHeaders());
+        Assert.assertEquals("a", result.getField("name").asString());
+        Assert.assertEquals(row.getByteSize(), result.getByteSize());
+
+        // 修改反序列化的行不影响字典
+        result.addExtHeader("name");
+        result.addHeader("extra");
+        ColumnRowData other = deserialize(serializer, bytes);
+        Assert.assertTrue(other.getExtHeader().isEmpty());
+        Assert.assertEquals(2, other.getHeaderInfo().size());
+
+        // 直接转发反序列化的行时按引用命中字典
+        Assert.assertArrayEquals(bytes, serialize(serializer, other));
+    }
+
+    @Test
+    public void testRegisteredLayoutAndInlineFallback() throws IOException {
+        ColumnRowDataSerializer serializer =
+                new ColumnRowDataSerializer(ROW_TYPE, Collections.singletonList(CDC_LAYOUT));
+        ColumnRowData cdcRow = row("id", "name", "op");
+        cdcRow.addExtHeader("op");
+        ColumnRowData result = deserialize(serializer, serialize(serializer, cdcRow));
+        Assert.assertTrue(result.isExtHeader("op"));
+        Assert.assertEquals(Integer.valueOf(2), result.getHeaderInfo().get("op"));
+
+        ColumnRowData unknown = row("a", "b");
+        result = deserialize(serializer, serialize(serializer, unknown));
+        Assert.assertArrayEquals(new String[] {"a", "b"}, result.getHeaders());
+    }
+
+    @Test
+    public void testNoHeader() throws IOException {
+        ColumnRowDataSerializer serializer = new ColumnRowDataSerializer(ROW_TYPE);
+        ColumnRowData row = row();
+        byte[] bytes = serialize(serializer, row);
+        // rowKind + byteSize + headerInfoSize + 字段
+        DataOutputSerializer fields = new DataOutputSerializer(64);
+        TypeSerializer<AbstractBaseColumn>[] fieldSerializers = fieldSerializers();
+        for (int i = 0; i < fieldSerializers.length; i++) {
+            fieldSerializers[i].serialize(row.getField(i), fields);
+        }
+        Assert.assertEquals(1 + 4 + 4 + fields.length(), bytes.length);
+        ColumnRowData result = deserialize(serializer, bytes);
+        Assert.assertNull(result.getHeaderInfo());
+        Assert.assertEquals(1, result.getField(0).asInt().intValue());
+    }
+
+    @Test
+    public void testLegacyDataAndRawCopy() throws IOException {
+        ColumnRowDataSerializer serializer = new ColumnRowDataSerializer(ROW_TYPE);
+        ColumnRowData row = row("id", "name");
+        row.addExtHeader("name");
+
+        // 没有字典时写入的数据
+        byte[] legacy = serialize(inlineSerializer(), row);
+        ColumnRowData result = deserialize(serializer, legacy);
+        Assert.assertTrue(result.isExtHeader("name"));
+        Assert.assertArrayEquals(new String[] {"id", "name"}, result.getHeaders());
+
+        for (byte[] bytes :
+                Arrays.asList(
+                        legacy,
+                        serialize(serializer, row("id", "name")),
+                        serialize(serializer, row()))) {
+            DataOutputSerializer out = new DataOutputSerializer(64);
+            serializer.copy(new DataInputDeserializer(bytes), out);
+            Assert.assertArrayEquals(bytes, out.getCopyOfBuffer());
+        }
+    }
+
+    @Test
+    public void testSnapshotCompatibility() throws IOException {
+        ColumnRowDataSerializer previous =
+                new ColumnRowDataSerializer(ROW_TYPE, Collections.singletonList(CDC_LAYOUT));
+        TypeSerializerSnapshot<RowData> snapshot = restoreSnapshot(previous);
+
+        Assert.assertEquals(previous, snapshot.restoreSerializer());
+        Assert.assertTrue(snapshot.resolveSchemaCompatibility(previous).isCompatibleAsIs());
+        // 追加布局不影响已有编号
+        ColumnRowDataSerializer appended =
+                new ColumnRowDataSerializer(
+                        ROW_TYPE,
+                        Arrays.asList(
+                                CDC_LAYOUT,
+                                ColumnRowDataSerializer.HeaderLayout.of(new String[] {"x"})));
+        Assert.assertTrue(snapshot.resolveSchemaCompatibility(appended).isCompatibleAsIs());
+        TypeSerializerSchemaCompatibility<RowData> removed =
+                snapshot.resolveSchemaCompatibility(new ColumnRowDataSerializer(ROW_TYPE));
+        Assert.assertTrue(removed.isCompatibleAfterMigration());
+    }
+
+    private static TypeSerializerSnapshot<RowData> restoreSnapshot(
+            ColumnRowDataSerializer serializer) throws IOException {
+        TypeSerializerSnapshot<RowData> snapshot = serializer.snapshotConfiguration();
+        DataOutputSerializer out = new DataOutputSerializer(256);
+        snapshot.writeSnapshot(out);
+        TypeSerializerSnapshot<RowData> restored =
+                new ColumnRowDataSerializer.ColumnRowDataSerializerSnapshot();
+        restored.readSnapshot(
+                snapshot.getCurrentVersion(),
+                new DataInputDeserializer(out.getCopyOfBuffer()),
+                Thread.currentThread().getContextClassLoader());
+        return restored;
+    }
+
+    /** 和旧版本一样，没有字典 */
+    private static ColumnRowDataSerializer inlineSerializer() {
+        return new ColumnRowDataSerializer(
+                ROW_TYPE.getChildren().toArray(new LogicalType[0]), fieldSerializers());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TypeSerializer<AbstractBaseColumn>[] fieldSerializers() {
+        return ROW_TYPE.getChildren().stream()
+                .map(type -> AbstractColumnSerializerUtil.getTypeSerializer(type, ""))
+                .toArray(TypeSerializer[]::new);
+    }
+
+    private static ColumnRowData row(String... header) {
+        ColumnRowData row = new ColumnRowData(2);
+        for (String name : header) {
+            row.addHeader(name);
+        }
+        row.addField(new BigDecimalColumn(1));
+        row.addField(new StringColumn("a"));
+        return row;
+    }
+
+    private static byte[] serialize(ColumnRowDataSerializer serializer, RowData row)
+            throws IOException {
+        DataOutputSerializer out = new DataOutputSerializer(64);
+        serializer.serialize(row, out);
+        return out.getCopyOfBuffer();
+    }
+
+    private static ColumnRowData deserialize(ColumnRowDataSerializer serializer, byte[] bytes)
+            throws IOException {
+        return serializer.deserialize(new DataInputDeserializer(bytes));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.typeutil.serializer;
+
+import com.dtstack.chunjun.element.AbstractBaseColumn;
+import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.column.BigDecimalColumn;
+import com.dtstack.chunjun.element.column.StringColumn;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每行的序列化、反序列化和原样拷贝耗时，header分别为：没有header、字段名header命中字典、逐条写入header(旧格式)。
+ *
+ * <p>通过{@link #main}运行，不会被surefire执行。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnRowDataSerializerBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int columns;
+
+    @Param({"none", "dictionary", "inline"})
+    public String header;
+
+    private ColumnRowDataSerializer serializer;
+    private ColumnRowData row;
+    private byte[] bytes;
+
+    private final DataOutputSerializer out = new DataOutputSerializer(4096);
+    private final DataInputDeserializer in = new DataInputDeserializer();
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        LogicalType[] types = new LogicalType[columns];
+        String[] names = new String[columns];
+        row = new ColumnRowData(columns);
+        for (int i = 0; i < columns; i++) {
+            names[i] = "column_name_" + i;
+            if (i % 2 == 0) {
+                types[i] = DataTypes.BIGINT().getLogicalType();
+                row.addField(new BigDecimalColumn(i * 1000L));
+            } else {
+                types[i] = DataTypes.STRING().getLogicalType();
+                row.addField(new StringColumn("value_" + i));
+            }
+            if (!"none".equals(header)) {
+                row.addHeader(names[i]);
+            }
+        }
+        if ("inline".equals(header)) {
+            TypeSerializer<AbstractBaseColumn>[] fieldSerializers = new TypeSerializer[columns];
+            for (int i = 0; i < columns; i++) {
+                fieldSerializers[i] = AbstractColumnSerializerUtil.getTypeSerializer(types[i], "");
+            }
+            serializer = new ColumnRowDataSerializer(types, fieldSerializers);
+        } else {
+            serializer = new ColumnRowDataSerializer(RowType.of(types, names));
+        }
+
+        serializer.serialize(row, out);
+        bytes = out.getCopyOfBuffer();
+    }
+
+    @Benchmark
+    public int serialize() throws IOException {
+        out.clear();
+        serializer.serialize(row, out);
+        return out.length();
+    }
+
+    @Benchmark
+    public ColumnRowData deserialize() throws IOException {
+        in.setBuffer(bytes);
+        return serializer.deserialize(in);
+    }
+
+    @Benchmark
+    public int copy() throws IOException {
+        in.setBuffer(bytes);
+        out.clear();
+        serializer.copy(in, out);
+        return out.length();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                        new OptionsBuilder()
+                                .include(ColumnRowDataSerializerBenchmark.class.getSimpleName())
+                                .build())
+                .run();
+    }
+}
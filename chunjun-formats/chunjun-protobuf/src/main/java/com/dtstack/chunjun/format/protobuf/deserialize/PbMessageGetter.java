@@ -19,26 +19,29 @@
 package com.dtstack.chunjun.format.protobuf.deserialize;
 
 import com.dtstack.chunjun.format.protobuf.PbMessageAdaptor;
+import com.dtstack.chunjun.format.protobuf.util.PbAccessorUtil;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 
 import com.google.protobuf.AbstractMessage;
 import com.google.protobuf.Descriptors;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 /**
  * Reflect all GET methods in the order of the fields in the protobuf message, then we can get the
- * values of all the fields in the Message object by index.
+ * values of all the fields in the Message object by index. The methods are bound once by {@link
+ * PbAccessorUtil} instead of being invoked reflectively for each message.
  *
  * @author liuliu 2022/4/13
  */
 public class PbMessageGetter extends PbMessageAdaptor {
 
-    private Method[] normalMethods;
-    private Method[] oneofCaseMethods;
-    private Method[] oneOfNumberMethods;
+    private Function<Object, Object>[] normalGetters;
+    private Function<Object, Object>[] oneofCaseGetters;
+    private ToIntFunction<Object>[] oneofNumberGetters;
 
     public PbMessageGetter(
             List<Descriptors.FieldDescriptor> fieldDescriptorList,
@@ -56,8 +59,8 @@ public class PbMessageGetter extends PbMessageAdaptor {
      */
     public Object getByIndex(Object object, int index) {
         try {
-            return normalMethods[index].invoke(object);
-        } catch (IllegalAccessException | InvocationTargetException e) {
+            return normalGetters[index].apply(object);
+        } catch (RuntimeException e) {
             throw new ChunJunRuntimeException(
                     String.format(
                             "failed to get filed from flink type[%s],index[%s]", object, index),
@@ -71,29 +74,32 @@ public class PbMessageGetter extends PbMessageAdaptor {
      * @param object protocolMessage
      * @param index index of fieldDescriptor
      */
-    public Integer getOneofCase(Object object, int index)
-            throws InvocationTargetException, IllegalAccessException {
+    public Integer getOneofCase(Object object, int index) {
         int oneofIndex = normalToOneof[index];
-        return (Integer)
-                oneOfNumberMethods[oneofIndex].invoke(oneofCaseMethods[oneofIndex].invoke(object));
+        return oneofNumberGetters[oneofIndex].applyAsInt(
+                oneofCaseGetters[oneofIndex].apply(object));
     }
 
+    @SuppressWarnings("unchecked")
     public void initMethods(
             List<Descriptors.FieldDescriptor> fieldDescriptorList,
             List<Descriptors.OneofDescriptor> oneofDescriptorList,
             Class<? extends AbstractMessage> clazz) {
-        this.normalMethods =
+        this.normalGetters =
                 fieldDescriptorList.stream()
                         .map(fieldDescriptor -> obtainNormalGetMethod(fieldDescriptor, clazz))
-                        .toArray(Method[]::new);
-        this.oneofCaseMethods =
+                        .map(PbAccessorUtil::createGetter)
+                        .toArray(Function[]::new);
+        this.oneofCaseGetters =
                 oneofDescriptorList.stream()
                         .map(oneofDescriptor -> obtainOneofCaseMethod(oneofDescriptor, clazz))
-                        .toArray(Method[]::new);
-        this.oneOfNumberMethods =
+                        .map(PbAccessorUtil::createGetter)
+                        .toArray(Function[]::new);
+        this.oneofNumberGetters =
                 oneofDescriptorList.stream()
                         .map(oneofDescriptor -> obtainOneofNumberMethod(oneofDescriptor, clazz))
-                        .toArray(Method[]::new);
+                        .map(PbAccessorUtil::createIntGetter)
+                        .toArray(ToIntFunction[]::new);
     }
 
     public Method obtainOneofNumberMethod(
@@ -18,10 +18,11 @@
 
 package com.dtstack.chunjun.format.protobuf.deserialize;
 
+import com.dtstack.chunjun.format.protobuf.util.PbAccessorUtil;
 import com.dtstack.chunjun.format.protobuf.util.PbReflectUtil;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 
-import java.lang.reflect.Method;
+import java.util.function.Function;
 
 /**
  * trans byte[] to protobuf object by protobuf parseFrom method
@@ -31,17 +32,16 @@ import java.lang.reflect.Method;
 public class PbParser {
 
     private Class messageClass;
-    private Method parseMethod;
+    private Function<byte[], Object> parseFunction;
 
     public PbParser(String messageClassName) throws NoSuchMethodException {
         messageClass = PbReflectUtil.getClassByClassName(messageClassName);
-        parseMethod = messageClass.getMethod("parseFrom", byte[].class);
-        parseMethod.setAccessible(true);
+        parseFunction = PbAccessorUtil.createParser(messageClass);
     }
 
     public Object parse(byte[] bytes) {
         try {
-            return parseMethod.invoke(messageClass, bytes);
+            return parseFunction.apply(bytes);
         } catch (Exception e) {
             throw new ChunJunRuntimeException(
                     String.format(
@@ -19,19 +19,21 @@
 package com.dtstack.chunjun.format.protobuf.serialize;
 
 import com.dtstack.chunjun.format.protobuf.PbMessageAdaptor;
+import com.dtstack.chunjun.format.protobuf.util.PbAccessorUtil;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 
 import com.google.protobuf.AbstractMessage;
 import com.google.protobuf.Descriptors;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 /**
  * Reflect all Builder#Set methods in the order of the fields in the Protobuf Message, then we can
- * set the values by index.
+ * set the values by index. The methods are bound once by {@link PbAccessorUtil} instead of being
+ * invoked reflectively for each message.
  *
  * @author liuliu 2022/4/26
  */
@@ -39,6 +41,7 @@ public class PbMessageSetter extends PbMessageAdaptor {
 
     private AbstractMessage.Builder builder;
     private Method[] normalMethods;
+    private BiConsumer<Object, Object>[] normalSetters;
 
     public PbMessageSetter(
             List<Descriptors.FieldDescriptor> fieldDescriptorList,
@@ -60,19 +63,15 @@ public class PbMessageSetter extends PbMessageAdaptor {
 
     public void setByIndex(Object o, int index) throws ChunJunRuntimeException {
         try {
-
-            normalMethods[index].invoke(builder, o);
-        } catch (InvocationTargetException
-                | IllegalAccessException
-                | IllegalArgumentException exception) {
-            System.out.println(normalMethods[index].getName());
-            Arrays.stream(normalMethods[index].getParameterTypes())
-                    .forEach(p -> System.out.println(p.getName()));
-            System.out.println(o);
+            normalSetters[index].accept(builder, o);
+        } catch (RuntimeException exception) {
             throw new ChunJunRuntimeException(
                     String.format(
-                            "failed to set field by protobuf builder,builder class[%s],index[%s],filed[%s]",
-                            builder.getClass().getName(), index, o),
+                            "failed to set field by protobuf builder,builder class[%s],index[%s],method[%s],filed[%s]",
+                            builder.getClass().getName(),
+                            index,
+                            normalMethods[index].toGenericString(),
+                            o),
                     exception);
         }
     }
@@ -83,6 +82,7 @@ public class PbMessageSetter extends PbMessageAdaptor {
         return result;
     }
 
+    @SuppressWarnings("unchecked")
     private void initMethods(List<Descriptors.FieldDescriptor> fieldDescriptorList, Class clazz) {
         normalMethods =
                 fieldDescriptorList.stream()
@@ -98,5 +98,9 @@ public class PbMessageSetter extends PbMessageAdaptor {
                                 })
                         .map(methodName -> obtainMethod(methodName, clazz))
                         .toArray(Method[]::new);
+        normalSetters =
+                Arrays.stream(normalMethods)
+                        .map(PbAccessorUtil::createSetter)
+                        .toArray(BiConsumer[]::new);
     }
 }
@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.format.protobuf.util;
+
+import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bind the get/set/parseFrom methods of protobuf generated classes once, so that each field of each
+ * message is accessed without {@link Method#invoke}.
+ *
+ * <p>Methods are bound to functional interfaces by {@link LambdaMetafactory}, which the JIT can
+ * inline like a direct call. If the generated class is not public or not visible from the class
+ * loader of this format, fall back to a {@link MethodHandle} adapted to generic types.
+ */
+public abstract class PbAccessorUtil {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /** bind an instance method without parameters, such as getXxx and getXxxCase */
+    @SuppressWarnings("unchecked")
+    public static Function<Object, Object> createGetter(Method method) {
+        MethodHandle handle = unreflect(method);
+        if (canSpin(method)) {
+            return (Function<Object, Object>)
+                    spin(
+                            Function.class,
+                            "apply",
+                            MethodType.methodType(Object.class, Object.class),
+                            handle,
+                            handle.type().wrap(),
+                            method);
+        }
+        return createHandleGetter(handle);
+    }
+
+    /** bind an instance method with one parameter, such as Builder#setXxx */
+    @SuppressWarnings("unchecked")
+    public static BiConsumer<Object, Object> createSetter(Method method) {
+        MethodHandle handle = unreflect(method);
+        if (canSpin(method)) {
+            return (BiConsumer<Object, Object>)
+                    spin(
+                            BiConsumer.class,
+                            "accept",
+                            MethodType.methodType(void.class, Object.class, Object.class),
+                            handle,
+                            handle.type().wrap().changeReturnType(void.class),
+                            method);
+        }
+        return createHandleSetter(handle);
+    }
+
+    /** bind an instance method returning int without parameters, such as XxxCase#getNumber */
+    @SuppressWarnings("unchecked")
+    public static ToIntFunction<Object> createIntGetter(Method method) {
+        MethodHandle handle = unreflect(method);
+        if (canSpin(method)) {
+            return (ToIntFunction<Object>)
+                    spin(
+                            ToIntFunction.class,
+                            "applyAsInt",
+                            MethodType.methodType(int.class, Object.class),
+                            handle,
+                            handle.type(),
+                            method);
+        }
+        MethodHandle generic = handle.asType(MethodType.methodType(int.class, Object.class));
+        return object -> {
+            try {
+                return (int) generic.invokeExact(object);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    /** bind the static method parseFrom(byte[]) of a message class */
+    @SuppressWarnings("unchecked")
+    public static Function<byte[], Object> createParser(Class<?> messageClass) {
+        Method method;
+        try {
+            method = messageClass.getMethod("parseFrom", byte[].class);
+        } catch (NoSuchMethodException e) {
+            throw new ChunJunRuntimeException(
+                    String.format(
+                            "failed to obtain parseFrom(byte[]) from class[%s]",
+                            messageClass.getName()),
+                    e);
+        }
+        MethodHandle handle = unreflect(method);
+        if (canSpin(method)) {
+            return (Function<byte[], Object>)
+                    spin(
+                            Function.class,
+                            "apply",
+                            MethodType.methodType(Object.class, Object.class),
+                            handle,
+                            handle.type(),
+                            method);
+        }
+        MethodHandle generic = handle.asType(MethodType.methodType(Object.class, byte[].class));
+        return bytes -> {
+            try {
+                return (Object) generic.invokeExact(bytes);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    static Function<Object, Object> createHandleGetter(MethodHandle handle) {
+        MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+        return object -> {
+            try {
+                return (Object) generic.invokeExact(object);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    static BiConsumer<Object, Object> createHandleSetter(MethodHandle handle) {
+        MethodHandle generic =
+                handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (object, value) -> {
+            try {
+                generic.invokeExact(object, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    static MethodHandle unreflect(Method method) {
+        try {
+            method.setAccessible(true);
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new ChunJunRuntimeException(
+                    String.format(
+                            "failed to obtain MethodHandle of method[%s] from class[%s]",
+                            method.getName(), method.getDeclaringClass().getName()),
+                    e);
+        }
+    }
+
+    /**
+     * The class spun by LambdaMetafactory links the method through the class loader of this class
+     * with public access only.
+     */
+    static boolean canSpin(Method method) {
+        Class<?> clazz = method.getDeclaringClass();
+        if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(clazz.getModifiers())) {
+            return false;
+        }
+        try {
+            return Class.forName(clazz.getName(), false, PbAccessorUtil.class.getClassLoader())
+                    == clazz;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static Object spin(
+            Class<?> interfaceClass,
+            String interfaceMethodName,
+            MethodType samMethodType,
+            MethodHandle handle,
+            MethodType instantiatedMethodType,
+            Method method) {
+        try {
+            CallSite callSite =
+                    LambdaMetafactory.metafactory(
+                            LOOKUP,
+                            interfaceMethodName,
+                            MethodType.methodType(interfaceClass),
+                            samMethodType,
+                            handle,
+                            instantiatedMethodType);
+            return callSite.getTarget().invoke();
+        } catch (Throwable t) {
+            throw new ChunJunRuntimeException(
+                    String.format(
+                            "failed to bind method[%s] from class[%s] to %s",
+                            method.getName(),
+                            method.getDeclaringClass().getName(),
+                            interfaceClass.getSimpleName()),
+                    t);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new ChunJunRuntimeException(t);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.format.protobuf.util;
+
+import com.dtstack.chunjun.format.protobuf.test.MessageTestOuterClass;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+public class PbAccessorUtilTest {
+
+    @Test
+    public void testLambdaAccessor() throws Exception {
+        Method getter = MessageTestOuterClass.Variant.class.getMethod("getValueInt32");
+        Method setter =
+                MessageTestOuterClass.Variant.Builder.class.getMethod("setValueInt32", int.class);
+        Assert.assertTrue(PbAccessorUtil.canSpin(getter));
+        assertAccessor(PbAccessorUtil.createGetter(getter), PbAccessorUtil.createSetter(setter));
+
+        MessageTestOuterClass.Variant variant =
+                MessageTestOuterClass.Variant.newBuilder().setValueInt32(3).build();
+        Object oneofCase =
+                PbAccessorUtil.createGetter(
+                                MessageTestOuterClass.Variant.class.getMethod("getValue2Case"))
+                        .apply(variant);
+        Assert.assertEquals(MessageTestOuterClass.Variant.Value2Case.VALUEINT32, oneofCase);
+        Assert.assertEquals(
+                variant.getValue2Case().getNumber(),
+                PbAccessorUtil.createIntGetter(oneofCase.getClass().getMethod("getNumber"))
+                        .applyAsInt(oneofCase));
+
+        Function<byte[], Object> parser =
+                PbAccessorUtil.createParser(MessageTestOuterClass.Variant.class);
+        Assert.assertEquals(variant, parser.apply(variant.toByteArray()));
+        try {
+            parser.apply(new byte[] {(byte) 0xff});
+            Assert.fail();
+        } catch (Exception e) {
+            Assert.assertTrue(e.toString(), e instanceof InvalidProtocolBufferException);
+        }
+    }
+
+    @Test
+    public void testHandleAccessor() throws Exception {
+        Method getter = MessageTestOuterClass.Variant.class.getMethod("getValueInt32");
+        Method setter =
+                MessageTestOuterClass.Variant.Builder.class.getMethod("setValueInt32", int.class);
+        assertAccessor(
+                PbAccessorUtil.createHandleGetter(PbAccessorUtil.unreflect(getter)),
+                PbAccessorUtil.createHandleSetter(PbAccessorUtil.unreflect(setter)));
+    }
+
+    private static void assertAccessor(
+            Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+        MessageTestOuterClass.Variant.Builder builder = MessageTestOuterClass.Variant.newBuilder();
+        setter.accept(builder, 5);
+        Assert.assertEquals(5, getter.apply(builder.build()));
+        try {
+            setter.accept(builder, "5");
+            Assert.fail();
+        } catch (ClassCastException e) {
+            // expected
+        }
+    }
+}